@@ -1,9 +1,29 @@
 package ai.z.openapi;
 
+import ai.z.openapi.api.agents.AgentsApi;
+import ai.z.openapi.api.assistant.AssistantApi;
+import ai.z.openapi.api.audio.AudioApi;
+import ai.z.openapi.api.batches.BatchesApi;
+import ai.z.openapi.api.chat.ChatApi;
+import ai.z.openapi.api.embedding.EmbeddingApi;
+import ai.z.openapi.api.file.FileApi;
+import ai.z.openapi.api.fileparsing.FileParsingApi;
+import ai.z.openapi.api.images.ImagesApi;
+import ai.z.openapi.api.layoutparsing.LayoutParsingApi;
+import ai.z.openapi.api.moderations.ModerationApi;
+import ai.z.openapi.api.ocr.HandwritingOcrApi;
+import ai.z.openapi.api.tools.ToolsApi;
+import ai.z.openapi.api.videos.VideosApi;
+import ai.z.openapi.api.voiceclone.VoiceCloneApi;
+import ai.z.openapi.api.web_reader.WebReaderApi;
+import ai.z.openapi.api.web_search.WebSearchApi;
 import ai.z.openapi.service.AbstractClientBaseService;
+import ai.z.openapi.service.deserialize.JsonCodec;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.service.fileparsing.FileParsingService;
 import ai.z.openapi.service.fileparsing.FileParsingServiceImpl;
 import ai.z.openapi.service.model.ChatError;
+import ai.z.openapi.service.model.SSE;
 import ai.z.openapi.service.model.ZAiHttpException;
 import ai.z.openapi.service.chat.ChatService;
 import ai.z.openapi.service.chat.ChatServiceImpl;
@@ -35,28 +55,92 @@ import ai.z.openapi.service.voiceclone.VoiceCloneService;
 import ai.z.openapi.service.voiceclone.VoiceCloneServiceImpl;
 import ai.z.openapi.service.moderations.ModerationService;
 import ai.z.openapi.service.moderations.ModerationServiceImpl;
+import ai.z.openapi.service.chat.AsyncChatService;
+import ai.z.openapi.service.chat.AsyncChatServiceImpl;
+import ai.z.openapi.service.embedding.AsyncEmbeddingService;
+import ai.z.openapi.service.embedding.AsyncEmbeddingServiceImpl;
+import ai.z.openapi.service.image.AsyncImageService;
+import ai.z.openapi.service.image.AsyncImageServiceImpl;
+import ai.z.openapi.service.videos.AsyncVideosService;
+import ai.z.openapi.service.videos.AsyncVideosServiceImpl;
+import ai.z.openapi.service.batches.AsyncBatchService;
+import ai.z.openapi.service.batches.AsyncBatchServiceImpl;
+import ai.z.openapi.service.web_search.AsyncWebSearchService;
+import ai.z.openapi.service.web_search.AsyncWebSearchServiceImpl;
+import ai.z.openapi.service.web_reader.AsyncWebReaderService;
+import ai.z.openapi.service.web_reader.AsyncWebReaderServiceImpl;
+import ai.z.openapi.service.layoutparsing.AsyncLayoutParsingService;
+import ai.z.openapi.service.layoutparsing.AsyncLayoutParsingServiceImpl;
+import ai.z.openapi.service.moderations.AsyncModerationService;
+import ai.z.openapi.service.moderations.AsyncModerationServiceImpl;
+import ai.z.openapi.service.agents.AsyncAgentService;
+import ai.z.openapi.service.agents.AsyncAgentServiceImpl;
+import ai.z.openapi.service.file.AsyncFileService;
+import ai.z.openapi.service.file.AsyncFileServiceImpl;
+import ai.z.openapi.service.audio.AsyncAudioService;
+import ai.z.openapi.service.audio.AsyncAudioServiceImpl;
+import ai.z.openapi.service.assistant.AsyncAssistantService;
+import ai.z.openapi.service.assistant.AsyncAssistantServiceImpl;
+import ai.z.openapi.service.voiceclone.AsyncVoiceCloneService;
+import ai.z.openapi.service.voiceclone.AsyncVoiceCloneServiceImpl;
+import ai.z.openapi.service.fileparsing.AsyncFileParsingService;
+import ai.z.openapi.service.fileparsing.AsyncFileParsingServiceImpl;
+import ai.z.openapi.service.ocr.AsyncHandwritingOcrService;
+import ai.z.openapi.service.ocr.AsyncHandwritingOcrServiceImpl;
+import ai.z.openapi.core.config.StreamBackpressureStrategy;
 import ai.z.openapi.core.config.ZaiConfig;
+import ai.z.openapi.core.metrics.StreamMetricsListener;
+import ai.z.openapi.core.metrics.StreamMetricsRecorder;
 import ai.z.openapi.core.model.BiFlowableClientResponse;
 import ai.z.openapi.core.model.ClientRequest;
 import ai.z.openapi.core.model.ClientResponse;
 import ai.z.openapi.core.model.FlowableClientResponse;
+import ai.z.openapi.core.model.ResponseFactories;
+import ai.z.openapi.core.ratelimit.ModelRateLimit;
+import ai.z.openapi.core.ratelimit.ModelRateLimiter;
+import ai.z.openapi.core.ratelimit.RateLimitExceededException;
+import ai.z.openapi.core.ratelimit.RateLimitPermit;
+import ai.z.openapi.core.resilience.CircuitBreaker;
+import ai.z.openapi.core.resilience.EndpointFamily;
+import ai.z.openapi.core.resilience.ResilienceInterceptor;
+import ai.z.openapi.core.resilience.ResiliencePolicy;
+import ai.z.openapi.core.resilience.ResilienceRejectedException;
+import ai.z.openapi.core.retry.ExponentialBackoffRetryPolicy;
+import ai.z.openapi.core.retry.RetryPolicy;
 import ai.z.openapi.utils.FlowableRequestSupplier;
 import ai.z.openapi.utils.OkHttps;
 import ai.z.openapi.utils.RequestSupplier;
 import ai.z.openapi.utils.StringUtils;
+import ai.z.openapi.utils.VirtualThreads;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import retrofit2.HttpException;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.adapter.rxjava3.RxJava3CallAdapterFactory;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
-import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * AbstractAiClient is the abstract base class for AI client implementations. This class
@@ -74,60 +158,105 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	/** Logger instance for this class */
 	private static final Logger logger = LoggerFactory.getLogger(AbstractAiClient.class);
 
+	/** Configuration this client was built with */
+	protected final ZaiConfig config;
+
 	/** HTTP client for making network requests */
 	protected final OkHttpClient httpClient;
 
 	/** Retrofit instance for API communication */
 	protected final Retrofit retrofit;
 
-	// Service instances - lazily initialized for thread safety and performance
-	/** Chat service for conversational AI operations */
-	private ChatService chatService;
+	/** Scheduler performing the blocking socket reads of pull-based streams */
+	protected final Scheduler streamScheduler;
+
+	/** Client-side per-model rate limiter, null when no rate limit is configured */
+	protected final ModelRateLimiter rateLimiter;
+
+	/** Mapper and cached readers binding the API payloads */
+	protected final JsonCodec json;
+
+	/**
+	 * Recorder of streaming call latencies, null when no metrics listener is configured
+	 */
+	protected final StreamMetricsRecorder streamMetrics;
+
+	/** Whether the connection pool and dispatcher belong to this client */
+	private final boolean ownsTransport;
+
+	/** Executor of the background keep-warm task, null when keep-warm is disabled */
+	private final ScheduledExecutorService keepWarmExecutor;
+
+	// Service slots - services are created lazily and published with a CAS, so the
+	// accessors never lock
+	private static final int CHAT_SERVICE = 0;
+
+	private static final int AGENT_SERVICE = 1;
+
+	private static final int EMBEDDING_SERVICE = 2;
+
+	private static final int FILE_SERVICE = 3;
+
+	private static final int AUDIO_SERVICE = 4;
+
+	private static final int IMAGE_SERVICE = 5;
+
+	private static final int BATCH_SERVICE = 6;
+
+	private static final int WEB_SEARCH_SERVICE = 7;
+
+	private static final int WEB_READER_SERVICE = 8;
+
+	private static final int VIDEOS_SERVICE = 9;
+
+	private static final int ASSISTANT_SERVICE = 10;
+
+	private static final int VOICE_CLONE_SERVICE = 11;
 
-	/** Agent service for AI agent management */
-	private AgentService agentService;
+	private static final int FILE_PARSING_SERVICE = 12;
 
-	/** Embedding service for text embeddings */
-	private EmbeddingService embeddingService;
+	private static final int HANDWRITING_OCR_SERVICE = 13;
 
-	/** File service for file operations */
-	private FileService fileService;
+	private static final int LAYOUT_PARSING_SERVICE = 14;
 
-	/** Audio service for audio processing */
-	private AudioService audioService;
+	private static final int MODERATION_SERVICE = 15;
 
-	/** Image service for image generation and processing */
-	private ImageService imageService;
+	private static final int ASYNC_CHAT_SERVICE = 16;
 
-	/** Batch service for batch processing operations */
-	private BatchService batchService;
+	private static final int ASYNC_EMBEDDING_SERVICE = 17;
 
-	/** Web search service for internet search capabilities */
-	private WebSearchService webSearchService;
+	private static final int ASYNC_IMAGE_SERVICE = 18;
 
-	/** Web reader service for parsing web pages */
-	private WebReaderService webReaderService;
+	private static final int ASYNC_VIDEOS_SERVICE = 19;
 
-	/** Videos service for video processing */
-	private VideosService videosService;
+	private static final int ASYNC_BATCH_SERVICE = 20;
 
-	/** Assistant service for AI assistant functionality */
-	private AssistantService assistantService;
+	private static final int ASYNC_WEB_SEARCH_SERVICE = 21;
 
-	/** Voice clone service for voice cloning operations */
-	private VoiceCloneService voiceCloneService;
+	private static final int ASYNC_WEB_READER_SERVICE = 22;
 
-	/** FileParsing service for fileParsing operations */
-	private FileParsingService fileParsingService;
+	private static final int ASYNC_LAYOUT_PARSING_SERVICE = 23;
 
-	/** HandWriting service for handwritingOcrService operations */
-	private HandwritingOcrService handwritingOcrService;
+	private static final int ASYNC_MODERATION_SERVICE = 24;
 
-	/** Layout parsing service for layout_parsing operations */
-	private LayoutParsingService layoutParsingService;
+	private static final int ASYNC_AGENT_SERVICE = 25;
 
-	/** Moderation service for content safety detection */
-	private ModerationService moderationService;
+	private static final int ASYNC_FILE_SERVICE = 26;
+
+	private static final int ASYNC_AUDIO_SERVICE = 27;
+
+	private static final int ASYNC_ASSISTANT_SERVICE = 28;
+
+	private static final int ASYNC_VOICE_CLONE_SERVICE = 29;
+
+	private static final int ASYNC_FILE_PARSING_SERVICE = 30;
+
+	private static final int ASYNC_HANDWRITING_OCR_SERVICE = 31;
+
+	private static final int SERVICE_COUNT = 32;
+
+	/** Lazily created service instances, indexed by service slot */
+	private final AtomicReferenceArray<Object> services = new AtomicReferenceArray<>(SERVICE_COUNT);
 
 	/**
 	 * Constructs a new AbstractAiClient with the specified configuration.
@@ -137,28 +266,75 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * @throws IllegalArgumentException if config is null or invalid
 	 */
 	protected AbstractAiClient(ZaiConfig config, String baseUrl) {
-		logger.info("ZAI Init the client: {}, baseUrl: {}", this.getClass().getSimpleName(), baseUrl);
-		this.httpClient = OkHttps.create(config);
+		this(config, baseUrl, null);
+	}
+
+	/**
+	 * Constructs a new AbstractAiClient sending its requests through a shared transport,
+	 * see {@link ZaiClientPool}. The client adds its own credentials to the requests but
+	 * shares the transport's connection pool, dispatcher and interceptors, and closing it
+	 * leaves the transport open.
+	 * @param config the configuration object containing API keys and other settings
+	 * @param baseUrl the base URL for the API endpoint
+	 * @param transport the shared transport created with
+	 * {@link OkHttps#createTransport(ZaiConfig)}, or null to create a dedicated one
+	 * @throws IllegalArgumentException if config is null or invalid
+	 */
+	protected AbstractAiClient(ZaiConfig config, String baseUrl, OkHttpClient transport) {
+		if (transport == null) {
+			logger.info("ZAI Init the client: {}, baseUrl: {}", this.getClass().getSimpleName(), baseUrl);
+		}
+		this.config = config;
+		this.json = config.isHighPerformanceJson() ? HighPerformanceJson.CODEC : super.json();
+		this.ownsTransport = transport == null;
+		this.httpClient = transport == null ? OkHttps.create(config) : OkHttps.withCredentials(transport, config);
 		this.retrofit = new Retrofit.Builder().baseUrl(baseUrl)
 			.client(httpClient)
-			.addConverterFactory(JacksonConverterFactory.create(mapper))
+			.addConverterFactory(JacksonConverterFactory.create(json.getMapper()))
 			.addCallAdapterFactory(RxJava3CallAdapterFactory.create())
 			.build();
+		this.streamScheduler = config.isVirtualThreads() && config.getDispatcherExecutor() == null
+				&& VirtualThreads.isSupported() ? Schedulers.from(httpClient.dispatcher().executorService())
+						: Schedulers.io();
+		this.rateLimiter = config.getRateLimits() != null && !config.getRateLimits().isEmpty() ? new ModelRateLimiter(
+				config.getRateLimits(), config.getRateLimitMaxWaitMillis(), TimeUnit.MILLISECONDS) : null;
+		this.streamMetrics = config.getStreamMetricsListener() != null
+				? new StreamMetricsRecorder(config.getStreamMetricsListener()) : null;
+		this.keepWarmExecutor = ownsTransport && config.getKeepWarmConnections() > 0
+				? OkHttps.startKeepWarm(httpClient, config, retrofit.baseUrl()) : null;
 	}
 
 	// ==================== Service Accessor Methods ====================
-	// All service methods use lazy initialization with synchronization for thread safety
+	// All service methods use lock-free lazy initialization: once created, a service is
+	// returned with a single volatile read
+
+	/**
+	 * Returns the service of a slot, creating it on first use. Threads racing on the
+	 * first call may each create an instance, but only the first one published is ever
+	 * returned; services hold no resources of their own, so the others are just dropped.
+	 * @param slot the service slot
+	 * @param factory the service constructor
+	 * @return the service instance
+	 */
+	@SuppressWarnings("unchecked")
+	private <S> S service(int slot, Function<AbstractAiClient, ? extends S> factory) {
+		Object service = services.get(slot);
+		if (service == null) {
+			service = factory.apply(this);
+			if (!services.compareAndSet(slot, null, service)) {
+				service = services.get(slot);
+			}
+		}
+		return (S) service;
+	}
 
 	/**
 	 * Returns the chat service for conversational AI operations. This service handles
 	 * chat completions, streaming conversations, and related functionality.
 	 * @return the ChatService instance (lazily initialized)
 	 */
-	public synchronized ChatService chat() {
-		if (chatService == null) {
-			this.chatService = new ChatServiceImpl(this);
-		}
-		return chatService;
+	public ChatService chat() {
+		return service(CHAT_SERVICE, ChatServiceImpl::new);
 	}
 
 	/**
@@ -166,11 +342,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * creation, configuration, and execution.
 	 * @return the AgentService instance (lazily initialized)
 	 */
-	public synchronized AgentService agents() {
-		if (agentService == null) {
-			this.agentService = new AgentServiceImpl(this);
-		}
-		return agentService;
+	public AgentService agents() {
+		return service(AGENT_SERVICE, AgentServiceImpl::new);
 	}
 
 	/**
@@ -178,11 +351,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * numerical vector representations.
 	 * @return the EmbeddingService instance (lazily initialized)
 	 */
-	public synchronized EmbeddingService embeddings() {
-		if (embeddingService == null) {
-			this.embeddingService = new EmbeddingServiceImpl(this);
-		}
-		return embeddingService;
+	public EmbeddingService embeddings() {
+		return service(EMBEDDING_SERVICE, EmbeddingServiceImpl::new);
 	}
 
 	/**
@@ -190,11 +360,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * downloads, and management.
 	 * @return the FileService instance (lazily initialized)
 	 */
-	public synchronized FileService files() {
-		if (fileService == null) {
-			this.fileService = new FileServiceImpl(this);
-		}
-		return fileService;
+	public FileService files() {
+		return service(FILE_SERVICE, FileServiceImpl::new);
 	}
 
 	/**
@@ -202,11 +369,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * speech-to-text, text-to-speech, and audio analysis.
 	 * @return the AudioService instance (lazily initialized)
 	 */
-	public synchronized AudioService audio() {
-		if (audioService == null) {
-			this.audioService = new AudioServiceImpl(this);
-		}
-		return audioService;
+	public AudioService audio() {
+		return service(AUDIO_SERVICE, AudioServiceImpl::new);
 	}
 
 	/**
@@ -214,11 +378,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * image creation, editing, and analysis.
 	 * @return the ImageService instance (lazily initialized)
 	 */
-	public synchronized ImageService images() {
-		if (imageService == null) {
-			this.imageService = new ImageServiceImpl(this);
-		}
-		return imageService;
+	public ImageService images() {
+		return service(IMAGE_SERVICE, ImageServiceImpl::new);
 	}
 
 	/**
@@ -226,11 +387,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * large-scale batch processing of requests.
 	 * @return the BatchService instance (lazily initialized)
 	 */
-	public synchronized BatchService batches() {
-		if (batchService == null) {
-			this.batchService = new BatchServiceImpl(this);
-		}
-		return batchService;
+	public BatchService batches() {
+		return service(BATCH_SERVICE, BatchServiceImpl::new);
 	}
 
 	/**
@@ -238,11 +396,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * provides AI-powered web search functionality.
 	 * @return the WebSearchService instance (lazily initialized)
 	 */
-	public synchronized WebSearchService webSearch() {
-		if (webSearchService == null) {
-			this.webSearchService = new WebSearchServiceImpl(this);
-		}
-		return webSearchService;
+	public WebSearchService webSearch() {
+		return service(WEB_SEARCH_SERVICE, WebSearchServiceImpl::new);
 	}
 
 	/**
@@ -250,11 +405,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * extracts content, metadata, images, and links from URLs.
 	 * @return the WebReaderService instance (lazily initialized)
 	 */
-	public synchronized WebReaderService webReader() {
-		if (webReaderService == null) {
-			this.webReaderService = new WebReaderServiceImpl(this);
-		}
-		return webReaderService;
+	public WebReaderService webReader() {
+		return service(WEB_READER_SERVICE, WebReaderServiceImpl::new);
 	}
 
 	/**
@@ -262,11 +414,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * analysis, generation, and manipulation.
 	 * @return the VideosService instance (lazily initialized)
 	 */
-	public synchronized VideosService videos() {
-		if (videosService == null) {
-			this.videosService = new VideosServiceImpl(this);
-		}
-		return videosService;
+	public VideosService videos() {
+		return service(VIDEOS_SERVICE, VideosServiceImpl::new);
 	}
 
 	/**
@@ -274,11 +423,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * advanced AI assistant capabilities.
 	 * @return the AssistantService instance (lazily initialized)
 	 */
-	public synchronized AssistantService assistants() {
-		if (assistantService == null) {
-			this.assistantService = new AssistantServiceImpl(this);
-		}
-		return assistantService;
+	public AssistantService assistants() {
+		return service(ASSISTANT_SERVICE, AssistantServiceImpl::new);
 	}
 
 	/**
@@ -286,11 +432,8 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * voice cloning creation, deletion, and listing functionality.
 	 * @return the VoiceCloneService instance (lazily initialized)
 	 */
-	public synchronized VoiceCloneService voiceClone() {
-		if (voiceCloneService == null) {
-			this.voiceCloneService = new VoiceCloneServiceImpl(this);
-		}
-		return voiceCloneService;
+	public VoiceCloneService voiceClone() {
+		return service(VOICE_CLONE_SERVICE, VoiceCloneServiceImpl::new);
 	}
 
 	/**
@@ -298,25 +441,16 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * downloads, and management.
 	 * @return the FileParsingService instance (lazily initialized)
 	 */
-	public synchronized FileParsingService fileParsing() {
-		if (fileParsingService == null) {
-			this.fileParsingService = new FileParsingServiceImpl(this);
-		}
-		return fileParsingService;
+	public FileParsingService fileParsing() {
+		return service(FILE_PARSING_SERVICE, FileParsingServiceImpl::new);
 	}
 
-	public synchronized HandwritingOcrService handwriting() {
-		if (handwritingOcrService == null) {
-			this.handwritingOcrService = new HandwritingOcrServiceImpl(this);
-		}
-		return handwritingOcrService;
+	public HandwritingOcrService handwriting() {
+		return service(HANDWRITING_OCR_SERVICE, HandwritingOcrServiceImpl::new);
 	}
 
-	public synchronized LayoutParsingService layoutParsing() {
-		if (layoutParsingService == null) {
-			this.layoutParsingService = new LayoutParsingServiceImpl(this);
-		}
-		return layoutParsingService;
+	public LayoutParsingService layoutParsing() {
+		return service(LAYOUT_PARSING_SERVICE, LayoutParsingServiceImpl::new);
 	}
 
 	/**
@@ -324,15 +458,149 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * content moderation for text, image, video, and audio inputs.
 	 * @return the ModerationService instance (lazily initialized)
 	 */
-	public synchronized ModerationService moderations() {
-		if (moderationService == null) {
-			this.moderationService = new ModerationServiceImpl(this);
-		}
-		return moderationService;
+	public ModerationService moderations() {
+		return service(MODERATION_SERVICE, ModerationServiceImpl::new);
+	}
+
+	// ==================== Non-blocking Service Accessor Methods ====================
+	// These services enqueue their calls on the HTTP client instead of blocking the
+	// calling thread, and complete the returned futures from the dispatcher threads
+
+	/**
+	 * Returns the non-blocking chat service.
+	 * @return the AsyncChatService instance (lazily initialized)
+	 */
+	public AsyncChatService chatAsync() {
+		return service(ASYNC_CHAT_SERVICE, AsyncChatServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking embedding service.
+	 * @return the AsyncEmbeddingService instance (lazily initialized)
+	 */
+	public AsyncEmbeddingService embeddingsAsync() {
+		return service(ASYNC_EMBEDDING_SERVICE, AsyncEmbeddingServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking image service.
+	 * @return the AsyncImageService instance (lazily initialized)
+	 */
+	public AsyncImageService imagesAsync() {
+		return service(ASYNC_IMAGE_SERVICE, AsyncImageServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking videos service.
+	 * @return the AsyncVideosService instance (lazily initialized)
+	 */
+	public AsyncVideosService videosAsync() {
+		return service(ASYNC_VIDEOS_SERVICE, AsyncVideosServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking batch service.
+	 * @return the AsyncBatchService instance (lazily initialized)
+	 */
+	public AsyncBatchService batchesAsync() {
+		return service(ASYNC_BATCH_SERVICE, AsyncBatchServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking web search service.
+	 * @return the AsyncWebSearchService instance (lazily initialized)
+	 */
+	public AsyncWebSearchService webSearchAsync() {
+		return service(ASYNC_WEB_SEARCH_SERVICE, AsyncWebSearchServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking web reader service.
+	 * @return the AsyncWebReaderService instance (lazily initialized)
+	 */
+	public AsyncWebReaderService webReaderAsync() {
+		return service(ASYNC_WEB_READER_SERVICE, AsyncWebReaderServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking layout parsing service.
+	 * @return the AsyncLayoutParsingService instance (lazily initialized)
+	 */
+	public AsyncLayoutParsingService layoutParsingAsync() {
+		return service(ASYNC_LAYOUT_PARSING_SERVICE, AsyncLayoutParsingServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking moderation service.
+	 * @return the AsyncModerationService instance (lazily initialized)
+	 */
+	public AsyncModerationService moderationsAsync() {
+		return service(ASYNC_MODERATION_SERVICE, AsyncModerationServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking agent service.
+	 * @return the AsyncAgentService instance (lazily initialized)
+	 */
+	public AsyncAgentService agentsAsync() {
+		return service(ASYNC_AGENT_SERVICE, AsyncAgentServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking file service.
+	 * @return the AsyncFileService instance (lazily initialized)
+	 */
+	public AsyncFileService filesAsync() {
+		return service(ASYNC_FILE_SERVICE, AsyncFileServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking audio service.
+	 * @return the AsyncAudioService instance (lazily initialized)
+	 */
+	public AsyncAudioService audioAsync() {
+		return service(ASYNC_AUDIO_SERVICE, AsyncAudioServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking assistant service.
+	 * @return the AsyncAssistantService instance (lazily initialized)
+	 */
+	public AsyncAssistantService assistantsAsync() {
+		return service(ASYNC_ASSISTANT_SERVICE, AsyncAssistantServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking voice clone service.
+	 * @return the AsyncVoiceCloneService instance (lazily initialized)
+	 */
+	public AsyncVoiceCloneService voiceCloneAsync() {
+		return service(ASYNC_VOICE_CLONE_SERVICE, AsyncVoiceCloneServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking file parsing service.
+	 * @return the AsyncFileParsingService instance (lazily initialized)
+	 */
+	public AsyncFileParsingService fileParsingAsync() {
+		return service(ASYNC_FILE_PARSING_SERVICE, AsyncFileParsingServiceImpl::new);
+	}
+
+	/**
+	 * Returns the non-blocking handwriting OCR service.
+	 * @return the AsyncHandwritingOcrService instance (lazily initialized)
+	 */
+	public AsyncHandwritingOcrService handwritingAsync() {
+		return service(ASYNC_HANDWRITING_OCR_SERVICE, AsyncHandwritingOcrServiceImpl::new);
 	}
 
 	// ==================== Utility Methods ====================
 
+	@Override
+	protected JsonCodec json() {
+		return json;
+	}
+
 	/**
 	 * Returns the underlying Retrofit instance used for API communication. This method is
 	 * primarily intended for advanced users who need direct access to the Retrofit client
@@ -343,10 +611,125 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 		return retrofit;
 	}
 
+	/**
+	 * Waits for the client-side rate limit of a model and reserves one request of the
+	 * estimated size. The returned permit should be completed with the usage of the
+	 * response so the token reservation can be corrected.
+	 * @param model the model name
+	 * @param estimatedTokens the estimated total tokens of the request
+	 * @return the permit, {@link RateLimitPermit#NONE} when the model is not limited
+	 * @throws RateLimitExceededException if the wait would exceed the configured maximum
+	 */
+	public RateLimitPermit acquireRateLimit(String model, long estimatedTokens) {
+		return rateLimiter == null ? RateLimitPermit.NONE : rateLimiter.acquire(model, estimatedTokens);
+	}
+
+	/**
+	 * Runs an asynchronous call once the client-side rate limit of a model allows one
+	 * request of the estimated size, without blocking the calling thread while waiting.
+	 * The call receives the permit and should complete it with the usage of the response.
+	 * Cancelling the returned future cancels the call, or skips it if it was not started
+	 * yet.
+	 * @param <T> the type of the call result
+	 * @param model the model name
+	 * @param estimatedTokens the estimated total tokens of the request
+	 * @param call starts the call with the permit reserved for it
+	 * @return a future completed with the result of the call, or exceptionally with a
+	 * {@link RateLimitExceededException} if the wait would exceed the configured maximum
+	 */
+	public <T> CompletableFuture<T> executeAfterRateLimit(String model, long estimatedTokens,
+			Function<RateLimitPermit, CompletableFuture<T>> call) {
+		if (rateLimiter == null) {
+			return call.apply(RateLimitPermit.NONE);
+		}
+		CompletableFuture<T> future = new CompletableFuture<>();
+		rateLimiter.acquireAsync(model, estimatedTokens).whenComplete((permit, error) -> {
+			if (error != null) {
+				future.completeExceptionally(error);
+				return;
+			}
+			if (future.isDone()) {
+				return;
+			}
+			CompletableFuture<T> started;
+			try {
+				started = call.apply(permit);
+			}
+			catch (RuntimeException e) {
+				future.completeExceptionally(e);
+				return;
+			}
+			started.whenComplete((result, failure) -> {
+				if (failure != null) {
+					future.completeExceptionally(failure);
+				}
+				else {
+					future.complete(result);
+				}
+			});
+			future.whenComplete((r, t) -> {
+				if (future.isCancelled()) {
+					started.cancel(false);
+				}
+			});
+		});
+		return future;
+	}
+
+	/**
+	 * Returns the circuit breaker state of an endpoint family.
+	 * @param family the endpoint family
+	 * @return the state, CLOSED when no resilience policy is configured for the family
+	 */
+	public CircuitBreaker.State circuitBreakerState(EndpointFamily family) {
+		for (Interceptor interceptor : httpClient.interceptors()) {
+			if (interceptor instanceof ResilienceInterceptor) {
+				CircuitBreaker circuitBreaker = ((ResilienceInterceptor) interceptor).circuitBreaker(family);
+				if (circuitBreaker != null) {
+					return circuitBreaker.getState();
+				}
+			}
+		}
+		return CircuitBreaker.State.CLOSED;
+	}
+
+	/**
+	 * Returns the number of calls waiting in the HTTP dispatcher queue because the
+	 * maximum number of concurrent requests, overall or per host, has been reached. A
+	 * steadily non-zero value means the dispatcher limits are adding latency.
+	 * @return the number of queued calls
+	 */
+	public int queuedCallsCount() {
+		return httpClient.dispatcher().queuedCallsCount();
+	}
+
+	/**
+	 * Returns the number of calls currently executing, including synchronous calls.
+	 * @return the number of running calls
+	 */
+	public int runningCallsCount() {
+		return httpClient.dispatcher().runningCallsCount();
+	}
+
+	/**
+	 * Opens connections to the API host ahead of the first requests so they do not pay
+	 * for the TCP and TLS handshakes. Enqueues {@code connections} {@code HEAD} requests
+	 * to the base URL on the client's dispatcher, so they run within its per-host limit,
+	 * and blocks until they complete. Authentication and the other interceptors are
+	 * skipped. With HTTP/2 the requests are multiplexed over a single connection.
+	 * Connections beyond the pool's maximum idle connections are evicted again once idle.
+	 * @param connections the number of concurrent warm-up requests
+	 * @return the number of warm-up requests that reached the server
+	 */
+	public int warmUp(int connections) {
+		return OkHttps.warmUp(httpClient, config, retrofit.baseUrl(), connections);
+	}
+
 	/**
 	 * Closes the AI client and releases all associated resources. This method shuts down
-	 * the HTTP client's connection pool and executor service. After calling this method,
-	 * the client should not be used for further requests.
+	 * the HTTP client's connection pool and executor service, unless they belong to a
+	 * shared transport. After calling this method, the client should not be used for
+	 * further requests.
 	 *
 	 * <p>
 	 * <strong>Important:</strong> Always call this method when you're done with the
@@ -355,8 +738,13 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 */
 	public void close() {
 		try {
-			if (httpClient != null) {
-				httpClient.dispatcher().executorService().shutdown();
+			if (keepWarmExecutor != null) {
+				keepWarmExecutor.shutdownNow();
+			}
+			if (httpClient != null && ownsTransport) {
+				if (config.getDispatcherExecutor() == null) {
+					httpClient.dispatcher().executorService().shutdown();
+				}
 				httpClient.connectionPool().evictAll();
 				if (httpClient.cache() != null) {
 					httpClient.cache().close();
@@ -379,37 +767,148 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * @param <TResp> the type of client response
 	 * @param request the client request containing parameters
 	 * @param requestSupplier the supplier that creates the actual API call
-	 * @param tRespClass the class of the response type
+	 * @param tRespFactory the factory of the response object
 	 * @return the wrapped response containing either success data or error information
 	 */
 	@Override
 	@SuppressWarnings("unchecked")
 	public <Data, Param, TReq extends ClientRequest<Param>, TResp extends ClientResponse<Data>> TResp executeRequest(
-			TReq request, RequestSupplier<Param, Data> requestSupplier, Class<TResp> tRespClass) {
+			TReq request, RequestSupplier<Param, Data> requestSupplier, Supplier<TResp> tRespFactory) {
 		Single<Data> apiCall = requestSupplier.get((Param) request);
 
-		TResp tResp = convertToClientResponse(tRespClass);
+		TResp tResp = tRespFactory.get();
 		try {
 			// Execute the API call synchronously
 			Data response = execute(apiCall);
-			tResp.setCode(200);
-			tResp.setMsg("Call Successful");
-			tResp.setData(response);
-			tResp.setSuccess(true);
+			fillSuccess(tResp, response);
 		}
 		catch (ZAiHttpException e) {
 			logger.error("API request failed with call error", e);
-			tResp.setCode(e.statusCode);
-			tResp.setMsg("Call Failed");
-			tResp.setSuccess(false);
-			ChatError chatError = new ChatError();
-			if (StringUtils.isNotEmpty(e.code)) {
+			fillFailure(tResp, e);
+		}
+		return tResp;
+	}
+
+	/**
+	 * Executes an API request without blocking the calling thread. The RxJava call
+	 * adapter enqueues the call on the HTTP client dispatcher and the future is completed
+	 * from its callback. Errors are mapped the same way as in {@link #executeRequest}: a
+	 * {@link ZAiHttpException} completes the future with a failed response, any other
+	 * error completes it exceptionally. Cancelling the future cancels the HTTP call.
+	 * @param <Data> the type of data expected in the response
+	 * @param <Param> the type of parameters for the request
+	 * @param <TReq> the type of client request
+	 * @param <TResp> the type of client response
+	 * @param request the client request containing parameters
+	 * @param requestSupplier the supplier that creates the actual API call
+	 * @param tRespFactory the factory of the response object
+	 * @return a future completed with the wrapped response
+	 */
+	@SuppressWarnings("unchecked")
+	public <Data, Param, TReq extends ClientRequest<Param>, TResp extends ClientResponse<Data>> CompletableFuture<TResp> executeRequestAsync(
+			TReq request, RequestSupplier<Param, Data> requestSupplier, Supplier<TResp> tRespFactory) {
+		Single<Data> apiCall = requestSupplier.get((Param) request);
+		TResp tResp = tRespFactory.get();
+		CompletableFuture<TResp> future = new CompletableFuture<>();
+		Disposable disposable = apiCall.subscribe(response -> {
+			if (response instanceof Response && !((Response<?>) response).isSuccessful()) {
+				completeWithError(future, tResp, new HttpException((Response<?>) response));
+				return;
+			}
+			fillSuccess(tResp, response);
+			future.complete(tResp);
+		}, error -> completeWithError(future, tResp, error));
+		future.whenComplete((r, t) -> {
+			if (future.isCancelled()) {
+				disposable.dispose();
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * Executes an API request without blocking the calling thread, creating the response
+	 * object from its class through {@link ResponseFactories}.
+	 * @param <Data> the type of data expected in the response
+	 * @param <Param> the type of parameters for the request
+	 * @param <TReq> the type of client request
+	 * @param <TResp> the type of client response
+	 * @param request the client request containing parameters
+	 * @param requestSupplier the supplier that creates the actual API call
+	 * @param tRespClass the class of the response type
+	 * @return a future completed with the wrapped response
+	 */
+	public <Data, Param, TReq extends ClientRequest<Param>, TResp extends ClientResponse<Data>> CompletableFuture<TResp> executeRequestAsync(
+			TReq request, RequestSupplier<Param, Data> requestSupplier, Class<TResp> tRespClass) {
+		return executeRequestAsync(request, requestSupplier, ResponseFactories.of(tRespClass));
+	}
+
+	/**
+	 * Wraps a call into a {@link Single} that enqueues it on the HTTP client dispatcher
+	 * when subscribed, for the APIs that return a plain {@link retrofit2.Call}. Disposing
+	 * the Single cancels the call.
+	 * @param <T> the type of the response body
+	 * @param call the call to enqueue
+	 * @return a Single emitting the response, successful or not
+	 */
+	public static <T> Single<Response<T>> enqueue(retrofit2.Call<T> call) {
+		return Single.create(emitter -> {
+			emitter.setCancellable(call::cancel);
+			call.enqueue(new retrofit2.Callback<T>() {
+				@Override
+				public void onResponse(retrofit2.Call<T> call, Response<T> response) {
+					emitter.onSuccess(response);
+				}
+
+				@Override
+				public void onFailure(retrofit2.Call<T> call, Throwable t) {
+					emitter.tryOnError(t);
+				}
+			});
+		});
+	}
+
+	private <TResp extends ClientResponse<?>> void completeWithError(CompletableFuture<TResp> future, TResp tResp,
+			Throwable error) {
+		try {
+			if (error instanceof HttpException) {
+				error = mapHttpException((HttpException) error);
+			}
+			if (error instanceof ZAiHttpException) {
+				logger.error("API request failed with call error", error);
+				fillFailure(tResp, (ZAiHttpException) error);
+				future.complete(tResp);
+				return;
+			}
+		}
+		catch (RuntimeException e) {
+			error.addSuppressed(e);
+		}
+		future.completeExceptionally(error);
+	}
+
+	private static <Data> void fillSuccess(ClientResponse<Data> tResp, Data response) {
+		tResp.setCode(200);
+		tResp.setMsg("Call Successful");
+		tResp.setData(response);
+		tResp.setSuccess(true);
+	}
+
+	private static void fillFailure(ClientResponse<?> tResp, ZAiHttpException e) {
+		tResp.setCode(e.statusCode);
+		tResp.setMsg("Call Failed");
+		tResp.setSuccess(false);
+		ChatError chatError = new ChatError();
+		if (StringUtils.isNotEmpty(e.code)) {
+			try {
 				chatError.setCode(Integer.parseInt(e.code));
 			}
-			chatError.setMessage(e.getMessage());
-			tResp.setError(chatError);
+			catch (NumberFormatException ignored) {
+				// the error code is not numeric, the message still describes the error
+			}
 		}
-		return tResp;
+		chatError.setMessage(e.getMessage());
+		tResp.setError(chatError);
 	}
 
 	/**
@@ -417,20 +916,21 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * response body and stream element type can differ.
 	 * @param request the request object
 	 * @param requestSupplier the streaming API supplier
-	 * @param tRespClass the client response class (must implement
+	 * @param tRespFactory the factory of the client response (must implement
 	 * BiFlowableClientResponse<Data, F>)
 	 * @param tStreamDataClass the stream data element class
 	 * @return a response containing a Flowable<F> stream
 	 */
+	@Override
 	@SuppressWarnings("unchecked")
 	public <Data, F, Param, TReq extends ClientRequest<Param>, TResp extends BiFlowableClientResponse<Data, F>> TResp biStreamRequest(
 			TReq request, FlowableRequestSupplier<Param, retrofit2.Call<ResponseBody>> requestSupplier,
-			Class<TResp> tRespClass, Class<F> tStreamDataClass) {
+			Supplier<TResp> tRespFactory, Class<F> tStreamDataClass) {
 		retrofit2.Call<ResponseBody> apiCall = requestSupplier.get((Param) request);
-		TResp tResp = convertToClientResponse(tRespClass);
+		TResp tResp = tRespFactory.get();
 
 		try {
-			Flowable<F> stream = stream(apiCall, tStreamDataClass);
+			Flowable<F> stream = measure(apiCall, stream(apiCall, tStreamDataClass));
 			tResp.setCode(200);
 			tResp.setMsg("Stream initialized successfully");
 			tResp.setSuccess(true);
@@ -458,7 +958,7 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	 * elements of type Data.
 	 * @param request the request object
 	 * @param requestSupplier the streaming API supplier
-	 * @param tRespClass the client response class (must implement
+	 * @param tRespFactory the factory of the client response (must implement
 	 * FlowableClientResponse<Data>)
 	 * @param tDataClass the class representing stream data type
 	 * @return a response containing a Flowable<Data> stream
@@ -467,12 +967,12 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 	@SuppressWarnings("unchecked")
 	public <Data, Param, TReq extends ClientRequest<Param>, TResp extends FlowableClientResponse<Data>> TResp streamRequest(
 			TReq request, FlowableRequestSupplier<Param, retrofit2.Call<ResponseBody>> requestSupplier,
-			Class<TResp> tRespClass, Class<Data> tDataClass) {
+			Supplier<TResp> tRespFactory, Class<Data> tDataClass) {
 		retrofit2.Call<ResponseBody> apiCall = requestSupplier.get((Param) request);
-		TResp tResp = convertToClientResponse(tRespClass);
+		TResp tResp = tRespFactory.get();
 
 		try {
-			Flowable<Data> stream = stream(apiCall, tDataClass);
+			Flowable<Data> stream = measure(apiCall, stream(apiCall, tDataClass));
 			tResp.setCode(200);
 			tResp.setMsg("Stream initialized successfully");
 			tResp.setSuccess(true);
@@ -484,22 +984,34 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 		return tResp;
 	}
 
+	private <T> Flowable<T> measure(retrofit2.Call<ResponseBody> apiCall, Flowable<T> stream) {
+		return streamMetrics == null ? stream : streamMetrics.record(apiCall, stream);
+	}
+
 	/**
-	 * Creates a new instance of the specified response class using reflection. This
-	 * helper method is used to instantiate response objects dynamically.
-	 * @param <Data> the type of data contained in the response
-	 * @param <TResp> the type of client response
-	 * @param tRespClass the class of the response type to instantiate
-	 * @return a new instance of the response class
-	 * @throws RuntimeException if the response object cannot be created
+	 * Opens the SSE event stream of a streaming call with the backpressure strategy from
+	 * the client configuration.
+	 * @param apiCall the API call that returns streaming data
+	 * @return a Flowable of SSE events
 	 */
-	private <Data, TResp extends ClientResponse<Data>> TResp convertToClientResponse(Class<TResp> tRespClass) {
-		try {
-			return tRespClass.getDeclaredConstructor().newInstance();
-		}
-		catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-			throw new RuntimeException("Failed to create response object of type: " + tRespClass.getSimpleName(), e);
-		}
+	@Override
+	protected Flowable<SSE> openStream(retrofit2.Call<ResponseBody> apiCall) {
+		return stream(apiCall, false, config.getStreamBackpressureStrategy(), config.getStreamBufferSize(),
+				streamScheduler);
+	}
+
+	/**
+	 * Holder of the high performance codec, shared by all clients using it and warmed up
+	 * for every API when the first of them is created.
+	 */
+	private static final class HighPerformanceJson {
+
+		private static final JsonCodec CODEC = JsonMappers.highPerformance()
+			.warmUp(Arrays.asList(AgentsApi.class, AssistantApi.class, AudioApi.class, BatchesApi.class, ChatApi.class,
+					EmbeddingApi.class, FileApi.class, FileParsingApi.class, HandwritingOcrApi.class, ImagesApi.class,
+					LayoutParsingApi.class, ModerationApi.class, ToolsApi.class, VideosApi.class, VoiceCloneApi.class,
+					WebReaderApi.class, WebSearchApi.class));
+
 	}
 
 	// ==================== Abstract Builder Base Class ====================
@@ -659,6 +1171,219 @@ public abstract class AbstractAiClient extends AbstractClientBaseService {
 			return self();
 		}
 
+		/**
+		 * Configures how streaming calls handle a subscriber that consumes events slower
+		 * than the server produces them.
+		 * @param strategy the backpressure strategy, BUFFER by default
+		 * @param bufferSize number of events buffered per stream by the bounded
+		 * strategies
+		 * @return this Builder instance for method chaining
+		 */
+		public B streamBackpressure(StreamBackpressureStrategy strategy, int bufferSize) {
+			if (strategy == null) {
+				throw new IllegalArgumentException("Stream backpressure strategy cannot be null");
+			}
+			if (bufferSize <= 0) {
+				throw new IllegalArgumentException("Stream buffer size must be positive");
+			}
+			config.setStreamBackpressureStrategy(strategy);
+			config.setStreamBufferSize(bufferSize);
+			return self();
+		}
+
+		/**
+		 * Configures the HTTP dispatcher concurrency limits. Calls beyond these limits
+		 * wait in the dispatcher queue, see {@link AbstractAiClient#queuedCallsCount()}.
+		 * @param maxRequests maximum number of concurrent requests
+		 * @param maxRequestsPerHost maximum number of concurrent requests per host
+		 * @return this Builder instance for method chaining
+		 */
+		public B dispatcher(int maxRequests, int maxRequestsPerHost) {
+			if (maxRequests <= 0) {
+				throw new IllegalArgumentException("Max requests must be positive");
+			}
+			if (maxRequestsPerHost <= 0) {
+				throw new IllegalArgumentException("Max requests per host must be positive");
+			}
+			config.setMaxRequests(maxRequests);
+			config.setMaxRequestsPerHost(maxRequestsPerHost);
+			return self();
+		}
+
+		/**
+		 * Sets the executor running the HTTP calls. The executor stays owned by the
+		 * caller and is not shut down when the client is closed.
+		 * @param executor the dispatcher executor
+		 * @return this Builder instance for method chaining
+		 */
+		public B dispatcherExecutor(ExecutorService executor) {
+			if (executor == null) {
+				throw new IllegalArgumentException("Dispatcher executor cannot be null");
+			}
+			config.setDispatcherExecutor(executor);
+			return self();
+		}
+
+		/**
+		 * Sets the policy retrying failed calls, for example
+		 * {@link ExponentialBackoffRetryPolicy#defaults()}. Streaming calls are only
+		 * retried before the first event is received. No call is retried by default.
+		 * @param retryPolicy the retry policy
+		 * @return this Builder instance for method chaining
+		 */
+		public B retryPolicy(RetryPolicy retryPolicy) {
+			if (retryPolicy == null) {
+				throw new IllegalArgumentException("Retry policy cannot be null");
+			}
+			config.setRetryPolicy(retryPolicy);
+			return self();
+		}
+
+		/**
+		 * Limits the requests and tokens per minute sent for a model. Requests wait until
+		 * they fit in the limits instead of being rejected by the API. Applies to chat
+		 * completions and embeddings; asynchronous calls are enqueued once they fit,
+		 * without blocking the calling thread.
+		 * @param model the model name
+		 * @param requestsPerMinute the RPM limit, 0 for unlimited
+		 * @param tokensPerMinute the TPM limit, 0 for unlimited
+		 * @return this Builder instance for method chaining
+		 */
+		public B rateLimit(String model, int requestsPerMinute, long tokensPerMinute) {
+			if (model == null || model.trim().isEmpty()) {
+				throw new IllegalArgumentException("Model cannot be null or empty");
+			}
+			if (config.getRateLimits() == null) {
+				config.setRateLimits(new HashMap<>());
+			}
+			config.getRateLimits().put(model, ModelRateLimit.of(requestsPerMinute, tokensPerMinute));
+			return self();
+		}
+
+		/**
+		 * Sets the longest time a request waits for its model's rate limit before a
+		 * {@link RateLimitExceededException} is thrown.
+		 * @param maxWait the maximum wait
+		 * @param timeUnit the time unit for the maximum wait
+		 * @return this Builder instance for method chaining
+		 */
+		public B rateLimitMaxWait(long maxWait, TimeUnit timeUnit) {
+			if (maxWait < 0 || timeUnit == null) {
+				throw new IllegalArgumentException("Rate limit max wait cannot be negative");
+			}
+			config.setRateLimitMaxWaitMillis(timeUnit.toMillis(maxWait));
+			return self();
+		}
+
+		/**
+		 * Protects an endpoint family with a circuit breaker and an adaptive concurrency
+		 * limit, so calls fail fast with a {@link ResilienceRejectedException} instead of
+		 * tying up threads and sockets while the upstream is unhealthy.
+		 * @param family the endpoint family
+		 * @param policy the circuit breaker and concurrency limit settings, for example
+		 * {@link ResiliencePolicy#defaults()}
+		 * @return this Builder instance for method chaining
+		 */
+		public B resilience(EndpointFamily family, ResiliencePolicy policy) {
+			if (family == null || policy == null) {
+				throw new IllegalArgumentException("Endpoint family and resilience policy cannot be null");
+			}
+			if (config.getResiliencePolicies() == null) {
+				config.setResiliencePolicies(new EnumMap<>(EndpointFamily.class));
+			}
+			config.getResiliencePolicies().put(family, policy);
+			return self();
+		}
+
+		/**
+		 * Sets the HTTP protocols in order of preference. By default HTTP/2 is negotiated
+		 * with ALPN, falling back to HTTP/1.1.
+		 * @param protocols the protocols, which must include HTTP/1.1 unless only
+		 * H2_PRIOR_KNOWLEDGE is given
+		 * @return this Builder instance for method chaining
+		 */
+		public B protocols(List<Protocol> protocols) {
+			if (protocols == null || protocols.isEmpty()) {
+				throw new IllegalArgumentException("Protocols cannot be null or empty");
+			}
+			config.setProtocols(protocols);
+			return self();
+		}
+
+		/**
+		 * Keeps connections to the API host warm by calling
+		 * {@link AbstractAiClient#warmUp(int)} in the background at a fixed rate. The
+		 * interval should be shorter than the connection pool keep-alive.
+		 * @param connections the number of connections to keep warm
+		 * @param interval the interval between two warm-ups
+		 * @param timeUnit the time unit for the interval
+		 * @return this Builder instance for method chaining
+		 */
+		public B keepWarm(int connections, long interval, TimeUnit timeUnit) {
+			if (connections <= 0) {
+				throw new IllegalArgumentException("Keep-warm connections must be positive");
+			}
+			if (interval <= 0 || timeUnit == null) {
+				throw new IllegalArgumentException("Keep-warm interval must be positive");
+			}
+			config.setKeepWarmConnections(connections);
+			config.setKeepWarmInterval(interval);
+			config.setKeepWarmTimeUnit(timeUnit);
+			return self();
+		}
+
+		/**
+		 * Runs HTTP calls and the blocking reads of pull-based streams on virtual
+		 * threads, with the dispatcher concurrency limits raised so blocking calls are
+		 * not queued behind a small thread pool. Requires Java 21 or newer; on older
+		 * runtimes a warning is logged and platform threads are used.
+		 *
+		 * <p>
+		 * Only the dispatcher moves to virtual threads. A synchronous service method
+		 * still waits for its call on the calling thread, so callers on platform threads
+		 * stay blocked for the whole call; call such methods from virtual threads of your
+		 * own or use the asynchronous services. The blocking file, file parsing and
+		 * handwriting OCR services execute some of their calls directly instead of
+		 * through the dispatcher, so these calls are not counted against its limits;
+		 * their asynchronous variants enqueue every call.
+		 * </p>
+		 * @return this Builder instance for method chaining
+		 */
+		public B virtualThreads() {
+			config.setVirtualThreads(true);
+			return self();
+		}
+
+		/**
+		 * Binds JSON with generated accessors instead of reflection and builds the
+		 * (de)serializers of all API models up front, lowering first-request latency and
+		 * steady-state CPU. Requires jackson-module-blackbird (Java 9+) or
+		 * jackson-module-afterburner on the classpath; without them a warning is logged
+		 * and only the warm-up applies.
+		 * @return this Builder instance for method chaining
+		 */
+		public B highPerformanceJson() {
+			config.setHighPerformanceJson(true);
+			return self();
+		}
+
+		/**
+		 * Measures streaming calls: connect time, time to first byte, time to first
+		 * token, gaps between events, output tokens per second and how the stream ended,
+		 * tagged with the model and endpoint. Use a
+		 * {@link ai.z.openapi.core.metrics.MicrometerStreamMetricsListener} to publish
+		 * them to Micrometer.
+		 * @param listener the listener receiving the measurements
+		 * @return this Builder instance for method chaining
+		 */
+		public B streamMetrics(StreamMetricsListener listener) {
+			if (listener == null) {
+				throw new IllegalArgumentException("Stream metrics listener cannot be null");
+			}
+			config.setStreamMetricsListener(listener);
+			return self();
+		}
+
 		/**
 		 * Builds and returns a new AI client instance with the configured settings.
 		 * @return a new AI client instance
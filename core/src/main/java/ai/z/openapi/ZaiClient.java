@@ -2,6 +2,7 @@ package ai.z.openapi;
 
 import ai.z.openapi.core.config.ZaiConfig;
 import ai.z.openapi.utils.StringUtils;
+import okhttp3.OkHttpClient;
 
 import static ai.z.openapi.core.Constants.ZHIPU_AI_BASE_URL;
 import static ai.z.openapi.core.Constants.Z_AI_BASE_URL;
@@ -44,6 +45,16 @@ public class ZaiClient extends AbstractAiClient {
 		super(config, StringUtils.isEmpty(config.getBaseUrl()) ? Z_AI_BASE_URL : config.getBaseUrl());
 	}
 
+	/**
+	 * Constructs a ZaiClient sending its requests through the shared transport of a
+	 * {@link ZaiClientPool}.
+	 * @param config the tenant configuration
+	 * @param transport the shared transport
+	 */
+	ZaiClient(ZaiConfig config, OkHttpClient transport) {
+		super(config, StringUtils.isEmpty(config.getBaseUrl()) ? Z_AI_BASE_URL : config.getBaseUrl(), transport);
+	}
+
 	// ==================== Builder Pattern Implementation ====================
 
 	/**
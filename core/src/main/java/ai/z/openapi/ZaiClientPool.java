@@ -0,0 +1,163 @@
+package ai.z.openapi;
+
+import ai.z.openapi.core.config.ZaiConfig;
+import ai.z.openapi.utils.OkHttps;
+import ai.z.openapi.utils.StringUtils;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static ai.z.openapi.core.Constants.Z_AI_BASE_URL;
+
+/**
+ * Pool of {@link ZaiClient}s for many tenants, each with its own API key, sharing one
+ * transport: a single connection pool, dispatcher and set of retry and circuit breaker
+ * interceptors. Each tenant client only adds its credentials to the requests, so a tenant
+ * costs a few objects instead of a thread pool and a socket pool.
+ *
+ * <p>
+ * Transport settings (base URL, timeouts, connection pool, dispatcher, protocols, retry
+ * and resilience policies, keep-warm) come from the pool configuration. Tenant clients
+ * inherit the remaining settings, such as token caching, rate limits and stream
+ * backpressure, and each keeps its own token and rate limiter. A single keep-warm task
+ * serves the shared connection pool of all tenants.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * ZaiClientPool pool = new ZaiClientPool(ZaiConfig.builder().maxRequests(256).build());
+ *
+ * ChatCompletionResponse response = pool.client(tenantApiKey).chat().createChatCompletion(request);
+ *
+ * pool.close(); // closes the shared transport
+ * }</pre>
+ */
+public class ZaiClientPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(ZaiClientPool.class);
+
+	private final ZaiConfig config;
+
+	private final OkHttpClient transport;
+
+	private final HttpUrl baseUrl;
+
+	/** Executor of the background keep-warm task, null when keep-warm is disabled */
+	private final ScheduledExecutorService keepWarmExecutor;
+
+	private final ConcurrentMap<String, ZaiClient> clients = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a pool whose tenants share a transport built from the given configuration.
+	 * The API key of the configuration, if any, is ignored.
+	 * @param config the transport configuration
+	 * @throws IllegalArgumentException if config is null
+	 */
+	public ZaiClientPool(ZaiConfig config) {
+		if (config == null) {
+			throw new IllegalArgumentException("Configuration cannot be null");
+		}
+		this.config = config;
+		this.transport = OkHttps.createTransport(config);
+		this.baseUrl = HttpUrl.get(StringUtils.isEmpty(config.getBaseUrl()) ? Z_AI_BASE_URL : config.getBaseUrl());
+		this.keepWarmExecutor = config.getKeepWarmConnections() > 0 ? OkHttps.startKeepWarm(transport, config, baseUrl)
+				: null;
+		logger.info("ZAI Init the client pool, baseUrl: {}", baseUrl);
+	}
+
+	/**
+	 * Returns the client of a tenant, creating it on first use.
+	 * @param apiKey the tenant API key
+	 * @return the tenant client, which must not be closed individually
+	 * @throws IllegalArgumentException if apiKey is null or empty
+	 */
+	public ZaiClient client(String apiKey) {
+		if (apiKey == null || apiKey.trim().isEmpty()) {
+			throw new IllegalArgumentException("API key cannot be null or empty");
+		}
+		ZaiClient client = clients.get(apiKey);
+		return client != null ? client : clients.computeIfAbsent(apiKey, this::newClient);
+	}
+
+	private ZaiClient newClient(String apiKey) {
+		return new ZaiClient(config.toBuilder().apiKey(apiKey).build(), transport);
+	}
+
+	/**
+	 * Removes the client of a tenant, releasing its token and rate limiter.
+	 * @param apiKey the tenant API key
+	 * @return true if the tenant had a client
+	 */
+	public boolean remove(String apiKey) {
+		ZaiClient client = clients.remove(apiKey);
+		if (client == null) {
+			return false;
+		}
+		client.close();
+		return true;
+	}
+
+	/**
+	 * Returns the number of tenant clients.
+	 * @return the number of tenant clients
+	 */
+	public int size() {
+		return clients.size();
+	}
+
+	/**
+	 * Opens connections of the shared pool ahead of the first requests, see
+	 * {@link AbstractAiClient#warmUp(int)}.
+	 * @param connections the number of concurrent warm-up requests
+	 * @return the number of warm-up requests that reached the server
+	 */
+	public int warmUp(int connections) {
+		return OkHttps.warmUp(transport, config, baseUrl, connections);
+	}
+
+	/**
+	 * Returns the number of calls of all tenants waiting in the shared dispatcher queue.
+	 * @return the number of queued calls
+	 */
+	public int queuedCallsCount() {
+		return transport.dispatcher().queuedCallsCount();
+	}
+
+	/**
+	 * Returns the number of calls of all tenants currently executing.
+	 * @return the number of running calls
+	 */
+	public int runningCallsCount() {
+		return transport.dispatcher().runningCallsCount();
+	}
+
+	/**
+	 * Closes all tenant clients and the shared transport. The pool should not be used
+	 * after calling this method.
+	 */
+	public void close() {
+		for (String apiKey : clients.keySet()) {
+			remove(apiKey);
+		}
+		try {
+			if (keepWarmExecutor != null) {
+				keepWarmExecutor.shutdownNow();
+			}
+			if (config.getDispatcherExecutor() == null) {
+				transport.dispatcher().executorService().shutdown();
+			}
+			transport.connectionPool().evictAll();
+		}
+		catch (Exception e) {
+			logger.error("Error closing http client", e);
+		}
+	}
+
+}
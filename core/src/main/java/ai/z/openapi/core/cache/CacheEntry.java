@@ -0,0 +1,47 @@
+package ai.z.openapi.core.cache;
+
+/**
+ * Cached value together with the wall clock time at which it expires. Wall clock time is
+ * used so that entries can be exchanged between processes sharing one cache backend.
+ */
+public final class CacheEntry {
+
+	/**
+	 * Expiration time of entries whose backend does not report one.
+	 */
+	public static final long UNKNOWN_EXPIRY = -1;
+
+	private final String value;
+
+	private final long expiresAtMillis;
+
+	public CacheEntry(String value, long expiresAtMillis) {
+		this.value = value;
+		this.expiresAtMillis = expiresAtMillis;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * Gets the expiration time in milliseconds since the epoch.
+	 * @return the expiration time, or {@link #UNKNOWN_EXPIRY} if unknown
+	 */
+	public long getExpiresAtMillis() {
+		return expiresAtMillis;
+	}
+
+	/**
+	 * Gets the remaining time to live.
+	 * @return the remaining milliseconds, never negative, or {@link #UNKNOWN_EXPIRY} if
+	 * unknown
+	 */
+	public long remainingMillis() {
+		if (expiresAtMillis == UNKNOWN_EXPIRY) {
+			return UNKNOWN_EXPIRY;
+		}
+		return Math.max(0, expiresAtMillis - System.currentTimeMillis());
+	}
+
+}
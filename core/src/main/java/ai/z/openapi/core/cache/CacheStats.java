@@ -0,0 +1,82 @@
+package ai.z.openapi.core.cache;
+
+/**
+ * Immutable snapshot of cache statistics.
+ */
+public final class CacheStats {
+
+	/**
+	 * Statistics of a cache that records nothing.
+	 */
+	public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0);
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long evictionCount;
+
+	private final long expiredCount;
+
+	private final long size;
+
+	public CacheStats(long hitCount, long missCount, long evictionCount, long expiredCount, long size) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.expiredCount = expiredCount;
+		this.size = size;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Gets the number of lookups that found nothing, including expired entries.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Gets the number of entries removed to stay within the maximum size.
+	 * @return the eviction count
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Gets the number of entries removed because their time to live elapsed.
+	 * @return the expired count
+	 */
+	public long getExpiredCount() {
+		return expiredCount;
+	}
+
+	/**
+	 * Gets the number of entries held when the snapshot was taken.
+	 * @return the size
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Gets the ratio of lookups that found a value.
+	 * @return the hit rate between 0 and 1, or 1 when there were no lookups
+	 */
+	public double hitRate() {
+		long requests = hitCount + missCount;
+		return requests == 0 ? 1.0 : (double) hitCount / requests;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+				+ ", expiredCount=" + expiredCount + ", size=" + size + '}';
+	}
+
+}
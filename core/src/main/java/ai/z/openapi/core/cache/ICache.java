@@ -4,7 +4,9 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Token cache interface with default LocalCache implementation. Can be replaced with
- * distributed cache (e.g., Redis) as needed.
+ * distributed cache (e.g., Redis) as needed, so that signed tokens are shared between
+ * processes; see {@link TieredCache} for keeping a bounded local copy in front of such a
+ * backend.
  */
 public interface ICache {
 
@@ -24,4 +26,31 @@ public interface ICache {
 	 */
 	void set(String key, String value, int expire, TimeUnit timeUnit);
 
+	/**
+	 * Retrieves cached value by key together with its expiration time. Backends able to
+	 * report the remaining time to live (for example Redis {@code PTTL}) should override
+	 * this so that callers can renew values ahead of expiry.
+	 * @param key the cache key
+	 * @return the entry, or {@code null} if not found or expired
+	 */
+	default CacheEntry getEntry(String key) {
+		String value = get(key);
+		return value == null || value.isEmpty() ? null : new CacheEntry(value, CacheEntry.UNKNOWN_EXPIRY);
+	}
+
+	/**
+	 * Removes the value cached for a key, if any.
+	 * @param key the cache key
+	 */
+	default void remove(String key) {
+	}
+
+	/**
+	 * Returns a snapshot of the cache statistics.
+	 * @return the statistics, all zero for caches that do not record them
+	 */
+	default CacheStats stats() {
+		return CacheStats.EMPTY;
+	}
+
 }
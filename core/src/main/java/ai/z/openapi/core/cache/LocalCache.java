@@ -1,28 +1,61 @@
 package ai.z.openapi.core.cache;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Thread-safe local cache implementation using ConcurrentHashMap. Provides basic caching
- * functionality with expiration support.
+ * Thread-safe, size-bounded local cache. Entries expire after their time to live,
+ * measured with {@link System#nanoTime()} so that wall clock changes do not affect them,
+ * and the least recently used entry is evicted once the maximum size is reached. Besides
+ * serving as the default token cache, an instance can stand in for a distributed backend,
+ * for example in tests or single-process deployments.
  */
 public class LocalCache implements ICache {
 
 	private static final Logger log = LoggerFactory.getLogger(LocalCache.class);
 
-	private static final ConcurrentMap<String, Value> CACHE = new ConcurrentHashMap<>(8);
+	/**
+	 * Maximum number of entries of the shared instance.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private final int maximumSize;
+
+	private final LinkedHashMap<String, Value> entries;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder expirations = new LongAdder();
 
 	/**
-	 * Private constructor to prevent direct instantiation.
+	 * Creates a cache holding at most {@code maximumSize} entries.
+	 * @param maximumSize maximum number of entries, must be positive
 	 */
-	private LocalCache() {
+	public LocalCache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be positive");
+		}
+		this.maximumSize = maximumSize;
+		this.entries = new LinkedHashMap<String, Value>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Value> eldest) {
+				if (size() <= LocalCache.this.maximumSize) {
+					return false;
+				}
+				evictions.increment();
+				return true;
+			}
+		};
 	}
 
 	/**
@@ -35,22 +68,106 @@ public class LocalCache implements ICache {
 
 	@Override
 	public String get(String key) {
-		Value v = LocalCache.CACHE.get(key);
-		if (v == null || new Date().after(v.end)) {
+		Value v = lookup(key);
+		if (v == null) {
 			return "";
 		}
-
-		log.debug("Retrieved key: {}, time left: {}s", key, (v.end.getTime() - new Date().getTime()) / 1000);
+		log.debug("Retrieved key: {}, time left: {}ms", key, TimeUnit.NANOSECONDS.toMillis(v.end - System.nanoTime()));
 		return v.value;
 	}
 
+	@Override
+	public CacheEntry getEntry(String key) {
+		Value v = lookup(key);
+		if (v == null) {
+			return null;
+		}
+		long remainingMillis = TimeUnit.NANOSECONDS.toMillis(v.end - System.nanoTime());
+		return new CacheEntry(v.value, System.currentTimeMillis() + remainingMillis);
+	}
+
 	@Override
 	public void set(String key, String value, int expire, TimeUnit timeUnit) {
-		Calendar calendar = Calendar.getInstance();
-		calendar.add(Calendar.SECOND, (int) timeUnit.toSeconds(expire));
-		Value v = new Value(value, calendar.getTime());
-		log.debug("Cached key: {}, expire time: {}", key, calendar.getTime());
-		LocalCache.CACHE.put(key, v);
+		set(key, value, timeUnit.toNanos(expire));
+	}
+
+	/**
+	 * Caches a value until the given entry expires, keeping the remaining time to live.
+	 * @param key the cache key
+	 * @param entry the entry to copy
+	 */
+	public void set(String key, CacheEntry entry) {
+		long remainingMillis = entry.remainingMillis();
+		if (remainingMillis == CacheEntry.UNKNOWN_EXPIRY || remainingMillis == 0) {
+			return;
+		}
+		set(key, entry.getValue(), TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+	}
+
+	private void set(String key, String value, long ttlNanos) {
+		Value v = new Value(value, System.nanoTime() + ttlNanos);
+		log.debug("Cached key: {}, expire in: {}ms", key, TimeUnit.NANOSECONDS.toMillis(ttlNanos));
+		synchronized (entries) {
+			entries.put(key, v);
+		}
+	}
+
+	@Override
+	public void remove(String key) {
+		synchronized (entries) {
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * Removes all expired entries. Expired entries are otherwise dropped when looked up
+	 * or when they become the least recently used entry.
+	 */
+	public void cleanUp() {
+		long now = System.nanoTime();
+		synchronized (entries) {
+			Iterator<Value> iterator = entries.values().iterator();
+			while (iterator.hasNext()) {
+				if (now - iterator.next().end >= 0) {
+					iterator.remove();
+					expirations.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of entries held, including expired ones not yet removed.
+	 * @return the number of entries
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	@Override
+	public CacheStats stats() {
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size());
+	}
+
+	private Value lookup(String key) {
+		Value v;
+		synchronized (entries) {
+			v = entries.get(key);
+			if (v != null && System.nanoTime() - v.end >= 0) {
+				entries.remove(key);
+				expirations.increment();
+				v = null;
+			}
+		}
+		if (v == null) {
+			misses.increment();
+		}
+		else {
+			hits.increment();
+		}
+		return v;
 	}
 
 	/**
@@ -60,11 +177,12 @@ public class LocalCache implements ICache {
 
 		final String value;
 
-		final Date end;
+		/** Expiration time as a {@link System#nanoTime()} reading. */
+		final long end;
 
-		public Value(String value, Date time) {
+		Value(String value, long end) {
 			this.value = value;
-			this.end = time;
+			this.end = end;
 		}
 
 	}
@@ -74,7 +192,7 @@ public class LocalCache implements ICache {
 	 */
 	private static class Inner {
 
-		private static final LocalCache LOCAL_CACHE = new LocalCache();
+		private static final LocalCache LOCAL_CACHE = new LocalCache(DEFAULT_MAXIMUM_SIZE);
 
 	}
 
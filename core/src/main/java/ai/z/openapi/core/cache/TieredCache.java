@@ -0,0 +1,70 @@
+package ai.z.openapi.core.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-level cache keeping a bounded {@link LocalCache} in front of a shared backend such
+ * as Redis. Reads are served locally when possible and otherwise copied from the backend
+ * with the backend's remaining time to live; writes go to both levels. A fleet of
+ * processes configured with the same backend thereby reuses each other's signed tokens.
+ */
+public class TieredCache implements ICache {
+
+	private final LocalCache local;
+
+	private final ICache shared;
+
+	/**
+	 * Creates a tiered cache.
+	 * @param local the local level
+	 * @param shared the shared backend
+	 */
+	public TieredCache(LocalCache local, ICache shared) {
+		if (local == null || shared == null) {
+			throw new IllegalArgumentException("local and shared caches cannot be null");
+		}
+		this.local = local;
+		this.shared = shared;
+	}
+
+	@Override
+	public String get(String key) {
+		CacheEntry entry = getEntry(key);
+		return entry == null ? "" : entry.getValue();
+	}
+
+	@Override
+	public CacheEntry getEntry(String key) {
+		CacheEntry entry = local.getEntry(key);
+		if (entry != null) {
+			return entry;
+		}
+		entry = shared.getEntry(key);
+		if (entry != null) {
+			local.set(key, entry);
+		}
+		return entry;
+	}
+
+	@Override
+	public void set(String key, String value, int expire, TimeUnit timeUnit) {
+		shared.set(key, value, expire, timeUnit);
+		local.set(key, value, expire, timeUnit);
+	}
+
+	@Override
+	public void remove(String key) {
+		shared.remove(key);
+		local.remove(key);
+	}
+
+	/**
+	 * Returns the statistics of the local level; consult the backend for its own.
+	 * @return the local level statistics
+	 */
+	@Override
+	public CacheStats stats() {
+		return local.stats();
+	}
+
+}
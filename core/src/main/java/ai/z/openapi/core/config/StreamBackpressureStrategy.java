@@ -0,0 +1,39 @@
+package ai.z.openapi.core.config;
+
+/**
+ * Strategy used by streaming calls when the subscriber consumes events slower than the
+ * server produces them.
+ */
+public enum StreamBackpressureStrategy {
+
+	/**
+	 * Reads the next event from the socket only when the subscriber requests it, so at
+	 * most the socket buffer is held in memory no matter how slow the consumer is.
+	 */
+	PULL,
+
+	/**
+	 * Pushes every event as soon as it is read and buffers without limit until the
+	 * subscriber catches up.
+	 */
+	BUFFER,
+
+	/**
+	 * Pushes events into a buffer of {@code streamBufferSize} events and drops the oldest
+	 * buffered event when it is full.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Pushes events into a buffer of {@code streamBufferSize} events and drops the newest
+	 * event when it is full.
+	 */
+	DROP_LATEST,
+
+	/**
+	 * Pushes events into a buffer of {@code streamBufferSize} events and fails the stream
+	 * with a {@code MissingBackpressureException} when it is full.
+	 */
+	ERROR,;
+
+}
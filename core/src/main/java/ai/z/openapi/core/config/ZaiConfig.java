@@ -1,11 +1,19 @@
 package ai.z.openapi.core.config;
 
+import ai.z.openapi.core.metrics.StreamMetricsListener;
+import ai.z.openapi.core.ratelimit.ModelRateLimit;
+import ai.z.openapi.core.resilience.EndpointFamily;
+import ai.z.openapi.core.resilience.ResiliencePolicy;
+import ai.z.openapi.core.retry.RetryPolicy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import okhttp3.Protocol;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static ai.z.openapi.core.Constants.Z_AI_BASE_URL;
@@ -16,7 +24,7 @@ import static ai.z.openapi.core.Constants.Z_AI_BASE_URL;
  * environment variables with memory values taking priority.
  */
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ZaiConfig {
@@ -44,6 +52,10 @@ public class ZaiConfig {
 
 	private static final String ENV_WRITE_TIMEOUT = "ZAI_WRITE_TIMEOUT";
 
+	private static final String ENV_MAX_REQUESTS = "ZAI_MAX_REQUESTS";
+
+	private static final String ENV_MAX_REQUESTS_PER_HOST = "ZAI_MAX_REQUESTS_PER_HOST";
+
 	/**
 	 * Base URL for API endpoints.
 	 */
@@ -128,6 +140,106 @@ public class ZaiConfig {
 	@Builder.Default
 	private String source_channel = "java-sdk";
 
+	/**
+	 * Backpressure strategy for streaming calls (default: BUFFER).
+	 */
+	@Builder.Default
+	private StreamBackpressureStrategy streamBackpressureStrategy = StreamBackpressureStrategy.BUFFER;
+
+	/**
+	 * Number of events buffered per stream by the bounded backpressure strategies
+	 * (default: 128).
+	 */
+	@Builder.Default
+	private int streamBufferSize = 128;
+
+	/**
+	 * HTTP protocols in order of preference, negotiated with ALPN (default: HTTP/2 with
+	 * fallback to HTTP/1.1).
+	 */
+	private List<Protocol> protocols;
+
+	/**
+	 * Number of connections kept warm by the background keep-warm task (default: 0,
+	 * disabled).
+	 */
+	@Builder.Default
+	private int keepWarmConnections = 0;
+
+	/**
+	 * Interval between two runs of the keep-warm task.
+	 */
+	@Builder.Default
+	private long keepWarmInterval = 5;
+
+	/**
+	 * Time unit for the keep-warm interval.
+	 */
+	@Builder.Default
+	private TimeUnit keepWarmTimeUnit = TimeUnit.SECONDS;
+
+	/**
+	 * Policy deciding which failed calls are retried and when (default: null, no
+	 * retries).
+	 */
+	private RetryPolicy retryPolicy;
+
+	/**
+	 * Circuit breaker and adaptive concurrency limit policies by endpoint family
+	 * (default: null, disabled).
+	 */
+	private Map<EndpointFamily, ResiliencePolicy> resiliencePolicies;
+
+	/**
+	 * Client-side requests and tokens per minute limits by model name (default: null, no
+	 * limits).
+	 */
+	private Map<String, ModelRateLimit> rateLimits;
+
+	/**
+	 * Longest time in milliseconds a request waits for its model's rate limit before
+	 * failing (default: 60 seconds).
+	 */
+	@Builder.Default
+	private long rateLimitMaxWaitMillis = 60_000;
+
+	/**
+	 * Flag to run HTTP calls and blocking stream reads on virtual threads, requires Java
+	 * 21 or newer (default: false).
+	 */
+	@Builder.Default
+	private boolean virtualThreads = false;
+
+	/**
+	 * Flag to bind JSON with generated accessors and to build the (de)serializers of all
+	 * API models when the first such client is created (default: false).
+	 */
+	@Builder.Default
+	private boolean highPerformanceJson = false;
+
+	/**
+	 * Listener receiving the latency measurements of streaming calls (default: none).
+	 */
+	private StreamMetricsListener streamMetricsListener;
+
+	/**
+	 * Maximum number of requests executing concurrently, further calls wait in the
+	 * dispatcher queue (OkHttp default: 64).
+	 */
+	private Integer maxRequests;
+
+	/**
+	 * Maximum number of requests executing concurrently against one host, further calls
+	 * wait in the dispatcher queue (OkHttp default: 5).
+	 */
+	private Integer maxRequestsPerHost;
+
+	/**
+	 * Executor running the dispatched calls. It is owned by the caller and not shut down
+	 * when the client is closed.
+	 */
+	private ExecutorService dispatcherExecutor;
+
 	/**
 	 * Constructor with combined API secret key.
 	 * @param apiKey combined secret key in format {apiKey}.{apiSecret}
@@ -368,6 +480,147 @@ public class ZaiConfig {
 		return source_channel;
 	}
 
+	/**
+	 * Gets stream backpressure strategy (always returns the set value or default).
+	 */
+	public StreamBackpressureStrategy getStreamBackpressureStrategy() {
+		return streamBackpressureStrategy != null ? streamBackpressureStrategy : StreamBackpressureStrategy.BUFFER;
+	}
+
+	/**
+	 * Gets the per-stream buffer size used by the bounded backpressure strategies.
+	 */
+	public int getStreamBufferSize() {
+		return streamBufferSize > 0 ? streamBufferSize : 128;
+	}
+
+	/**
+	 * Gets max concurrent requests with system property and environment variable
+	 * fallback.
+	 */
+	public Integer getMaxRequests() {
+		if (maxRequests != null) {
+			return maxRequests;
+		}
+		String propValue = System.getProperty(ENV_MAX_REQUESTS);
+		String value = propValue != null ? propValue : System.getenv(ENV_MAX_REQUESTS);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value);
+			}
+			catch (NumberFormatException e) {
+				// Return default value if parsing fails
+			}
+		}
+		return maxRequests;
+	}
+
+	/**
+	 * Gets max concurrent requests per host with system property and environment variable
+	 * fallback.
+	 */
+	public Integer getMaxRequestsPerHost() {
+		if (maxRequestsPerHost != null) {
+			return maxRequestsPerHost;
+		}
+		String propValue = System.getProperty(ENV_MAX_REQUESTS_PER_HOST);
+		String value = propValue != null ? propValue : System.getenv(ENV_MAX_REQUESTS_PER_HOST);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value);
+			}
+			catch (NumberFormatException e) {
+				// Return default value if parsing fails
+			}
+		}
+		return maxRequestsPerHost;
+	}
+
+	/**
+	 * Gets the custom dispatcher executor (always returns the set value or null).
+	 */
+	public ExecutorService getDispatcherExecutor() {
+		return dispatcherExecutor;
+	}
+
+	/**
+	 * Gets the preferred HTTP protocols (always returns the set value or null).
+	 */
+	public List<Protocol> getProtocols() {
+		return protocols;
+	}
+
+	/**
+	 * Gets the number of connections kept warm, 0 when keep-warm is disabled.
+	 */
+	public int getKeepWarmConnections() {
+		return keepWarmConnections;
+	}
+
+	/**
+	 * Gets the keep-warm interval.
+	 */
+	public long getKeepWarmInterval() {
+		return keepWarmInterval;
+	}
+
+	/**
+	 * Gets keep-warm time unit (always returns the set value or default).
+	 */
+	public TimeUnit getKeepWarmTimeUnit() {
+		return keepWarmTimeUnit != null ? keepWarmTimeUnit : TimeUnit.SECONDS;
+	}
+
+	/**
+	 * Gets the retry policy (always returns the set value or null).
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Gets the resilience policies by endpoint family (always returns the set value or
+	 * null).
+	 */
+	public Map<EndpointFamily, ResiliencePolicy> getResiliencePolicies() {
+		return resiliencePolicies;
+	}
+
+	/**
+	 * Gets the rate limits by model name (always returns the set value or null).
+	 */
+	public Map<String, ModelRateLimit> getRateLimits() {
+		return rateLimits;
+	}
+
+	/**
+	 * Gets the maximum rate limit wait in milliseconds.
+	 */
+	public long getRateLimitMaxWaitMillis() {
+		return rateLimitMaxWaitMillis;
+	}
+
+	/**
+	 * Gets the virtual threads flag.
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Gets the high performance JSON flag.
+	 */
+	public boolean isHighPerformanceJson() {
+		return highPerformanceJson;
+	}
+
+	/**
+	 * Gets the listener of the streaming call measurements.
+	 */
+	public StreamMetricsListener getStreamMetricsListener() {
+		return streamMetricsListener;
+	}
+
 	/**
 	 * Get custom headers
 	 * @return
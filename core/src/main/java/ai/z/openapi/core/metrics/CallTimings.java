@@ -0,0 +1,87 @@
+package ai.z.openapi.core.metrics;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * OkHttp event listener recording the connect time and the arrival of the response
+ * headers of one call. Listeners are looked up by the call's original request, which is
+ * the same instance Retrofit exposes through {@code retrofit2.Call#request()}.
+ */
+final class CallTimings extends EventListener {
+
+	/**
+	 * Weakly keyed so that calls never executed do not keep their timings alive.
+	 */
+	private static final Map<Request, CallTimings> CALLS = Collections.synchronizedMap(new WeakHashMap<>());
+
+	static final EventListener.Factory FACTORY = call -> {
+		CallTimings timings = new CallTimings();
+		CALLS.put(call.request(), timings);
+		return timings;
+	};
+
+	private long connectStartedAt;
+
+	private volatile long connectNanos = -1;
+
+	private volatile long responseHeadersAt = -1;
+
+	static CallTimings of(Request request) {
+		return CALLS.get(request);
+	}
+
+	long connectNanos() {
+		return connectNanos;
+	}
+
+	long responseHeadersAt() {
+		return responseHeadersAt;
+	}
+
+	@Override
+	public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+		connectStartedAt = System.nanoTime();
+	}
+
+	@Override
+	public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+		connected();
+	}
+
+	@Override
+	public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+			IOException ioe) {
+		connected();
+	}
+
+	private void connected() {
+		long elapsed = System.nanoTime() - connectStartedAt;
+		connectNanos = connectNanos < 0 ? elapsed : connectNanos + elapsed;
+	}
+
+	@Override
+	public void responseHeadersStart(Call call) {
+		responseHeadersAt = System.nanoTime();
+	}
+
+	@Override
+	public void callEnd(Call call) {
+		CALLS.remove(call.request());
+	}
+
+	@Override
+	public void callFailed(Call call, IOException ioe) {
+		CALLS.remove(call.request());
+	}
+
+}
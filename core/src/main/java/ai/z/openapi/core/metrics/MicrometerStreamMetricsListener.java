@@ -0,0 +1,118 @@
+package ai.z.openapi.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StreamMetricsListener} publishing the stream measurements to a Micrometer
+ * {@link MeterRegistry}. Requires micrometer-core on the classpath. Every meter is tagged
+ * with {@code model} and {@code endpoint}; the duration and throughput are also tagged
+ * with the {@code status} of the stream. Time to first token and chunk gaps publish
+ * percentile histograms so that latency objectives can be set on them.
+ *
+ * <ul>
+ * <li>{@code zai.stream.connect}: timer of the connections opened for a stream</li>
+ * <li>{@code zai.stream.time.to.first.byte}: timer</li>
+ * <li>{@code zai.stream.time.to.first.token}: timer with percentile histogram</li>
+ * <li>{@code zai.stream.chunk.gap}: timer with percentile histogram</li>
+ * <li>{@code zai.stream.duration}: timer</li>
+ * <li>{@code zai.stream.tokens.per.second}: distribution summary</li>
+ * </ul>
+ */
+public class MicrometerStreamMetricsListener implements StreamMetricsListener {
+
+	private static final String UNKNOWN = "unknown";
+
+	private final MeterRegistry registry;
+
+	private final String prefix;
+
+	/** Chunk gap timers by model and endpoint, looked up on every stream event. */
+	private final Map<String, Timer> chunkGapTimers = new ConcurrentHashMap<>();
+
+	public MicrometerStreamMetricsListener(MeterRegistry registry) {
+		this(registry, "zai.stream");
+	}
+
+	/**
+	 * Creates a listener publishing meters whose names start with the given prefix.
+	 * @param registry the registry to publish to
+	 * @param prefix the meter name prefix
+	 */
+	public MicrometerStreamMetricsListener(MeterRegistry registry, String prefix) {
+		if (registry == null) {
+			throw new IllegalArgumentException("Meter registry cannot be null");
+		}
+		if (prefix == null || prefix.isEmpty()) {
+			throw new IllegalArgumentException("Meter name prefix cannot be null or empty");
+		}
+		this.registry = registry;
+		this.prefix = prefix;
+	}
+
+	@Override
+	public void onChunkGap(String model, String endpoint, long gapNanos) {
+		String tagModel = model == null ? UNKNOWN : model;
+		String tagEndpoint = endpoint == null ? UNKNOWN : endpoint;
+		chunkGapTimers
+			.computeIfAbsent(tagModel + ' ' + tagEndpoint,
+					key -> Timer.builder(prefix + ".chunk.gap")
+						.description("Time between two events of a stream")
+						.tags(tags(tagModel, tagEndpoint))
+						.publishPercentileHistogram()
+						.register(registry))
+			.record(gapNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void onStreamFinished(StreamMetrics metrics) {
+		Tags tags = tags(metrics.getModel() == null ? UNKNOWN : metrics.getModel(),
+				metrics.getEndpoint() == null ? UNKNOWN : metrics.getEndpoint());
+		if (metrics.getConnectNanos() >= 0) {
+			Timer.builder(prefix + ".connect")
+				.description("Time spent opening connections for a stream")
+				.tags(tags)
+				.register(registry)
+				.record(metrics.getConnectNanos(), TimeUnit.NANOSECONDS);
+		}
+		if (metrics.getTimeToFirstByteNanos() >= 0) {
+			Timer.builder(prefix + ".time.to.first.byte")
+				.description("Time until the response headers of a stream arrived")
+				.tags(tags)
+				.register(registry)
+				.record(metrics.getTimeToFirstByteNanos(), TimeUnit.NANOSECONDS);
+		}
+		if (metrics.getTimeToFirstTokenNanos() >= 0) {
+			Timer.builder(prefix + ".time.to.first.token")
+				.description("Time until the first generated output of a stream")
+				.tags(tags)
+				.publishPercentileHistogram()
+				.register(registry)
+				.record(metrics.getTimeToFirstTokenNanos(), TimeUnit.NANOSECONDS);
+		}
+		Tags statusTags = tags.and("status", metrics.getStatus().name().toLowerCase());
+		Timer.builder(prefix + ".duration")
+			.description("Time until a stream ended")
+			.tags(statusTags)
+			.register(registry)
+			.record(metrics.getDurationNanos(), TimeUnit.NANOSECONDS);
+		if (metrics.getOutputChunks() > 0) {
+			DistributionSummary.builder(prefix + ".tokens.per.second")
+				.description("Output rate between the first token and the end of a stream")
+				.tags(statusTags)
+				.register(registry)
+				.record(metrics.getTokensPerSecond());
+		}
+	}
+
+	private static Tags tags(String model, String endpoint) {
+		return Tags.of("model", model, "endpoint", endpoint);
+	}
+
+}
@@ -0,0 +1,149 @@
+package ai.z.openapi.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency measurements of one streaming call. All times are measured from the
+ * subscription to the stream; a time that could not be observed is {@code -1}.
+ */
+public final class StreamMetrics {
+
+	private final String model;
+
+	private final String endpoint;
+
+	private final StreamStatus status;
+
+	private final long connectNanos;
+
+	private final long timeToFirstByteNanos;
+
+	private final long timeToFirstTokenNanos;
+
+	private final long durationNanos;
+
+	private final long generationNanos;
+
+	private final int chunks;
+
+	private final int outputChunks;
+
+	private final long completionTokens;
+
+	StreamMetrics(String model, String endpoint, StreamStatus status, long connectNanos, long timeToFirstByteNanos,
+			long timeToFirstTokenNanos, long durationNanos, long generationNanos, int chunks, int outputChunks,
+			long completionTokens) {
+		this.model = model;
+		this.endpoint = endpoint;
+		this.status = status;
+		this.connectNanos = connectNanos;
+		this.timeToFirstByteNanos = timeToFirstByteNanos;
+		this.timeToFirstTokenNanos = timeToFirstTokenNanos;
+		this.durationNanos = durationNanos;
+		this.generationNanos = generationNanos;
+		this.chunks = chunks;
+		this.outputChunks = outputChunks;
+		this.completionTokens = completionTokens;
+	}
+
+	/**
+	 * Returns the model reported by the stream events.
+	 * @return the model, or {@code null} if no event named it
+	 */
+	public String getModel() {
+		return model;
+	}
+
+	/**
+	 * Returns the path of the called endpoint, for example
+	 * {@code /api/paas/v4/chat/completions}.
+	 * @return the endpoint path, or {@code null} if the request could not be created
+	 */
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	public StreamStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * Returns the time spent establishing connections, including TLS, for this call.
+	 * @return the connect time in nanoseconds, or -1 if a pooled connection was reused
+	 */
+	public long getConnectNanos() {
+		return connectNanos;
+	}
+
+	/**
+	 * Returns the time until the response headers started to arrive.
+	 * @return the time to first byte in nanoseconds, or -1 if no response was received
+	 */
+	public long getTimeToFirstByteNanos() {
+		return timeToFirstByteNanos;
+	}
+
+	/**
+	 * Returns the time until the first event carrying generated output, skipping events
+	 * that only announce the role or report the usage.
+	 * @return the time to first token in nanoseconds, or -1 if no output was received
+	 */
+	public long getTimeToFirstTokenNanos() {
+		return timeToFirstTokenNanos;
+	}
+
+	/**
+	 * Returns the time until the stream ended.
+	 * @return the stream duration in nanoseconds
+	 */
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	/**
+	 * Returns the number of events received.
+	 * @return the event count
+	 */
+	public int getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * Returns the number of events carrying generated output.
+	 * @return the output event count
+	 */
+	public int getOutputChunks() {
+		return outputChunks;
+	}
+
+	/**
+	 * Returns the completion tokens reported by the usage of the stream.
+	 * @return the completion tokens, or -1 if the stream reported no usage
+	 */
+	public long getCompletionTokens() {
+		return completionTokens;
+	}
+
+	/**
+	 * Returns the output rate between the first token and the end of the stream. The
+	 * completion tokens of the usage are used when reported, the number of events
+	 * carrying output otherwise.
+	 * @return the tokens per second, 0 if no output was received
+	 */
+	public double getTokensPerSecond() {
+		if (generationNanos <= 0) {
+			return 0;
+		}
+		long tokens = completionTokens >= 0 ? completionTokens : outputChunks;
+		return (double) tokens * TimeUnit.SECONDS.toNanos(1) / generationNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "StreamMetrics{model=" + model + ", endpoint=" + endpoint + ", status=" + status + ", connectNanos="
+				+ connectNanos + ", timeToFirstByteNanos=" + timeToFirstByteNanos + ", timeToFirstTokenNanos="
+				+ timeToFirstTokenNanos + ", durationNanos=" + durationNanos + ", chunks=" + chunks + ", outputChunks="
+				+ outputChunks + ", completionTokens=" + completionTokens + "}";
+	}
+
+}
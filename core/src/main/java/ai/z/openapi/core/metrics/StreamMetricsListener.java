@@ -0,0 +1,28 @@
+package ai.z.openapi.core.metrics;
+
+/**
+ * Receives the latency measurements of streaming calls. Implementations are called on the
+ * thread delivering the stream events and should return quickly; exceptions they throw
+ * are logged and do not affect the stream.
+ *
+ * @see MicrometerStreamMetricsListener
+ */
+public interface StreamMetricsListener {
+
+	/**
+	 * Called for every stream event after the first one with the time elapsed since the
+	 * previous event.
+	 * @param model the model reported by the stream, or {@code null} if not known yet
+	 * @param endpoint the path of the called endpoint
+	 * @param gapNanos the time since the previous event in nanoseconds
+	 */
+	default void onChunkGap(String model, String endpoint, long gapNanos) {
+	}
+
+	/**
+	 * Called once when a stream completes, fails or is cancelled.
+	 * @param metrics the measurements of the stream
+	 */
+	void onStreamFinished(StreamMetrics metrics);
+
+}
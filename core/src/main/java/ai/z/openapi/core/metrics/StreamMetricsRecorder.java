@@ -0,0 +1,177 @@
+package ai.z.openapi.core.metrics;
+
+import ai.z.openapi.service.model.Choice;
+import ai.z.openapi.service.model.Delta;
+import ai.z.openapi.service.model.ModelData;
+import io.reactivex.rxjava3.core.Flowable;
+import okhttp3.EventListener;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures streaming calls and reports them to a {@link StreamMetricsListener}. The
+ * connect time and time to first byte come from OkHttp call events, so the HTTP client
+ * must be built with {@link #eventListenerFactory()}; the other measurements are taken
+ * from the stream events themselves.
+ */
+public final class StreamMetricsRecorder {
+
+	private static final Logger logger = LoggerFactory.getLogger(StreamMetricsRecorder.class);
+
+	private final StreamMetricsListener listener;
+
+	public StreamMetricsRecorder(StreamMetricsListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Stream metrics listener cannot be null");
+		}
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the OkHttp event listener factory recording connect times and response
+	 * arrival of the calls measured by {@link #record}.
+	 * @return the event listener factory
+	 */
+	public static EventListener.Factory eventListenerFactory() {
+		return CallTimings.FACTORY;
+	}
+
+	/**
+	 * Wraps a stream so that every subscription to it is measured.
+	 * @param <T> the stream element type
+	 * @param apiCall the API call backing the stream
+	 * @param stream the stream
+	 * @return the measured stream
+	 */
+	public <T> Flowable<T> record(retrofit2.Call<ResponseBody> apiCall, Flowable<T> stream) {
+		return Flowable.defer(() -> {
+			Observation observation = new Observation(apiCall);
+			return stream.doOnNext(observation::onChunk)
+				.doOnComplete(() -> observation.finish(StreamStatus.COMPLETED))
+				.doOnError(e -> observation.finish(StreamStatus.FAILED))
+				.doOnCancel(() -> observation.finish(StreamStatus.CANCELLED));
+		});
+	}
+
+	/**
+	 * Returns whether a stream event carries generated output. Events of chat streams
+	 * that only announce the role or report the usage do not.
+	 */
+	private static boolean hasOutput(Object chunk) {
+		if (!(chunk instanceof ModelData)) {
+			return true;
+		}
+		ModelData data = (ModelData) chunk;
+		if (data.getChoices() == null) {
+			return data.getUsage() == null;
+		}
+		for (Choice choice : data.getChoices()) {
+			Delta delta = choice == null ? null : choice.getDelta();
+			if (delta != null && (isNotEmpty(delta.getContent()) || isNotEmpty(delta.getReasoningContent())
+					|| delta.getTool_calls() != null || delta.getAudio() != null)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isNotEmpty(String value) {
+		return value != null && !value.isEmpty();
+	}
+
+	/**
+	 * Measurements of one subscription. Stream events are delivered serially, and the
+	 * terminal callbacks run after the last of them.
+	 */
+	private final class Observation {
+
+		private final long startedAt = System.nanoTime();
+
+		private final String endpoint;
+
+		private final CallTimings timings;
+
+		private String model;
+
+		private long lastChunkAt = -1;
+
+		private long firstOutputAt = -1;
+
+		private int chunks;
+
+		private int outputChunks;
+
+		private long completionTokens = -1;
+
+		private boolean finished;
+
+		Observation(retrofit2.Call<ResponseBody> apiCall) {
+			Request request = null;
+			try {
+				request = apiCall.request();
+			}
+			catch (RuntimeException e) {
+				// the call fails on execution and is reported as a failed stream
+			}
+			this.endpoint = request == null ? null : request.url().encodedPath();
+			this.timings = request == null ? null : CallTimings.of(request);
+		}
+
+		void onChunk(Object chunk) {
+			long now = System.nanoTime();
+			chunks++;
+			if (chunk instanceof ModelData) {
+				ModelData data = (ModelData) chunk;
+				if (model == null) {
+					model = data.getModel();
+				}
+				if (data.getUsage() != null) {
+					completionTokens = data.getUsage().getCompletionTokens();
+				}
+			}
+			if (hasOutput(chunk)) {
+				outputChunks++;
+				if (firstOutputAt < 0) {
+					firstOutputAt = now;
+				}
+			}
+			if (lastChunkAt >= 0) {
+				try {
+					listener.onChunkGap(model, endpoint, now - lastChunkAt);
+				}
+				catch (RuntimeException e) {
+					logger.warn("Stream metrics listener failed", e);
+				}
+			}
+			lastChunkAt = now;
+		}
+
+		synchronized void finish(StreamStatus status) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			long now = System.nanoTime();
+			long connectNanos = timings == null ? -1 : timings.connectNanos();
+			long headersAt = timings == null ? -1 : timings.responseHeadersAt();
+			long timeToFirstByte = headersAt < startedAt ? -1 : headersAt - startedAt;
+			long timeToFirstToken = firstOutputAt < 0 ? -1 : firstOutputAt - startedAt;
+			long generation = firstOutputAt < 0 ? 0 : now - firstOutputAt;
+			if (generation == 0 && firstOutputAt >= 0) {
+				generation = now - startedAt;
+			}
+			StreamMetrics metrics = new StreamMetrics(model, endpoint, status, connectNanos, timeToFirstByte,
+					timeToFirstToken, now - startedAt, generation, chunks, outputChunks, completionTokens);
+			try {
+				listener.onStreamFinished(metrics);
+			}
+			catch (RuntimeException e) {
+				logger.warn("Stream metrics listener failed", e);
+			}
+		}
+
+	}
+
+}
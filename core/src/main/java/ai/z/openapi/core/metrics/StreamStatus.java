@@ -0,0 +1,23 @@
+package ai.z.openapi.core.metrics;
+
+/**
+ * How a streaming call ended.
+ */
+public enum StreamStatus {
+
+	/**
+	 * The server finished the stream.
+	 */
+	COMPLETED,
+
+	/**
+	 * The stream failed with an error, either before or after the first event.
+	 */
+	FAILED,
+
+	/**
+	 * The subscriber cancelled the stream before it finished.
+	 */
+	CANCELLED,;
+
+}
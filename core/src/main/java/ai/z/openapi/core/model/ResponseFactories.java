@@ -0,0 +1,89 @@
+package ai.z.openapi.core.model;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Creates client response objects from their class. Service implementations pass
+ * {@code Supplier} constructor references to the request methods, so this registry is
+ * only used by the {@code Class} based overloads kept for compatibility. The no-argument
+ * constructor of each class is looked up once and cached; factories registered with
+ * {@link #register(Class, Supplier)} take precedence over it.
+ */
+public final class ResponseFactories {
+
+	private static final ClassValue<Supplier<?>> FACTORIES = new ClassValue<Supplier<?>>() {
+		@Override
+		protected Supplier<?> computeValue(Class<?> type) {
+			return reflective(type);
+		}
+	};
+
+	private static final ConcurrentMap<Class<?>, Supplier<?>> REGISTERED = new ConcurrentHashMap<>();
+
+	private ResponseFactories() {
+		throw new UnsupportedOperationException("ResponseFactories is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Registers the factory of a response type.
+	 * @param type the response class
+	 * @param factory the factory creating new instances
+	 * @param <T> the response type
+	 */
+	public static <T> void register(Class<T> type, Supplier<? extends T> factory) {
+		if (type == null || factory == null) {
+			throw new IllegalArgumentException("Response type and factory cannot be null");
+		}
+		REGISTERED.put(type, factory);
+	}
+
+	/**
+	 * Returns the factory of a response type: the registered one, or else one calling the
+	 * cached no-argument constructor reflectively.
+	 * @param type the response class
+	 * @param <T> the response type
+	 * @return the factory
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<T> of(Class<T> type) {
+		Supplier<?> factory = REGISTERED.get(type);
+		return (Supplier<T>) (factory != null ? factory : FACTORIES.get(type));
+	}
+
+	/**
+	 * Creates a new instance of a response type.
+	 * @param type the response class
+	 * @param <T> the response type
+	 * @return the new instance
+	 * @throws RuntimeException if the response object cannot be created
+	 */
+	public static <T> T create(Class<T> type) {
+		return of(type).get();
+	}
+
+	private static Supplier<?> reflective(Class<?> type) {
+		Constructor<?> constructor;
+		try {
+			constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+		}
+		catch (NoSuchMethodException | SecurityException e) {
+			return () -> {
+				throw new RuntimeException("Failed to create response object of type: " + type.getSimpleName(), e);
+			};
+		}
+		return () -> {
+			try {
+				return constructor.newInstance();
+			}
+			catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+				throw new RuntimeException("Failed to create response object of type: " + type.getSimpleName(), e);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,39 @@
+package ai.z.openapi.core.ratelimit;
+
+/**
+ * Requests per minute and tokens per minute allowed for one model. A limit of 0 leaves
+ * that dimension unlimited.
+ */
+public final class ModelRateLimit {
+
+	private final int requestsPerMinute;
+
+	private final long tokensPerMinute;
+
+	private ModelRateLimit(int requestsPerMinute, long tokensPerMinute) {
+		this.requestsPerMinute = requestsPerMinute;
+		this.tokensPerMinute = tokensPerMinute;
+	}
+
+	/**
+	 * Creates a rate limit.
+	 * @param requestsPerMinute the RPM limit, 0 for unlimited
+	 * @param tokensPerMinute the TPM limit, 0 for unlimited
+	 * @return the rate limit
+	 */
+	public static ModelRateLimit of(int requestsPerMinute, long tokensPerMinute) {
+		if (requestsPerMinute < 0 || tokensPerMinute < 0) {
+			throw new IllegalArgumentException("Rate limits cannot be negative");
+		}
+		return new ModelRateLimit(requestsPerMinute, tokensPerMinute);
+	}
+
+	public int getRequestsPerMinute() {
+		return requestsPerMinute;
+	}
+
+	public long getTokensPerMinute() {
+		return tokensPerMinute;
+	}
+
+}
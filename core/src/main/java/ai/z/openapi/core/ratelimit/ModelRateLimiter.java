@@ -0,0 +1,168 @@
+package ai.z.openapi.core.ratelimit;
+
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side shaper of requests and estimated tokens per model. Each configured model
+ * gets a requests-per-minute and a tokens-per-minute {@link TokenBucket}; a request waits
+ * until both can serve it, so bursts are smoothed out instead of being rejected by the
+ * API with a 429. Token costs are estimated up front and corrected through
+ * {@link RateLimitPermit#complete} once the response reports its usage.
+ */
+public class ModelRateLimiter {
+
+	private static final long SECONDS_PER_MINUTE = 60;
+
+	private final Map<String, ModelRateLimit> limits;
+
+	private final long maxWaitNanos;
+
+	private final ConcurrentMap<String, Buckets> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a rate limiter.
+	 * @param limits the rate limits by model name, models without an entry are not
+	 * limited
+	 * @param maxWait the longest time a request waits for its limit
+	 * @param timeUnit the time unit for the maximum wait
+	 */
+	public ModelRateLimiter(Map<String, ModelRateLimit> limits, long maxWait, TimeUnit timeUnit) {
+		if (limits == null) {
+			throw new IllegalArgumentException("Rate limits cannot be null");
+		}
+		this.limits = Collections.unmodifiableMap(new HashMap<>(limits));
+		this.maxWaitNanos = timeUnit.toNanos(maxWait);
+	}
+
+	/**
+	 * Waits until the model's limits allow one request of the estimated size and reserves
+	 * it.
+	 * @param model the model name
+	 * @param estimatedTokens the estimated total tokens of the request
+	 * @return the permit to complete with the actual usage
+	 * @throws RateLimitExceededException if the wait would exceed the maximum wait
+	 */
+	public RateLimitPermit acquire(String model, long estimatedTokens) {
+		Reservation reservation = reserve(model, estimatedTokens);
+		if (reservation.waitNanos > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(reservation.waitNanos);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RateLimitExceededException(model, "Interrupted while waiting for the rate limit of " + model);
+			}
+		}
+		return reservation.permit;
+	}
+
+	/**
+	 * Reserves one request of the estimated size without blocking the calling thread. The
+	 * capacity is taken right away, so asynchronous and blocking callers queue up in the
+	 * same order; the returned future completes once the reservation may be used.
+	 * @param model the model name
+	 * @param estimatedTokens the estimated total tokens of the request
+	 * @return a future completed with the permit to complete with the actual usage, or
+	 * exceptionally with a {@link RateLimitExceededException} if the wait would exceed
+	 * the maximum wait
+	 */
+	public CompletableFuture<RateLimitPermit> acquireAsync(String model, long estimatedTokens) {
+		Reservation reservation;
+		try {
+			reservation = reserve(model, estimatedTokens);
+		}
+		catch (RateLimitExceededException e) {
+			CompletableFuture<RateLimitPermit> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		if (reservation.waitNanos <= 0) {
+			return CompletableFuture.completedFuture(reservation.permit);
+		}
+		CompletableFuture<RateLimitPermit> future = new CompletableFuture<>();
+		Schedulers.computation()
+			.scheduleDirect(() -> future.complete(reservation.permit), reservation.waitNanos, TimeUnit.NANOSECONDS);
+		return future;
+	}
+
+	private Reservation reserve(String model, long estimatedTokens) {
+		Buckets modelBuckets = model == null ? null : buckets.computeIfAbsent(model, this::newBuckets);
+		if (modelBuckets == null || modelBuckets == Buckets.UNLIMITED) {
+			return new Reservation(RateLimitPermit.NONE, 0);
+		}
+		// a request larger than the whole TPM budget waits for a full bucket at most
+		long reservedTokens = modelBuckets.tokens != null ? Math.min(estimatedTokens, modelBuckets.tokenCapacity)
+				: estimatedTokens;
+		long wait = 0;
+		if (modelBuckets.requests != null) {
+			wait = modelBuckets.requests.tryReserve(1, maxWaitNanos);
+			if (wait < 0) {
+				throw new RateLimitExceededException(model, "Requests per minute limit exceeded for model " + model);
+			}
+		}
+		if (modelBuckets.tokens != null) {
+			long tokenWait = modelBuckets.tokens.tryReserve(reservedTokens, maxWaitNanos);
+			if (tokenWait < 0) {
+				if (modelBuckets.requests != null) {
+					modelBuckets.requests.adjust(1);
+				}
+				throw new RateLimitExceededException(model, "Tokens per minute limit exceeded for model " + model);
+			}
+			wait = Math.max(wait, tokenWait);
+		}
+		return new Reservation(new RateLimitPermit(modelBuckets.tokens, reservedTokens), wait);
+	}
+
+	private Buckets newBuckets(String model) {
+		ModelRateLimit limit = limits.get(model);
+		if (limit == null) {
+			return Buckets.UNLIMITED;
+		}
+		TokenBucket requests = limit.getRequestsPerMinute() > 0 ? new TokenBucket(limit.getRequestsPerMinute(),
+				(double) limit.getRequestsPerMinute() / SECONDS_PER_MINUTE) : null;
+		TokenBucket tokens = limit.getTokensPerMinute() > 0
+				? new TokenBucket(limit.getTokensPerMinute(), (double) limit.getTokensPerMinute() / SECONDS_PER_MINUTE)
+				: null;
+		return new Buckets(requests, tokens, limit.getTokensPerMinute());
+	}
+
+	private static final class Reservation {
+
+		private final RateLimitPermit permit;
+
+		private final long waitNanos;
+
+		private Reservation(RateLimitPermit permit, long waitNanos) {
+			this.permit = permit;
+			this.waitNanos = waitNanos;
+		}
+
+	}
+
+	private static final class Buckets {
+
+		private static final Buckets UNLIMITED = new Buckets(null, null, 0);
+
+		private final TokenBucket requests;
+
+		private final TokenBucket tokens;
+
+		private final long tokenCapacity;
+
+		private Buckets(TokenBucket requests, TokenBucket tokens, long tokenCapacity) {
+			this.requests = requests;
+			this.tokens = tokens;
+			this.tokenCapacity = tokenCapacity;
+		}
+
+	}
+
+}
@@ -0,0 +1,24 @@
+package ai.z.openapi.core.ratelimit;
+
+/**
+ * Thrown when a request would have to wait longer than the configured maximum for the
+ * client-side rate limit of its model.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+	private final String model;
+
+	public RateLimitExceededException(String model, String message) {
+		super(message);
+		this.model = model;
+	}
+
+	/**
+	 * Returns the model whose rate limit was exceeded.
+	 * @return the model name
+	 */
+	public String getModel() {
+		return model;
+	}
+
+}
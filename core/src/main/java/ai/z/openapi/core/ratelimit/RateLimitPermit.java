@@ -0,0 +1,50 @@
+package ai.z.openapi.core.ratelimit;
+
+import ai.z.openapi.service.model.Usage;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tokens reserved for one request from a model's TPM bucket. Completing the permit with
+ * the {@link Usage} reported by the API returns over-estimated tokens to the bucket or
+ * charges the missing ones.
+ */
+public class RateLimitPermit {
+
+	/** Permit of requests that are not rate limited. */
+	public static final RateLimitPermit NONE = new RateLimitPermit(null, 0);
+
+	private final TokenBucket tokenBucket;
+
+	private final long estimatedTokens;
+
+	private final AtomicBoolean completed = new AtomicBoolean();
+
+	RateLimitPermit(TokenBucket tokenBucket, long estimatedTokens) {
+		this.tokenBucket = tokenBucket;
+		this.estimatedTokens = estimatedTokens;
+	}
+
+	/**
+	 * Returns the number of tokens reserved for the request.
+	 * @return the estimated tokens
+	 */
+	public long getEstimatedTokens() {
+		return estimatedTokens;
+	}
+
+	/**
+	 * Corrects the reservation with the actual usage. Only the first call has an effect,
+	 * and a {@code null} usage keeps the estimate.
+	 * @param usage the usage reported by the API, may be null
+	 */
+	public void complete(Usage usage) {
+		if (tokenBucket == null || usage == null || usage.getTotalTokens() <= 0) {
+			return;
+		}
+		if (completed.compareAndSet(false, true)) {
+			tokenBucket.adjust(estimatedTokens - usage.getTotalTokens());
+		}
+	}
+
+}
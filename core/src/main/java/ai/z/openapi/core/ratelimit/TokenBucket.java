@@ -0,0 +1,96 @@
+package ai.z.openapi.core.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket refilled continuously at a fixed rate. Permits are reserved
+ * ahead of time: a reservation always succeeds within the allowed wait and tells the
+ * caller how long to wait before proceeding, and the bucket may go into debt so that
+ * later callers wait accordingly. The state is an immutable snapshot swapped with CAS.
+ */
+public class TokenBucket {
+
+	private final long capacity;
+
+	private final double permitsPerNano;
+
+	private final AtomicReference<State> state;
+
+	/**
+	 * Creates a full bucket.
+	 * @param capacity the maximum number of permits, which is also the largest burst
+	 * @param permitsPerSecond the refill rate
+	 */
+	public TokenBucket(long capacity, double permitsPerSecond) {
+		if (capacity <= 0 || permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("Capacity and rate must be positive");
+		}
+		this.capacity = capacity;
+		this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+		this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+	}
+
+	/**
+	 * Reserves permits if they become available within {@code maxWaitNanos}.
+	 * @param permits the number of permits to take
+	 * @param maxWaitNanos the longest acceptable wait
+	 * @return the nanoseconds to wait before using the permits, or -1 if the wait would
+	 * exceed {@code maxWaitNanos}, in which case nothing is reserved
+	 */
+	public long tryReserve(long permits, long maxWaitNanos) {
+		while (true) {
+			State current = state.get();
+			long now = System.nanoTime();
+			double next = available(current, now) - permits;
+			long wait = next >= 0 ? 0 : (long) Math.ceil(-next / permitsPerNano);
+			if (wait > maxWaitNanos) {
+				return -1;
+			}
+			if (state.compareAndSet(current, new State(next, now))) {
+				return wait;
+			}
+		}
+	}
+
+	/**
+	 * Returns permits to the bucket, or takes more when {@code permits} is negative. Used
+	 * to correct a reservation once the real cost is known.
+	 * @param permits the number of permits to add, may be negative
+	 */
+	public void adjust(long permits) {
+		while (true) {
+			State current = state.get();
+			long now = System.nanoTime();
+			double next = Math.min(capacity, available(current, now) + permits);
+			if (state.compareAndSet(current, new State(next, now))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the permits currently available, negative while the bucket is in debt.
+	 * @return the available permits
+	 */
+	public double available() {
+		return available(state.get(), System.nanoTime());
+	}
+
+	private double available(State current, long now) {
+		return Math.min(capacity, current.tokens + (now - current.timestamp) * permitsPerNano);
+	}
+
+	private static final class State {
+
+		private final double tokens;
+
+		private final long timestamp;
+
+		private State(double tokens, long timestamp) {
+			this.tokens = tokens;
+			this.timestamp = timestamp;
+		}
+
+	}
+
+}
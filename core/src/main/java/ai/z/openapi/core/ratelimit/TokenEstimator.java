@@ -0,0 +1,71 @@
+package ai.z.openapi.core.ratelimit;
+
+import ai.z.openapi.service.embedding.EmbeddingCreateParams;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatMessage;
+
+import java.util.Collection;
+
+/**
+ * Rough up-front token estimates used to reserve TPM capacity, about four characters per
+ * token. The estimates only need to be in the right order of magnitude because the
+ * reservation is corrected with the usage reported by the API.
+ */
+public final class TokenEstimator {
+
+	private static final int CHARS_PER_TOKEN = 4;
+
+	private TokenEstimator() {
+		throw new UnsupportedOperationException("TokenEstimator is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Estimates the prompt tokens plus the requested completion tokens of a chat request.
+	 * @param request the chat request
+	 * @return the estimated total tokens
+	 */
+	public static long estimate(ChatCompletionCreateParams request) {
+		long chars = 0;
+		if (request.getMessages() != null) {
+			for (ChatMessage message : request.getMessages()) {
+				chars += length(message.getContent());
+			}
+		}
+		long tokens = tokens(chars);
+		if (request.getMaxTokens() != null && request.getMaxTokens() > 0) {
+			tokens += request.getMaxTokens();
+		}
+		return Math.max(1, tokens);
+	}
+
+	/**
+	 * Estimates the input tokens of an embedding request.
+	 * @param request the embedding request
+	 * @return the estimated total tokens
+	 */
+	public static long estimate(EmbeddingCreateParams request) {
+		return Math.max(1, tokens(length(request.getInput())));
+	}
+
+	private static long length(Object content) {
+		if (content == null) {
+			return 0;
+		}
+		if (content instanceof CharSequence) {
+			return ((CharSequence) content).length();
+		}
+		if (content instanceof Collection) {
+			long length = 0;
+			for (Object part : (Collection<?>) content) {
+				length += length(part);
+			}
+			return length;
+		}
+		return content.toString().length();
+	}
+
+	private static long tokens(long chars) {
+		return (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+	}
+
+}
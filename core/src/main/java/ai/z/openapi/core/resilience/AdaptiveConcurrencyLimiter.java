@@ -0,0 +1,94 @@
+package ai.z.openapi.core.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limiter. The number of calls in flight is bounded by a limit that
+ * grows additively while calls are fast and successful and shrinks multiplicatively on
+ * failures and slow calls, so the client backs off as soon as the upstream starts
+ * queueing instead of piling up threads behind long read timeouts.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private final ResiliencePolicy policy;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private volatile double limit;
+
+	public AdaptiveConcurrencyLimiter(ResiliencePolicy policy) {
+		this.policy = policy;
+		this.limit = policy.getInitialLimit();
+	}
+
+	/**
+	 * Takes a slot if fewer calls than the current limit are in flight.
+	 * @return true if the call may proceed, false if it must fail fast
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Releases the slot of a successful call and adapts the limit to its latency.
+	 * @param latencyNanos the time until the response headers were received
+	 */
+	public void onSuccess(long latencyNanos) {
+		int concurrency = inFlight.getAndDecrement();
+		if (latencyNanos > policy.getLatencyThresholdNanos()) {
+			decrease();
+		}
+		else if (concurrency * 2 >= limit) {
+			// only grow while the limit is actually being used
+			increase();
+		}
+	}
+
+	/**
+	 * Releases the slot of a failed call and backs off.
+	 */
+	public void onFailure() {
+		inFlight.decrementAndGet();
+		decrease();
+	}
+
+	/**
+	 * Releases the slot of a call without adapting the limit.
+	 */
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	/**
+	 * Returns the current limit.
+	 * @return the maximum number of calls in flight
+	 */
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * Returns the number of calls in flight.
+	 * @return the calls in flight
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	private synchronized void increase() {
+		limit = Math.min(policy.getMaxLimit(), limit + 1 / limit);
+	}
+
+	private synchronized void decrease() {
+		limit = Math.max(policy.getMinLimit(), limit * policy.getBackoffRatio());
+	}
+
+}
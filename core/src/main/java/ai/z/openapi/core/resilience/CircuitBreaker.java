@@ -0,0 +1,140 @@
+package ai.z.openapi.core.resilience;
+
+/**
+ * Count-based circuit breaker over a sliding window of call outcomes. See
+ * {@link ResiliencePolicy} for the state transitions. The window is a small ring buffer
+ * guarded by this instance's monitor; the critical sections are a few field updates.
+ */
+public class CircuitBreaker {
+
+	/**
+	 * Circuit breaker states.
+	 */
+	public enum State {
+
+		/** Calls pass and their outcomes are recorded. */
+		CLOSED,
+
+		/** Calls fail fast until the open duration elapsed. */
+		OPEN,
+
+		/** A limited number of probe calls pass to test the upstream. */
+		HALF_OPEN
+
+	}
+
+	private final ResiliencePolicy policy;
+
+	private final boolean[] failures;
+
+	private int index;
+
+	private int recorded;
+
+	private int failureCount;
+
+	private State state = State.CLOSED;
+
+	private long openedAt;
+
+	private int probesInFlight;
+
+	private int probeSuccesses;
+
+	public CircuitBreaker(ResiliencePolicy policy) {
+		this.policy = policy;
+		this.failures = new boolean[policy.getSlidingWindowSize()];
+	}
+
+	/**
+	 * Asks permission for one call.
+	 * @return true if the call may proceed, false if it must fail fast
+	 */
+	public synchronized boolean tryAcquire() {
+		if (state == State.OPEN) {
+			if (System.nanoTime() - openedAt < policy.getOpenDurationNanos()) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			probesInFlight = 0;
+			probeSuccesses = 0;
+		}
+		if (state == State.HALF_OPEN) {
+			if (probesInFlight >= policy.getHalfOpenCalls()) {
+				return false;
+			}
+			probesInFlight++;
+		}
+		return true;
+	}
+
+	/**
+	 * Records the outcome of a permitted call.
+	 * @param success whether the call succeeded
+	 */
+	public synchronized void onResult(boolean success) {
+		if (state == State.HALF_OPEN) {
+			probesInFlight = Math.max(0, probesInFlight - 1);
+			if (!success) {
+				open();
+			}
+			else if (++probeSuccesses >= policy.getHalfOpenCalls()) {
+				close();
+			}
+			return;
+		}
+		if (state == State.OPEN) {
+			return;
+		}
+		if (recorded == failures.length) {
+			if (failures[index]) {
+				failureCount--;
+			}
+		}
+		else {
+			recorded++;
+		}
+		failures[index] = !success;
+		if (!success) {
+			failureCount++;
+		}
+		index = (index + 1) % failures.length;
+		if (recorded >= policy.getMinimumCalls() && failureCount >= policy.getFailureRateThreshold() * recorded) {
+			open();
+		}
+	}
+
+	/**
+	 * Releases a permitted call without recording an outcome, for example when it was
+	 * cancelled by the caller.
+	 */
+	public synchronized void release() {
+		if (state == State.HALF_OPEN) {
+			probesInFlight = Math.max(0, probesInFlight - 1);
+		}
+	}
+
+	/**
+	 * Returns the current state.
+	 * @return the state
+	 */
+	public synchronized State getState() {
+		if (state == State.OPEN && System.nanoTime() - openedAt >= policy.getOpenDurationNanos()) {
+			return State.HALF_OPEN;
+		}
+		return state;
+	}
+
+	private void open() {
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		index = 0;
+		recorded = 0;
+		failureCount = 0;
+	}
+
+}
@@ -0,0 +1,39 @@
+package ai.z.openapi.core.resilience;
+
+/**
+ * Groups of API endpoints sharing a circuit breaker and a concurrency limit, because they
+ * are served by the same upstream and degrade together.
+ */
+public enum EndpointFamily {
+
+	/** Chat completions, streaming and asynchronous, and their async results. */
+	CHAT,
+
+	/** Embeddings. */
+	EMBEDDINGS,
+
+	/** File upload, download and parsing. */
+	FILES,
+
+	/** Every other endpoint. */
+	OTHER;
+
+	/**
+	 * Resolves the family of a request path.
+	 * @param path the encoded request path
+	 * @return the endpoint family
+	 */
+	public static EndpointFamily of(String path) {
+		if (path.contains("/chat/completions") || path.contains("/async-result")) {
+			return CHAT;
+		}
+		if (path.endsWith("/embeddings")) {
+			return EMBEDDINGS;
+		}
+		if (path.contains("/files")) {
+			return FILES;
+		}
+		return OTHER;
+	}
+
+}
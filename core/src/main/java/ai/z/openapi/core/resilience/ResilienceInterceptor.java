@@ -0,0 +1,152 @@
+package ai.z.openapi.core.resilience;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OkHttp Interceptor applying a {@link CircuitBreaker} and an
+ * {@link AdaptiveConcurrencyLimiter} per {@link EndpointFamily}. Calls of a family
+ * without a policy pass through untouched. A call counts as failed on an I/O error, a 429
+ * or a 5xx response; its latency is the time until the response headers arrive, so
+ * streaming calls are judged by their time to first byte. The concurrency slot of a call
+ * is held until its response body is read to the end or closed, so streams count against
+ * the limit for as long as they are open.
+ */
+public class ResilienceInterceptor implements Interceptor {
+
+	private final Map<EndpointFamily, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointFamily.class);
+
+	private final Map<EndpointFamily, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointFamily.class);
+
+	public ResilienceInterceptor(Map<EndpointFamily, ResiliencePolicy> policies) {
+		for (Map.Entry<EndpointFamily, ResiliencePolicy> entry : policies.entrySet()) {
+			circuitBreakers.put(entry.getKey(), new CircuitBreaker(entry.getValue()));
+			limiters.put(entry.getKey(), new AdaptiveConcurrencyLimiter(entry.getValue()));
+		}
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		EndpointFamily family = EndpointFamily.of(chain.request().url().encodedPath());
+		CircuitBreaker circuitBreaker = circuitBreakers.get(family);
+		if (circuitBreaker == null) {
+			return chain.proceed(chain.request());
+		}
+		AdaptiveConcurrencyLimiter limiter = limiters.get(family);
+		if (!circuitBreaker.tryAcquire()) {
+			throw new ResilienceRejectedException(family, "Circuit breaker of " + family + " endpoints is open");
+		}
+		if (!limiter.tryAcquire()) {
+			circuitBreaker.release();
+			throw new ResilienceRejectedException(family,
+					"Concurrency limit of " + limiter.getLimit() + " reached for " + family + " endpoints");
+		}
+		long start = System.nanoTime();
+		Response response;
+		try {
+			response = chain.proceed(chain.request());
+		}
+		catch (IOException | RuntimeException e) {
+			if (chain.call().isCanceled()) {
+				circuitBreaker.release();
+				limiter.release();
+			}
+			else {
+				circuitBreaker.onResult(false);
+				limiter.onFailure();
+			}
+			throw e;
+		}
+		long latency = System.nanoTime() - start;
+		int code = response.code();
+		boolean failed = code == 429 || code >= 500;
+		circuitBreaker.onResult(!failed);
+		Runnable release = failed ? limiter::onFailure : () -> limiter.onSuccess(latency);
+		ResponseBody body = response.body();
+		if (body == null) {
+			release.run();
+			return response;
+		}
+		ReleasingSource source = new ReleasingSource(body, release);
+		return response.newBuilder()
+			.body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(source)))
+			.build();
+	}
+
+	/**
+	 * Source of a response body releasing the concurrency slot of its call once, at the
+	 * end of the body, on a read error or on close, whichever comes first.
+	 */
+	private static final class ReleasingSource extends ForwardingSource {
+
+		private final Runnable release;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		ReleasingSource(ResponseBody body, Runnable release) {
+			super(body.source());
+			this.release = release;
+		}
+
+		@Override
+		public long read(Buffer sink, long byteCount) throws IOException {
+			long read;
+			try {
+				read = super.read(sink, byteCount);
+			}
+			catch (IOException e) {
+				release();
+				throw e;
+			}
+			if (read == -1) {
+				release();
+			}
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			}
+			finally {
+				release();
+			}
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				release.run();
+			}
+		}
+
+	}
+
+	/**
+	 * Returns the circuit breaker of an endpoint family.
+	 * @param family the endpoint family
+	 * @return the circuit breaker, or null if the family has no policy
+	 */
+	public CircuitBreaker circuitBreaker(EndpointFamily family) {
+		return circuitBreakers.get(family);
+	}
+
+	/**
+	 * Returns the concurrency limiter of an endpoint family.
+	 * @param family the endpoint family
+	 * @return the concurrency limiter, or null if the family has no policy
+	 */
+	public AdaptiveConcurrencyLimiter concurrencyLimiter(EndpointFamily family) {
+		return limiters.get(family);
+	}
+
+}
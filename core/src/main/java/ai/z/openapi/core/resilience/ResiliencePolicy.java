@@ -0,0 +1,223 @@
+package ai.z.openapi.core.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker and adaptive concurrency limit settings of one {@link EndpointFamily}.
+ *
+ * <p>
+ * The circuit opens when at least {@code failureRateThreshold} of the last
+ * {@code slidingWindowSize} calls failed, counting I/O errors, 429 and 5xx responses, and
+ * once at least {@code minimumCalls} calls were recorded. While open, calls fail fast for
+ * {@code openDuration}; then {@code halfOpenCalls} probe calls decide whether it closes
+ * again.
+ * </p>
+ *
+ * <p>
+ * The concurrency limit follows AIMD: it starts at {@code initialLimit}, grows by one per
+ * limit's worth of successful calls faster than {@code latencyThreshold}, and is
+ * multiplied by {@code backoffRatio} on a failure or a slow call, staying between
+ * {@code minLimit} and {@code maxLimit}. Calls beyond the limit fail fast.
+ * </p>
+ */
+public final class ResiliencePolicy {
+
+	private final double failureRateThreshold;
+
+	private final int slidingWindowSize;
+
+	private final int minimumCalls;
+
+	private final long openDurationNanos;
+
+	private final int halfOpenCalls;
+
+	private final int initialLimit;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final long latencyThresholdNanos;
+
+	private final double backoffRatio;
+
+	private ResiliencePolicy(Builder builder) {
+		this.failureRateThreshold = builder.failureRateThreshold;
+		this.slidingWindowSize = builder.slidingWindowSize;
+		this.minimumCalls = builder.minimumCalls;
+		this.openDurationNanos = builder.openDurationNanos;
+		this.halfOpenCalls = builder.halfOpenCalls;
+		this.initialLimit = builder.initialLimit;
+		this.minLimit = builder.minLimit;
+		this.maxLimit = builder.maxLimit;
+		this.latencyThresholdNanos = builder.latencyThresholdNanos;
+		this.backoffRatio = builder.backoffRatio;
+	}
+
+	/**
+	 * Creates a builder with the default settings: the circuit opens at 50% failures of
+	 * the last 20 calls (10 at least) for 30 seconds and closes after one successful
+	 * probe; the concurrency limit starts at 20 and moves between 1 and 200, backing off
+	 * by 10% on failures and calls slower than 60 seconds.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates a policy with the default settings.
+	 * @return the default policy
+	 * @see #builder()
+	 */
+	public static ResiliencePolicy defaults() {
+		return builder().build();
+	}
+
+	public double getFailureRateThreshold() {
+		return failureRateThreshold;
+	}
+
+	public int getSlidingWindowSize() {
+		return slidingWindowSize;
+	}
+
+	public int getMinimumCalls() {
+		return minimumCalls;
+	}
+
+	public long getOpenDurationNanos() {
+		return openDurationNanos;
+	}
+
+	public int getHalfOpenCalls() {
+		return halfOpenCalls;
+	}
+
+	public int getInitialLimit() {
+		return initialLimit;
+	}
+
+	public int getMinLimit() {
+		return minLimit;
+	}
+
+	public int getMaxLimit() {
+		return maxLimit;
+	}
+
+	public long getLatencyThresholdNanos() {
+		return latencyThresholdNanos;
+	}
+
+	public double getBackoffRatio() {
+		return backoffRatio;
+	}
+
+	/**
+	 * Builder for {@link ResiliencePolicy}.
+	 */
+	public static class Builder {
+
+		private double failureRateThreshold = 0.5;
+
+		private int slidingWindowSize = 20;
+
+		private int minimumCalls = 10;
+
+		private long openDurationNanos = TimeUnit.SECONDS.toNanos(30);
+
+		private int halfOpenCalls = 1;
+
+		private int initialLimit = 20;
+
+		private int minLimit = 1;
+
+		private int maxLimit = 200;
+
+		private long latencyThresholdNanos = TimeUnit.SECONDS.toNanos(60);
+
+		private double backoffRatio = 0.9;
+
+		/**
+		 * Configures when the circuit opens.
+		 * @param failureRateThreshold the failure rate opening the circuit, between 0 and
+		 * 1
+		 * @param slidingWindowSize the number of most recent calls considered
+		 * @param minimumCalls the number of calls required before the circuit may open
+		 * @return this builder
+		 */
+		public Builder failureRate(double failureRateThreshold, int slidingWindowSize, int minimumCalls) {
+			if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+				throw new IllegalArgumentException("Failure rate threshold must be in (0, 1]");
+			}
+			if (slidingWindowSize <= 0 || minimumCalls <= 0 || minimumCalls > slidingWindowSize) {
+				throw new IllegalArgumentException("Minimum calls must be in [1, slidingWindowSize]");
+			}
+			this.failureRateThreshold = failureRateThreshold;
+			this.slidingWindowSize = slidingWindowSize;
+			this.minimumCalls = minimumCalls;
+			return this;
+		}
+
+		/**
+		 * Configures how long the circuit stays open and how many probe calls close it.
+		 * @param openDuration how long calls fail fast once the circuit opened
+		 * @param timeUnit the time unit for the duration
+		 * @param halfOpenCalls the number of successful probe calls closing the circuit
+		 * @return this builder
+		 */
+		public Builder openDuration(long openDuration, TimeUnit timeUnit, int halfOpenCalls) {
+			if (openDuration <= 0 || halfOpenCalls <= 0) {
+				throw new IllegalArgumentException("Open duration and half-open calls must be positive");
+			}
+			this.openDurationNanos = timeUnit.toNanos(openDuration);
+			this.halfOpenCalls = halfOpenCalls;
+			return this;
+		}
+
+		/**
+		 * Configures the bounds of the adaptive concurrency limit.
+		 * @param initialLimit the starting limit
+		 * @param minLimit the lowest limit
+		 * @param maxLimit the highest limit
+		 * @return this builder
+		 */
+		public Builder concurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+			if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+				throw new IllegalArgumentException("Limits must satisfy 0 < minLimit <= initialLimit <= maxLimit");
+			}
+			this.initialLimit = initialLimit;
+			this.minLimit = minLimit;
+			this.maxLimit = maxLimit;
+			return this;
+		}
+
+		/**
+		 * Configures when the concurrency limit backs off.
+		 * @param latencyThreshold the time to response headers above which a call counts
+		 * as slow
+		 * @param timeUnit the time unit for the threshold
+		 * @param backoffRatio the factor applied to the limit on a failed or slow call
+		 * @return this builder
+		 */
+		public Builder backoff(long latencyThreshold, TimeUnit timeUnit, double backoffRatio) {
+			if (latencyThreshold <= 0) {
+				throw new IllegalArgumentException("Latency threshold must be positive");
+			}
+			if (backoffRatio <= 0 || backoffRatio >= 1) {
+				throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+			}
+			this.latencyThresholdNanos = timeUnit.toNanos(latencyThreshold);
+			this.backoffRatio = backoffRatio;
+			return this;
+		}
+
+		public ResiliencePolicy build() {
+			return new ResiliencePolicy(this);
+		}
+
+	}
+
+}
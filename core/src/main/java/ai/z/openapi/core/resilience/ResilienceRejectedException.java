@@ -0,0 +1,27 @@
+package ai.z.openapi.core.resilience;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a call fails fast because the circuit of its endpoint family is open or its
+ * concurrency limit is reached. It is an {@link IOException} so OkHttp reports it like
+ * any other call failure, on synchronous and asynchronous calls alike.
+ */
+public class ResilienceRejectedException extends IOException {
+
+	private final EndpointFamily family;
+
+	public ResilienceRejectedException(EndpointFamily family, String message) {
+		super(message);
+		this.family = family;
+	}
+
+	/**
+	 * Returns the endpoint family that rejected the call.
+	 * @return the endpoint family
+	 */
+	public EndpointFamily getFamily() {
+		return family;
+	}
+
+}
@@ -0,0 +1,286 @@
+package ai.z.openapi.core.retry;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.internal.http.HttpDate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry policy with exponential backoff and full jitter: the delay before attempt
+ * {@code n + 1} is a random value between 0 and
+ * {@code min(maxDelay, initialDelay * multiplier^(n - 1))}, which spreads out clients
+ * that failed at the same time. A {@code Retry-After} header sent by the server takes
+ * precedence over the computed delay, up to {@code maxRetryAfter}.
+ *
+ * <p>
+ * Retries are idempotency-aware. {@code GET}, {@code HEAD}, {@code PUT}, {@code DELETE}
+ * and {@code OPTIONS} requests, and requests carrying an {@code Idempotency-Key} header,
+ * are retried on any retryable status or I/O error. Other requests, such as chat
+ * completions, are only retried when the server cannot have processed them: a {@code 429}
+ * or {@code 503} status, or a connection that could not be established.
+ * </p>
+ *
+ * <p>
+ * An optional {@link RetryBudget} caps the retries across all calls of the client.
+ * </p>
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+	private static final Set<String> IDEMPOTENT_METHODS = Collections
+		.unmodifiableSet(new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS")));
+
+	/** Statuses returned by the API when the request was rejected before processing. */
+	private static final Set<Integer> NOT_PROCESSED_STATUSES = Collections
+		.unmodifiableSet(new HashSet<>(Arrays.asList(429, 503)));
+
+	private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	private final int maxAttempts;
+
+	private final long initialDelayMillis;
+
+	private final long maxDelayMillis;
+
+	private final double multiplier;
+
+	private final long maxRetryAfterMillis;
+
+	private final Set<Integer> retryableStatuses;
+
+	private final boolean retryNonIdempotent;
+
+	private final RetryBudget budget;
+
+	private ExponentialBackoffRetryPolicy(Builder builder) {
+		this.maxAttempts = builder.maxAttempts;
+		this.initialDelayMillis = builder.initialDelayMillis;
+		this.maxDelayMillis = builder.maxDelayMillis;
+		this.multiplier = builder.multiplier;
+		this.maxRetryAfterMillis = builder.maxRetryAfterMillis;
+		this.retryableStatuses = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatuses));
+		this.retryNonIdempotent = builder.retryNonIdempotent;
+		this.budget = builder.budget;
+	}
+
+	/**
+	 * Creates a builder with the default settings: 3 attempts, 500ms initial delay
+	 * doubling up to 30s, Retry-After honored up to 60s, statuses 408, 429, 500, 502, 503
+	 * and 504 retried, and a budget of 20% retries plus 10 per second.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Creates a policy with the default settings.
+	 * @return the default policy
+	 * @see #builder()
+	 */
+	public static ExponentialBackoffRetryPolicy defaults() {
+		return builder().build();
+	}
+
+	@Override
+	public void onRequest(Request request) {
+		if (budget != null) {
+			budget.onRequest();
+		}
+	}
+
+	@Override
+	public long retryDelayMillis(int attempt, Request request, Response response, IOException error) {
+		if (attempt >= maxAttempts || !isRetryable(request, response, error)) {
+			return -1;
+		}
+		if (budget != null && !budget.tryAcquire()) {
+			return -1;
+		}
+		long retryAfter = response != null ? retryAfterMillis(response) : -1;
+		if (retryAfter >= 0) {
+			return Math.min(retryAfter, maxRetryAfterMillis);
+		}
+		return backoffMillis(attempt);
+	}
+
+	/**
+	 * Returns the jittered backoff before the attempt following {@code attempt}.
+	 * @param attempt the number of attempts made so far, starting at 1
+	 * @return the delay in milliseconds
+	 */
+	long backoffMillis(int attempt) {
+		double ceiling = initialDelayMillis * Math.pow(multiplier, attempt - 1);
+		long cap = (long) Math.min(maxDelayMillis, ceiling);
+		return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+	}
+
+	private boolean isRetryable(Request request, Response response, IOException error) {
+		boolean idempotent = retryNonIdempotent || IDEMPOTENT_METHODS.contains(request.method())
+				|| request.header(IDEMPOTENCY_KEY_HEADER) != null;
+		if (response != null) {
+			int code = response.code();
+			return retryableStatuses.contains(code) && (idempotent || NOT_PROCESSED_STATUSES.contains(code));
+		}
+		if (error instanceof InterruptedIOException && !(error instanceof SocketTimeoutException)) {
+			// cancelled or interrupted, not a transient failure
+			return false;
+		}
+		return idempotent || isConnectFailure(error);
+	}
+
+	private static boolean isConnectFailure(IOException error) {
+		return error instanceof ConnectException || error instanceof UnknownHostException
+				|| error instanceof NoRouteToHostException;
+	}
+
+	/**
+	 * Parses the {@code Retry-After} header, either delay seconds or an HTTP date.
+	 * @return the delay in milliseconds, or -1 if absent or invalid
+	 */
+	static long retryAfterMillis(Response response) {
+		String value = response.header("Retry-After");
+		if (value == null) {
+			return -1;
+		}
+		value = value.trim();
+		try {
+			long seconds = Long.parseLong(value);
+			return seconds < 0 ? -1 : TimeUnit.SECONDS.toMillis(seconds);
+		}
+		catch (NumberFormatException e) {
+			Date date = HttpDate.parse(value);
+			return date == null ? -1 : Math.max(0, date.getTime() - System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Builder for {@link ExponentialBackoffRetryPolicy}.
+	 */
+	public static class Builder {
+
+		private int maxAttempts = 3;
+
+		private long initialDelayMillis = 500;
+
+		private long maxDelayMillis = 30_000;
+
+		private double multiplier = 2.0;
+
+		private long maxRetryAfterMillis = 60_000;
+
+		private Set<Integer> retryableStatuses = new HashSet<>(Arrays.asList(408, 429, 500, 502, 503, 504));
+
+		private boolean retryNonIdempotent = false;
+
+		private RetryBudget budget = new RetryBudget(0.2, 10);
+
+		/**
+		 * Sets the maximum number of attempts, including the first one.
+		 * @param maxAttempts the maximum number of attempts
+		 * @return this builder
+		 */
+		public Builder maxAttempts(int maxAttempts) {
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("Max attempts must be at least 1");
+			}
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/**
+		 * Sets the backoff of the first retry and the upper bound of all backoffs.
+		 * @param initialDelay the initial backoff
+		 * @param maxDelay the maximum backoff
+		 * @param timeUnit the time unit for both delays
+		 * @return this builder
+		 */
+		public Builder backoff(long initialDelay, long maxDelay, TimeUnit timeUnit) {
+			if (initialDelay < 0 || maxDelay < initialDelay) {
+				throw new IllegalArgumentException("Backoff delays must satisfy 0 <= initialDelay <= maxDelay");
+			}
+			this.initialDelayMillis = timeUnit.toMillis(initialDelay);
+			this.maxDelayMillis = timeUnit.toMillis(maxDelay);
+			return this;
+		}
+
+		/**
+		 * Sets the factor applied to the backoff after each attempt.
+		 * @param multiplier the backoff multiplier
+		 * @return this builder
+		 */
+		public Builder multiplier(double multiplier) {
+			if (multiplier < 1) {
+				throw new IllegalArgumentException("Multiplier must be at least 1");
+			}
+			this.multiplier = multiplier;
+			return this;
+		}
+
+		/**
+		 * Sets the longest {@code Retry-After} delay honored, longer ones are shortened.
+		 * @param maxRetryAfter the maximum delay
+		 * @param timeUnit the time unit for the delay
+		 * @return this builder
+		 */
+		public Builder maxRetryAfter(long maxRetryAfter, TimeUnit timeUnit) {
+			if (maxRetryAfter < 0) {
+				throw new IllegalArgumentException("Max Retry-After cannot be negative");
+			}
+			this.maxRetryAfterMillis = timeUnit.toMillis(maxRetryAfter);
+			return this;
+		}
+
+		/**
+		 * Sets the HTTP statuses that may be retried.
+		 * @param statuses the retryable statuses
+		 * @return this builder
+		 */
+		public Builder retryableStatuses(Set<Integer> statuses) {
+			if (statuses == null) {
+				throw new IllegalArgumentException("Retryable statuses cannot be null");
+			}
+			this.retryableStatuses = new HashSet<>(statuses);
+			return this;
+		}
+
+		/**
+		 * Retries non-idempotent requests on every retryable status and I/O error. Only
+		 * enable this when duplicated requests are harmless.
+		 * @param retryNonIdempotent whether to retry non-idempotent requests
+		 * @return this builder
+		 */
+		public Builder retryNonIdempotent(boolean retryNonIdempotent) {
+			this.retryNonIdempotent = retryNonIdempotent;
+			return this;
+		}
+
+		/**
+		 * Sets the retry budget, or {@code null} to retry without a budget.
+		 * @param budget the retry budget
+		 * @return this builder
+		 */
+		public Builder budget(RetryBudget budget) {
+			this.budget = budget;
+			return this;
+		}
+
+		public ExponentialBackoffRetryPolicy build() {
+			return new ExponentialBackoffRetryPolicy(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+package ai.z.openapi.core.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits retries to a fraction of the requests, so retries cannot multiply the load on an
+ * API that is already failing. Every request deposits {@code retryRatio} tokens, every
+ * retry withdraws one token, and {@code minRetriesPerSecond} tokens are added per second
+ * so that low traffic can still retry. The balance is capped at ten seconds worth of
+ * tokens. Thread-safe and lock-free.
+ */
+public class RetryBudget {
+
+	private static final long SCALE = 1000;
+
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+	private final long depositPerRequest;
+
+	private final int minRetriesPerSecond;
+
+	private final long maxBalance;
+
+	private final AtomicLong balance;
+
+	private final AtomicLong lastRefillNanos;
+
+	/**
+	 * Creates a retry budget.
+	 * @param retryRatio retries allowed per request, for example 0.2 for 20%
+	 * @param minRetriesPerSecond retries allowed per second regardless of traffic
+	 */
+	public RetryBudget(double retryRatio, int minRetriesPerSecond) {
+		if (retryRatio < 0 || retryRatio > 1) {
+			throw new IllegalArgumentException("Retry ratio must be between 0 and 1");
+		}
+		if (minRetriesPerSecond < 0) {
+			throw new IllegalArgumentException("Min retries per second cannot be negative");
+		}
+		this.depositPerRequest = (long) (retryRatio * SCALE);
+		this.minRetriesPerSecond = minRetriesPerSecond;
+		this.maxBalance = SCALE * Math.max(10L * minRetriesPerSecond, 10L);
+		this.balance = new AtomicLong(SCALE * minRetriesPerSecond);
+		this.lastRefillNanos = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * Records a request, adding its share of retry tokens.
+	 */
+	public void onRequest() {
+		deposit(depositPerRequest);
+	}
+
+	/**
+	 * Withdraws the token of one retry.
+	 * @return true if the retry may proceed, false if the budget is exhausted
+	 */
+	public boolean tryAcquire() {
+		refill();
+		while (true) {
+			long current = balance.get();
+			if (current < SCALE) {
+				return false;
+			}
+			if (balance.compareAndSet(current, current - SCALE)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of retries currently available.
+	 * @return the number of whole tokens in the budget
+	 */
+	public long available() {
+		refill();
+		return balance.get() / SCALE;
+	}
+
+	private void refill() {
+		if (minRetriesPerSecond == 0) {
+			return;
+		}
+		long now = System.nanoTime();
+		long last = lastRefillNanos.get();
+		// the balance is capped at ten seconds worth of tokens anyway
+		long elapsed = Math.min(now - last, 10 * NANOS_PER_SECOND);
+		long tokens = elapsed * minRetriesPerSecond * SCALE / NANOS_PER_SECOND;
+		if (tokens > 0 && lastRefillNanos.compareAndSet(last, now)) {
+			deposit(tokens);
+		}
+	}
+
+	private void deposit(long tokens) {
+		while (true) {
+			long current = balance.get();
+			long next = Math.min(maxBalance, current + tokens);
+			if (current == next || balance.compareAndSet(current, next)) {
+				return;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package ai.z.openapi.core.retry;
+
+import ai.z.openapi.core.resilience.ResilienceRejectedException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * OkHttp Interceptor that retries failed calls according to a {@link RetryPolicy}. The
+ * response is returned as soon as its headers are received, so streaming calls are never
+ * retried once the caller started reading events. Cancelling the call stops the retries,
+ * and a call rejected by a circuit breaker or concurrency limit is failed without retry.
+ */
+public class RetryInterceptor implements Interceptor {
+
+	private static final Logger logger = LoggerFactory.getLogger(RetryInterceptor.class);
+
+	private final RetryPolicy policy;
+
+	public RetryInterceptor(RetryPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("Retry policy cannot be null");
+		}
+		this.policy = policy;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request request = chain.request();
+		policy.onRequest(request);
+		int attempt = 0;
+		while (true) {
+			attempt++;
+			Response response = null;
+			IOException error = null;
+			try {
+				response = chain.proceed(request);
+				if (response.isSuccessful()) {
+					return response;
+				}
+			}
+			catch (ResilienceRejectedException e) {
+				throw e;
+			}
+			catch (IOException e) {
+				error = e;
+			}
+			long delay = chain.call().isCanceled() ? -1 : policy.retryDelayMillis(attempt, request, response, error);
+			if (delay < 0) {
+				if (error != null) {
+					throw error;
+				}
+				return response;
+			}
+			if (response != null) {
+				response.close();
+			}
+			logger.warn("Retrying {} {} in {}ms after attempt {} failed: {}", request.method(),
+					request.url().encodedPath(), delay, attempt,
+					error != null ? error.toString() : "HTTP " + response.code());
+			sleep(delay);
+		}
+	}
+
+	private static void sleep(long millis) throws InterruptedIOException {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting to retry");
+		}
+	}
+
+}
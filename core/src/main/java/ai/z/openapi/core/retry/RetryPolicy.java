@@ -0,0 +1,35 @@
+package ai.z.openapi.core.retry;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Decides whether and when a failed HTTP call is retried. Consulted by
+ * {@link RetryInterceptor} after every attempt that failed with an I/O error or returned
+ * a non-successful status. Retries happen before the response is handed to the caller, so
+ * a streaming call is only retried before its first event is read.
+ */
+public interface RetryPolicy {
+
+	/**
+	 * Called once for every new call, before its first attempt.
+	 * @param request the original request
+	 */
+	default void onRequest(Request request) {
+	}
+
+	/**
+	 * Returns the delay before the next attempt.
+	 * @param attempt the number of attempts made so far, starting at 1
+	 * @param request the request of the failed attempt
+	 * @param response the response of the failed attempt, or {@code null} if it failed
+	 * with an I/O error
+	 * @param error the I/O error of the failed attempt, or {@code null} if a response was
+	 * received
+	 * @return the delay in milliseconds, or a negative value to stop retrying
+	 */
+	long retryDelayMillis(int attempt, Request request, Response response, IOException error);
+
+}
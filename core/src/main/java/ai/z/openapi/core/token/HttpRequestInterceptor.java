@@ -11,35 +11,36 @@ import java.util.Map;
 import java.util.Objects;
 
 /**
- * OkHttp Interceptor that adds an authorization token header
+ * OkHttp Interceptor that adds an authorization token header. Header values are computed
+ * once per client; with token caching enabled the signed token comes from a
+ * {@link TokenHolder} renewing it ahead of expiry.
  */
 public class HttpRequestInterceptor implements Interceptor {
 
 	private final ZaiConfig config;
 
+	private final String sourceChannel;
+
+	private final String apiKeyAuthorization;
+
+	private final TokenHolder tokenHolder;
+
 	public HttpRequestInterceptor(ZaiConfig config) {
 		Objects.requireNonNull(config.getApiKey(), "Z.ai token required");
 		this.config = config;
+		this.sourceChannel = StringUtils.isNotEmpty(config.getSource_channel()) ? config.getSource_channel()
+				: "z-ai-sdk-java";
+		this.apiKeyAuthorization = "Bearer " + config.getApiKey();
+		this.tokenHolder = config.isDisableTokenCache() ? null : new TokenHolder(config);
 	}
 
 	@Override
 	public Response intercept(Chain chain) throws IOException {
-		String accessToken;
-		if (this.config.isDisableTokenCache()) {
-			accessToken = this.config.getApiKey();
-		}
-		else {
-			TokenManager tokenManager = GlobalTokenManager.getTokenManagerV4();
-			accessToken = tokenManager.getToken(this.config);
-		}
-		String source_channel = "z-ai-sdk-java";
-		if (StringUtils.isNotEmpty(config.getSource_channel())) {
-			source_channel = config.getSource_channel();
-		}
+		String authorization = tokenHolder != null ? tokenHolder.authorization() : apiKeyAuthorization;
 		Request.Builder request = chain.request()
 			.newBuilder()
-			.header("Authorization", "Bearer " + accessToken)
-			.header("x-source-channel", source_channel)
+			.header("Authorization", authorization)
+			.header("x-source-channel", sourceChannel)
 			.header("Zai-SDK-Ver", "0.3.3");
 		if (Objects.nonNull(config.getCustomHeaders())) {
 			for (Map.Entry<String, String> entry : config.getCustomHeaders().entrySet()) {
@@ -0,0 +1,139 @@
+package ai.z.openapi.core.token;
+
+import ai.z.openapi.core.cache.CacheEntry;
+import ai.z.openapi.core.config.ZaiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Holds the signed JWT of one client configuration together with its ready-to-send
+ * {@code Authorization} header value. Tokens are obtained through the
+ * {@link TokenManager}, so a token already present in a cache shared with other processes
+ * is reused. Reading a valid token is a single volatile read without allocation. Once a
+ * token has lived 80% of its lifetime it is renewed in the background while callers keep
+ * using the current one; only when no valid token is left do callers sign one themselves,
+ * and concurrent callers then wait for a single signing instead of each signing their
+ * own.
+ */
+public class TokenHolder {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenHolder.class);
+
+	private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "zai-token-refresh");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Supplier<CacheEntry> issuer;
+
+	private final long lifetimeNanos;
+
+	private final long refreshMarginNanos;
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	private volatile Token token;
+
+	/**
+	 * Creates a token holder signing tokens with the global {@link TokenManager}.
+	 * @param config ZAI configuration containing API credentials and token lifetime
+	 */
+	public TokenHolder(ZaiConfig config) {
+		this(config, () -> GlobalTokenManager.getTokenManagerV4().acquireToken(config, config.getExpireMillis() / 5));
+	}
+
+	TokenHolder(ZaiConfig config, Supplier<CacheEntry> issuer) {
+		this.issuer = issuer;
+		this.lifetimeNanos = TimeUnit.MILLISECONDS.toNanos(config.getExpireMillis());
+		this.refreshMarginNanos = lifetimeNanos / 5;
+	}
+
+	/**
+	 * Returns the {@code Authorization} header value carrying a valid token.
+	 * @return the header value, {@code "Bearer <jwt>"}
+	 */
+	public String authorization() {
+		Token current = token;
+		if (current != null) {
+			long now = System.nanoTime();
+			if (now - current.refreshAt < 0) {
+				return current.authorization;
+			}
+			if (now - current.expiresAt < 0) {
+				refreshInBackground();
+				return current.authorization;
+			}
+		}
+		return refresh();
+	}
+
+	private synchronized String refresh() {
+		Token current = token;
+		if (current != null && System.nanoTime() - current.expiresAt < 0) {
+			// signed by another caller while this one was waiting
+			return current.authorization;
+		}
+		Token issued = issue();
+		token = issued;
+		return issued.authorization;
+	}
+
+	private void refreshInBackground() {
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			REFRESH_EXECUTOR.execute(() -> {
+				try {
+					Token issued = issue();
+					synchronized (this) {
+						token = issued;
+					}
+				}
+				catch (RuntimeException e) {
+					logger.warn("Background token refresh failed", e);
+				}
+				finally {
+					refreshing.set(false);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			refreshing.set(false);
+		}
+	}
+
+	private Token issue() {
+		long now = System.nanoTime();
+		CacheEntry entry = issuer.get();
+		long remainingMillis = entry.remainingMillis();
+		long expiresAt = now + (remainingMillis == CacheEntry.UNKNOWN_EXPIRY ? lifetimeNanos
+				: Math.min(lifetimeNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+		return new Token("Bearer " + entry.getValue(), expiresAt - refreshMarginNanos, expiresAt);
+	}
+
+	private static final class Token {
+
+		private final String authorization;
+
+		private final long refreshAt;
+
+		private final long expiresAt;
+
+		private Token(String authorization, long refreshAt, long expiresAt) {
+			this.authorization = authorization;
+			this.refreshAt = refreshAt;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
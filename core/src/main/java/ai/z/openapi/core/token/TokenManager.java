@@ -3,6 +3,7 @@ package ai.z.openapi.core.token;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import ai.z.openapi.core.config.ZaiConfig;
+import ai.z.openapi.core.cache.CacheEntry;
 import ai.z.openapi.core.cache.ICache;
 import ai.z.openapi.utils.StringUtils;
 import org.slf4j.Logger;
@@ -44,21 +45,54 @@ public class TokenManager {
 	 * @return valid JWT token
 	 */
 	public String getToken(ZaiConfig config) {
-		String[] arrStr = config.getApiKey().split("\\.");
-		if (arrStr.length != 2) {
-			throw new RuntimeException("invalid api Key");
-		}
-		String appId = arrStr[0];
-		String tokenCacheKey = genTokenCacheKey(appId);
+		String tokenCacheKey = genTokenCacheKey(appId(config.getApiKey()));
 		String cacheToken = cache.get(tokenCacheKey);
 		if (StringUtils.isNotEmpty(cacheToken)) {
 			return cacheToken;
 		}
+		return issueToken(config);
+	}
+
+	/**
+	 * Gets a JWT token valid for at least {@code minRemainingMillis}, reusing a cached
+	 * one, possibly signed by another process sharing the cache, or signing a new one.
+	 * Used by {@link TokenHolder} to renew tokens ahead of their expiry.
+	 * @param config ZAI configuration containing API credentials
+	 * @param minRemainingMillis minimum remaining lifetime of a reused token
+	 * @return the token with its expiration time
+	 */
+	public CacheEntry acquireToken(ZaiConfig config, long minRemainingMillis) {
+		CacheEntry cached = cache.getEntry(genTokenCacheKey(appId(config.getApiKey())));
+		if (cached != null) {
+			long remaining = cached.remainingMillis();
+			if (remaining != CacheEntry.UNKNOWN_EXPIRY && remaining > minRemainingMillis) {
+				return cached;
+			}
+		}
+		long expiresAt = System.currentTimeMillis() + config.getExpireMillis();
+		return new CacheEntry(issueToken(config), expiresAt);
+	}
+
+	/**
+	 * Signs a new JWT token and stores it in the cache, replacing any cached one.
+	 * @param config ZAI configuration containing API credentials
+	 * @return the new JWT token
+	 */
+	public String issueToken(ZaiConfig config) {
+		String tokenCacheKey = genTokenCacheKey(appId(config.getApiKey()));
 		String newToken = createJwt(config);
 		cache.set(tokenCacheKey, newToken, config.getExpireMillis(), TimeUnit.MILLISECONDS);
 		return newToken;
 	}
 
+	private static String appId(String apiKey) {
+		int dot = apiKey.indexOf('.');
+		if (dot <= 0 || dot == apiKey.length() - 1 || apiKey.indexOf('.', dot + 1) >= 0) {
+			throw new RuntimeException("invalid api Key");
+		}
+		return apiKey.substring(0, dot);
+	}
+
 	/**
 	 * Creates JWT token using HMAC256 algorithm.
 	 * @param config ZAI configuration
@@ -67,12 +101,8 @@ public class TokenManager {
 	private static String createJwt(ZaiConfig config) {
 		Algorithm alg;
 		String algId = config.getAlg();
-		String[] arrStr = config.getApiKey().split("\\.");
-		if (arrStr.length != 2) {
-			throw new RuntimeException("invalid api Key");
-		}
-		String appId = arrStr[0];
-		String apiSecret = arrStr[1];
+		String appId = appId(config.getApiKey());
+		String apiSecret = config.getApiKey().substring(appId.length() + 1);
 		if ("HS256".equals(algId)) {
 			try {
 				alg = Algorithm.HMAC256(apiSecret.getBytes(StandardCharsets.UTF_8));
@@ -105,7 +135,7 @@ public class TokenManager {
 	 * @return formatted cache key
 	 */
 	private String genTokenCacheKey(String apiKey) {
-		return String.format("%s-%s", TOKEN_KEY_PREFIX, apiKey);
+		return TOKEN_KEY_PREFIX + "-" + apiKey;
 	}
 
 }
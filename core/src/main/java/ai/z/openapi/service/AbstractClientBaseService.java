@@ -1,12 +1,16 @@
 package ai.z.openapi.service;
 
+import ai.z.openapi.core.config.StreamBackpressureStrategy;
 import ai.z.openapi.core.model.BiFlowableClientResponse;
 import ai.z.openapi.core.model.ClientRequest;
 import ai.z.openapi.core.model.ClientResponse;
 import ai.z.openapi.core.model.FlowableClientResponse;
-import ai.z.openapi.service.deserialize.MessageDeserializeFactory;
+import ai.z.openapi.core.model.ResponseFactories;
+import ai.z.openapi.service.deserialize.JsonCodec;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.service.model.ResponseBodyCallback;
 import ai.z.openapi.service.model.SSE;
+import ai.z.openapi.service.model.SSEReader;
 import ai.z.openapi.service.model.ZAiError;
 import ai.z.openapi.service.model.ZAiHttpException;
 import ai.z.openapi.utils.FlowableRequestSupplier;
@@ -14,18 +18,28 @@ import ai.z.openapi.utils.RequestSupplier;
 import ai.z.openapi.utils.StringUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
 import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.Objects;
 import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.HttpException;
 import retrofit2.Response;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 /**
  * Abstract base service class that provides common functionality for API client
@@ -36,7 +50,7 @@ public abstract class AbstractClientBaseService {
 
 	protected final static Logger logger = LoggerFactory.getLogger(AbstractClientBaseService.class);
 
-	protected static final ObjectMapper mapper = MessageDeserializeFactory.defaultObjectMapper();
+	protected static final ObjectMapper mapper = JsonMappers.standard().getMapper();
 
 	/**
 	 * Executes a synchronous API request.
@@ -46,11 +60,29 @@ public abstract class AbstractClientBaseService {
 	 * @param <TResp> the type of the response object
 	 * @param request the request object containing parameters
 	 * @param requestSupplier the supplier that creates the API call
-	 * @param tRespClass the class of the response type
+	 * @param tRespFactory the factory of the response object, typically a constructor
+	 * reference such as {@code ChatCompletionResponse::new}
 	 * @return the response object containing the API result
 	 */
 	public abstract <Data, Param, TReq extends ClientRequest<Param>, TResp extends ClientResponse<Data>> TResp executeRequest(
-			TReq request, RequestSupplier<Param, Data> requestSupplier, Class<TResp> tRespClass);
+			TReq request, RequestSupplier<Param, Data> requestSupplier, Supplier<TResp> tRespFactory);
+
+	/**
+	 * Executes a synchronous API request, creating the response object from its class
+	 * through {@link ResponseFactories}.
+	 * @param <Data> the type of data returned by the API
+	 * @param <Param> the type of parameters sent to the API
+	 * @param <TReq> the type of the request object
+	 * @param <TResp> the type of the response object
+	 * @param request the request object containing parameters
+	 * @param requestSupplier the supplier that creates the API call
+	 * @param tRespClass the class of the response type
+	 * @return the response object containing the API result
+	 */
+	public <Data, Param, TReq extends ClientRequest<Param>, TResp extends ClientResponse<Data>> TResp executeRequest(
+			TReq request, RequestSupplier<Param, Data> requestSupplier, Class<TResp> tRespClass) {
+		return executeRequest(request, requestSupplier, ResponseFactories.of(tRespClass));
+	}
 
 	/**
 	 * Executes a streaming API request and returns a Flowable-based response. This
@@ -64,13 +96,33 @@ public abstract class AbstractClientBaseService {
 	 * @param <TResp> response type (must extend BiFlowableClientResponse<Data, F>)
 	 * @param request the request to send
 	 * @param requestSupplier factory that creates the Retrofit call
-	 * @param tRespClass the response class type
+	 * @param tRespFactory the factory of the response object
 	 * @param tStreamClass the class of the stream element
 	 * @return streaming client response
 	 */
 	public abstract <Data, F, Param, TReq extends ClientRequest<Param>, TResp extends BiFlowableClientResponse<Data, F>> TResp biStreamRequest(
+			TReq request, FlowableRequestSupplier<Param, Call<ResponseBody>> requestSupplier,
+			Supplier<TResp> tRespFactory, Class<F> tStreamClass);
+
+	/**
+	 * Executes a streaming API request, creating the response object from its class
+	 * through {@link ResponseFactories}.
+	 * @param <Data> type of response body
+	 * @param <F> type of each element in the stream (can be same as Data)
+	 * @param <Param> request param type
+	 * @param <TReq> request type
+	 * @param <TResp> response type (must extend BiFlowableClientResponse<Data, F>)
+	 * @param request the request to send
+	 * @param requestSupplier factory that creates the Retrofit call
+	 * @param tRespClass the response class type
+	 * @param tStreamClass the class of the stream element
+	 * @return streaming client response
+	 */
+	public <Data, F, Param, TReq extends ClientRequest<Param>, TResp extends BiFlowableClientResponse<Data, F>> TResp biStreamRequest(
 			TReq request, FlowableRequestSupplier<Param, Call<ResponseBody>> requestSupplier, Class<TResp> tRespClass,
-			Class<F> tStreamClass);
+			Class<F> tStreamClass) {
+		return biStreamRequest(request, requestSupplier, ResponseFactories.of(tRespClass), tStreamClass);
+	}
 
 	/**
 	 * Executes a streaming API request with the same type for response body and stream
@@ -80,10 +132,25 @@ public abstract class AbstractClientBaseService {
 	 * @param <TReq> request type
 	 * @param <TResp> response type (must extend FlowableClientResponse<T>)
 	 */
+	public <T, Param, TReq extends ClientRequest<Param>, TResp extends FlowableClientResponse<T>> TResp streamRequest(
+			TReq request, FlowableRequestSupplier<Param, Call<ResponseBody>> requestSupplier,
+			Supplier<TResp> tRespFactory, Class<T> tClass) {
+		return this.<T, T, Param, TReq, TResp>biStreamRequest(request, requestSupplier, tRespFactory, tClass);
+	}
+
+	/**
+	 * Executes a streaming API request with the same type for response body and stream
+	 * element, creating the response object from its class through
+	 * {@link ResponseFactories}.
+	 * @param <T> data type for both response and stream
+	 * @param <Param> request param type
+	 * @param <TReq> request type
+	 * @param <TResp> response type (must extend FlowableClientResponse<T>)
+	 */
 	public <T, Param, TReq extends ClientRequest<Param>, TResp extends FlowableClientResponse<T>> TResp streamRequest(
 			TReq request, FlowableRequestSupplier<Param, Call<ResponseBody>> requestSupplier, Class<TResp> tRespClass,
 			Class<T> tClass) {
-		return this.<T, T, Param, TReq, TResp>biStreamRequest(request, requestSupplier, tRespClass, tClass);
+		return streamRequest(request, requestSupplier, ResponseFactories.of(tRespClass), tClass);
 	}
 
 	/**
@@ -106,57 +173,62 @@ public abstract class AbstractClientBaseService {
 			return response;
 		}
 		catch (HttpException e) {
-			logger.error("HTTP exception: {}", e.getMessage());
-			if (e.response() == null || e.response().errorBody() == null) {
-				throw e;
+			throw mapHttpException(e);
+		}
+	}
+
+	/**
+	 * Maps an HTTP error to a {@link ZAiHttpException} when its error body can be parsed.
+	 * @param e the HTTP exception raised by the call
+	 * @return a ZAiHttpException carrying the parsed error, or the original exception if
+	 * the error body is missing or cannot be parsed
+	 */
+	public static RuntimeException mapHttpException(HttpException e) {
+		logger.error("HTTP exception: {}", e.getMessage());
+		if (e.response() == null || e.response().errorBody() == null) {
+			return e;
+		}
+		try (ResponseBody responseBody = Objects.requireNonNull(e.response()).errorBody()) {
+			if (responseBody == null) {
+				return e;
 			}
-			try (ResponseBody responseBody = Objects.requireNonNull(e.response()).errorBody()) {
-				if (responseBody == null) {
-					throw e;
-				}
-				String errorBody = responseBody.string();
-				if (StringUtils.isEmpty(errorBody)) {
-					throw e;
-				}
-				// here not only the ZAiError, also has {"error": "message"} and others
-				JsonNode jsonNode = mapper.readTree(errorBody);
-				if (jsonNode.has("error")) {
-					JsonNode errorNode = jsonNode.get("error");
-					if (errorNode.isTextual()) {
-						JsonNode codeNode = jsonNode.get("code");
-						throw new ZAiHttpException(errorNode.asText(), codeNode == null ? null : codeNode.asText(), e,
-								e.code());
-					}
-					else {
-						ZAiError error = mapper.readValue(errorBody, ZAiError.class);
-						throw new ZAiHttpException(error, e, e.code());
-					}
-				}
-				else if (jsonNode.has("msg")) {
-					JsonNode msgNode = jsonNode.get("msg");
-					JsonNode codeNode = jsonNode.get("code");
-					throw new ZAiHttpException(msgNode.asText(), codeNode == null ? null : codeNode.asText(), e,
-							e.code());
-				}
-				else if (jsonNode.has("message")) {
-					JsonNode msgNode = jsonNode.get("message");
+			String errorBody = responseBody.string();
+			if (StringUtils.isEmpty(errorBody)) {
+				return e;
+			}
+			// here not only the ZAiError, also has {"error": "message"} and others
+			JsonNode jsonNode = mapper.readTree(errorBody);
+			if (jsonNode.has("error")) {
+				JsonNode errorNode = jsonNode.get("error");
+				if (errorNode.isTextual()) {
 					JsonNode codeNode = jsonNode.get("code");
-					throw new ZAiHttpException(msgNode.asText(), codeNode == null ? null : codeNode.asText(), e,
+					return new ZAiHttpException(errorNode.asText(), codeNode == null ? null : codeNode.asText(), e,
 							e.code());
 				}
 				else {
-					throw new ZAiHttpException(errorBody, null, e, e.code());
+					ZAiError error = mapper.readValue(errorBody, ZAiError.class);
+					return new ZAiHttpException(error, e, e.code());
 				}
 			}
-			catch (ZAiHttpException zAiHttpException) {
-				throw zAiHttpException;
+			else if (jsonNode.has("msg")) {
+				JsonNode msgNode = jsonNode.get("msg");
+				JsonNode codeNode = jsonNode.get("code");
+				return new ZAiHttpException(msgNode.asText(), codeNode == null ? null : codeNode.asText(), e, e.code());
 			}
-			catch (Exception ex) {
-				logger.error(ex.getMessage(), ex);
-				// couldn't parse ZAiError error
-				throw e;
+			else if (jsonNode.has("message")) {
+				JsonNode msgNode = jsonNode.get("message");
+				JsonNode codeNode = jsonNode.get("code");
+				return new ZAiHttpException(msgNode.asText(), codeNode == null ? null : codeNode.asText(), e, e.code());
+			}
+			else {
+				return new ZAiHttpException(errorBody, null, e, e.code());
 			}
 		}
+		catch (Exception ex) {
+			logger.error(ex.getMessage(), ex);
+			// couldn't parse ZAiError error
+			return e;
+		}
 	}
 
 	/**
@@ -164,21 +236,46 @@ public abstract class AbstractClientBaseService {
 	 * @param response the HTTP response to handle
 	 * @throws HttpException if the response is not successful
 	 */
-	private static void handleResponse(Response<?> response) {
+	protected static void handleResponse(Response<?> response) {
 		if (!response.isSuccessful()) {
 			throw new HttpException(response);
 		}
 	}
 
 	/**
-	 * Creates a streaming Flowable that maps SSE data to the specified class type.
+	 * Creates a streaming Flowable that maps SSE data to the specified class type. The
+	 * raw payload bytes are handed to Jackson directly, without decoding them to a
+	 * {@code String} first.
 	 * @param <T> the type to map the SSE data to
 	 * @param apiCall the API call that returns streaming data
 	 * @param cl the class to map the SSE data to
 	 * @return a Flowable of the specified type
 	 */
 	public <T> Flowable<T> stream(retrofit2.Call<ResponseBody> apiCall, Class<T> cl) {
-		return stream(apiCall).map(sse -> mapper.readValue(sse.getData(), cl));
+		ObjectReader reader = json().reader(cl);
+		return openStream(apiCall).map(sse -> {
+			byte[] data = sse.getRawData();
+			return reader.<T>readValue(data, 0, data.length);
+		});
+	}
+
+	/**
+	 * Returns the mapper and cached readers used to bind API payloads. Subclasses
+	 * override this to use the codec selected by their configuration.
+	 * @return the JSON codec
+	 */
+	protected JsonCodec json() {
+		return JsonMappers.standard();
+	}
+
+	/**
+	 * Opens the SSE event stream backing a typed streaming call. Subclasses override this
+	 * to apply their configured backpressure strategy.
+	 * @param apiCall the API call that returns streaming data
+	 * @return a Flowable of SSE events
+	 */
+	protected Flowable<SSE> openStream(retrofit2.Call<ResponseBody> apiCall) {
+		return stream(apiCall);
 	}
 
 	/**
@@ -201,4 +298,163 @@ public abstract class AbstractClientBaseService {
 				BackpressureStrategy.BUFFER);
 	}
 
+	/**
+	 * Creates a streaming Flowable of SSE events with the given backpressure strategy.
+	 * @param apiCall the API call that returns streaming data
+	 * @param emitDone whether to emit done events
+	 * @param strategy how to handle a subscriber slower than the server
+	 * @param bufferSize number of events buffered by the bounded strategies
+	 * @return a Flowable of SSE events
+	 */
+	public static Flowable<SSE> stream(retrofit2.Call<ResponseBody> apiCall, boolean emitDone,
+			StreamBackpressureStrategy strategy, int bufferSize) {
+		return stream(apiCall, emitDone, strategy, bufferSize, Schedulers.io());
+	}
+
+	/**
+	 * Creates a streaming Flowable of SSE events with the given backpressure strategy.
+	 * @param apiCall the API call that returns streaming data
+	 * @param emitDone whether to emit done events
+	 * @param strategy how to handle a subscriber slower than the server
+	 * @param bufferSize number of events buffered by the bounded strategies
+	 * @param scheduler the scheduler performing the blocking reads of the PULL strategy
+	 * @return a Flowable of SSE events
+	 */
+	public static Flowable<SSE> stream(retrofit2.Call<ResponseBody> apiCall, boolean emitDone,
+			StreamBackpressureStrategy strategy, int bufferSize, Scheduler scheduler) {
+		switch (strategy) {
+			case PULL:
+				return pull(apiCall, emitDone, scheduler);
+			case DROP_OLDEST:
+				return push(apiCall, emitDone).onBackpressureBuffer(bufferSize, null,
+						BackpressureOverflowStrategy.DROP_OLDEST);
+			case DROP_LATEST:
+				return push(apiCall, emitDone).onBackpressureBuffer(bufferSize, null,
+						BackpressureOverflowStrategy.DROP_LATEST);
+			case ERROR:
+				return push(apiCall, emitDone).onBackpressureBuffer(bufferSize);
+			default:
+				return stream(apiCall, emitDone);
+		}
+	}
+
+	/**
+	 * Creates a push-based Flowable that leaves backpressure handling to a downstream
+	 * operator.
+	 */
+	private static Flowable<SSE> push(retrofit2.Call<ResponseBody> apiCall, boolean emitDone) {
+		return Flowable.create(emitter -> {
+			emitter.setCancellable(apiCall::cancel);
+			apiCall.enqueue(new ResponseBodyCallback(emitter, emitDone));
+		}, BackpressureStrategy.MISSING);
+	}
+
+	/**
+	 * Creates a pull-based Flowable that enqueues the call on subscription and reads one
+	 * event from the response body per requested item. The call goes through the HTTP
+	 * client dispatcher like any other call, so the dispatcher limits apply while the
+	 * stream is opened; once the response arrives the dispatcher thread hands it over and
+	 * returns, and the body is read on the given scheduler. Cancelling the subscription
+	 * cancels the call, which unblocks a pending socket read.
+	 */
+	private static Flowable<SSE> pull(retrofit2.Call<ResponseBody> apiCall, boolean emitDone, Scheduler scheduler) {
+		return Flowable.<SSE, PullConnection>generate(() -> PullConnection.open(apiCall), (connection, emitter) -> {
+			SSE sse;
+			try {
+				sse = connection.reader.next();
+			}
+			catch (IOException e) {
+				if (apiCall.isCanceled()) {
+					emitter.onComplete();
+					return;
+				}
+				throw e;
+			}
+			if (sse == null || sse.isDone()) {
+				if (sse != null && emitDone) {
+					emitter.onNext(sse);
+				}
+				emitter.onComplete();
+				return;
+			}
+			emitter.onNext(sse);
+		}, PullConnection::close).subscribeOn(scheduler).doOnCancel(apiCall::cancel);
+	}
+
+	/**
+	 * Response body of a pull-based stream. The dispatcher callback only hands the
+	 * response over, so no dispatcher thread is held while the stream is read.
+	 */
+	private static final class PullConnection implements Closeable {
+
+		private final SSEReader reader;
+
+		private PullConnection(SSEReader reader) {
+			this.reader = reader;
+		}
+
+		static PullConnection open(retrofit2.Call<ResponseBody> apiCall) throws IOException {
+			CompletableFuture<Response<ResponseBody>> opened = new CompletableFuture<>();
+			apiCall.enqueue(new Callback<ResponseBody>() {
+				@Override
+				public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+					if (!opened.complete(response)) {
+						// the opening thread gave up waiting, nobody will read this body
+						closeQuietly(response);
+					}
+				}
+
+				@Override
+				public void onFailure(Call<ResponseBody> call, Throwable t) {
+					opened.completeExceptionally(t);
+				}
+			});
+			Response<ResponseBody> response;
+			try {
+				response = opened.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				apiCall.cancel();
+				if (!opened.cancel(false) && !opened.isCompletedExceptionally()) {
+					closeQuietly(opened.join());
+				}
+				throw new InterruptedIOException("Interrupted while opening the stream");
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IOException(cause);
+			}
+			try {
+				ResponseBodyCallback.checkResponse(response);
+			}
+			catch (IOException | RuntimeException e) {
+				closeQuietly(response);
+				throw e;
+			}
+			return new PullConnection(new SSEReader(response.body().source()));
+		}
+
+		private static void closeQuietly(Response<ResponseBody> response) {
+			if (response.body() != null) {
+				response.body().close();
+			}
+			if (response.errorBody() != null) {
+				response.errorBody().close();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+
+	}
+
 }
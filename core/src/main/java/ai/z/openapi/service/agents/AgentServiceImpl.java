@@ -44,15 +44,15 @@ public class AgentServiceImpl implements AgentService {
 	private ChatCompletionResponse streamAgentCompletion(AgentsCompletionRequest request) {
 		FlowableRequestSupplier<AgentsCompletionRequest, retrofit2.Call<ResponseBody>> supplier = agentsApi::agentsCompletionStream;
 		;
-		return this.zAiClient.streamRequest(request, supplier, ChatCompletionResponse.class, ModelData.class);
+		return this.zAiClient.streamRequest(request, supplier, ChatCompletionResponse::new, ModelData.class);
 	}
 
 	private ChatCompletionResponse syncAgentCompletion(AgentsCompletionRequest request) {
 		RequestSupplier<AgentsCompletionRequest, ModelData> supplier = agentsApi::agentsCompletionSync;
-		return this.zAiClient.executeRequest(request, supplier, ChatCompletionResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, ChatCompletionResponse::new);
 	}
 
-	private void validateParams(AgentsCompletionRequest request) {
+	static void validateParams(AgentsCompletionRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -0,0 +1,30 @@
+package ai.z.openapi.service.agents;
+
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ModelData;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking agent completion service interface
+ */
+public interface AsyncAgentService {
+
+	/**
+	 * Creates an agent completion, either streaming or non-streaming based on the request
+	 * configuration. For streaming requests the future completes immediately with the
+	 * response holding the event stream.
+	 * @param request the agents completion request
+	 * @return a future of the ChatCompletionResponse containing the agent completion
+	 * result
+	 */
+	CompletableFuture<ChatCompletionResponse> createAgentCompletion(AgentsCompletionRequest request);
+
+	/**
+	 * Retrieves the result of an asynchronous agent operation.
+	 * @param request the query request for the async agent result
+	 * @return a future of the ModelData containing the async agent operation result
+	 */
+	CompletableFuture<ModelData> retrieveAgentAsyncResult(AgentAsyncResultRetrieveParams request);
+
+}
@@ -0,0 +1,45 @@
+package ai.z.openapi.service.agents;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.agents.AgentsApi;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.utils.FlowableRequestSupplier;
+import ai.z.openapi.utils.RequestSupplier;
+import okhttp3.ResponseBody;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking agent completion service implementation
+ */
+public class AsyncAgentServiceImpl implements AsyncAgentService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final AgentsApi agentsApi;
+
+	public AsyncAgentServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.agentsApi = zAiClient.retrofit().create(AgentsApi.class);
+	}
+
+	@Override
+	public CompletableFuture<ChatCompletionResponse> createAgentCompletion(AgentsCompletionRequest request) {
+		AgentServiceImpl.validateParams(request);
+		if (Objects.nonNull(request.getStream()) && request.getStream()) {
+			FlowableRequestSupplier<AgentsCompletionRequest, retrofit2.Call<ResponseBody>> supplier = agentsApi::agentsCompletionStream;
+			return CompletableFuture.completedFuture(
+					this.zAiClient.streamRequest(request, supplier, ChatCompletionResponse::new, ModelData.class));
+		}
+		RequestSupplier<AgentsCompletionRequest, ModelData> supplier = agentsApi::agentsCompletionSync;
+		return this.zAiClient.executeRequestAsync(request, supplier, ChatCompletionResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<ModelData> retrieveAgentAsyncResult(AgentAsyncResultRetrieveParams request) {
+		return agentsApi.queryAgentsAsyncResult(request).toCompletionStage().toCompletableFuture();
+	}
+
+}
@@ -1,25 +1,31 @@
 package ai.z.openapi.service.assistant;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import ai.z.openapi.service.assistant.message.AssistantMessageContent;
-import ai.z.openapi.service.deserialize.MessageDeserializeFactory;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.service.deserialize.assistant.AssistantChoiceDeserializer;
 
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Represents an assistant's choice output in conversation responses. This class contains
  * the response index, message content, finish reason, and metadata.
+ *
+ * <p>
+ * Choices are bound field by field straight from the parser. Properties the SDK does not
+ * model are kept in {@link #getAdditionalProperties()}, and a JSON tree of the whole
+ * choice is only built when {@link #asObjectNode()} is called.
+ * </p>
  */
 @JsonDeserialize(using = AssistantChoiceDeserializer.class)
-public class AssistantChoice extends ObjectNode {
+public class AssistantChoice {
 
 	/**
 	 * Result index.
@@ -47,57 +53,35 @@ public class AssistantChoice extends ObjectNode {
 	@JsonProperty("metadata")
 	private Map<String, Object> metadata;
 
+	/**
+	 * Properties of the choice that have no typed field, in the order they were received.
+	 */
+	private Map<String, JsonNode> additionalProperties;
+
 	public AssistantChoice() {
-		super(JsonNodeFactory.instance);
 	}
 
 	public AssistantChoice(ObjectNode objectNode) {
-		super(JsonNodeFactory.instance);
-
 		if (objectNode == null) {
 			return;
 		}
+		AssistantChoice choice = JsonMappers.standard().getMapper().convertValue(objectNode, AssistantChoice.class);
+		this.index = choice.index;
+		this.delta = choice.delta;
+		this.finishReason = choice.finishReason;
+		this.metadata = choice.metadata;
+		this.additionalProperties = choice.additionalProperties;
+	}
 
-		ObjectMapper objectMapper = MessageDeserializeFactory.defaultObjectMapper();
-		if (objectNode.has("index")) {
-			this.setIndex(objectNode.get("index").asInt());
-		}
-		else {
-			this.setIndex(0);
-		}
-		if (objectNode.has("delta")) {
-			AssistantMessageContent delta = objectMapper.convertValue(objectNode.get("delta"),
-					AssistantMessageContent.class);
-			this.setDelta(delta);
-		}
-		else {
-			this.setDelta(null);
-		}
-		if (objectNode.has("finish_reason")) {
-			this.setFinishReason(objectNode.get("finish_reason").asText());
-
-		}
-		else {
-			this.setFinishReason(null);
-		}
-		if (objectNode.has("metadata")) {
-			Map<String, Object> metadata = objectMapper.convertValue(objectNode.get("metadata"),
-					new TypeReference<Map<String, Object>>() {
-					});
-
-			this.setMetadata(metadata);
-		}
-		else {
-			this.setMetadata(null);
-		}
-
-		Iterator<String> fieldNames = objectNode.fieldNames();
-		while (fieldNames.hasNext()) {
-			String fieldName = fieldNames.next();
-			JsonNode field = objectNode.get(fieldName);
-			this.set(fieldName, field);
-		}
+	/**
+	 * Builds a JSON tree view of this choice, including the properties without a typed
+	 * field. The tree is created on every call and is not backed by this object.
+	 * @return the choice as an {@link ObjectNode}
+	 */
+	public ObjectNode asObjectNode() {
+		return JsonMappers.standard().getMapper().valueToTree(this);
 	}
+
 	// Getters and Setters
 
 	public int getIndex() {
@@ -106,7 +90,6 @@ public class AssistantChoice extends ObjectNode {
 
 	public void setIndex(int index) {
 		this.index = index;
-		this.put("index", index);
 	}
 
 	public AssistantMessageContent getDelta() {
@@ -115,7 +98,6 @@ public class AssistantChoice extends ObjectNode {
 
 	public void setDelta(AssistantMessageContent delta) {
 		this.delta = delta;
-		this.putPOJO("delta", delta);
 	}
 
 	public String getFinishReason() {
@@ -124,7 +106,6 @@ public class AssistantChoice extends ObjectNode {
 
 	public void setFinishReason(String finishReason) {
 		this.finishReason = finishReason;
-		this.put("finish_reason", finishReason);
 	}
 
 	public Map<String, Object> getMetadata() {
@@ -133,7 +114,19 @@ public class AssistantChoice extends ObjectNode {
 
 	public void setMetadata(Map<String, Object> metadata) {
 		this.metadata = metadata;
-		this.putPOJO("metadata", metadata);
+	}
+
+	@JsonAnyGetter
+	public Map<String, JsonNode> getAdditionalProperties() {
+		return additionalProperties == null ? Collections.emptyMap() : additionalProperties;
+	}
+
+	@JsonAnySetter
+	public void setAdditionalProperty(String name, JsonNode value) {
+		if (additionalProperties == null) {
+			additionalProperties = new LinkedHashMap<>();
+		}
+		additionalProperties.put(name, value);
 	}
 
 }
@@ -29,25 +29,25 @@ public class AssistantServiceImpl implements AssistantService {
 	@Override
 	public AssistantApiResponse assistantCompletionStream(AssistantParameters request) {
 		FlowableRequestSupplier<AssistantParameters, retrofit2.Call<ResponseBody>> supplier = assistantApi::assistantCompletionStream;
-		return zAiClient.streamRequest(request, supplier, AssistantApiResponse.class, AssistantCompletion.class);
+		return zAiClient.streamRequest(request, supplier, AssistantApiResponse::new, AssistantCompletion.class);
 	}
 
 	@Override
 	public AssistantApiResponse assistantCompletion(AssistantParameters request) {
 		RequestSupplier<AssistantParameters, AssistantCompletion> supplier = assistantApi::assistantCompletion;
-		return zAiClient.executeRequest(request, supplier, AssistantApiResponse.class);
+		return zAiClient.executeRequest(request, supplier, AssistantApiResponse::new);
 	}
 
 	@Override
 	public AssistantSupportResponse querySupport(AssistantQuerySupportParams request) {
 		RequestSupplier<AssistantQuerySupportParams, AssistantSupportStatus> supplier = assistantApi::querySupport;
-		return zAiClient.executeRequest(request, supplier, AssistantSupportResponse.class);
+		return zAiClient.executeRequest(request, supplier, AssistantSupportResponse::new);
 	}
 
 	@Override
 	public AssistantConversationUsageListResponse queryConversationUsage(AssistantConversationParameters request) {
 		RequestSupplier<AssistantConversationParameters, AssistantConversationUsageListStatus> supplier = assistantApi::queryConversationUsage;
-		return zAiClient.executeRequest(request, supplier, AssistantConversationUsageListResponse.class);
+		return zAiClient.executeRequest(request, supplier, AssistantConversationUsageListResponse::new);
 	}
 
 }
\ No newline at end of file
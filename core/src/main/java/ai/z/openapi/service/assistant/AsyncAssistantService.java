@@ -0,0 +1,46 @@
+package ai.z.openapi.service.assistant;
+
+import ai.z.openapi.service.assistant.conversation.AssistantConversationParameters;
+import ai.z.openapi.service.assistant.conversation.AssistantConversationUsageListResponse;
+import ai.z.openapi.service.assistant.query_support.AssistantQuerySupportParams;
+import ai.z.openapi.service.assistant.query_support.AssistantSupportResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking assistant service interface
+ */
+public interface AsyncAssistantService {
+
+	/**
+	 * Creates a streaming assistant completion. The future completes immediately with the
+	 * response holding the event stream.
+	 * @param request the assistant completion request
+	 * @return a future of the AssistantApiResponse containing the completion result
+	 */
+	CompletableFuture<AssistantApiResponse> assistantCompletionStream(AssistantParameters request);
+
+	/**
+	 * Creates a non-streaming assistant completion.
+	 * @param request the assistant completion request
+	 * @return a future of the AssistantApiResponse containing the completion result
+	 */
+	CompletableFuture<AssistantApiResponse> assistantCompletion(AssistantParameters request);
+
+	/**
+	 * Queries assistant support status.
+	 * @param request the query support request
+	 * @return a future of the AssistantSupportResponse containing the support information
+	 */
+	CompletableFuture<AssistantSupportResponse> querySupport(AssistantQuerySupportParams request);
+
+	/**
+	 * Queries conversation usage information.
+	 * @param request the conversation parameters
+	 * @return a future of the ConversationUsageListResponse containing the usage
+	 * information
+	 */
+	CompletableFuture<AssistantConversationUsageListResponse> queryConversationUsage(
+			AssistantConversationParameters request);
+
+}
@@ -0,0 +1,57 @@
+package ai.z.openapi.service.assistant;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.assistant.AssistantApi;
+import ai.z.openapi.service.assistant.conversation.AssistantConversationParameters;
+import ai.z.openapi.service.assistant.conversation.AssistantConversationUsageListResponse;
+import ai.z.openapi.service.assistant.conversation.AssistantConversationUsageListStatus;
+import ai.z.openapi.service.assistant.query_support.AssistantQuerySupportParams;
+import ai.z.openapi.service.assistant.query_support.AssistantSupportResponse;
+import ai.z.openapi.service.assistant.query_support.AssistantSupportStatus;
+import ai.z.openapi.utils.FlowableRequestSupplier;
+import ai.z.openapi.utils.RequestSupplier;
+import okhttp3.ResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking assistant service implementation
+ */
+public class AsyncAssistantServiceImpl implements AsyncAssistantService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final AssistantApi assistantApi;
+
+	public AsyncAssistantServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.assistantApi = zAiClient.retrofit().create(AssistantApi.class);
+	}
+
+	@Override
+	public CompletableFuture<AssistantApiResponse> assistantCompletionStream(AssistantParameters request) {
+		FlowableRequestSupplier<AssistantParameters, retrofit2.Call<ResponseBody>> supplier = assistantApi::assistantCompletionStream;
+		return CompletableFuture.completedFuture(
+				zAiClient.streamRequest(request, supplier, AssistantApiResponse::new, AssistantCompletion.class));
+	}
+
+	@Override
+	public CompletableFuture<AssistantApiResponse> assistantCompletion(AssistantParameters request) {
+		RequestSupplier<AssistantParameters, AssistantCompletion> supplier = assistantApi::assistantCompletion;
+		return zAiClient.executeRequestAsync(request, supplier, AssistantApiResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<AssistantSupportResponse> querySupport(AssistantQuerySupportParams request) {
+		RequestSupplier<AssistantQuerySupportParams, AssistantSupportStatus> supplier = assistantApi::querySupport;
+		return zAiClient.executeRequestAsync(request, supplier, AssistantSupportResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<AssistantConversationUsageListResponse> queryConversationUsage(
+			AssistantConversationParameters request) {
+		RequestSupplier<AssistantConversationParameters, AssistantConversationUsageListStatus> supplier = assistantApi::queryConversationUsage;
+		return zAiClient.executeRequestAsync(request, supplier, AssistantConversationUsageListResponse::new);
+	}
+
+}
@@ -0,0 +1,43 @@
+package ai.z.openapi.service.audio;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking audio service interface
+ */
+public interface AsyncAudioService {
+
+	/**
+	 * Creates speech from text using text-to-speech.
+	 * @param request the speech generation request
+	 * @return a future of the AudioSpeechResponse containing the generated speech
+	 */
+	CompletableFuture<AudioSpeechResponse> createSpeech(AudioSpeechRequest request);
+
+	/**
+	 * Creates speech from text using text-to-speech. The future completes immediately
+	 * with the response holding the audio stream.
+	 * @param request the speech generation request
+	 * @return a future of the AudioSpeechStreamingResponse containing the generated
+	 * speech streaming
+	 */
+	CompletableFuture<AudioSpeechStreamingResponse> createStreamingSpeech(AudioSpeechRequest request);
+
+	/**
+	 * Creates customized speech with specific voice characteristics.
+	 * @param request the speech customization request
+	 * @return a future of the AudioCustomizationResponse containing the customized speech
+	 * result
+	 */
+	CompletableFuture<AudioCustomizationResponse> createCustomSpeech(AudioCustomizationRequest request);
+
+	/**
+	 * Creates audio transcription from audio files. For streaming requests the future
+	 * completes immediately with the response holding the transcription stream.
+	 * @param request the transcription request
+	 * @return a future of the AudioTranscriptionResponse containing the transcription
+	 * result
+	 */
+	CompletableFuture<AudioTranscriptionResponse> createTranscription(AudioTranscriptionRequest request);
+
+}
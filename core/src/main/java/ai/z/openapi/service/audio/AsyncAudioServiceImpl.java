@@ -0,0 +1,68 @@
+package ai.z.openapi.service.audio;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.audio.AudioApi;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.utils.FlowableRequestSupplier;
+import ai.z.openapi.utils.RequestSupplier;
+import okhttp3.ResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking audio service implementation. Generated audio is written to its temporary
+ * file on the dispatcher thread that received the response.
+ */
+public class AsyncAudioServiceImpl implements AsyncAudioService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final AudioApi audioApi;
+
+	public AsyncAudioServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.audioApi = zAiClient.retrofit().create(AudioApi.class);
+	}
+
+	@Override
+	public CompletableFuture<AudioSpeechResponse> createSpeech(AudioSpeechRequest request) {
+		AudioServiceImpl.validateSpeechParams(request);
+		RequestSupplier<AudioSpeechRequest, java.io.File> supplier = (params) -> audioApi.audioSpeech(params)
+			.map(body -> AudioServiceImpl.speechFile(body, params));
+		return this.zAiClient.executeRequestAsync(request, supplier, AudioSpeechResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<AudioSpeechStreamingResponse> createStreamingSpeech(AudioSpeechRequest request) {
+		AudioServiceImpl.validateSpeechParams(request);
+		FlowableRequestSupplier<AudioSpeechRequest, retrofit2.Call<ResponseBody>> supplier = audioApi::audioSpeechStreaming;
+		return CompletableFuture.completedFuture(
+				this.zAiClient.streamRequest(request, supplier, AudioSpeechStreamingResponse::new, ModelData.class));
+	}
+
+	@Override
+	public CompletableFuture<AudioCustomizationResponse> createCustomSpeech(AudioCustomizationRequest request) {
+		AudioServiceImpl.validateCustomSpeechParams(request);
+		RequestSupplier<AudioCustomizationRequest, java.io.File> supplier = (params) -> audioApi
+			.audioCustomization(AudioServiceImpl.customizationParts(params), AudioServiceImpl.voiceDataPart(params))
+			.map(AudioServiceImpl::customSpeechFile);
+		return this.zAiClient.executeRequestAsync(request, supplier, AudioCustomizationResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<AudioTranscriptionResponse> createTranscription(AudioTranscriptionRequest request) {
+		AudioServiceImpl.validateTranscriptionParams(request);
+		if (request.getStream()) {
+			FlowableRequestSupplier<AudioTranscriptionRequest, retrofit2.Call<ResponseBody>> supplier = params -> audioApi
+				.audioTranscriptionStream(AudioServiceImpl.transcriptionParts(params),
+						AudioServiceImpl.transcriptionFilePart(params));
+			return CompletableFuture.completedFuture(this.zAiClient.biStreamRequest(request, supplier,
+					AudioTranscriptionResponse::new, AudioTranscriptionChunk.class));
+		}
+		RequestSupplier<AudioTranscriptionRequest, AudioTranscriptionResult> supplier = (params) -> audioApi
+			.audioTranscription(AudioServiceImpl.transcriptionParts(params),
+					AudioServiceImpl.transcriptionFilePart(params));
+		return this.zAiClient.executeRequestAsync(request, supplier, AudioTranscriptionResponse::new);
+	}
+
+}
@@ -2,7 +2,7 @@ package ai.z.openapi.service.audio;
 
 import ai.z.openapi.AbstractAiClient;
 import ai.z.openapi.api.audio.AudioApi;
-import ai.z.openapi.service.deserialize.MessageDeserializeFactory;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.service.model.ModelData;
 import ai.z.openapi.utils.FlowableRequestSupplier;
 import ai.z.openapi.utils.RequestSupplier;
@@ -31,7 +31,7 @@ public class AudioServiceImpl implements AudioService {
 
 	private static final Logger log = LoggerFactory.getLogger(AudioServiceImpl.class);
 
-	protected static final ObjectMapper mapper = MessageDeserializeFactory.defaultObjectMapper();
+	protected static final ObjectMapper mapper = JsonMappers.standard().getMapper();
 
 	private final AbstractAiClient zAiClient;
 
@@ -45,20 +45,9 @@ public class AudioServiceImpl implements AudioService {
 	@Override
 	public AudioSpeechResponse createSpeech(AudioSpeechRequest request) {
 		validateSpeechParams(request);
-		RequestSupplier<AudioSpeechRequest, java.io.File> supplier = (params) -> {
-			try {
-				Single<ResponseBody> responseBody = audioApi.audioSpeech(params);
-				Path tempDirectory = Files.createTempFile("audio_speech" + UUID.randomUUID(),
-						"." + request.getResponseFormat());
-				java.io.File file = tempDirectory.toFile();
-				writeResponseBodyToFile(responseBody.blockingGet(), file);
-				return Single.just(file);
-			}
-			catch (IOException e) {
-				throw new RuntimeException(e);
-			}
-		};
-		return this.zAiClient.executeRequest(request, supplier, AudioSpeechResponse.class);
+		RequestSupplier<AudioSpeechRequest, java.io.File> supplier = (params) -> Single
+			.just(speechFile(audioApi.audioSpeech(params).blockingGet(), params));
+		return this.zAiClient.executeRequest(request, supplier, AudioSpeechResponse::new);
 	}
 
 	@Override
@@ -66,71 +55,22 @@ public class AudioServiceImpl implements AudioService {
 	public AudioSpeechStreamingResponse createStreamingSpeechStreaming(AudioSpeechRequest request) {
 		validateSpeechParams(request);
 		FlowableRequestSupplier<AudioSpeechRequest, retrofit2.Call<ResponseBody>> supplier = audioApi::audioSpeechStreaming;
-		return this.zAiClient.streamRequest(request, supplier, AudioSpeechStreamingResponse.class, ModelData.class);
+		return this.zAiClient.streamRequest(request, supplier, AudioSpeechStreamingResponse::new, ModelData.class);
 	}
 
 	@Override
 	public AudioSpeechStreamingResponse createStreamingSpeech(AudioSpeechRequest request) {
 		validateSpeechParams(request);
 		FlowableRequestSupplier<AudioSpeechRequest, retrofit2.Call<ResponseBody>> supplier = audioApi::audioSpeechStreaming;
-		return this.zAiClient.streamRequest(request, supplier, AudioSpeechStreamingResponse.class, ModelData.class);
+		return this.zAiClient.streamRequest(request, supplier, AudioSpeechStreamingResponse::new, ModelData.class);
 	}
 
 	@Override
 	public AudioCustomizationResponse createCustomSpeech(AudioCustomizationRequest request) {
 		validateCustomSpeechParams(request);
-		RequestSupplier<AudioCustomizationRequest, java.io.File> supplier = (params) -> {
-			try {
-				java.io.File voiceFile = params.getVoiceData();
-				RequestBody requestFile = RequestBody.create(MediaType.parse("multipart/form-data"), voiceFile);
-				MultipartBody.Part voiceData = MultipartBody.Part.createFormData("voice_data", voiceFile.getName(),
-						requestFile);
-
-				Map<String, RequestBody> requestMap = new HashMap<>();
-				if (params.getInput() != null) {
-					requestMap.put("input", RequestBody.create(MediaType.parse("text/plain"), params.getInput()));
-				}
-				if (params.getModel() != null) {
-					requestMap.put("model", RequestBody.create(MediaType.parse("text/plain"), params.getModel()));
-				}
-				if (params.getVoiceText() != null) {
-					requestMap.put("voice_text",
-							RequestBody.create(MediaType.parse("text/plain"), params.getVoiceText()));
-				}
-				if (params.getResponseFormat() != null) {
-					requestMap.put("response_format",
-							RequestBody.create(MediaType.parse("text/plain"), params.getResponseFormat()));
-				}
-				if (params.getSensitiveWordCheck() != null) {
-					try {
-						String sensitiveWordCheckJson = mapper.writeValueAsString(params.getSensitiveWordCheck());
-						requestMap.put("sensitive_word_check",
-								RequestBody.create(MediaType.parse("application/json"), sensitiveWordCheckJson));
-					}
-					catch (Exception e) {
-						log.error("Error serializing sensitive_word_check: {}", e.getMessage(), e);
-					}
-				}
-				if (params.getRequestId() != null) {
-					requestMap.put("request_id",
-							RequestBody.create(MediaType.parse("text/plain"), params.getRequestId()));
-				}
-				if (params.getUserId() != null) {
-					requestMap.put("user_id", RequestBody.create(MediaType.parse("text/plain"), params.getUserId()));
-				}
-
-				Single<ResponseBody> responseBody = audioApi.audioCustomization(requestMap, voiceData);
-				Path tempDirectory = Files.createTempFile("audio_customization" + UUID.randomUUID(), ".wav");
-				java.io.File file = tempDirectory.toFile();
-				writeResponseBodyToFile(responseBody.blockingGet(), file);
-				return Single.just(file);
-			}
-			catch (IOException e) {
-				log.error("Error create custom speak: {}", e.getMessage(), e);
-				throw new RuntimeException(e);
-			}
-		};
-		return this.zAiClient.executeRequest(request, supplier, AudioCustomizationResponse.class);
+		RequestSupplier<AudioCustomizationRequest, java.io.File> supplier = (params) -> Single.just(customSpeechFile(
+				audioApi.audioCustomization(customizationParts(params), voiceDataPart(params)).blockingGet()));
+		return this.zAiClient.executeRequest(request, supplier, AudioCustomizationResponse::new);
 	}
 
 	@Override
@@ -145,61 +85,109 @@ public class AudioServiceImpl implements AudioService {
 	}
 
 	private AudioTranscriptionResponse createTranscriptionStream(AudioTranscriptionRequest request) {
-		FlowableRequestSupplier<AudioTranscriptionRequest, retrofit2.Call<ResponseBody>> supplier = params -> {
-			java.io.File file = params.getFile();
-			String contentType = detectContentType(file);
-			RequestBody requestFile = RequestBody.create(MediaType.parse(contentType), file);
-			MultipartBody.Part fileData = MultipartBody.Part.createFormData("file", file.getName(), requestFile);
-
-			Map<String, RequestBody> requestMap = new HashMap<>();
-			if (params.getModel() != null) {
-				requestMap.put("model", RequestBody.create(MediaType.parse("text/plain"), params.getModel()));
-			}
-			if (params.getStream() != null) {
-				requestMap.put("stream",
-						RequestBody.create(MediaType.parse("text/plain"), params.getStream().toString()));
-			}
-			if (params.getRequestId() != null) {
-				requestMap.put("request_id", RequestBody.create(MediaType.parse("text/plain"), params.getRequestId()));
-			}
-			if (params.getUserId() != null) {
-				requestMap.put("user_id", RequestBody.create(MediaType.parse("text/plain"), params.getUserId()));
-			}
-
-			return audioApi.audioTranscriptionStream(requestMap, fileData);
-		};
-		return this.zAiClient.biStreamRequest(request, supplier, AudioTranscriptionResponse.class,
+		FlowableRequestSupplier<AudioTranscriptionRequest, retrofit2.Call<ResponseBody>> supplier = params -> audioApi
+			.audioTranscriptionStream(transcriptionParts(params), transcriptionFilePart(params));
+		return this.zAiClient.biStreamRequest(request, supplier, AudioTranscriptionResponse::new,
 				AudioTranscriptionChunk.class);
 	}
 
 	private AudioTranscriptionResponse createTranscriptionBlock(AudioTranscriptionRequest request) {
-		RequestSupplier<AudioTranscriptionRequest, AudioTranscriptionResult> supplier = (params) -> {
-			java.io.File file = params.getFile();
-			String contentType = detectContentType(file);
-			RequestBody requestFile = RequestBody.create(MediaType.parse(contentType), file);
-			MultipartBody.Part fileData = MultipartBody.Part.createFormData("file", file.getName(), requestFile);
+		RequestSupplier<AudioTranscriptionRequest, AudioTranscriptionResult> supplier = (params) -> audioApi
+			.audioTranscription(transcriptionParts(params), transcriptionFilePart(params));
+		return this.zAiClient.executeRequest(request, supplier, AudioTranscriptionResponse::new);
+	}
 
-			Map<String, RequestBody> requestMap = new HashMap<>();
-			if (params.getModel() != null) {
-				requestMap.put("model", RequestBody.create(MediaType.parse("text/plain"), params.getModel()));
-			}
-			if (params.getStream() != null) {
-				requestMap.put("stream",
-						RequestBody.create(MediaType.parse("text/plain"), params.getStream().toString()));
-			}
-			if (params.getRequestId() != null) {
-				requestMap.put("request_id", RequestBody.create(MediaType.parse("text/plain"), params.getRequestId()));
+	static java.io.File speechFile(ResponseBody body, AudioSpeechRequest request) {
+		try {
+			Path tempDirectory = Files.createTempFile("audio_speech" + UUID.randomUUID(),
+					"." + request.getResponseFormat());
+			java.io.File file = tempDirectory.toFile();
+			writeResponseBodyToFile(body, file);
+			return file;
+		}
+		catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	static java.io.File customSpeechFile(ResponseBody body) {
+		try {
+			Path tempDirectory = Files.createTempFile("audio_customization" + UUID.randomUUID(), ".wav");
+			java.io.File file = tempDirectory.toFile();
+			writeResponseBodyToFile(body, file);
+			return file;
+		}
+		catch (IOException e) {
+			log.error("Error create custom speak: {}", e.getMessage(), e);
+			throw new RuntimeException(e);
+		}
+	}
+
+	static MultipartBody.Part voiceDataPart(AudioCustomizationRequest params) {
+		java.io.File voiceFile = params.getVoiceData();
+		RequestBody requestFile = RequestBody.create(MediaType.parse("multipart/form-data"), voiceFile);
+		return MultipartBody.Part.createFormData("voice_data", voiceFile.getName(), requestFile);
+	}
+
+	static Map<String, RequestBody> customizationParts(AudioCustomizationRequest params) {
+		Map<String, RequestBody> requestMap = new HashMap<>();
+		if (params.getInput() != null) {
+			requestMap.put("input", RequestBody.create(MediaType.parse("text/plain"), params.getInput()));
+		}
+		if (params.getModel() != null) {
+			requestMap.put("model", RequestBody.create(MediaType.parse("text/plain"), params.getModel()));
+		}
+		if (params.getVoiceText() != null) {
+			requestMap.put("voice_text", RequestBody.create(MediaType.parse("text/plain"), params.getVoiceText()));
+		}
+		if (params.getResponseFormat() != null) {
+			requestMap.put("response_format",
+					RequestBody.create(MediaType.parse("text/plain"), params.getResponseFormat()));
+		}
+		if (params.getSensitiveWordCheck() != null) {
+			try {
+				String sensitiveWordCheckJson = mapper.writeValueAsString(params.getSensitiveWordCheck());
+				requestMap.put("sensitive_word_check",
+						RequestBody.create(MediaType.parse("application/json"), sensitiveWordCheckJson));
 			}
-			if (params.getUserId() != null) {
-				requestMap.put("user_id", RequestBody.create(MediaType.parse("text/plain"), params.getUserId()));
+			catch (Exception e) {
+				log.error("Error serializing sensitive_word_check: {}", e.getMessage(), e);
 			}
+		}
+		if (params.getRequestId() != null) {
+			requestMap.put("request_id", RequestBody.create(MediaType.parse("text/plain"), params.getRequestId()));
+		}
+		if (params.getUserId() != null) {
+			requestMap.put("user_id", RequestBody.create(MediaType.parse("text/plain"), params.getUserId()));
+		}
+		return requestMap;
+	}
 
-			return audioApi.audioTranscription(requestMap, fileData);
-		};
-		return this.zAiClient.executeRequest(request, supplier, AudioTranscriptionResponse.class);
+	static MultipartBody.Part transcriptionFilePart(AudioTranscriptionRequest params) {
+		java.io.File file = params.getFile();
+		String contentType = detectContentType(file);
+		RequestBody requestFile = RequestBody.create(MediaType.parse(contentType), file);
+		return MultipartBody.Part.createFormData("file", file.getName(), requestFile);
+	}
+
+	static Map<String, RequestBody> transcriptionParts(AudioTranscriptionRequest params) {
+		Map<String, RequestBody> requestMap = new HashMap<>();
+		if (params.getModel() != null) {
+			requestMap.put("model", RequestBody.create(MediaType.parse("text/plain"), params.getModel()));
+		}
+		if (params.getStream() != null) {
+			requestMap.put("stream", RequestBody.create(MediaType.parse("text/plain"), params.getStream().toString()));
+		}
+		if (params.getRequestId() != null) {
+			requestMap.put("request_id", RequestBody.create(MediaType.parse("text/plain"), params.getRequestId()));
+		}
+		if (params.getUserId() != null) {
+			requestMap.put("user_id", RequestBody.create(MediaType.parse("text/plain"), params.getUserId()));
+		}
+		return requestMap;
 	}
 
-	private void validateSpeechParams(AudioSpeechRequest request) {
+	static void validateSpeechParams(AudioSpeechRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -214,7 +202,7 @@ public class AudioServiceImpl implements AudioService {
 		}
 	}
 
-	private void validateCustomSpeechParams(AudioCustomizationRequest request) {
+	static void validateCustomSpeechParams(AudioCustomizationRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -229,7 +217,7 @@ public class AudioServiceImpl implements AudioService {
 		}
 	}
 
-	private void validateTranscriptionParams(AudioTranscriptionRequest request) {
+	static void validateTranscriptionParams(AudioTranscriptionRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -244,7 +232,7 @@ public class AudioServiceImpl implements AudioService {
 		}
 	}
 
-	private void writeResponseBodyToFile(ResponseBody body, java.io.File file) {
+	private static void writeResponseBodyToFile(ResponseBody body, java.io.File file) {
 		try (InputStream inputStream = body.byteStream();
 				OutputStream outputStream = Files.newOutputStream(file.toPath())) {
 			byte[] buffer = new byte[4096];
@@ -264,7 +252,7 @@ public class AudioServiceImpl implements AudioService {
 	 * @param file the file to detect
 	 * @return MIME type string
 	 */
-	private String detectContentType(java.io.File file) {
+	private static String detectContentType(java.io.File file) {
 		String fileName = file.getName().toLowerCase();
 		if (fileName.endsWith(".mp3")) {
 			return "audio/mpeg";
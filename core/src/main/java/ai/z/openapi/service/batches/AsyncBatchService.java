@@ -0,0 +1,40 @@
+package ai.z.openapi.service.batches;
+
+import ai.z.openapi.service.file.QueryBatchRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking batch service interface
+ */
+public interface AsyncBatchService {
+
+	/**
+	 * Creates a new batch job.
+	 * @param batchCreateParams the batch creation parameters
+	 * @return a future of the BatchResponse containing the created batch
+	 */
+	CompletableFuture<BatchResponse> createBatch(BatchCreateParams batchCreateParams);
+
+	/**
+	 * Retrieves a batch job by its id.
+	 * @param batchId the batch id
+	 * @return a future of the BatchResponse containing the batch
+	 */
+	CompletableFuture<BatchResponse> retrieveBatch(String batchId);
+
+	/**
+	 * Lists batch jobs.
+	 * @param queryBatchRequest the pagination parameters
+	 * @return a future of the QueryBatchResponse containing the batches
+	 */
+	CompletableFuture<QueryBatchResponse> listBatches(QueryBatchRequest queryBatchRequest);
+
+	/**
+	 * Cancels a batch job.
+	 * @param batchId the batch id
+	 * @return a future of the BatchResponse containing the cancelled batch
+	 */
+	CompletableFuture<BatchResponse> cancelBatch(String batchId);
+
+}
@@ -0,0 +1,55 @@
+package ai.z.openapi.service.batches;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.batches.BatchesApi;
+import ai.z.openapi.service.file.QueryBatchRequest;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking batch service implementation
+ */
+public class AsyncBatchServiceImpl implements AsyncBatchService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final BatchesApi batchesApi;
+
+	public AsyncBatchServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.batchesApi = zAiClient.retrofit().create(BatchesApi.class);
+	}
+
+	@Override
+	public CompletableFuture<BatchResponse> createBatch(BatchCreateParams batchCreateParams) {
+		BatchServiceImpl.validateCreateBatchParams(batchCreateParams);
+		RequestSupplier<BatchCreateParams, Batch> supplier = batchesApi::batchesCreate;
+		return this.zAiClient.executeRequestAsync(batchCreateParams, supplier, BatchResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<BatchResponse> retrieveBatch(String batchId) {
+		BatchServiceImpl.validateBatchId(batchId);
+		BatchRequest request = BatchRequest.builder().batchId(batchId).build();
+		RequestSupplier<BatchRequest, Batch> supplier = (params) -> batchesApi.batchesRetrieve(params.getBatchId());
+		return this.zAiClient.executeRequestAsync(request, supplier, BatchResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<QueryBatchResponse> listBatches(QueryBatchRequest queryBatchRequest) {
+		BatchServiceImpl.validateQueryBatchRequest(queryBatchRequest);
+		RequestSupplier<QueryBatchRequest, BatchPage> supplier = (params) -> batchesApi.batchesList(params.getAfter(),
+				params.getLimit());
+		return this.zAiClient.executeRequestAsync(queryBatchRequest, supplier, QueryBatchResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<BatchResponse> cancelBatch(String batchId) {
+		BatchServiceImpl.validateBatchId(batchId);
+		BatchRequest request = BatchRequest.builder().batchId(batchId).build();
+		RequestSupplier<BatchRequest, Batch> supplier = (params) -> batchesApi.batchesCancel(params.getBatchId());
+		return this.zAiClient.executeRequestAsync(request, supplier, BatchResponse::new);
+	}
+
+}
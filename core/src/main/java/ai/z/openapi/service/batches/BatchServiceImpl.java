@@ -23,14 +23,14 @@ public class BatchServiceImpl implements BatchService {
 	public BatchResponse createBatch(BatchCreateParams batchCreateParams) {
 		validateCreateBatchParams(batchCreateParams);
 		RequestSupplier<BatchCreateParams, Batch> supplier = batchesApi::batchesCreate;
-		return this.zAiClient.executeRequest(batchCreateParams, supplier, BatchResponse.class);
+		return this.zAiClient.executeRequest(batchCreateParams, supplier, BatchResponse::new);
 	}
 
 	@Override
 	public BatchResponse retrieveBatch(BatchRequest request) {
 		validateBatchRequest(request);
 		RequestSupplier<BatchRequest, Batch> supplier = (params) -> batchesApi.batchesRetrieve(params.getBatchId());
-		return this.zAiClient.executeRequest(request, supplier, BatchResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, BatchResponse::new);
 	}
 
 	@Override
@@ -45,14 +45,14 @@ public class BatchServiceImpl implements BatchService {
 		validateQueryBatchRequest(queryBatchRequest);
 		RequestSupplier<QueryBatchRequest, BatchPage> supplier = (params) -> batchesApi.batchesList(params.getAfter(),
 				params.getLimit());
-		return this.zAiClient.executeRequest(queryBatchRequest, supplier, QueryBatchResponse.class);
+		return this.zAiClient.executeRequest(queryBatchRequest, supplier, QueryBatchResponse::new);
 	}
 
 	@Override
 	public BatchResponse cancelBatch(BatchRequest request) {
 		validateBatchRequest(request);
 		RequestSupplier<BatchRequest, Batch> supplier = (params) -> batchesApi.batchesCancel(params.getBatchId());
-		return this.zAiClient.executeRequest(request, supplier, BatchResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, BatchResponse::new);
 	}
 
 	@Override
@@ -67,7 +67,7 @@ public class BatchServiceImpl implements BatchService {
 	 * @param batchCreateParams the batch creation parameters to validate
 	 * @throws IllegalArgumentException if validation fails
 	 */
-	private void validateCreateBatchParams(BatchCreateParams batchCreateParams) {
+	static void validateCreateBatchParams(BatchCreateParams batchCreateParams) {
 		if (batchCreateParams == null) {
 			throw new IllegalArgumentException("BatchCreateParams cannot be null");
 		}
@@ -88,7 +88,7 @@ public class BatchServiceImpl implements BatchService {
 	 * @param request the batch request to validate
 	 * @throws IllegalArgumentException if validation fails
 	 */
-	private void validateBatchRequest(BatchRequest request) {
+	static void validateBatchRequest(BatchRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("BatchRequest cannot be null");
 		}
@@ -102,7 +102,7 @@ public class BatchServiceImpl implements BatchService {
 	 * @param batchId the batch ID to validate
 	 * @throws IllegalArgumentException if validation fails
 	 */
-	private void validateBatchId(String batchId) {
+	static void validateBatchId(String batchId) {
 		if (batchId == null || batchId.trim().isEmpty()) {
 			throw new IllegalArgumentException("Batch ID cannot be null or empty");
 		}
@@ -113,7 +113,7 @@ public class BatchServiceImpl implements BatchService {
 	 * @param queryBatchRequest the query batch request to validate
 	 * @throws IllegalArgumentException if validation fails
 	 */
-	private void validateQueryBatchRequest(QueryBatchRequest queryBatchRequest) {
+	static void validateQueryBatchRequest(QueryBatchRequest queryBatchRequest) {
 		if (queryBatchRequest == null) {
 			throw new IllegalArgumentException("QueryBatchRequest cannot be null");
 		}
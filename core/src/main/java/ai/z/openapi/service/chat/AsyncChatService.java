@@ -0,0 +1,51 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.service.model.AsyncResultRetrieveParams;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.QueryModelResultResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking chat completion service interface. Requests are enqueued on the HTTP
+ * client and the returned futures complete on the dispatcher threads, so no caller thread
+ * is held while the model generates.
+ */
+public interface AsyncChatService {
+
+	/**
+	 * Creates a chat completion, either streaming or non-streaming based on the request
+	 * configuration. For streaming requests the future completes immediately with the
+	 * response holding the event stream.
+	 * @param request the chat completion request
+	 * @return a future of the ChatCompletionResponse containing the completion result
+	 */
+	CompletableFuture<ChatCompletionResponse> createChatCompletion(ChatCompletionCreateParams request);
+
+	/**
+	 * Creates a chat completion with custom headers support.
+	 * @param request the chat completion request parameters
+	 * @param customHeaders custom HTTP headers to be added to the request
+	 * @return a future of the ChatCompletionResponse containing the completion result
+	 */
+	CompletableFuture<ChatCompletionResponse> createChatCompletion(ChatCompletionCreateParams request,
+			Map<String, String> customHeaders);
+
+	/**
+	 * Creates an asynchronous chat completion task.
+	 * @param request the chat completion request
+	 * @return a future of the ChatCompletionResponse containing the task information
+	 */
+	CompletableFuture<ChatCompletionResponse> asyncChatCompletion(ChatCompletionCreateParams request);
+
+	/**
+	 * Retrieves the result of an asynchronous model operation.
+	 * @param request the query request for the async result
+	 * @return a future of the QueryModelResultResponse containing the async operation
+	 * result
+	 */
+	CompletableFuture<QueryModelResultResponse> retrieveAsyncResult(AsyncResultRetrieveParams request);
+
+}
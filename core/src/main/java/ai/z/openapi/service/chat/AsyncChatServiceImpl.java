@@ -0,0 +1,85 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.chat.ChatApi;
+import ai.z.openapi.core.ratelimit.TokenEstimator;
+import ai.z.openapi.service.model.AsyncResultRetrieveParams;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatRequestWithHeaders;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.service.model.QueryModelResultResponse;
+import ai.z.openapi.utils.FlowableRequestSupplier;
+import ai.z.openapi.utils.RequestSupplier;
+import okhttp3.ResponseBody;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking chat completion service implementation
+ */
+public class AsyncChatServiceImpl implements AsyncChatService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final ChatApi chatApi;
+
+	public AsyncChatServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.chatApi = zAiClient.retrofit().create(ChatApi.class);
+	}
+
+	@Override
+	public CompletableFuture<ChatCompletionResponse> createChatCompletion(ChatCompletionCreateParams request) {
+		ChatServiceImpl.validateParams(request);
+		return zAiClient.executeAfterRateLimit(request.getModel(), TokenEstimator.estimate(request), permit -> {
+			if (Objects.nonNull(request.getStream()) && request.getStream()) {
+				FlowableRequestSupplier<ChatCompletionCreateParams, retrofit2.Call<ResponseBody>> supplier = chatApi::createChatCompletionStream;
+				return CompletableFuture.completedFuture(ChatServiceImpl.completeWithUsage(permit,
+						zAiClient.streamRequest(request, supplier, ChatCompletionResponse::new, ModelData.class)));
+			}
+			RequestSupplier<ChatCompletionCreateParams, ModelData> supplier = chatApi::createChatCompletion;
+			return zAiClient.executeRequestAsync(request, supplier, ChatCompletionResponse::new)
+				.thenApply(response -> ChatServiceImpl.completeWithUsage(permit, response));
+		});
+	}
+
+	@Override
+	public CompletableFuture<ChatCompletionResponse> createChatCompletion(ChatCompletionCreateParams request,
+			Map<String, String> customHeaders) {
+		if (Objects.isNull(customHeaders)) {
+			throw new IllegalArgumentException("customHeaders can not be null");
+		}
+		ChatServiceImpl.validateParams(request);
+		ChatRequestWithHeaders requestWithHeaders = new ChatRequestWithHeaders(request, customHeaders);
+		return zAiClient.executeAfterRateLimit(request.getModel(), TokenEstimator.estimate(request), permit -> {
+			if (Objects.nonNull(request.getStream()) && request.getStream()) {
+				FlowableRequestSupplier<ChatRequestWithHeaders, retrofit2.Call<ResponseBody>> supplier = (
+						wrapper) -> chatApi.createChatCompletionStream(wrapper.getRequest(),
+								wrapper.getCustomHeaders());
+				return CompletableFuture.completedFuture(ChatServiceImpl.completeWithUsage(permit, zAiClient
+					.streamRequest(requestWithHeaders, supplier, ChatCompletionResponse::new, ModelData.class)));
+			}
+			RequestSupplier<ChatRequestWithHeaders, ModelData> supplier = (wrapper) -> chatApi
+				.createChatCompletion(wrapper.getRequest(), wrapper.getCustomHeaders());
+			return zAiClient.executeRequestAsync(requestWithHeaders, supplier, ChatCompletionResponse::new)
+				.thenApply(response -> ChatServiceImpl.completeWithUsage(permit, response));
+		});
+	}
+
+	@Override
+	public CompletableFuture<ChatCompletionResponse> asyncChatCompletion(ChatCompletionCreateParams request) {
+		RequestSupplier<ChatCompletionCreateParams, ModelData> supplier = chatApi::createChatCompletionAsync;
+		return zAiClient.executeRequestAsync(request, supplier, ChatCompletionResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<QueryModelResultResponse> retrieveAsyncResult(AsyncResultRetrieveParams request) {
+		RequestSupplier<AsyncResultRetrieveParams, ModelData> supplier = (params) -> chatApi
+			.queryAsyncResult(params.getTaskId());
+		return zAiClient.executeRequestAsync(request, supplier, QueryModelResultResponse::new);
+	}
+
+}
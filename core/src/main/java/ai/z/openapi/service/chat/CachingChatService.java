@@ -0,0 +1,317 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.core.cache.CacheStats;
+import ai.z.openapi.core.cache.ICache;
+import ai.z.openapi.core.cache.LocalCache;
+import ai.z.openapi.service.deserialize.JsonMappers;
+import ai.z.openapi.service.model.AsyncResultRetrieveParams;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.Choice;
+import ai.z.openapi.service.model.Delta;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.service.model.QueryModelResultResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.reactivex.rxjava3.core.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat service answering repeated deterministic requests from a response cache. A request
+ * is cacheable when it disables sampling or sets the temperature to 0; its key is the
+ * SHA-256 digest of the request JSON with sorted properties, leaving out the request id
+ * and the stream flag, so every parameter that can change the answer is part of the key.
+ *
+ * <p>
+ * Streaming and non-streaming requests share entries: a completed stream is assembled
+ * with a {@link StreamAccumulator} and stored like a non-streaming response, and a cached
+ * response is replayed to a streaming request as a single chunk carrying every choice as
+ * a {@link Delta}, with the finish reasons and the usage. Only responses whose choices
+ * all finished with {@code stop}, {@code length} or {@code tool_calls} are stored.
+ * </p>
+ *
+ * <p>
+ * Responses are stored as JSON in an {@link ICache}, by default a {@link LocalCache}
+ * bounded in size whose entries expire after the time to live; a shared backend lets
+ * several processes reuse each other's responses. Asynchronous completions and requests
+ * with custom headers are passed to the delegate unchanged.
+ * </p>
+ *
+ * <pre>{@code
+ * ChatService chat = new CachingChatService(client.chat(), 10_000, 1, TimeUnit.HOURS);
+ * }</pre>
+ */
+public class CachingChatService implements ChatService {
+
+	private static final Logger log = LoggerFactory.getLogger(CachingChatService.class);
+
+	private static final String KEY_PREFIX = "zai:chat:";
+
+	/** Request properties that do not change the answer */
+	private static final Set<String> IGNORED_PROPERTIES = new HashSet<>(Arrays.asList("request_id", "stream"));
+
+	private static final Set<String> CACHEABLE_FINISH_REASONS = new HashSet<>(
+			Arrays.asList("stop", "length", "tool_calls"));
+
+	private final ChatService delegate;
+
+	private final ICache cache;
+
+	private final int ttlMillis;
+
+	/**
+	 * Creates a cache kept in a {@link LocalCache} of its own.
+	 * @param delegate the service answering the cache misses
+	 * @param maximumSize the maximum number of cached responses
+	 * @param ttl the time to live of a cached response
+	 * @param timeUnit the time unit for the time to live
+	 */
+	public CachingChatService(ChatService delegate, int maximumSize, long ttl, TimeUnit timeUnit) {
+		this(delegate, new LocalCache(maximumSize), ttl, timeUnit);
+	}
+
+	/**
+	 * Creates a cache kept in the given backend.
+	 * @param delegate the service answering the cache misses
+	 * @param cache the backend storing the responses
+	 * @param ttl the time to live of a cached response
+	 * @param timeUnit the time unit for the time to live
+	 */
+	public CachingChatService(ChatService delegate, ICache cache, long ttl, TimeUnit timeUnit) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Chat service cannot be null");
+		}
+		if (cache == null) {
+			throw new IllegalArgumentException("Cache cannot be null");
+		}
+		if (ttl <= 0 || timeUnit == null) {
+			throw new IllegalArgumentException("Time to live must be positive");
+		}
+		this.delegate = delegate;
+		this.cache = cache;
+		this.ttlMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeUnit.toMillis(ttl)));
+	}
+
+	@Override
+	public ChatCompletionResponse createChatCompletion(ChatCompletionCreateParams request) {
+		if (!isCacheable(request)) {
+			return delegate.createChatCompletion(request);
+		}
+		ChatServiceImpl.validateParams(request);
+		String key = key(request);
+		boolean stream = Boolean.TRUE.equals(request.getStream());
+		ModelData cached = lookup(key);
+		if (cached != null) {
+			return stream ? replay(cached) : hit(cached);
+		}
+		ChatCompletionResponse response = delegate.createChatCompletion(request);
+		if (!response.isSuccess()) {
+			return response;
+		}
+		if (response.getFlowable() != null) {
+			StreamAccumulator accumulator = new StreamAccumulator();
+			response.setFlowable(response.getFlowable()
+				.doOnNext(accumulator::accept)
+				.doOnComplete(() -> store(key, accumulator.result())));
+		}
+		else if (response.getData() != null) {
+			store(key, response.getData());
+		}
+		return response;
+	}
+
+	/**
+	 * Tells whether responses to a request may be cached. By default only requests that
+	 * disable sampling or set the temperature to 0 are cached; subclasses may widen or
+	 * narrow this.
+	 * @param request the chat request
+	 * @return whether the response is looked up in and stored to the cache
+	 */
+	protected boolean isCacheable(ChatCompletionCreateParams request) {
+		if (request == null) {
+			return false;
+		}
+		return Boolean.FALSE.equals(request.getDoSample())
+				|| (request.getTemperature() != null && request.getTemperature() == 0f);
+	}
+
+	/**
+	 * Computes the cache key of a request: the SHA-256 digest of its JSON with the
+	 * properties of every object sorted by name, without the request id and the stream
+	 * flag.
+	 * @param request the chat request
+	 * @return the hex-encoded key, prefixed with {@code zai:chat:}
+	 */
+	public static String key(ChatCompletionCreateParams request) {
+		ObjectMapper mapper = JsonMappers.standard().getMapper();
+		ObjectNode tree = mapper.valueToTree(request);
+		tree.remove(IGNORED_PROPERTIES);
+		byte[] canonical = canonical(tree).toString().getBytes(StandardCharsets.UTF_8);
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		StringBuilder key = new StringBuilder(KEY_PREFIX.length() + 64).append(KEY_PREFIX);
+		for (byte b : digest.digest(canonical)) {
+			key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Copies a tree with the properties of every object in name order.
+	 */
+	private static JsonNode canonical(JsonNode node) {
+		if (node.isObject()) {
+			List<String> names = new ArrayList<>();
+			node.fieldNames().forEachRemaining(names::add);
+			Collections.sort(names);
+			ObjectNode sorted = ((ObjectNode) node).objectNode();
+			for (String name : names) {
+				sorted.set(name, canonical(node.get(name)));
+			}
+			return sorted;
+		}
+		if (node.isArray()) {
+			ArrayNode copy = ((ArrayNode) node).arrayNode(node.size());
+			for (Iterator<JsonNode> elements = node.elements(); elements.hasNext();) {
+				copy.add(canonical(elements.next()));
+			}
+			return copy;
+		}
+		return node;
+	}
+
+	private ModelData lookup(String key) {
+		String json = cache.get(key);
+		if (json == null || json.isEmpty()) {
+			return null;
+		}
+		try {
+			return JsonMappers.standard().reader(ModelData.class).readValue(json);
+		}
+		catch (JsonProcessingException e) {
+			log.warn("Dropping unreadable cached chat response {}", key, e);
+			cache.remove(key);
+			return null;
+		}
+	}
+
+	private void store(String key, ModelData data) {
+		if (data.getChoices() == null || data.getChoices().isEmpty()) {
+			return;
+		}
+		for (Choice choice : data.getChoices()) {
+			if (!CACHEABLE_FINISH_REASONS.contains(choice.getFinishReason())) {
+				return;
+			}
+		}
+		try {
+			cache.set(key, JsonMappers.standard().writer(ModelData.class).writeValueAsString(data), ttlMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		catch (JsonProcessingException e) {
+			log.warn("Failed to cache chat response {}", key, e);
+		}
+	}
+
+	private static ChatCompletionResponse hit(ModelData data) {
+		ChatCompletionResponse response = new ChatCompletionResponse();
+		response.setCode(200);
+		response.setMsg("Call Successful");
+		response.setSuccess(true);
+		response.setData(data);
+		return response;
+	}
+
+	/**
+	 * Replays a cached response as a stream of one chunk.
+	 */
+	private static ChatCompletionResponse replay(ModelData data) {
+		List<Choice> choices = new ArrayList<>(data.getChoices().size());
+		for (Choice choice : data.getChoices()) {
+			ChatMessage message = choice.getMessage();
+			Delta delta = message == null ? null
+					: Delta.builder()
+						.role(message.getRole())
+						.content(content(message.getContent()))
+						.reasoningContent(message.getReasoningContent())
+						.audio(message.getAudio())
+						.tool_calls(message.getToolCalls())
+						.build();
+			choices.add(Choice.builder()
+				.index(choice.getIndex())
+				.finishReason(choice.getFinishReason())
+				.delta(delta)
+				.build());
+		}
+		ModelData chunk = ModelData.builder()
+			.id(data.getId())
+			.created(data.getCreated())
+			.model(data.getModel())
+			.requestId(data.getRequestId())
+			.usage(data.getUsage())
+			.webSearch(data.getWebSearch())
+			.choices(choices)
+			.build();
+		ChatCompletionResponse response = new ChatCompletionResponse();
+		response.setCode(200);
+		response.setMsg("Stream initialized successfully");
+		response.setSuccess(true);
+		response.setFlowable(Flowable.just(chunk));
+		return response;
+	}
+
+	private static String content(Object content) {
+		if (content == null || content instanceof String) {
+			return (String) content;
+		}
+		return JsonMappers.standard().getMapper().valueToTree(content).toString();
+	}
+
+	/**
+	 * Returns the statistics of the cache backend.
+	 * @return the cache statistics, all zero for backends that do not record them
+	 */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	@Override
+	public ChatCompletionResponse asyncChatCompletion(ChatCompletionCreateParams request) {
+		return delegate.asyncChatCompletion(request);
+	}
+
+	@Override
+	public QueryModelResultResponse retrieveAsyncResult(AsyncResultRetrieveParams request) {
+		return delegate.retrieveAsyncResult(request);
+	}
+
+	@Override
+	public ChatCompletionResponse createChatCompletion(ChatCompletionCreateParams request,
+			Map<String, String> customHeaders) {
+		return delegate.createChatCompletion(request, customHeaders);
+	}
+
+}
@@ -2,6 +2,8 @@ package ai.z.openapi.service.chat;
 
 import ai.z.openapi.AbstractAiClient;
 import ai.z.openapi.api.chat.ChatApi;
+import ai.z.openapi.core.ratelimit.RateLimitPermit;
+import ai.z.openapi.core.ratelimit.TokenEstimator;
 import ai.z.openapi.service.model.ChatCompletionCreateParams;
 import ai.z.openapi.service.model.ChatCompletionResponse;
 import ai.z.openapi.service.model.AsyncResultRetrieveParams;
@@ -32,18 +34,19 @@ public class ChatServiceImpl implements ChatService {
 	@Override
 	public ChatCompletionResponse createChatCompletion(ChatCompletionCreateParams request) {
 		validateParams(request);
+		RateLimitPermit permit = zAiClient.acquireRateLimit(request.getModel(), TokenEstimator.estimate(request));
 		if (Objects.nonNull(request.getStream()) && request.getStream()) {
-			return streamChatCompletion(request);
+			return completeWithUsage(permit, streamChatCompletion(request));
 		}
 		else {
-			return syncChatCompletion(request);
+			return completeWithUsage(permit, syncChatCompletion(request));
 		}
 	}
 
 	@Override
 	public ChatCompletionResponse asyncChatCompletion(ChatCompletionCreateParams request) {
 		RequestSupplier<ChatCompletionCreateParams, ModelData> supplier = chatApi::createChatCompletionAsync;
-		return this.zAiClient.executeRequest(request, supplier, ChatCompletionResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, ChatCompletionResponse::new);
 	}
 
 	@Override
@@ -51,18 +54,18 @@ public class ChatServiceImpl implements ChatService {
 		RequestSupplier<AsyncResultRetrieveParams, ModelData> supplier = (params) -> chatApi
 			.queryAsyncResult(params.getTaskId());
 		// Handle response
-		return this.zAiClient.executeRequest(request, supplier, QueryModelResultResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, QueryModelResultResponse::new);
 	}
 
 	private ChatCompletionResponse streamChatCompletion(ChatCompletionCreateParams request) {
 		FlowableRequestSupplier<ChatCompletionCreateParams, retrofit2.Call<ResponseBody>> supplier = chatApi::createChatCompletionStream;
-		return this.zAiClient.streamRequest(request, supplier, ChatCompletionResponse.class, ModelData.class);
+		return this.zAiClient.streamRequest(request, supplier, ChatCompletionResponse::new, ModelData.class);
 	}
 
 	private ChatCompletionResponse syncChatCompletion(ChatCompletionCreateParams request) {
 		RequestSupplier<ChatCompletionCreateParams, ModelData> supplier = chatApi::createChatCompletion;
 		// Handle response
-		return this.zAiClient.executeRequest(request, supplier, ChatCompletionResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, ChatCompletionResponse::new);
 	}
 
 	@Override
@@ -72,21 +75,38 @@ public class ChatServiceImpl implements ChatService {
 			throw new IllegalArgumentException("customHeaders can not be null");
 		}
 		validateParams(request);
+		RateLimitPermit permit = zAiClient.acquireRateLimit(request.getModel(), TokenEstimator.estimate(request));
 		if (Objects.nonNull(request.getStream()) && request.getStream()) {
-			return streamChatCompletionWithHeaders(request, customHeaders);
+			return completeWithUsage(permit, streamChatCompletionWithHeaders(request, customHeaders));
 		}
 		else {
-			return syncChatCompletionWithHeaders(request, customHeaders);
+			return completeWithUsage(permit, syncChatCompletionWithHeaders(request, customHeaders));
 		}
 	}
 
+	/**
+	 * Corrects the rate limit reservation with the usage of the response, which for a
+	 * stream arrives with its last chunk.
+	 */
+	static ChatCompletionResponse completeWithUsage(RateLimitPermit permit, ChatCompletionResponse response) {
+		if (permit == RateLimitPermit.NONE) {
+			return response;
+		}
+		if (response.getFlowable() != null) {
+			response.setFlowable(response.getFlowable().doOnNext(data -> permit.complete(data.getUsage())));
+		}
+		else if (response.getData() != null) {
+			permit.complete(response.getData().getUsage());
+		}
+		return response;
+	}
+
 	private ChatCompletionResponse streamChatCompletionWithHeaders(ChatCompletionCreateParams request,
 			Map<String, String> customHeaders) {
 		ChatRequestWithHeaders requestWithHeaders = new ChatRequestWithHeaders(request, customHeaders);
 		FlowableRequestSupplier<ChatRequestWithHeaders, retrofit2.Call<ResponseBody>> supplier = (wrapper) -> chatApi
 			.createChatCompletionStream(wrapper.getRequest(), wrapper.getCustomHeaders());
-		return this.zAiClient.streamRequest(requestWithHeaders, supplier, ChatCompletionResponse.class,
-				ModelData.class);
+		return this.zAiClient.streamRequest(requestWithHeaders, supplier, ChatCompletionResponse::new, ModelData.class);
 	}
 
 	private ChatCompletionResponse syncChatCompletionWithHeaders(ChatCompletionCreateParams request,
@@ -94,10 +114,10 @@ public class ChatServiceImpl implements ChatService {
 		ChatRequestWithHeaders requestWithHeaders = new ChatRequestWithHeaders(request, customHeaders);
 		RequestSupplier<ChatRequestWithHeaders, ModelData> supplier = (wrapper) -> chatApi
 			.createChatCompletion(wrapper.getRequest(), wrapper.getCustomHeaders());
-		return this.zAiClient.executeRequest(requestWithHeaders, supplier, ChatCompletionResponse.class);
+		return this.zAiClient.executeRequest(requestWithHeaders, supplier, ChatCompletionResponse::new);
 	}
 
-	private void validateParams(ChatCompletionCreateParams request) {
+	static void validateParams(ChatCompletionCreateParams request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
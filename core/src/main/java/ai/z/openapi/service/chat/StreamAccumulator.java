@@ -0,0 +1,326 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.service.agents.AgentMessage;
+import ai.z.openapi.service.model.Audio;
+import ai.z.openapi.service.model.ChatFunctionCall;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.Choice;
+import ai.z.openapi.service.model.Delta;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.service.model.Segment;
+import ai.z.openapi.service.model.TaskStatus;
+import ai.z.openapi.service.model.ToolCalls;
+import ai.z.openapi.service.model.Usage;
+import ai.z.openapi.service.tools.KnowledgeV2Result;
+import ai.z.openapi.service.web_search.WebSearchResp;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles the chunks of a streaming chat completion into one {@link ModelData} shaped
+ * like the non-streaming response: every choice carries a {@link ChatMessage} instead of
+ * a {@link Delta}, and the usage is the one reported by the stream.
+ *
+ * <p>
+ * Identifying fields (id, created, model, request id, agent id, conversation id, async
+ * id, type and web search results) are taken from the first chunk that carries them;
+ * state fields (status, task status, usage, text, segments and knowledge results) from
+ * the last one. The per-chunk {@code delta} text is not carried over, since the assembled
+ * message content replaces it. Per choice, the finish reason and the agent messages are
+ * taken from the last chunk that carries them.
+ * </p>
+ *
+ * <p>
+ * Content and reasoning content are appended to growable buffers kept per choice index,
+ * so memory and time stay linear in the length of the output. Tool call fragments are
+ * merged by id; a fragment without an id continues the last tool call of its choice, and
+ * string argument fragments are concatenated. An accumulator is not thread-safe and
+ * assembles a single stream.
+ * </p>
+ *
+ * <pre>{@code
+ * ModelData result = StreamAccumulator.reduce(response.getFlowable()).blockingGet();
+ * }</pre>
+ */
+public final class StreamAccumulator {
+
+	private final Map<Long, ChoiceState> choices = new LinkedHashMap<>();
+
+	private String id;
+
+	private Long created;
+
+	private String model;
+
+	private String requestId;
+
+	private String agentId;
+
+	private String conversationId;
+
+	private String type;
+
+	private String asyncId;
+
+	private String status;
+
+	private TaskStatus taskStatus;
+
+	private Usage usage;
+
+	private List<WebSearchResp> webSearch;
+
+	private String text;
+
+	private List<Segment> segments;
+
+	private KnowledgeV2Result knowledgeV2;
+
+	/**
+	 * Assembles all chunks of the given stream once it completes.
+	 * @param flowable the chunks of a streaming chat completion
+	 * @return a single emitting the assembled response
+	 */
+	public static Single<ModelData> reduce(Flowable<ModelData> flowable) {
+		return flowable.collect(StreamAccumulator::new, StreamAccumulator::accept).map(StreamAccumulator::result);
+	}
+
+	/**
+	 * Adds one chunk of the stream.
+	 * @param chunk the chunk, ignored when {@code null}
+	 */
+	public void accept(ModelData chunk) {
+		if (chunk == null) {
+			return;
+		}
+		id = first(id, chunk.getId());
+		created = first(created, chunk.getCreated());
+		model = first(model, chunk.getModel());
+		requestId = first(requestId, chunk.getRequestId());
+		agentId = first(agentId, chunk.getAgentId());
+		conversationId = first(conversationId, chunk.getConversationId());
+		type = first(type, chunk.getType());
+		asyncId = first(asyncId, chunk.getAsyncId());
+		webSearch = first(webSearch, chunk.getWebSearch());
+		status = last(status, chunk.getStatus());
+		taskStatus = last(taskStatus, chunk.getTaskStatus());
+		usage = last(usage, chunk.getUsage());
+		text = last(text, chunk.getText());
+		segments = last(segments, chunk.getSegments());
+		knowledgeV2 = last(knowledgeV2, chunk.getKnowledgeV2());
+		if (chunk.getChoices() == null) {
+			return;
+		}
+		for (Choice choice : chunk.getChoices()) {
+			if (choice == null) {
+				continue;
+			}
+			Long index = choice.getIndex() == null ? 0L : choice.getIndex();
+			ChoiceState state = choices.get(index);
+			if (state == null) {
+				state = new ChoiceState(index);
+				choices.put(index, state);
+			}
+			state.accept(choice);
+		}
+	}
+
+	/**
+	 * Returns the response assembled from the chunks accepted so far.
+	 * @return the assembled response
+	 */
+	public ModelData result() {
+		List<Choice> result = new ArrayList<>(choices.size());
+		for (ChoiceState state : choices.values()) {
+			result.add(state.toChoice());
+		}
+		return ModelData.builder()
+			.id(id)
+			.created(created)
+			.model(model)
+			.requestId(requestId)
+			.agentId(agentId)
+			.conversationId(conversationId)
+			.asyncId(asyncId)
+			.type(type)
+			.status(status)
+			.taskStatus(taskStatus)
+			.usage(usage)
+			.webSearch(webSearch)
+			.text(text)
+			.segments(segments)
+			.knowledgeV2(knowledgeV2)
+			.choices(result)
+			.build();
+	}
+
+	private static <T> T first(T current, T value) {
+		return current != null ? current : value;
+	}
+
+	private static <T> T last(T current, T value) {
+		return value != null ? value : current;
+	}
+
+	private static final class ChoiceState {
+
+		private final Long index;
+
+		private String role;
+
+		private StringBuilder content;
+
+		private StringBuilder reasoningContent;
+
+		private Audio audio;
+
+		private String finishReason;
+
+		private List<AgentMessage> messages;
+
+		private List<ToolCallState> toolCalls;
+
+		private Map<String, ToolCallState> toolCallsById;
+
+		ChoiceState(Long index) {
+			this.index = index;
+		}
+
+		void accept(Choice choice) {
+			finishReason = last(finishReason, choice.getFinishReason());
+			messages = last(messages, choice.getMessages());
+			Delta delta = choice.getDelta();
+			if (delta == null) {
+				return;
+			}
+			role = first(role, delta.getRole());
+			audio = last(audio, delta.getAudio());
+			if (delta.getContent() != null) {
+				content = append(content, delta.getContent());
+			}
+			if (delta.getReasoningContent() != null) {
+				reasoningContent = append(reasoningContent, delta.getReasoningContent());
+			}
+			if (delta.getTool_calls() != null) {
+				for (ToolCalls fragment : delta.getTool_calls()) {
+					if (fragment != null) {
+						toolCall(fragment.getId()).accept(fragment);
+					}
+				}
+			}
+		}
+
+		private ToolCallState toolCall(String id) {
+			if (toolCalls == null) {
+				toolCalls = new ArrayList<>(1);
+				toolCallsById = new HashMap<>();
+			}
+			ToolCallState state = id == null ? null : toolCallsById.get(id);
+			if (state == null && id == null && !toolCalls.isEmpty()) {
+				state = toolCalls.get(toolCalls.size() - 1);
+			}
+			if (state == null) {
+				state = new ToolCallState(id);
+				toolCalls.add(state);
+				if (id != null) {
+					toolCallsById.put(id, state);
+				}
+			}
+			return state;
+		}
+
+		Choice toChoice() {
+			List<ToolCalls> calls = null;
+			if (toolCalls != null) {
+				calls = new ArrayList<>(toolCalls.size());
+				for (ToolCallState state : toolCalls) {
+					calls.add(state.toToolCalls());
+				}
+			}
+			ChatMessage message = ChatMessage.builder()
+				.role(role)
+				.content(content == null ? null : content.toString())
+				.reasoningContent(reasoningContent == null ? null : reasoningContent.toString())
+				.audio(audio)
+				.toolCalls(calls)
+				.build();
+			return Choice.builder().index(index).finishReason(finishReason).message(message).messages(messages).build();
+		}
+
+	}
+
+	private static final class ToolCallState {
+
+		private String id;
+
+		private String type;
+
+		private String name;
+
+		private StringBuilder arguments;
+
+		private JsonNode argumentsNode;
+
+		private ToolCalls last;
+
+		ToolCallState(String id) {
+			this.id = id;
+		}
+
+		void accept(ToolCalls fragment) {
+			last = fragment;
+			id = first(id, fragment.getId());
+			type = first(type, fragment.getType());
+			ChatFunctionCall function = fragment.getFunction();
+			if (function == null) {
+				return;
+			}
+			name = first(name, function.getName());
+			JsonNode value = function.getArguments();
+			if (value == null || value.isNull()) {
+				return;
+			}
+			if (argumentsNode == null && arguments == null && !value.isTextual()) {
+				argumentsNode = value;
+				return;
+			}
+			if (argumentsNode != null) {
+				arguments = append(null, argumentsNode.toString());
+				argumentsNode = null;
+			}
+			arguments = append(arguments, value.isTextual() ? value.asText() : value.toString());
+		}
+
+		ToolCalls toToolCalls() {
+			ChatFunctionCall function = null;
+			if (name != null || arguments != null || argumentsNode != null) {
+				function = new ChatFunctionCall(name,
+						arguments != null ? TextNode.valueOf(arguments.toString()) : argumentsNode);
+			}
+			return ToolCalls.builder()
+				.id(id)
+				.type(type)
+				.function(function)
+				.mcp(last.getMcp())
+				.docReferenceList(last.getDocReferenceList())
+				.build();
+		}
+
+	}
+
+	private static StringBuilder append(StringBuilder buffer, String value) {
+		if (buffer == null) {
+			return new StringBuilder(Math.max(16, value.length() * 4)).append(value);
+		}
+		return buffer.append(value);
+	}
+
+}
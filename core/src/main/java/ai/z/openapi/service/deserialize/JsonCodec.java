@@ -0,0 +1,113 @@
+package ai.z.openapi.service.deserialize;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.reactivex.rxjava3.core.Single;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.http.Body;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An {@link ObjectMapper} together with the {@link ObjectReader}s and
+ * {@link ObjectWriter}s built from it, cached per type. Readers and writers are immutable
+ * and hold their root (de)serializer, so reusing them skips the per-call lookups of
+ * {@code mapper.readValue} and {@code mapper.writeValueAsString}.
+ */
+public final class JsonCodec {
+
+	private final ObjectMapper mapper;
+
+	private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+	public JsonCodec(ObjectMapper mapper) {
+		if (mapper == null) {
+			throw new IllegalArgumentException("Object mapper cannot be null");
+		}
+		this.mapper = mapper;
+	}
+
+	public ObjectMapper getMapper() {
+		return mapper;
+	}
+
+	/**
+	 * Returns the cached reader of a type.
+	 * @param type the type to read
+	 * @return the reader
+	 */
+	public ObjectReader reader(Type type) {
+		ObjectReader reader = readers.get(type);
+		if (reader == null) {
+			JavaType javaType = mapper.getTypeFactory().constructType(type);
+			reader = readers.computeIfAbsent(type, t -> mapper.readerFor(javaType));
+		}
+		return reader;
+	}
+
+	/**
+	 * Returns the cached writer of a type.
+	 * @param type the type to write
+	 * @return the writer
+	 */
+	public ObjectWriter writer(Type type) {
+		ObjectWriter writer = writers.get(type);
+		if (writer == null) {
+			JavaType javaType = mapper.getTypeFactory().constructType(type);
+			writer = writers.computeIfAbsent(type, t -> mapper.writerFor(javaType));
+		}
+		return writer;
+	}
+
+	/**
+	 * Builds the readers of the response types and the writers of the request body types
+	 * of Retrofit API interfaces, so that their (de)serializers are created up front
+	 * rather than on the first request.
+	 * @param apiInterfaces the Retrofit API interfaces
+	 * @return this codec
+	 */
+	public JsonCodec warmUp(Collection<Class<?>> apiInterfaces) {
+		for (Class<?> api : apiInterfaces) {
+			for (Method method : api.getMethods()) {
+				Type returnType = method.getGenericReturnType();
+				if (returnType instanceof ParameterizedType
+						&& ((ParameterizedType) returnType).getRawType() == Single.class) {
+					Type data = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+					if (data != ResponseBody.class) {
+						reader(data);
+					}
+				}
+				Type[] parameterTypes = method.getGenericParameterTypes();
+				Annotation[][] annotations = method.getParameterAnnotations();
+				for (int i = 0; i < parameterTypes.length; i++) {
+					if (isBody(annotations[i]) && !(parameterTypes[i] instanceof Class
+							&& RequestBody.class.isAssignableFrom((Class<?>) parameterTypes[i]))) {
+						writer(parameterTypes[i]);
+					}
+				}
+			}
+		}
+		return this;
+	}
+
+	private static boolean isBody(Annotation[] annotations) {
+		for (Annotation annotation : annotations) {
+			if (annotation instanceof Body) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,68 @@
+package ai.z.openapi.service.deserialize;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Registry of the JSON mappers shared across the SDK. Building an {@link ObjectMapper} is
+ * expensive and every instance keeps its own (de)serializer caches, so mappers are
+ * created once here and handed out as {@link JsonCodec}s with cached readers and writers
+ * per type, instead of being constructed per class or per call.
+ */
+public final class JsonMappers {
+
+	private JsonMappers() {
+		throw new UnsupportedOperationException("JsonMappers is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Returns the codec of the API models: snake case property names, unknown properties
+	 * ignored and null values omitted, see
+	 * {@link MessageDeserializeFactory#defaultObjectMapper()}.
+	 * @return the shared codec
+	 */
+	public static JsonCodec standard() {
+		return Standard.CODEC;
+	}
+
+	/**
+	 * Returns the codec configured like {@link #standard()} that binds properties through
+	 * generated accessors, see
+	 * {@link MessageDeserializeFactory#highPerformanceObjectMapper()}.
+	 * @return the shared codec
+	 */
+	public static JsonCodec highPerformance() {
+		return HighPerformance.CODEC;
+	}
+
+	/**
+	 * Returns the codec for payloads that keep Java property names, such as realtime
+	 * events and error bodies: unknown properties ignored and null values omitted.
+	 * @return the shared codec
+	 */
+	public static JsonCodec plain() {
+		return Plain.CODEC;
+	}
+
+	private static final class Standard {
+
+		private static final JsonCodec CODEC = new JsonCodec(MessageDeserializeFactory.defaultObjectMapper());
+
+	}
+
+	private static final class HighPerformance {
+
+		private static final JsonCodec CODEC = new JsonCodec(MessageDeserializeFactory.highPerformanceObjectMapper());
+
+	}
+
+	private static final class Plain {
+
+		private static final JsonCodec CODEC = new JsonCodec(
+				new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+					.setSerializationInclusion(JsonInclude.Include.NON_NULL));
+
+	}
+
+}
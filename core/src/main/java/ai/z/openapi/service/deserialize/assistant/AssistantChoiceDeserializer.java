@@ -1,48 +1,65 @@
 package ai.z.openapi.service.deserialize.assistant;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import ai.z.openapi.service.assistant.AssistantChoice;
-import ai.z.openapi.service.deserialize.BaseNodeDeserializer;
-import ai.z.openapi.service.deserialize.ObjectDeserializer;
+import ai.z.openapi.service.assistant.message.AssistantMessageContent;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
- * Deserializer that can build instances of {@link AssistantChoice} from any JSON content,
- * using appropriate {@link AssistantChoice} type.
+ * Deserializer that binds {@link AssistantChoice} in a single pass over the parser
+ * tokens. Known properties are read into their typed fields directly, only properties
+ * without a typed field are kept as {@link JsonNode} values.
  */
-public class AssistantChoiceDeserializer extends BaseNodeDeserializer<AssistantChoice> {
+public class AssistantChoiceDeserializer extends StdDeserializer<AssistantChoice> {
 
-	private final static AssistantChoiceDeserializer instance = new AssistantChoiceDeserializer();
+	private static final JavaType METADATA_TYPE = TypeFactory.defaultInstance()
+		.constructMapType(Map.class, String.class, Object.class);
 
 	public AssistantChoiceDeserializer() {
-		super(AssistantChoice.class, null);
-	}
-
-	public static JsonDeserializer<? extends JsonNode> getDeserializer(Class<?> nodeClass) {
-		if (nodeClass == ObjectNode.class) {
-			return ObjectDeserializer.getInstance();
-		}
-		return instance;
-	}
-
-	@Override
-	public AssistantChoice getNullValue(DeserializationContext ctxt) {
-		return null;
+		super(AssistantChoice.class);
 	}
 
 	@Override
 	public AssistantChoice deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-		if (p.currentTokenId() == JsonTokenId.ID_START_OBJECT) {
-			ObjectNode jsonNodes = deserializeObject(p, ctxt, ctxt.getNodeFactory());
-			return new AssistantChoice(jsonNodes);
+		JsonToken token = p.currentToken();
+		if (token == JsonToken.START_OBJECT) {
+			token = p.nextToken();
+		}
+		else if (token != JsonToken.FIELD_NAME) {
+			p.skipChildren();
+			return null;
+		}
+		AssistantChoice choice = new AssistantChoice();
+		for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+			String name = p.currentName();
+			JsonToken value = p.nextToken();
+			switch (name) {
+				case "index":
+					choice.setIndex(p.getValueAsInt());
+					break;
+				case "delta":
+					choice.setDelta(
+							value == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, AssistantMessageContent.class));
+					break;
+				case "finish_reason":
+					choice.setFinishReason(p.getValueAsString());
+					break;
+				case "metadata":
+					choice.setMetadata(value == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, METADATA_TYPE));
+					break;
+				default:
+					choice.setAdditionalProperty(name, ctxt.readTree(p));
+			}
 		}
-		return null;
+		return choice;
 	}
 
 }
@@ -0,0 +1,17 @@
+package ai.z.openapi.service.embedding;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking embedding service interface
+ */
+public interface AsyncEmbeddingService {
+
+	/**
+	 * Creates embeddings for the given input text.
+	 * @param request the embeddings request
+	 * @return a future of the EmbeddingResponse containing the embedding vectors
+	 */
+	CompletableFuture<EmbeddingResponse> createEmbeddings(EmbeddingCreateParams request);
+
+}
@@ -0,0 +1,38 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.embedding.EmbeddingApi;
+import ai.z.openapi.core.ratelimit.TokenEstimator;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking embedding service implementation
+ */
+public class AsyncEmbeddingServiceImpl implements AsyncEmbeddingService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final EmbeddingApi embeddingApi;
+
+	public AsyncEmbeddingServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.embeddingApi = zAiClient.retrofit().create(EmbeddingApi.class);
+	}
+
+	@Override
+	public CompletableFuture<EmbeddingResponse> createEmbeddings(EmbeddingCreateParams request) {
+		EmbeddingServiceImpl.validateCreateEmbeddingsParams(request);
+		RequestSupplier<EmbeddingCreateParams, EmbeddingResult> supplier = embeddingApi::createEmbeddings;
+		return zAiClient.executeAfterRateLimit(request.getModel(), TokenEstimator.estimate(request),
+				permit -> zAiClient.executeRequestAsync(request, supplier, EmbeddingResponse::new)
+					.thenApply(response -> {
+						if (response.getData() != null) {
+							permit.complete(response.getData().getUsage());
+						}
+						return response;
+					}));
+	}
+
+}
@@ -0,0 +1,321 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.service.model.Usage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedding service coalescing concurrent single-text requests into list requests.
+ * Requests for the same model, dimensions and user are collected until either the batch
+ * holds {@code maxBatchSize} texts or {@code maxDelay} has passed since its first text,
+ * then sent as one request; each caller receives the embedding at its position in the
+ * batch, with the batch usage split by input length.
+ *
+ * <p>
+ * Requests with a list input, a request id or extra JSON parameters are passed to the
+ * delegate unchanged. A full batch is sent by the thread adding its last text, a batch
+ * closed by the time window by a background thread. Closing the service sends the open
+ * batches and stops the background threads.
+ * </p>
+ *
+ * <pre>{@code
+ * EmbeddingService embeddings = new BatchingEmbeddingService(client.embeddings(), 64, 10, TimeUnit.MILLISECONDS);
+ * }</pre>
+ */
+public class BatchingEmbeddingService implements EmbeddingService, AutoCloseable {
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private final EmbeddingService delegate;
+
+	private final int maxBatchSize;
+
+	private final long maxDelayNanos;
+
+	private final ScheduledExecutorService scheduler;
+
+	private final ExecutorService sender;
+
+	/** Batches still accepting texts, guarded by {@code this} */
+	private final Map<BatchKey, Batch> open = new HashMap<>();
+
+	private boolean closed;
+
+	/**
+	 * Creates a batching front end of an embedding service.
+	 * @param delegate the service sending the batched requests
+	 * @param maxBatchSize the maximum number of texts in one request
+	 * @param maxDelay the longest time the first text of a batch waits for others
+	 * @param timeUnit the time unit of the delay
+	 */
+	public BatchingEmbeddingService(EmbeddingService delegate, int maxBatchSize, long maxDelay, TimeUnit timeUnit) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Embedding service cannot be null");
+		}
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("Max batch size must be positive");
+		}
+		if (maxDelay < 0 || timeUnit == null) {
+			throw new IllegalArgumentException("Max delay cannot be negative");
+		}
+		this.delegate = delegate;
+		this.maxBatchSize = maxBatchSize;
+		this.maxDelayNanos = timeUnit.toNanos(maxDelay);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "timer"));
+		this.sender = Executors.newCachedThreadPool(runnable -> daemon(runnable, "sender"));
+	}
+
+	private static Thread daemon(Runnable runnable, String role) {
+		Thread thread = new Thread(runnable, "zai-embedding-batch-" + role + "-" + THREAD_COUNT.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	@Override
+	public EmbeddingResponse createEmbeddings(EmbeddingCreateParams request) {
+		if (!isBatchable(request)) {
+			return delegate.createEmbeddings(request);
+		}
+		EmbeddingServiceImpl.validateCreateEmbeddingsParams(request);
+		Pending pending = new Pending((String) request.getInput());
+		Batch full = null;
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Batching embedding service is closed");
+			}
+			BatchKey key = new BatchKey(request);
+			Batch batch = open.get(key);
+			if (batch == null) {
+				batch = new Batch(key);
+				open.put(key, batch);
+				Batch scheduled = batch;
+				batch.timer = scheduler.schedule(() -> sender.execute(() -> expire(scheduled)), maxDelayNanos,
+						TimeUnit.NANOSECONDS);
+			}
+			batch.items.add(pending);
+			if (batch.items.size() >= maxBatchSize) {
+				open.remove(key);
+				full = batch;
+			}
+		}
+		if (full != null) {
+			full.timer.cancel(false);
+			send(full);
+		}
+		return await(pending.response);
+	}
+
+	private static boolean isBatchable(EmbeddingCreateParams request) {
+		return request != null && request.getInput() instanceof String && request.getRequestId() == null
+				&& (request.getExtraJson() == null || request.getExtraJson().isEmpty());
+	}
+
+	private void expire(Batch batch) {
+		synchronized (this) {
+			if (open.get(batch.key) != batch) {
+				// already sent because it was full or the service was closed
+				return;
+			}
+			open.remove(batch.key);
+		}
+		send(batch);
+	}
+
+	private void send(Batch batch) {
+		List<String> texts = new ArrayList<>(batch.items.size());
+		for (Pending pending : batch.items) {
+			texts.add(pending.text);
+		}
+		EmbeddingCreateParams request = EmbeddingCreateParams.builder()
+			.model(batch.key.model)
+			.dimensions(batch.key.dimensions)
+			.userId(batch.key.userId)
+			.input(texts)
+			.build();
+		try {
+			EmbeddingResponse response = delegate.createEmbeddings(request);
+			fanOut(batch, response);
+		}
+		catch (RuntimeException e) {
+			for (Pending pending : batch.items) {
+				pending.response.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * Completes every pending request of a batch with its share of the response.
+	 */
+	private static void fanOut(Batch batch, EmbeddingResponse response) {
+		EmbeddingResult result = response.getData();
+		if (!response.isSuccess() || result == null || result.getData() == null) {
+			for (Pending pending : batch.items) {
+				pending.response.complete(copyStatus(response));
+			}
+			return;
+		}
+		int size = batch.items.size();
+		Embedding[] byIndex = new Embedding[size];
+		List<Embedding> embeddings = result.getData();
+		for (int i = 0; i < embeddings.size(); i++) {
+			Embedding embedding = embeddings.get(i);
+			int index = embedding.getIndex() != null ? embedding.getIndex() : i;
+			if (index >= 0 && index < size) {
+				byIndex[index] = embedding;
+			}
+		}
+		long totalLength = 0;
+		for (Pending pending : batch.items) {
+			totalLength += pending.text.length();
+		}
+		for (int i = 0; i < size; i++) {
+			Pending pending = batch.items.get(i);
+			Embedding embedding = byIndex[i];
+			if (embedding == null) {
+				pending.response.completeExceptionally(
+						new IllegalStateException("Embedding response has no embedding at index " + i));
+				continue;
+			}
+			Embedding single = Embedding.of(embedding.getObject(), embedding.getVector(), 0);
+			List<Embedding> data = new ArrayList<>(1);
+			data.add(single);
+			EmbeddingResponse share = copyStatus(response);
+			share.setData(new EmbeddingResult(result.getModel(), result.getObject(), data,
+					share(result.getUsage(), pending.text.length(), totalLength)));
+			pending.response.complete(share);
+		}
+	}
+
+	private static EmbeddingResponse copyStatus(EmbeddingResponse response) {
+		EmbeddingResponse copy = new EmbeddingResponse();
+		copy.setCode(response.getCode());
+		copy.setMsg(response.getMsg());
+		copy.setSuccess(response.isSuccess());
+		copy.setError(response.getError());
+		return copy;
+	}
+
+	private static Usage share(Usage usage, long length, long totalLength) {
+		if (usage == null) {
+			return null;
+		}
+		double fraction = totalLength == 0 ? 0 : (double) length / totalLength;
+		Usage share = new Usage();
+		share.setPromptTokens((int) Math.round(usage.getPromptTokens() * fraction));
+		share.setCompletionTokens((int) Math.round(usage.getCompletionTokens() * fraction));
+		share.setTotalTokens((int) Math.round(usage.getTotalTokens() * fraction));
+		return share;
+	}
+
+	private static EmbeddingResponse await(CompletableFuture<EmbeddingResponse> response) {
+		try {
+			return response.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the embedding batch", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException("Embedding batch failed", cause);
+		}
+	}
+
+	/**
+	 * Sends the open batches and stops the background threads. Requests made after
+	 * closing fail with an {@link IllegalStateException}.
+	 */
+	@Override
+	public void close() {
+		List<Batch> remaining;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			remaining = new ArrayList<>(open.values());
+			open.clear();
+		}
+		scheduler.shutdownNow();
+		for (Batch batch : remaining) {
+			send(batch);
+		}
+		sender.shutdown();
+	}
+
+	private static final class BatchKey {
+
+		private final String model;
+
+		private final Integer dimensions;
+
+		private final String userId;
+
+		BatchKey(EmbeddingCreateParams request) {
+			this.model = request.getModel();
+			this.dimensions = request.getDimensions();
+			this.userId = request.getUserId();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof BatchKey)) {
+				return false;
+			}
+			BatchKey other = (BatchKey) o;
+			return model.equals(other.model) && Objects.equals(dimensions, other.dimensions)
+					&& Objects.equals(userId, other.userId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(model, dimensions, userId);
+		}
+
+	}
+
+	private static final class Batch {
+
+		private final BatchKey key;
+
+		private final List<Pending> items = new ArrayList<>();
+
+		private ScheduledFuture<?> timer;
+
+		Batch(BatchKey key) {
+			this.key = key;
+		}
+
+	}
+
+	private static final class Pending {
+
+		private final String text;
+
+		private final CompletableFuture<EmbeddingResponse> response = new CompletableFuture<>();
+
+		Pending(String text) {
+			this.text = text;
+		}
+
+	}
+
+}
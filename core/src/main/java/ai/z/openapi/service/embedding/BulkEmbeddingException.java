@@ -0,0 +1,25 @@
+package ai.z.openapi.service.embedding;
+
+/**
+ * Thrown when a {@link BulkEmbeddingJob} stops on a failed request. The texts before
+ * {@link #getCommittedTexts()} are committed to the output, so running the job again with
+ * the same source and output resumes from there.
+ */
+public class BulkEmbeddingException extends RuntimeException {
+
+	private final long committedTexts;
+
+	public BulkEmbeddingException(String message, long committedTexts, Throwable cause) {
+		super(message, cause);
+		this.committedTexts = committedTexts;
+	}
+
+	/**
+	 * Returns the number of texts committed to the output when the job stopped.
+	 * @return the committed rows
+	 */
+	public long getCommittedTexts() {
+		return committedTexts;
+	}
+
+}
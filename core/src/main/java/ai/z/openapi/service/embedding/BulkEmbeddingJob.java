@@ -0,0 +1,406 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.core.ratelimit.ModelRateLimiter;
+import ai.z.openapi.core.ratelimit.RateLimitPermit;
+import ai.z.openapi.core.ratelimit.TokenEstimator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeds a stream of texts into an {@link EmbeddingMatrixFile}, row {@code i} holding the
+ * vector of the {@code i}-th text. The source is read lazily and cut into list requests
+ * of at most {@code batchSize} texts and {@code maxBatchChars} characters, which are sent
+ * by {@code parallelism} threads; at most twice as many requests are read ahead, so
+ * memory stays bounded however long the source is.
+ *
+ * <p>
+ * Each response is written in place at the rows of its texts. Rows are committed once all
+ * rows before them are written, at most every {@code checkpointInterval}, at the end and
+ * when the job fails. Running the job again with the same source and output skips the
+ * committed texts and resumes after them.
+ * </p>
+ *
+ * <p>
+ * Requests can be shaped by a {@link ModelRateLimiter} of the job, in addition to any
+ * limit configured on the client behind the service. A failed request stops the job with
+ * a {@link BulkEmbeddingException} once the requests in flight are done; transient errors
+ * are expected to be retried by the client's retry policy.
+ * </p>
+ *
+ * <pre>{@code
+ * BulkEmbeddingJob job = BulkEmbeddingJob.builder(client.embeddings(), Constants.ModelEmbedding3)
+ * 	.dimensions(512)
+ * 	.parallelism(8)
+ * 	.build();
+ * try (Stream<String> lines = Files.lines(corpus)) {
+ * 	BulkEmbeddingResult result = job.run(lines.iterator(), Paths.get("corpus.vec"));
+ * }
+ * }</pre>
+ */
+public class BulkEmbeddingJob {
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private final EmbeddingService service;
+
+	private final String model;
+
+	private final Integer dimensions;
+
+	private final int batchSize;
+
+	private final int maxBatchChars;
+
+	private final int parallelism;
+
+	private final long checkpointIntervalNanos;
+
+	private final ModelRateLimiter rateLimiter;
+
+	private BulkEmbeddingJob(Builder builder) {
+		this.service = builder.service;
+		this.model = builder.model;
+		this.dimensions = builder.dimensions;
+		this.batchSize = builder.batchSize;
+		this.maxBatchChars = builder.maxBatchChars;
+		this.parallelism = builder.parallelism;
+		this.checkpointIntervalNanos = builder.checkpointIntervalNanos;
+		this.rateLimiter = builder.rateLimiter;
+	}
+
+	/**
+	 * Creates a builder with the default settings: batches of 64 texts and at most
+	 * 100,000 characters, 4 requests in parallel, a checkpoint at most every 5 seconds
+	 * and no rate limit of the job.
+	 * @param service the service embedding the batches
+	 * @param model the embedding model
+	 * @return a new builder
+	 */
+	public static Builder builder(EmbeddingService service, String model) {
+		return new Builder(service, model);
+	}
+
+	/**
+	 * Embeds the texts of the source into the output, resuming after the rows the output
+	 * already has committed.
+	 * @param texts the texts, read once and in order; must yield the same texts on every
+	 * run for resuming to be correct
+	 * @param output the matrix file, created if missing
+	 * @return the outcome of the run
+	 * @throws BulkEmbeddingException if a request failed
+	 * @throws UncheckedIOException if the output cannot be written
+	 */
+	public BulkEmbeddingResult run(Iterator<String> texts, Path output) {
+		if (texts == null || output == null) {
+			throw new IllegalArgumentException("Texts and output cannot be null");
+		}
+		long start = System.nanoTime();
+		try (EmbeddingMatrixFile matrix = EmbeddingMatrixFile.openForWriting(output)) {
+			if (dimensions != null && matrix.getDimensions() != 0 && matrix.getDimensions() != dimensions) {
+				throw new IllegalArgumentException("Output has " + matrix.getDimensions() + " dimensions, job requests "
+						+ dimensions + ": " + output);
+			}
+			long resumed = 0;
+			while (resumed < matrix.size() && texts.hasNext()) {
+				texts.next();
+				resumed++;
+			}
+			Run run = new Run(matrix, resumed);
+			run.execute(texts);
+			matrix.truncate();
+			return new BulkEmbeddingResult(resumed, matrix.size() - resumed, run.requests.sum(), run.tokens.sum(),
+					matrix.getDimensions(), System.nanoTime() - start);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to write embedding matrix " + output, e);
+		}
+	}
+
+	/**
+	 * State of one run of the job.
+	 */
+	private final class Run {
+
+		private final EmbeddingMatrixFile matrix;
+
+		private final Semaphore inFlight = new Semaphore(parallelism * 2);
+
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private final LongAdder requests = new LongAdder();
+
+		private final LongAdder tokens = new LongAdder();
+
+		/**
+		 * End row by first row of the batches written past the watermark, guarded by this
+		 */
+		private final Map<Long, Long> written = new TreeMap<>();
+
+		/** Rows before the watermark are written, guarded by this */
+		private long watermark;
+
+		private long lastCheckpoint = System.nanoTime();
+
+		Run(EmbeddingMatrixFile matrix, long firstRow) {
+			this.matrix = matrix;
+			this.watermark = firstRow;
+		}
+
+		void execute(Iterator<String> texts) throws IOException {
+			ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+				Thread thread = new Thread(runnable, "zai-bulk-embedding-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			long row = watermark;
+			try {
+				while (failure.get() == null && texts.hasNext()) {
+					List<String> batch = nextBatch(texts);
+					inFlight.acquire();
+					long firstRow = row;
+					executor.execute(() -> {
+						try {
+							embed(firstRow, batch);
+						}
+						catch (Throwable e) {
+							failure.compareAndSet(null, e);
+						}
+						finally {
+							inFlight.release();
+						}
+					});
+					row += batch.size();
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.compareAndSet(null, e);
+			}
+			catch (RuntimeException e) {
+				// the source failed, stop after the batches already sent
+				failure.compareAndSet(null, e);
+			}
+			finally {
+				executor.shutdown();
+				awaitTermination(executor);
+			}
+			long committed;
+			synchronized (this) {
+				matrix.commit(watermark);
+				committed = watermark;
+			}
+			Throwable cause = failure.get();
+			if (cause != null) {
+				throw new BulkEmbeddingException("Bulk embedding stopped after " + committed + " texts: " + cause,
+						committed, cause);
+			}
+		}
+
+		private List<String> nextBatch(Iterator<String> texts) {
+			List<String> batch = new ArrayList<>(batchSize);
+			long chars = 0;
+			while (batch.size() < batchSize && texts.hasNext()) {
+				String text = texts.next();
+				if (text == null) {
+					throw new IllegalArgumentException("Texts cannot contain null");
+				}
+				batch.add(text);
+				chars += text.length();
+				if (chars >= maxBatchChars) {
+					break;
+				}
+			}
+			return batch;
+		}
+
+		private void embed(long firstRow, List<String> batch) throws IOException {
+			EmbeddingCreateParams request = EmbeddingCreateParams.builder()
+				.model(model)
+				.dimensions(dimensions)
+				.input(batch)
+				.build();
+			RateLimitPermit permit = rateLimiter != null ? rateLimiter.acquire(model, TokenEstimator.estimate(request))
+					: RateLimitPermit.NONE;
+			EmbeddingResponse response = service.createEmbeddings(request);
+			requests.increment();
+			EmbeddingResult result = response.getData();
+			if (!response.isSuccess() || result == null || result.getData() == null) {
+				throw new IllegalStateException(
+						"Embedding request failed with code " + response.getCode() + ": " + response.getMsg());
+			}
+			permit.complete(result.getUsage());
+			if (result.getUsage() != null) {
+				tokens.add(result.getUsage().getTotalTokens());
+			}
+			float[][] vectors = new float[batch.size()][];
+			List<Embedding> data = result.getData();
+			for (int i = 0; i < data.size(); i++) {
+				Embedding embedding = data.get(i);
+				int index = embedding.getIndex() != null ? embedding.getIndex() : i;
+				if (index >= 0 && index < vectors.length) {
+					vectors[index] = embedding.getVector();
+				}
+			}
+			for (int i = 0; i < vectors.length; i++) {
+				if (vectors[i] == null) {
+					throw new IllegalStateException("Embedding response has no embedding for text " + (firstRow + i));
+				}
+			}
+			matrix.dimensions(vectors[0].length);
+			matrix.write(firstRow, vectors);
+			written(firstRow, firstRow + vectors.length);
+		}
+
+		private synchronized void written(long firstRow, long endRow) throws IOException {
+			written.put(firstRow, endRow);
+			Long end;
+			while ((end = written.remove(watermark)) != null) {
+				watermark = end;
+			}
+			long now = System.nanoTime();
+			if (now - lastCheckpoint >= checkpointIntervalNanos) {
+				matrix.commit(watermark);
+				lastCheckpoint = now;
+			}
+		}
+
+		private void awaitTermination(ExecutorService executor) {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+						break;
+					}
+				}
+				catch (InterruptedException e) {
+					// the batches in flight still have to finish before committing
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+	/**
+	 * Builder for {@link BulkEmbeddingJob}.
+	 */
+	public static class Builder {
+
+		private final EmbeddingService service;
+
+		private final String model;
+
+		private Integer dimensions;
+
+		private int batchSize = 64;
+
+		private int maxBatchChars = 100_000;
+
+		private int parallelism = 4;
+
+		private long checkpointIntervalNanos = TimeUnit.SECONDS.toNanos(5);
+
+		private ModelRateLimiter rateLimiter;
+
+		private Builder(EmbeddingService service, String model) {
+			if (service == null) {
+				throw new IllegalArgumentException("Embedding service cannot be null");
+			}
+			if (model == null || model.trim().isEmpty()) {
+				throw new IllegalArgumentException("Model cannot be null or empty");
+			}
+			this.service = service;
+			this.model = model;
+		}
+
+		/**
+		 * Sets the number of dimensions requested for every vector.
+		 * @param dimensions the dimensions, or {@code null} for the model default
+		 * @return this builder
+		 */
+		public Builder dimensions(Integer dimensions) {
+			if (dimensions != null && dimensions <= 0) {
+				throw new IllegalArgumentException("Dimensions must be positive");
+			}
+			this.dimensions = dimensions;
+			return this;
+		}
+
+		/**
+		 * Sets the limits of one request. A single text longer than the character limit
+		 * is sent alone.
+		 * @param batchSize the maximum number of texts of a request
+		 * @param maxBatchChars the maximum number of characters of a request
+		 * @return this builder
+		 */
+		public Builder batchSize(int batchSize, int maxBatchChars) {
+			if (batchSize <= 0 || maxBatchChars <= 0) {
+				throw new IllegalArgumentException("Batch limits must be positive");
+			}
+			this.batchSize = batchSize;
+			this.maxBatchChars = maxBatchChars;
+			return this;
+		}
+
+		/**
+		 * Sets the number of requests sent in parallel.
+		 * @param parallelism the number of sending threads
+		 * @return this builder
+		 */
+		public Builder parallelism(int parallelism) {
+			if (parallelism <= 0) {
+				throw new IllegalArgumentException("Parallelism must be positive");
+			}
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * Sets the shortest time between two checkpoints. Each checkpoint forces the
+		 * output to disk.
+		 * @param interval the checkpoint interval, 0 to commit after every request
+		 * @param timeUnit the time unit for the interval
+		 * @return this builder
+		 */
+		public Builder checkpointInterval(long interval, TimeUnit timeUnit) {
+			if (interval < 0 || timeUnit == null) {
+				throw new IllegalArgumentException("Checkpoint interval cannot be negative");
+			}
+			this.checkpointIntervalNanos = timeUnit.toNanos(interval);
+			return this;
+		}
+
+		/**
+		 * Shapes the requests of the job with a rate limiter.
+		 * @param rateLimiter the rate limiter, or {@code null} for none
+		 * @return this builder
+		 */
+		public Builder rateLimiter(ModelRateLimiter rateLimiter) {
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
+		public BulkEmbeddingJob build() {
+			return new BulkEmbeddingJob(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,93 @@
+package ai.z.openapi.service.embedding;
+
+/**
+ * Outcome of a {@link BulkEmbeddingJob} run.
+ */
+public final class BulkEmbeddingResult {
+
+	private final long resumedTexts;
+
+	private final long embeddedTexts;
+
+	private final long requests;
+
+	private final long totalTokens;
+
+	private final int dimensions;
+
+	private final long elapsedNanos;
+
+	BulkEmbeddingResult(long resumedTexts, long embeddedTexts, long requests, long totalTokens, int dimensions,
+			long elapsedNanos) {
+		this.resumedTexts = resumedTexts;
+		this.embeddedTexts = embeddedTexts;
+		this.requests = requests;
+		this.totalTokens = totalTokens;
+		this.dimensions = dimensions;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Returns the number of texts skipped because a previous run had committed them.
+	 * @return the resumed texts
+	 */
+	public long getResumedTexts() {
+		return resumedTexts;
+	}
+
+	/**
+	 * Returns the number of texts embedded by this run.
+	 * @return the embedded texts
+	 */
+	public long getEmbeddedTexts() {
+		return embeddedTexts;
+	}
+
+	/**
+	 * Returns the number of rows of the output, resumed and embedded texts together.
+	 * @return the total rows
+	 */
+	public long getTotalTexts() {
+		return resumedTexts + embeddedTexts;
+	}
+
+	/**
+	 * Returns the number of embedding requests sent by this run.
+	 * @return the request count
+	 */
+	public long getRequests() {
+		return requests;
+	}
+
+	/**
+	 * Returns the total tokens reported by the responses of this run.
+	 * @return the token count
+	 */
+	public long getTotalTokens() {
+		return totalTokens;
+	}
+
+	/**
+	 * Returns the number of dimensions of the output rows.
+	 * @return the row length, 0 if nothing was embedded
+	 */
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * Returns the duration of this run.
+	 * @return the elapsed nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkEmbeddingResult{resumedTexts=" + resumedTexts + ", embeddedTexts=" + embeddedTexts + ", requests="
+				+ requests + ", totalTokens=" + totalTokens + ", dimensions=" + dimensions + ", elapsedMillis="
+				+ elapsedNanos / 1_000_000 + "}";
+	}
+
+}
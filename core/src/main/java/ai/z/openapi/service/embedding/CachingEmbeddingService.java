@@ -0,0 +1,302 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.core.cache.CacheStats;
+import ai.z.openapi.service.model.Usage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedding service answering repeated texts from a content-addressed cache. Vectors are
+ * keyed by the SHA-256 digest of the model, the dimensions and the text, and kept in an
+ * in-memory LRU tier and, optionally, an {@link EmbeddingVectorStore} on disk that
+ * survives restarts.
+ *
+ * <p>
+ * Only the texts missing from both tiers are sent to the delegate, as one list request;
+ * the returned vectors are spliced back between the cached ones in input order. The usage
+ * of the response is the usage of that request, zero when every text was cached. Requests
+ * with token array inputs or extra JSON parameters bypass the cache.
+ * </p>
+ *
+ * <pre>{@code
+ * EmbeddingService embeddings = new CachingEmbeddingService(client.embeddings(), 100_000,
+ * 		Paths.get("embeddings.bin"));
+ * }</pre>
+ */
+public class CachingEmbeddingService implements EmbeddingService, AutoCloseable {
+
+	private final EmbeddingService delegate;
+
+	private final int maximumSize;
+
+	/** Access-ordered memory tier, guarded by itself */
+	private final LinkedHashMap<ByteBuffer, float[]> memory;
+
+	private final EmbeddingVectorStore disk;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a cache kept in memory only.
+	 * @param delegate the service embedding the cache misses
+	 * @param maximumSize the maximum number of vectors kept in memory
+	 */
+	public CachingEmbeddingService(EmbeddingService delegate, int maximumSize) {
+		this(delegate, maximumSize, (EmbeddingVectorStore) null);
+	}
+
+	/**
+	 * Creates a cache with a memory tier and a disk tier stored in the given file.
+	 * @param delegate the service embedding the cache misses
+	 * @param maximumSize the maximum number of vectors kept in memory
+	 * @param path the file of the disk tier, created if missing
+	 */
+	public CachingEmbeddingService(EmbeddingService delegate, int maximumSize, Path path) {
+		this(delegate, maximumSize, new EmbeddingVectorStore(path));
+	}
+
+	/**
+	 * Creates a cache with a memory tier and the given disk tier.
+	 * @param delegate the service embedding the cache misses
+	 * @param maximumSize the maximum number of vectors kept in memory
+	 * @param disk the disk tier, or {@code null} for none; closed with this service
+	 */
+	public CachingEmbeddingService(EmbeddingService delegate, int maximumSize, EmbeddingVectorStore disk) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Embedding service cannot be null");
+		}
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("Maximum size cannot be negative");
+		}
+		this.delegate = delegate;
+		this.maximumSize = maximumSize;
+		this.memory = new LinkedHashMap<>(16, 0.75f, true);
+		this.disk = disk;
+	}
+
+	@Override
+	public EmbeddingResponse createEmbeddings(EmbeddingCreateParams request) {
+		if (!isCacheable(request)) {
+			return delegate.createEmbeddings(request);
+		}
+		EmbeddingServiceImpl.validateCreateEmbeddingsParams(request);
+		List<String> texts = texts(request);
+		int size = texts.size();
+		float[][] vectors = new float[size][];
+		ByteBuffer[] keys = new ByteBuffer[size];
+		// distinct missing texts, in order of first appearance
+		Map<ByteBuffer, Integer> missing = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			keys[i] = key(request.getModel(), request.getDimensions(), texts.get(i));
+			vectors[i] = lookup(keys[i]);
+			if (vectors[i] == null) {
+				missing.putIfAbsent(keys[i], i);
+			}
+		}
+
+		String model = request.getModel();
+		Usage usage = new Usage();
+		EmbeddingResponse response = null;
+		if (!missing.isEmpty()) {
+			List<String> missingTexts = new ArrayList<>(missing.size());
+			for (int i : missing.values()) {
+				missingTexts.add(texts.get(i));
+			}
+			response = delegate.createEmbeddings(missRequest(request, missingTexts));
+			if (!response.isSuccess() || response.getData() == null || response.getData().getData() == null) {
+				return response;
+			}
+			Map<ByteBuffer, float[]> embedded = new HashMap<>();
+			List<ByteBuffer> missingKeys = new ArrayList<>(missing.keySet());
+			List<Embedding> data = response.getData().getData();
+			for (int i = 0; i < data.size(); i++) {
+				Embedding embedding = data.get(i);
+				int index = embedding.getIndex() != null ? embedding.getIndex() : i;
+				if (index >= 0 && index < missingKeys.size() && embedding.getVector() != null) {
+					embedded.put(missingKeys.get(index), embedding.getVector());
+					store(missingKeys.get(index), embedding.getVector());
+				}
+			}
+			for (int i = 0; i < size; i++) {
+				if (vectors[i] == null) {
+					vectors[i] = embedded.get(keys[i]);
+					if (vectors[i] == null) {
+						throw new IllegalStateException("Embedding response has no embedding for input " + i);
+					}
+				}
+			}
+			if (response.getData().getModel() != null) {
+				model = response.getData().getModel();
+			}
+			if (response.getData().getUsage() != null) {
+				usage = response.getData().getUsage();
+			}
+		}
+
+		List<Embedding> embeddings = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			// copies, so that callers modifying a vector do not modify the cache
+			embeddings.add(Embedding.of("embedding", vectors[i].clone(), i));
+		}
+		EmbeddingResponse result = new EmbeddingResponse();
+		result.setCode(response != null ? response.getCode() : 200);
+		result.setMsg(response != null ? response.getMsg() : "Call Successful");
+		result.setSuccess(true);
+		result.setData(new EmbeddingResult(model, "list", embeddings, usage));
+		return result;
+	}
+
+	/**
+	 * Checks whether the request embeds texts: a string or a list of strings. Token
+	 * arrays and requests with extra JSON parameters go to the delegate unchanged.
+	 */
+	private static boolean isCacheable(EmbeddingCreateParams request) {
+		if (request == null || (request.getExtraJson() != null && !request.getExtraJson().isEmpty())) {
+			return false;
+		}
+		Object input = request.getInput();
+		if (input instanceof String) {
+			return true;
+		}
+		if (!(input instanceof List)) {
+			return false;
+		}
+		for (Object element : (List<?>) input) {
+			if (!(element instanceof String)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> texts(EmbeddingCreateParams request) {
+		if (request.getInput() instanceof String) {
+			return Collections.singletonList((String) request.getInput());
+		}
+		return (List<String>) request.getInput();
+	}
+
+	private static EmbeddingCreateParams missRequest(EmbeddingCreateParams request, List<String> texts) {
+		return EmbeddingCreateParams.builder()
+			.model(request.getModel())
+			.dimensions(request.getDimensions())
+			.requestId(request.getRequestId())
+			.userId(request.getUserId())
+			.input(request.getInput() instanceof String ? texts.get(0) : texts)
+			.build();
+	}
+
+	/**
+	 * Computes the content address of a text: the SHA-256 digest of the model, the
+	 * dimensions and the UTF-8 text, separated by NUL bytes.
+	 * @param model the model name
+	 * @param dimensions the requested dimensions, or {@code null} for the model default
+	 * @param text the input text
+	 * @return the 32-byte digest
+	 */
+	public static byte[] digest(String model, Integer dimensions, String text) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		digest.update(model.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		if (dimensions != null) {
+			digest.update(dimensions.toString().getBytes(StandardCharsets.US_ASCII));
+		}
+		digest.update((byte) 0);
+		digest.update(text.getBytes(StandardCharsets.UTF_8));
+		return digest.digest();
+	}
+
+	private static ByteBuffer key(String model, Integer dimensions, String text) {
+		return ByteBuffer.wrap(digest(model, dimensions, text));
+	}
+
+	private float[] lookup(ByteBuffer key) {
+		float[] vector;
+		synchronized (memory) {
+			vector = memory.get(key);
+		}
+		if (vector == null && disk != null) {
+			vector = disk.get(key.array());
+			if (vector != null) {
+				remember(key, vector);
+			}
+		}
+		if (vector == null) {
+			misses.increment();
+		}
+		else {
+			hits.increment();
+		}
+		return vector;
+	}
+
+	private void store(ByteBuffer key, float[] vector) {
+		remember(key, vector);
+		if (disk != null) {
+			disk.put(key.array(), vector);
+		}
+	}
+
+	private void remember(ByteBuffer key, float[] vector) {
+		if (maximumSize == 0) {
+			return;
+		}
+		synchronized (memory) {
+			memory.put(key, vector);
+			if (memory.size() > maximumSize) {
+				Iterator<ByteBuffer> eldest = memory.keySet().iterator();
+				eldest.next();
+				eldest.remove();
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * Returns the statistics of the cache. The size is the number of vectors in memory.
+	 * @return the cache statistics
+	 */
+	public CacheStats stats() {
+		int size;
+		synchronized (memory) {
+			size = memory.size();
+		}
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), 0, size);
+	}
+
+	/**
+	 * Flushes and closes the disk tier.
+	 * @throws IOException if the disk tier cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (disk != null) {
+			disk.close();
+		}
+	}
+
+}
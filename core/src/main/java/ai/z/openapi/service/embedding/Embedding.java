@@ -1,20 +1,37 @@
 package ai.z.openapi.service.embedding;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.AbstractList;
 import java.util.List;
-import lombok.NoArgsConstructor;
+import java.util.RandomAccess;
 
 /**
  * Represents an embedding returned by the embedding api
+ *
+ * <p>
+ * The vector is parsed straight into a {@code float[]}, the precision the API computes
+ * embeddings in, so a 2048-dimension vector takes 8 KB instead of two thousand boxed
+ * {@code Double}s. {@link #getEmbedding()} remains available as a fixed-size
+ * {@code List<Double>} view created on first use.
+ * </p>
  */
-
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE,
+		isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
 public class Embedding {
 
 	/**
@@ -25,11 +42,157 @@ public class Embedding {
 	/**
 	 * The embedding vector
 	 */
-	List<Double> embedding;
+	@JsonProperty("embedding")
+	float[] vector;
 
 	/**
 	 * The position of this embedding in the list
 	 */
 	Integer index;
 
+	/**
+	 * Boxed view of the vector, created on first use of {@link #getEmbedding()}.
+	 */
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private transient List<Double> embeddingView;
+
+	@Builder
+	private Embedding(String object, float[] vector, Integer index) {
+		this.object = object;
+		this.vector = vector;
+		this.index = index;
+	}
+
+	public Embedding(String object, List<Double> embedding, Integer index) {
+		this.object = object;
+		this.index = index;
+		setEmbedding(embedding);
+	}
+
+	/**
+	 * Creates an embedding holding the given vector without copying it.
+	 * @param object the type of object, should be "embedding"
+	 * @param vector the embedding vector
+	 * @param index the position of the embedding in the list
+	 * @return the embedding
+	 */
+	public static Embedding of(String object, float[] vector, Integer index) {
+		return new Embedding(object, vector, index);
+	}
+
+	/**
+	 * Returns the embedding vector as a list of doubles. The list is a view backed by the
+	 * {@code float[]} vector: it is created on first use and setting an element writes
+	 * through to the vector. Unlike the list this method returned before, the view has a
+	 * fixed size, so {@code add} and {@code remove} throw
+	 * {@link UnsupportedOperationException}; use {@link #setEmbedding(List)} to replace
+	 * the vector.
+	 * @return the vector view, or {@code null} if there is no vector
+	 */
+	public List<Double> getEmbedding() {
+		if (vector == null) {
+			return null;
+		}
+		List<Double> view = embeddingView;
+		if (view == null || ((VectorView) view).vector != vector) {
+			view = new VectorView(vector);
+			embeddingView = view;
+		}
+		return view;
+	}
+
+	/**
+	 * Replaces the vector with the values of the list, narrowed to {@code float}.
+	 * @param embedding the vector values
+	 */
+	public void setEmbedding(List<Double> embedding) {
+		if (embedding == null) {
+			this.vector = null;
+			return;
+		}
+		float[] values = new float[embedding.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = embedding.get(i).floatValue();
+		}
+		this.vector = values;
+	}
+
+	/**
+	 * Returns the number of dimensions of the vector.
+	 * @return the vector length, 0 if there is no vector
+	 */
+	public int getDimensions() {
+		return vector == null ? 0 : vector.length;
+	}
+
+	/**
+	 * Copies the vector into a buffer at its current position, for example a slice of a
+	 * buffer reused across a bulk job.
+	 * @param buffer the destination buffer
+	 * @throws java.nio.BufferOverflowException if the buffer has not enough room
+	 */
+	public void writeTo(FloatBuffer buffer) {
+		if (vector != null) {
+			buffer.put(vector);
+		}
+	}
+
+	/**
+	 * Copies the vector into a byte buffer at its current position, as floats in the
+	 * buffer's byte order. Suitable for direct and memory-mapped buffers.
+	 * @param buffer the destination buffer
+	 * @throws java.nio.BufferOverflowException if the buffer has not enough room
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		if (vector == null) {
+			return;
+		}
+		buffer.asFloatBuffer().put(vector);
+		buffer.position(buffer.position() + vector.length * Float.BYTES);
+	}
+
+	/**
+	 * Builder methods kept for code built against the list-based vector.
+	 */
+	public static class EmbeddingBuilder {
+
+		public EmbeddingBuilder embedding(List<Double> embedding) {
+			Embedding values = new Embedding();
+			values.setEmbedding(embedding);
+			this.vector = values.vector;
+			return this;
+		}
+
+	}
+
+	private static final class VectorView extends AbstractList<Double> implements RandomAccess {
+
+		private final float[] vector;
+
+		VectorView(float[] vector) {
+			this.vector = vector;
+		}
+
+		@Override
+		public Double get(int index) {
+			return (double) vector[index];
+		}
+
+		@Override
+		public Double set(int index, Double element) {
+			Double previous = get(index);
+			vector[index] = element.floatValue();
+			return previous;
+		}
+
+		@Override
+		public int size() {
+			return vector.length;
+		}
+
+	}
+
 }
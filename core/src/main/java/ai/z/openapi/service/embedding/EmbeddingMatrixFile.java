@@ -0,0 +1,226 @@
+package ai.z.openapi.service.embedding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Dense matrix of embedding vectors written by {@link BulkEmbeddingJob}: a 32-byte header
+ * followed by fixed-size rows of little-endian {@code float}s, row {@code i} holding the
+ * vector of the {@code i}-th input text. A row is located by arithmetic alone, so rows
+ * are written in place by concurrent requests and read back without an index.
+ *
+ * <p>
+ * The header holds the magic number, the number of dimensions and the number of committed
+ * rows. Rows are committed once every row before them is written and the data was forced
+ * to disk; rows past the committed count are left over from an interrupted job and are
+ * rewritten when it resumes.
+ * </p>
+ */
+public class EmbeddingMatrixFile implements Closeable {
+
+	private static final long MAGIC = 0x5A41495645433031L; // "ZAIVEC01"
+
+	/** Size of the header preceding the rows */
+	public static final int HEADER_BYTES = 32;
+
+	private static final int DIMENSIONS_OFFSET = 8;
+
+	private static final int ROWS_OFFSET = 16;
+
+	private final FileChannel channel;
+
+	private int dimensions;
+
+	private long rows;
+
+	/**
+	 * Opens a matrix file for reading.
+	 * @param path the matrix file
+	 * @return the opened file
+	 * @throws UncheckedIOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file is not a matrix file
+	 */
+	public static EmbeddingMatrixFile open(Path path) {
+		return new EmbeddingMatrixFile(path, false);
+	}
+
+	/**
+	 * Opens a matrix file for writing, creating it if missing.
+	 */
+	static EmbeddingMatrixFile openForWriting(Path path) {
+		return new EmbeddingMatrixFile(path, true);
+	}
+
+	private EmbeddingMatrixFile(Path path, boolean writable) {
+		try {
+			this.channel = writable ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE) : FileChannel.open(path, StandardOpenOption.READ);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to open embedding matrix " + path, e);
+		}
+		try {
+			if (channel.size() == 0 && writable) {
+				writeHeader();
+				return;
+			}
+			ByteBuffer header = readFully(0, HEADER_BYTES);
+			if (header.getLong(0) != MAGIC) {
+				throw new IllegalArgumentException("Not an embedding matrix: " + path);
+			}
+			this.dimensions = header.getInt(DIMENSIONS_OFFSET);
+			this.rows = header.getLong(ROWS_OFFSET);
+		}
+		catch (IOException | RuntimeException e) {
+			closeQuietly();
+			if (e instanceof IOException) {
+				throw new UncheckedIOException("Failed to read embedding matrix " + path, (IOException) e);
+			}
+			throw (RuntimeException) e;
+		}
+	}
+
+	/**
+	 * Returns the number of dimensions of every row.
+	 * @return the row length, 0 while no row was written
+	 */
+	public synchronized int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * Returns the number of committed rows.
+	 * @return the row count
+	 */
+	public synchronized long size() {
+		return rows;
+	}
+
+	/**
+	 * Reads a committed row.
+	 * @param row the row number
+	 * @return the vector of the row
+	 * @throws IndexOutOfBoundsException if the row is not committed
+	 * @throws UncheckedIOException if the file cannot be read
+	 */
+	public float[] read(long row) {
+		int rowDimensions;
+		synchronized (this) {
+			if (row < 0 || row >= rows) {
+				throw new IndexOutOfBoundsException("Row " + row + " of " + rows);
+			}
+			rowDimensions = dimensions;
+		}
+		float[] vector = new float[rowDimensions];
+		try {
+			readFully(offset(row, rowDimensions), rowDimensions * Float.BYTES).asFloatBuffer().get(vector);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to read embedding matrix row " + row, e);
+		}
+		return vector;
+	}
+
+	/**
+	 * Fixes the number of dimensions on the first write.
+	 * @throws IllegalStateException if the file holds rows of another length
+	 */
+	synchronized void dimensions(int dimensions) {
+		if (this.dimensions == 0) {
+			this.dimensions = dimensions;
+		}
+		else if (this.dimensions != dimensions) {
+			throw new IllegalStateException(
+					"Embedding matrix has " + this.dimensions + " dimensions, got a vector of " + dimensions);
+		}
+	}
+
+	/**
+	 * Writes consecutive rows in place. Safe to call concurrently for disjoint rows.
+	 */
+	void write(long firstRow, float[][] vectors) throws IOException {
+		int rowDimensions = getDimensions();
+		ByteBuffer buffer = ByteBuffer.allocate(vectors.length * rowDimensions * Float.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		for (float[] vector : vectors) {
+			if (vector.length != rowDimensions) {
+				throw new IllegalStateException(
+						"Embedding matrix has " + rowDimensions + " dimensions, got a vector of " + vector.length);
+			}
+			buffer.asFloatBuffer().put(vector);
+			buffer.position(buffer.position() + vector.length * Float.BYTES);
+		}
+		buffer.flip();
+		long position = offset(firstRow, rowDimensions);
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+	/**
+	 * Forces the rows to disk, then records them as committed.
+	 */
+	synchronized void commit(long rows) throws IOException {
+		if (rows == this.rows) {
+			return;
+		}
+		channel.force(false);
+		this.rows = rows;
+		writeHeader();
+		channel.force(false);
+	}
+
+	/**
+	 * Drops rows written past the committed ones, left over from an interrupted job.
+	 */
+	synchronized void truncate() throws IOException {
+		channel.truncate(offset(rows, dimensions));
+	}
+
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		header.putLong(0, MAGIC);
+		header.putInt(DIMENSIONS_OFFSET, dimensions);
+		header.putLong(ROWS_OFFSET, rows);
+		long position = 0;
+		while (header.hasRemaining()) {
+			position += channel.write(header, position);
+		}
+	}
+
+	private static long offset(long row, int dimensions) {
+		return HEADER_BYTES + row * dimensions * Float.BYTES;
+	}
+
+	private ByteBuffer readFully(long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of embedding matrix");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private void closeQuietly() {
+		try {
+			channel.close();
+		}
+		catch (IOException ignored) {
+			// already failing
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
@@ -2,6 +2,8 @@ package ai.z.openapi.service.embedding;
 
 import ai.z.openapi.AbstractAiClient;
 import ai.z.openapi.api.embedding.EmbeddingApi;
+import ai.z.openapi.core.ratelimit.RateLimitPermit;
+import ai.z.openapi.core.ratelimit.TokenEstimator;
 import ai.z.openapi.utils.RequestSupplier;
 
 import java.util.List;
@@ -23,11 +25,16 @@ public class EmbeddingServiceImpl implements EmbeddingService {
 	@Override
 	public EmbeddingResponse createEmbeddings(EmbeddingCreateParams request) {
 		validateCreateEmbeddingsParams(request);
+		RateLimitPermit permit = zAiClient.acquireRateLimit(request.getModel(), TokenEstimator.estimate(request));
 		RequestSupplier<EmbeddingCreateParams, EmbeddingResult> supplier = embeddingApi::createEmbeddings;
-		return this.zAiClient.executeRequest(request, supplier, EmbeddingResponse.class);
+		EmbeddingResponse response = this.zAiClient.executeRequest(request, supplier, EmbeddingResponse::new);
+		if (response.getData() != null) {
+			permit.complete(response.getData().getUsage());
+		}
+		return response;
 	}
 
-	private void validateCreateEmbeddingsParams(EmbeddingCreateParams request) {
+	static void validateCreateEmbeddingsParams(EmbeddingCreateParams request) {
 		if (request == null) {
 			throw new IllegalArgumentException("Request cannot be null");
 		}
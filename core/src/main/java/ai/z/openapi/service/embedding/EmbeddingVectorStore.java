@@ -0,0 +1,283 @@
+package ai.z.openapi.service.embedding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only on-disk store of embedding vectors keyed by a 32-byte content digest. The
+ * file is memory-mapped in fixed-size segments and holds packed little-endian records:
+ * the key, the vector length and the vector floats. Only an index from key to record
+ * offset is kept on the heap; it is rebuilt by scanning the file when the store is
+ * opened.
+ *
+ * <p>
+ * The header holds the magic number and the segment size the file was written with, which
+ * fixes the position of every record; the file is always reopened with that size. The
+ * vector length sits between the key and the floats in a record but is written last,
+ * after the floats, and a length of 0 marks the end of the data; so a record torn by a
+ * crash of the process reads as the end of the data and is overwritten by the next
+ * append. An append also clears the length slot that follows its record, so a shorter
+ * record written over a torn one does not leave a stale float of the torn vector where
+ * the next length is read, and a length that would run past the end of its segment is
+ * read as the end of the data. Nothing is forced to disk between the floats and the
+ * length, and the operating system writes mapped pages back in any order, so after a
+ * crash of the operating system a record may have its length but not its floats. Lookups
+ * and appends are thread-safe.
+ * </p>
+ */
+public class EmbeddingVectorStore implements Closeable {
+
+	/** Size of a record key, a SHA-256 digest */
+	public static final int KEY_BYTES = 32;
+
+	/** Default size of a mapped segment */
+	public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+	private static final long MAGIC = 0x5A4149454D423031L; // "ZAIEMB01"
+
+	private static final int HEADER_BYTES = 16;
+
+	private static final int SEGMENT_BYTES_OFFSET = 8;
+
+	private static final int RECORD_HEADER_BYTES = KEY_BYTES + Integer.BYTES;
+
+	/** Vector length marking the rest of a segment as unused */
+	private static final int SKIP_SEGMENT = -1;
+
+	private final FileChannel channel;
+
+	private final int segmentBytes;
+
+	private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+	/** Record offsets by key, guarded by {@code this} */
+	private final Map<ByteBuffer, Long> index = new HashMap<>();
+
+	/** Offset of the next record */
+	private long end;
+
+	/**
+	 * Opens or creates a store with the default segment size.
+	 * @param path the store file
+	 * @throws UncheckedIOException if the file cannot be opened or is not a store
+	 */
+	public EmbeddingVectorStore(Path path) {
+		this(path, DEFAULT_SEGMENT_BYTES);
+	}
+
+	/**
+	 * Opens or creates a store. An existing store keeps the segment size it was created
+	 * with.
+	 * @param path the store file
+	 * @param segmentBytes the size of a mapped segment of a new store, which bounds the
+	 * size of a record
+	 * @throws UncheckedIOException if the file cannot be opened
+	 * @throws IllegalArgumentException if the file is not a store
+	 */
+	public EmbeddingVectorStore(Path path, int segmentBytes) {
+		if (segmentBytes < HEADER_BYTES + RECORD_HEADER_BYTES) {
+			throw new IllegalArgumentException("Segment size is too small");
+		}
+		try {
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to open embedding vector store " + path, e);
+		}
+		try {
+			boolean created = channel.size() == 0;
+			this.segmentBytes = created ? segmentBytes : readSegmentBytes(path);
+			long segmentCount = Math.max(1, (channel.size() + this.segmentBytes - 1) / this.segmentBytes);
+			for (int i = 0; i < segmentCount; i++) {
+				segments.add(map(i));
+			}
+			if (created) {
+				ByteBuffer first = segments.get(0);
+				first.putInt(SEGMENT_BYTES_OFFSET, segmentBytes);
+				first.putLong(0, MAGIC);
+			}
+			load();
+		}
+		catch (IOException | RuntimeException e) {
+			try {
+				channel.close();
+			}
+			catch (IOException ignored) {
+				// already failing
+			}
+			if (e instanceof IOException) {
+				throw new UncheckedIOException("Failed to open embedding vector store " + path, (IOException) e);
+			}
+			throw (RuntimeException) e;
+		}
+	}
+
+	/**
+	 * Reads the segment size of an existing store from its header.
+	 */
+	private int readSegmentBytes(Path path) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+			// read until full or end of file
+		}
+		int stored = header.getInt(SEGMENT_BYTES_OFFSET);
+		if (header.hasRemaining() || header.getLong(0) != MAGIC || stored < HEADER_BYTES + RECORD_HEADER_BYTES) {
+			throw new IllegalArgumentException("Not an embedding vector store: " + path);
+		}
+		return stored;
+	}
+
+	private MappedByteBuffer map(int segment) throws IOException {
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, (long) segment * segmentBytes,
+				segmentBytes);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		return buffer;
+	}
+
+	/**
+	 * Rebuilds the index by scanning the records up to the end of the data.
+	 */
+	private void load() {
+		long offset = HEADER_BYTES;
+		while (true) {
+			int segment = (int) (offset / segmentBytes);
+			int position = (int) (offset % segmentBytes);
+			if (segment >= segments.size()) {
+				break;
+			}
+			ByteBuffer buffer = segments.get(segment);
+			int length = position + RECORD_HEADER_BYTES <= segmentBytes ? buffer.getInt(position + KEY_BYTES) : 0;
+			if (length == SKIP_SEGMENT || position + RECORD_HEADER_BYTES > segmentBytes) {
+				offset = (long) (segment + 1) * segmentBytes;
+				continue;
+			}
+			if (length <= 0 || position + recordBytes((long) length) > segmentBytes) {
+				break;
+			}
+			byte[] key = new byte[KEY_BYTES];
+			ByteBuffer slice = buffer.duplicate();
+			slice.position(position);
+			slice.get(key);
+			index.put(ByteBuffer.wrap(key), offset);
+			offset += recordBytes(length);
+		}
+		end = offset;
+	}
+
+	private static int recordBytes(int length) {
+		return RECORD_HEADER_BYTES + length * Float.BYTES;
+	}
+
+	private static long recordBytes(long length) {
+		return RECORD_HEADER_BYTES + length * Float.BYTES;
+	}
+
+	/**
+	 * Reads the vector stored under a key.
+	 * @param key the 32-byte key
+	 * @return a copy of the vector, or {@code null} if the key is not stored
+	 */
+	public synchronized float[] get(byte[] key) {
+		Long offset = index.get(ByteBuffer.wrap(key));
+		if (offset == null) {
+			return null;
+		}
+		ByteBuffer buffer = segments.get((int) (offset / segmentBytes)).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int position = (int) (offset % segmentBytes);
+		float[] vector = new float[buffer.getInt(position + KEY_BYTES)];
+		buffer.position(position + RECORD_HEADER_BYTES);
+		buffer.asFloatBuffer().get(vector);
+		return vector;
+	}
+
+	/**
+	 * Appends a vector unless its key is already stored.
+	 * @param key the 32-byte key
+	 * @param vector the vector
+	 * @throws IllegalArgumentException if the record does not fit in a segment
+	 * @throws UncheckedIOException if the file cannot be extended
+	 */
+	public synchronized void put(byte[] key, float[] vector) {
+		if (key.length != KEY_BYTES) {
+			throw new IllegalArgumentException("Key must be " + KEY_BYTES + " bytes");
+		}
+		int recordBytes = recordBytes(vector.length);
+		if (vector.length == 0 || recordBytes > segmentBytes - HEADER_BYTES) {
+			throw new IllegalArgumentException("Vector of " + vector.length + " floats does not fit in a segment");
+		}
+		ByteBuffer wrappedKey = ByteBuffer.wrap(key.clone());
+		if (index.containsKey(wrappedKey)) {
+			return;
+		}
+		int position = (int) (end % segmentBytes);
+		if (position + recordBytes > segmentBytes) {
+			if (position + RECORD_HEADER_BYTES <= segmentBytes) {
+				segments.get((int) (end / segmentBytes)).putInt(position + KEY_BYTES, SKIP_SEGMENT);
+			}
+			end = (end / segmentBytes + 1) * segmentBytes;
+			position = 0;
+		}
+		int segment = (int) (end / segmentBytes);
+		try {
+			while (segment >= segments.size()) {
+				segments.add(map(segments.size()));
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to extend embedding vector store", e);
+		}
+		ByteBuffer buffer = segments.get(segment).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int next = position + recordBytes;
+		if (next + RECORD_HEADER_BYTES <= segmentBytes) {
+			// the slot may hold a float of a longer record torn at this offset
+			buffer.putInt(next + KEY_BYTES, 0);
+		}
+		buffer.position(position);
+		buffer.put(key);
+		buffer.position(position + RECORD_HEADER_BYTES);
+		buffer.asFloatBuffer().put(vector);
+		// the length is written last, marking the record as complete
+		buffer.putInt(position + KEY_BYTES, vector.length);
+		index.put(wrappedKey, end);
+		end += recordBytes;
+	}
+
+	/**
+	 * Returns the number of stored vectors.
+	 * @return the record count
+	 */
+	public synchronized int size() {
+		return index.size();
+	}
+
+	/**
+	 * Writes the mapped segments back to the file.
+	 */
+	public synchronized void flush() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		flush();
+		channel.close();
+	}
+
+}
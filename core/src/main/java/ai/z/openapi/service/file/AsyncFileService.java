@@ -0,0 +1,42 @@
+package ai.z.openapi.service.file;
+
+import ai.z.openapi.core.response.HttpxBinaryResponseContent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking file service interface
+ */
+public interface AsyncFileService {
+
+	/**
+	 * Uploads a file to the server.
+	 * @param request the file upload request
+	 * @return a future of the FileApiResponse containing the upload result
+	 */
+	CompletableFuture<FileApiResponse> uploadFile(FileUploadParams request);
+
+	/**
+	 * Delete file by file ID.
+	 * @param request the file id to delete.
+	 * @return a future of the FileDelResponse containing the delete result
+	 */
+	CompletableFuture<FileDelResponse> deleteFile(FileDelRequest request);
+
+	/**
+	 * Lists all files.
+	 * @param queryFilesRequest FileListParams containing the query parameters for listing
+	 * files
+	 * @return a future of the QueryFileApiResponse containing the list of files
+	 */
+	CompletableFuture<QueryFileApiResponse> listFiles(FileListParams queryFilesRequest);
+
+	/**
+	 * Retrieves the content of a specific file. The future completes exceptionally with
+	 * an {@link java.io.IOException} if the content cannot be retrieved.
+	 * @param fileId the ID of the file to retrieve
+	 * @return a future of the HttpxBinaryResponseContent containing the file content
+	 */
+	CompletableFuture<HttpxBinaryResponseContent> retrieveFileContent(String fileId);
+
+}
@@ -0,0 +1,53 @@
+package ai.z.openapi.service.file;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.file.FileApi;
+import ai.z.openapi.core.response.HttpxBinaryResponseContent;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking file service implementation
+ */
+public class AsyncFileServiceImpl implements AsyncFileService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final FileApi fileApi;
+
+	public AsyncFileServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.fileApi = zAiClient.retrofit().create(FileApi.class);
+	}
+
+	@Override
+	public CompletableFuture<FileApiResponse> uploadFile(FileUploadParams request) {
+		FileServiceImpl.validateUploadParams(request);
+		RequestSupplier<FileUploadParams, File> supplier = (params) -> fileApi
+			.uploadFile(FileServiceImpl.uploadBody(params));
+		return this.zAiClient.executeRequestAsync(request, supplier, FileApiResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<FileDelResponse> deleteFile(FileDelRequest request) {
+		RequestSupplier<FileDelRequest, FileDeleted> supplier = (params -> fileApi.deletedFile(params.getFileId()));
+		return this.zAiClient.executeRequestAsync(request, supplier, FileDelResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<QueryFileApiResponse> listFiles(FileListParams queryFilesRequest) {
+		RequestSupplier<FileListParams, QueryFileResult> supplier = (params) -> fileApi.queryFileList(params.getAfter(),
+				params.getPurpose(), params.getOrder(), params.getLimit());
+		return this.zAiClient.executeRequestAsync(queryFilesRequest, supplier, QueryFileApiResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<HttpxBinaryResponseContent> retrieveFileContent(String fileId) {
+		return AbstractAiClient.enqueue(fileApi.fileContent(fileId))
+			.map(FileServiceImpl::binaryContent)
+			.toCompletionStage()
+			.toCompletableFuture();
+	}
+
+}
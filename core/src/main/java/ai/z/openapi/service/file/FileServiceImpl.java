@@ -28,59 +28,22 @@ public class FileServiceImpl implements FileService {
 
 	@Override
 	public FileApiResponse uploadFile(FileUploadParams request) {
-		if (request == null) {
-			throw new IllegalArgumentException("request cannot be null");
-		}
-		if (request.getFilePath() == null) {
-			throw new IllegalArgumentException("request path cannot be null");
-		}
-
-		RequestSupplier<FileUploadParams, File> supplier = (params) -> {
-			try {
-				java.io.File file = new java.io.File(params.getFilePath());
-				if (!file.exists()) {
-					throw new RuntimeException("file not found");
-				}
-				MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
-						RequestBody.create(MediaType.parse("application/octet-stream"), file));
-				MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
-				formBodyBuilder.addPart(filePart);
-				formBodyBuilder.addFormDataPart("purpose", params.getPurpose());
-				if (params.getExtraJson() != null) {
-					for (String s : params.getExtraJson().keySet()) {
-						if (params.getExtraJson().get(s) instanceof String
-								|| params.getExtraJson().get(s) instanceof Number
-								|| params.getExtraJson().get(s) instanceof Boolean
-								|| params.getExtraJson().get(s) instanceof Character) {
-							formBodyBuilder.addFormDataPart(s, params.getExtraJson().get(s).toString());
-						}
-						else if (params.getExtraJson().get(s) instanceof Date) {
-							Date date = (Date) params.getExtraJson().get(s);
-							formBodyBuilder.addFormDataPart(s, String.valueOf(date.getTime()));
-						}
-					}
-				}
-				MultipartBody multipartBody = formBodyBuilder.build();
-				return fileApi.uploadFile(multipartBody);
-			}
-			catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		};
-		return this.zAiClient.executeRequest(request, supplier, FileApiResponse.class);
+		validateUploadParams(request);
+		RequestSupplier<FileUploadParams, File> supplier = (params) -> fileApi.uploadFile(uploadBody(params));
+		return this.zAiClient.executeRequest(request, supplier, FileApiResponse::new);
 	}
 
 	@Override
 	public FileDelResponse deleteFile(FileDelRequest request) {
 		RequestSupplier<FileDelRequest, FileDeleted> supplier = (params -> fileApi.deletedFile(params.getFileId()));
-		return this.zAiClient.executeRequest(request, supplier, FileDelResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, FileDelResponse::new);
 	}
 
 	@Override
 	public QueryFileApiResponse listFiles(FileListParams queryFilesRequest) {
 		RequestSupplier<FileListParams, QueryFileResult> supplier = (params) -> fileApi.queryFileList(params.getAfter(),
 				params.getPurpose(), params.getOrder(), params.getLimit());
-		return this.zAiClient.executeRequest(queryFilesRequest, supplier, QueryFileApiResponse.class);
+		return this.zAiClient.executeRequest(queryFilesRequest, supplier, QueryFileApiResponse::new);
 	}
 
 	@Override
@@ -89,11 +52,54 @@ public class FileServiceImpl implements FileService {
 	}
 
 	private HttpxBinaryResponseContent fileWrapper(retrofit2.Call<ResponseBody> response) throws IOException {
-		Response<ResponseBody> execute = response.execute();
-		if (!execute.isSuccessful() || execute.body() == null) {
+		return binaryContent(response.execute());
+	}
+
+	static HttpxBinaryResponseContent binaryContent(Response<ResponseBody> response) throws IOException {
+		if (!response.isSuccessful() || response.body() == null) {
 			throw new IOException("Failed to get the file content");
 		}
-		return new HttpxBinaryResponseContent(execute);
+		return new HttpxBinaryResponseContent(response);
+	}
+
+	static void validateUploadParams(FileUploadParams request) {
+		if (request == null) {
+			throw new IllegalArgumentException("request cannot be null");
+		}
+		if (request.getFilePath() == null) {
+			throw new IllegalArgumentException("request path cannot be null");
+		}
+	}
+
+	static MultipartBody uploadBody(FileUploadParams params) {
+		try {
+			java.io.File file = new java.io.File(params.getFilePath());
+			if (!file.exists()) {
+				throw new RuntimeException("file not found");
+			}
+			MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
+					RequestBody.create(MediaType.parse("application/octet-stream"), file));
+			MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+			formBodyBuilder.addPart(filePart);
+			formBodyBuilder.addFormDataPart("purpose", params.getPurpose());
+			if (params.getExtraJson() != null) {
+				for (String s : params.getExtraJson().keySet()) {
+					if (params.getExtraJson().get(s) instanceof String || params.getExtraJson().get(s) instanceof Number
+							|| params.getExtraJson().get(s) instanceof Boolean
+							|| params.getExtraJson().get(s) instanceof Character) {
+						formBodyBuilder.addFormDataPart(s, params.getExtraJson().get(s).toString());
+					}
+					else if (params.getExtraJson().get(s) instanceof Date) {
+						Date date = (Date) params.getExtraJson().get(s);
+						formBodyBuilder.addFormDataPart(s, String.valueOf(date.getTime()));
+					}
+				}
+			}
+			return formBodyBuilder.build();
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 }
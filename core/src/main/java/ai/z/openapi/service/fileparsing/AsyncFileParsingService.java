@@ -0,0 +1,37 @@
+package ai.z.openapi.service.fileparsing;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking file parsing service interface
+ */
+public interface AsyncFileParsingService {
+
+	/**
+	 * Submits a file parsing task to the server.
+	 * @param request The file parsing upload request
+	 * @return a future of the FileParsingResponse containing the parsing task info
+	 */
+	CompletableFuture<FileParsingResponse> createParseTask(FileParsingUploadReq request);
+
+	/**
+	 * Retrieves the result of a parsing task. The future completes exceptionally with an
+	 * {@link java.io.IOException} if the result cannot be downloaded.
+	 * @param request The parsing result query request (can include taskId, formatType
+	 * etc)
+	 * @return a future of the FileParsingDownloadResponse containing the result content
+	 */
+	CompletableFuture<FileParsingDownloadResponse> getParseResult(FileParsingDownloadReq request);
+
+	/**
+	 * Executes a file parsing operation that returns the parsing result in the same
+	 * response, using the specified tool and file type. The future completes
+	 * exceptionally with an {@link java.io.IOException} if the parsing fails.
+	 * @param request The file parsing upload request (contains file path, tool type, file
+	 * type, etc.)
+	 * @return a future of the FileParsingDownloadResponse containing the parsed content
+	 * and status
+	 */
+	CompletableFuture<FileParsingDownloadResponse> syncParse(FileParsingUploadReq request);
+
+}
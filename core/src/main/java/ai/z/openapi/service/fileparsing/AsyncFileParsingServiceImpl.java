@@ -0,0 +1,50 @@
+package ai.z.openapi.service.fileparsing;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.fileparsing.FileParsingApi;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking file parsing service implementation. Every call is enqueued on the HTTP
+ * client dispatcher, including the ones the blocking service executes directly.
+ */
+public class AsyncFileParsingServiceImpl implements AsyncFileParsingService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final FileParsingApi fileParsingApi;
+
+	public AsyncFileParsingServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.fileParsingApi = zAiClient.retrofit().create(FileParsingApi.class);
+	}
+
+	@Override
+	public CompletableFuture<FileParsingResponse> createParseTask(FileParsingUploadReq request) {
+		FileParsingServiceImpl.validateCreateParseTaskParams(request);
+		RequestSupplier<FileParsingUploadReq, FileParsingUploadResp> supplier = params -> fileParsingApi
+			.createParseTask(FileParsingServiceImpl.createParseTaskBody(params));
+		return this.zAiClient.executeRequestAsync(request, supplier, FileParsingResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<FileParsingDownloadResponse> getParseResult(FileParsingDownloadReq request) {
+		FileParsingServiceImpl.validateGetParseResultParams(request);
+		RequestSupplier<FileParsingDownloadReq, FileParsingDownloadResp> supplier = params -> AbstractAiClient
+			.enqueue(fileParsingApi.downloadParseResult(params.getTaskId(), params.getFormatType()))
+			.map(FileParsingServiceImpl::parseResult);
+		return this.zAiClient.executeRequestAsync(request, supplier, FileParsingDownloadResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<FileParsingDownloadResponse> syncParse(FileParsingUploadReq request) {
+		FileParsingServiceImpl.validateSyncParseParams(request);
+		RequestSupplier<FileParsingUploadReq, FileParsingDownloadResp> supplier = params -> AbstractAiClient
+			.enqueue(fileParsingApi.syncParse(FileParsingServiceImpl.syncParseBody(params)))
+			.map(FileParsingServiceImpl::syncParseResult);
+		return this.zAiClient.executeRequestAsync(request, supplier, FileParsingDownloadResponse::new);
+	}
+
+}
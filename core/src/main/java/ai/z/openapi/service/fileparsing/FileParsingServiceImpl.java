@@ -3,8 +3,10 @@ package ai.z.openapi.service.fileparsing;
 import ai.z.openapi.AbstractAiClient;
 import ai.z.openapi.api.fileparsing.FileParsingApi;
 import ai.z.openapi.core.response.HttpxBinaryResponseContent;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.utils.RequestSupplier;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.reactivex.rxjava3.core.Single;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -20,6 +22,11 @@ import java.io.IOException;
  */
 public class FileParsingServiceImpl implements FileParsingService {
 
+	/** Reads parse results strictly, failing on properties the SDK does not know */
+	private static final ObjectReader PARSE_RESULT_READER = JsonMappers.plain()
+		.reader(FileParsingDownloadResp.class)
+		.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
 	private final AbstractAiClient zAiClient;
 
 	private final FileParsingApi fileParsingApi;
@@ -31,6 +38,47 @@ public class FileParsingServiceImpl implements FileParsingService {
 
 	@Override
 	public FileParsingResponse createParseTask(FileParsingUploadReq request) {
+		validateCreateParseTaskParams(request);
+		RequestSupplier<FileParsingUploadReq, FileParsingUploadResp> supplier = params -> fileParsingApi
+			.createParseTask(createParseTaskBody(params));
+		return this.zAiClient.executeRequest(request, supplier, FileParsingResponse::new);
+	}
+
+	@Override
+	public FileParsingDownloadResponse getParseResult(FileParsingDownloadReq request) {
+		validateGetParseResultParams(request);
+		RequestSupplier<FileParsingDownloadReq, FileParsingDownloadResp> supplier = params -> {
+			try {
+				retrofit2.Call<ResponseBody> call = fileParsingApi.downloadParseResult(request.getTaskId(),
+						request.getFormatType());
+				return Single.just(parseResult(call.execute()));
+			}
+			catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		};
+
+		return this.zAiClient.executeRequest(request, supplier, FileParsingDownloadResponse::new);
+	}
+
+	@Override
+	public FileParsingDownloadResponse syncParse(FileParsingUploadReq request) {
+		validateSyncParseParams(request);
+		RequestSupplier<FileParsingUploadReq, FileParsingDownloadResp> supplier = params -> {
+			try {
+				// Send a POST request
+				retrofit2.Call<FileParsingDownloadResp> call = fileParsingApi.syncParse(syncParseBody(params));
+				return Single.just(syncParseResult(call.execute()));
+			}
+			catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		};
+
+		return this.zAiClient.executeRequest(request, supplier, FileParsingDownloadResponse::new);
+	}
+
+	static void validateCreateParseTaskParams(FileParsingUploadReq request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -40,37 +88,9 @@ public class FileParsingServiceImpl implements FileParsingService {
 		if (request.getToolType() == null) {
 			throw new IllegalArgumentException("toolType cannot be null");
 		}
-		// Construct multipart/form-data
-		RequestSupplier<FileParsingUploadReq, FileParsingUploadResp> supplier = params -> {
-			try {
-				File file = new File(params.getFilePath());
-				if (!file.exists()) {
-					throw new RuntimeException("file not found");
-				}
-
-				String toolType = params.getToolType();
-				String fileType = params.getFileType() == null ? "" : params.getFileType();
-
-				MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
-						RequestBody.create(MediaType.parse("application/octet-stream"), file));
-				MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
-				formBodyBuilder.addPart(filePart);
-				formBodyBuilder.addFormDataPart("tool_type", toolType);
-				formBodyBuilder.addFormDataPart("file_type", fileType);
-
-				MultipartBody multipartBody = formBodyBuilder.build();
-
-				return fileParsingApi.createParseTask(multipartBody);
-			}
-			catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		};
-		return this.zAiClient.executeRequest(request, supplier, FileParsingResponse.class);
 	}
 
-	@Override
-	public FileParsingDownloadResponse getParseResult(FileParsingDownloadReq request) {
+	static void validateGetParseResultParams(FileParsingDownloadReq request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -80,35 +100,9 @@ public class FileParsingServiceImpl implements FileParsingService {
 		if (request.getFormatType() == null) {
 			throw new IllegalArgumentException("formatType cannot be null");
 		}
-
-		RequestSupplier<FileParsingDownloadReq, FileParsingDownloadResp> supplier = params -> {
-			try {
-				retrofit2.Call<ResponseBody> call = fileParsingApi.downloadParseResult(request.getTaskId(),
-						request.getFormatType());
-				Response<ResponseBody> execute = call.execute();
-				if (!execute.isSuccessful() || execute.body() == null) {
-					throw new IOException("Failed to download parse result");
-				}
-
-				HttpxBinaryResponseContent httpxBinaryResponseContent = new HttpxBinaryResponseContent(execute);
-				String result = httpxBinaryResponseContent.getText();
-
-				ObjectMapper mapper = new ObjectMapper();
-				FileParsingDownloadResp fileParsingDownloadResp = mapper.readValue(result,
-						FileParsingDownloadResp.class);
-
-				return Single.just(fileParsingDownloadResp);
-			}
-			catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		};
-
-		return this.zAiClient.executeRequest(request, supplier, FileParsingDownloadResponse.class);
 	}
 
-	@Override
-	public FileParsingDownloadResponse syncParse(FileParsingUploadReq request) {
+	static void validateSyncParseParams(FileParsingUploadReq request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -118,44 +112,69 @@ public class FileParsingServiceImpl implements FileParsingService {
 		if (request.getToolType() == null) {
 			throw new IllegalArgumentException("toolType cannot be null");
 		}
+	}
 
-		RequestSupplier<FileParsingUploadReq, FileParsingDownloadResp> supplier = params -> {
-			try {
-				File file = new File(params.getFilePath());
-				if (!file.exists()) {
-					throw new RuntimeException("file not found at " + params.getFilePath());
-				}
+	// Construct multipart/form-data
+	static MultipartBody createParseTaskBody(FileParsingUploadReq params) {
+		try {
+			File file = new File(params.getFilePath());
+			if (!file.exists()) {
+				throw new RuntimeException("file not found");
+			}
 
-				String toolType = params.getToolType();
-				String fileType = params.getFileType();
+			String toolType = params.getToolType();
+			String fileType = params.getFileType() == null ? "" : params.getFileType();
 
-				// Construct multipart/form-data
-				MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
-						RequestBody.create(MediaType.parse("application/octet-stream"), file));
-				MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
-				formBodyBuilder.addPart(filePart);
-				formBodyBuilder.addFormDataPart("tool_type", toolType);
-				formBodyBuilder.addFormDataPart("file_type", fileType);
+			MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
+					RequestBody.create(MediaType.parse("application/octet-stream"), file));
+			MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+			formBodyBuilder.addPart(filePart);
+			formBodyBuilder.addFormDataPart("tool_type", toolType);
+			formBodyBuilder.addFormDataPart("file_type", fileType);
 
-				MultipartBody multipartBody = formBodyBuilder.build();
+			return formBodyBuilder.build();
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
 
-				// Send a POST request
-				retrofit2.Call<FileParsingDownloadResp> call = fileParsingApi.syncParse(multipartBody);
-				Response<FileParsingDownloadResp> response = call.execute();
-				if (!response.isSuccessful() || response.body() == null) {
-					throw new IOException(
-							"Failed to sync parse, code: " + response.code() + ", msg: " + response.message());
-				}
+	static MultipartBody syncParseBody(FileParsingUploadReq params) {
+		File file = new File(params.getFilePath());
+		if (!file.exists()) {
+			throw new RuntimeException("file not found at " + params.getFilePath());
+		}
 
-				return Single.just(response.body());
+		String toolType = params.getToolType();
+		String fileType = params.getFileType();
 
-			}
-			catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		};
+		// Construct multipart/form-data
+		MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
+				RequestBody.create(MediaType.parse("application/octet-stream"), file));
+		MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+		formBodyBuilder.addPart(filePart);
+		formBodyBuilder.addFormDataPart("tool_type", toolType);
+		formBodyBuilder.addFormDataPart("file_type", fileType);
+
+		return formBodyBuilder.build();
+	}
+
+	static FileParsingDownloadResp parseResult(Response<ResponseBody> response) throws IOException {
+		if (!response.isSuccessful() || response.body() == null) {
+			throw new IOException("Failed to download parse result");
+		}
+
+		HttpxBinaryResponseContent httpxBinaryResponseContent = new HttpxBinaryResponseContent(response);
+		String result = httpxBinaryResponseContent.getText();
 
-		return this.zAiClient.executeRequest(request, supplier, FileParsingDownloadResponse.class);
+		return PARSE_RESULT_READER.readValue(result);
+	}
+
+	static FileParsingDownloadResp syncParseResult(Response<FileParsingDownloadResp> response) throws IOException {
+		if (!response.isSuccessful() || response.body() == null) {
+			throw new IOException("Failed to sync parse, code: " + response.code() + ", msg: " + response.message());
+		}
+		return response.body();
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package ai.z.openapi.service.image;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking image generation service interface
+ */
+public interface AsyncImageService {
+
+	/**
+	 * Creates an image based on the provided request.
+	 * @param createImageRequest the image generation request
+	 * @return a future of the ImageResponse containing the generated image
+	 */
+	CompletableFuture<ImageResponse> createImage(CreateImageRequest createImageRequest);
+
+	/**
+	 * Creates an asynchronous image generation task.
+	 * @param createImageRequest the image generation request
+	 * @return a future of the AsyncImageResponse containing the task information
+	 */
+	CompletableFuture<AsyncImageResponse> createImageAsync(CreateImageRequest createImageRequest);
+
+	/**
+	 * Queries the result of an asynchronous image generation task.
+	 * @param taskId the task id returned by {@link #createImageAsync}
+	 * @return a future of the AsyncImageResponse containing the task result
+	 */
+	CompletableFuture<AsyncImageResponse> queryAsyncResult(String taskId);
+
+}
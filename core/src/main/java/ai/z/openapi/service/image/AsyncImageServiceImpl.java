@@ -0,0 +1,44 @@
+package ai.z.openapi.service.image;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.images.ImagesApi;
+import ai.z.openapi.service.model.AsyncResultRetrieveParams;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking image generation service implementation
+ */
+public class AsyncImageServiceImpl implements AsyncImageService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final ImagesApi imagesApi;
+
+	public AsyncImageServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.imagesApi = zAiClient.retrofit().create(ImagesApi.class);
+	}
+
+	@Override
+	public CompletableFuture<ImageResponse> createImage(CreateImageRequest createImageRequest) {
+		RequestSupplier<CreateImageRequest, ImageResult> supplier = imagesApi::createImage;
+		return this.zAiClient.executeRequestAsync(createImageRequest, supplier, ImageResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<AsyncImageResponse> createImageAsync(CreateImageRequest createImageRequest) {
+		RequestSupplier<CreateImageRequest, AsyncImageResult> supplier = imagesApi::createImageAsync;
+		return this.zAiClient.executeRequestAsync(createImageRequest, supplier, AsyncImageResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<AsyncImageResponse> queryAsyncResult(String taskId) {
+		AsyncResultRetrieveParams request = new AsyncResultRetrieveParams(taskId);
+		RequestSupplier<AsyncResultRetrieveParams, AsyncImageResult> supplier = (params) -> imagesApi
+			.queryAsyncResult(params.getTaskId());
+		return zAiClient.executeRequestAsync(request, supplier, AsyncImageResponse::new);
+	}
+
+}
@@ -22,13 +22,13 @@ public class ImageServiceImpl implements ImageService {
 	@Override
 	public ImageResponse createImage(CreateImageRequest createImageRequest) {
 		RequestSupplier<CreateImageRequest, ImageResult> supplier = imagesApi::createImage;
-		return this.zAiClient.executeRequest(createImageRequest, supplier, ImageResponse.class);
+		return this.zAiClient.executeRequest(createImageRequest, supplier, ImageResponse::new);
 	}
 
 	@Override
 	public AsyncImageResponse createImageAsync(CreateImageRequest createImageRequest) {
 		RequestSupplier<CreateImageRequest, AsyncImageResult> supplier = imagesApi::createImageAsync;
-		return this.zAiClient.executeRequest(createImageRequest, supplier, AsyncImageResponse.class);
+		return this.zAiClient.executeRequest(createImageRequest, supplier, AsyncImageResponse::new);
 	}
 
 	@Override
@@ -36,7 +36,7 @@ public class ImageServiceImpl implements ImageService {
 		AsyncResultRetrieveParams request = new AsyncResultRetrieveParams(taskId);
 		RequestSupplier<AsyncResultRetrieveParams, AsyncImageResult> supplier = (params) -> imagesApi
 			.queryAsyncResult(params.getTaskId());
-		return zAiClient.executeRequest(request, supplier, AsyncImageResponse.class);
+		return zAiClient.executeRequest(request, supplier, AsyncImageResponse::new);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package ai.z.openapi.service.layoutparsing;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking layout parsing service interface
+ */
+public interface AsyncLayoutParsingService {
+
+	/**
+	 * Parses the layout of a document.
+	 * @param request the layout parsing request
+	 * @return a future of the LayoutParsingResponse containing the parsing result
+	 */
+	CompletableFuture<LayoutParsingResponse> layoutParsing(LayoutParsingCreateParams request);
+
+}
@@ -0,0 +1,30 @@
+package ai.z.openapi.service.layoutparsing;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.layoutparsing.LayoutParsingApi;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking layout parsing service implementation
+ */
+public class AsyncLayoutParsingServiceImpl implements AsyncLayoutParsingService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final LayoutParsingApi layoutParsingApi;
+
+	public AsyncLayoutParsingServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.layoutParsingApi = zAiClient.retrofit().create(LayoutParsingApi.class);
+	}
+
+	@Override
+	public CompletableFuture<LayoutParsingResponse> layoutParsing(LayoutParsingCreateParams request) {
+		LayoutParsingServiceImpl.validateParams(request);
+		RequestSupplier<LayoutParsingCreateParams, LayoutParsingResult> supplier = layoutParsingApi::layoutParsing;
+		return this.zAiClient.executeRequestAsync(request, supplier, LayoutParsingResponse::new);
+	}
+
+}
@@ -19,10 +19,10 @@ public class LayoutParsingServiceImpl implements LayoutParsingService {
 	public LayoutParsingResponse layoutParsing(LayoutParsingCreateParams request) {
 		validateParams(request);
 		RequestSupplier<LayoutParsingCreateParams, LayoutParsingResult> supplier = layoutParsingApi::layoutParsing;
-		return this.zAiClient.executeRequest(request, supplier, LayoutParsingResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, LayoutParsingResponse::new);
 	}
 
-	private void validateParams(LayoutParsingCreateParams request) {
+	static void validateParams(LayoutParsingCreateParams request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
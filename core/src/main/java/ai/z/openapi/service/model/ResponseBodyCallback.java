@@ -1,6 +1,7 @@
 package ai.z.openapi.service.model;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import ai.z.openapi.service.deserialize.JsonMappers;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.reactivex.rxjava3.core.FlowableEmitter;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -8,19 +9,15 @@ import retrofit2.Callback;
 import retrofit2.HttpException;
 import retrofit2.Response;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 
 /**
- * Callback to parse Server Sent Events (SSE) from raw InputStream and emit the events
- * with io.reactivex.FlowableEmitter to allow streaming of SSE.
+ * Callback to parse Server Sent Events (SSE) from the raw response source and emit the
+ * events with io.reactivex.FlowableEmitter to allow streaming of SSE.
  */
 public class ResponseBodyCallback implements Callback<ResponseBody> {
 
-	private static final ObjectMapper mapper = new ObjectMapper();
+	private static final ObjectReader errorReader = JsonMappers.plain().reader(ZAiError.class);
 
 	private FlowableEmitter<SSE> emitter;
 
@@ -33,46 +30,22 @@ public class ResponseBodyCallback implements Callback<ResponseBody> {
 
 	@Override
 	public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-		BufferedReader reader = null;
+		SSEReader reader = null;
 
 		try {
-			if (!response.isSuccessful()) {
-				HttpException e = new HttpException(response);
-				ResponseBody errorBody = response.errorBody();
-				if (errorBody == null) {
-					throw e;
-				}
-				else {
-					ZAiError error = mapper.readValue(errorBody.string(), ZAiError.class);
-
-					throw new ZAiHttpException(error, e, e.code());
-				}
-			}
+			checkResponse(response);
 
-			InputStream in = response.body().byteStream();
-			reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-			String line;
-			SSE sse = null;
+			reader = new SSEReader(response.body().source());
+			SSE sse;
 
-			while (!emitter.isCancelled() && (line = reader.readLine()) != null) {
-				if (line.startsWith("data:")) {
-					String data = line.substring(5).trim();
-					sse = new SSE(data);
-				}
-				else if (line.equals("") && sse != null) {
-					if (sse.isDone()) {
-						if (emitDone) {
-							emitter.onNext(sse);
-						}
-						break;
+			while (!emitter.isCancelled() && (sse = reader.next()) != null) {
+				if (sse.isDone()) {
+					if (emitDone) {
+						emitter.onNext(sse);
 					}
-
-					emitter.onNext(sse);
-					sse = null;
-				}
-				else {
-					throw new SSEFormatException("Invalid sse format! " + line);
+					break;
 				}
+				emitter.onNext(sse);
 			}
 
 			emitter.onComplete();
@@ -93,6 +66,28 @@ public class ResponseBodyCallback implements Callback<ResponseBody> {
 		}
 	}
 
+	/**
+	 * Throws the mapped error of an unsuccessful streaming response.
+	 * @param response the raw response of the streaming call
+	 * @throws ZAiHttpException if the error body can be parsed as a ZAI error
+	 * @throws HttpException if the response is unsuccessful without an error body
+	 * @throws IOException if the error body cannot be read
+	 */
+	public static void checkResponse(Response<ResponseBody> response) throws IOException {
+		if (!response.isSuccessful()) {
+			HttpException e = new HttpException(response);
+			ResponseBody errorBody = response.errorBody();
+			if (errorBody == null) {
+				throw e;
+			}
+			else {
+				ZAiError error = errorReader.readValue(errorBody.string());
+
+				throw new ZAiHttpException(error, e, e.code());
+			}
+		}
+	}
+
 	@Override
 	public void onFailure(Call<ResponseBody> call, Throwable t) {
 		emitter.onError(t);
@@ -1,28 +1,124 @@
 package ai.z.openapi.service.model;
 
+import java.nio.charset.StandardCharsets;
+
 /**
- * Simple Server Sent Event representation
+ * Server Sent Event representation carrying the event name, id, reconnection time and the
+ * (possibly multi-line) data of one dispatched event. The payload may be backed by raw
+ * UTF-8 bytes straight from the wire, in which case the {@code String} form is only
+ * decoded when {@link #getData()} is called.
  */
 public class SSE {
 
-	private static final String DONE_DATA = "[DONE]";
+	private static final byte[] DONE_DATA = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+
+	private static final String DEFAULT_EVENT = "message";
+
+	private final String event;
+
+	private final String id;
+
+	private final Long retry;
 
-	private final String data;
+	private String data;
+
+	private byte[] rawData;
 
 	public SSE(String data) {
+		this(null, null, null, data);
+	}
+
+	public SSE(byte[] rawData) {
+		this(null, null, null, rawData);
+	}
+
+	public SSE(String event, String id, Long retry, String data) {
+		this.event = event;
+		this.id = id;
+		this.retry = retry;
 		this.data = data;
 	}
 
+	public SSE(String event, String id, Long retry, byte[] rawData) {
+		this.event = event;
+		this.id = id;
+		this.retry = retry;
+		this.rawData = rawData;
+	}
+
+	/**
+	 * Returns the event name set by the {@code event:} field.
+	 * @return the event name, {@code "message"} when the server did not name the event
+	 */
+	public String getEvent() {
+		return this.event == null || this.event.isEmpty() ? DEFAULT_EVENT : this.event;
+	}
+
+	/**
+	 * Returns the last event id seen on the stream when this event was dispatched.
+	 * @return the event id, or {@code null} if the server never sent one
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * Returns the reconnection time requested by the server.
+	 * @return the reconnection time in milliseconds, or {@code null} if none was sent
+	 */
+	public Long getRetry() {
+		return this.retry;
+	}
+
 	public String getData() {
+		if (this.data == null && this.rawData != null) {
+			this.data = new String(this.rawData, StandardCharsets.UTF_8);
+		}
 		return this.data;
 	}
 
+	/**
+	 * Returns the UTF-8 encoded payload, suitable for handing directly to a JSON parser.
+	 * @return the payload bytes, or {@code null} if the event has no data
+	 */
+	public byte[] getRawData() {
+		if (this.rawData == null && this.data != null) {
+			this.rawData = this.data.getBytes(StandardCharsets.UTF_8);
+		}
+		return this.rawData;
+	}
+
 	public byte[] toBytes() {
-		return String.format("data: %s\n\n", this.data).getBytes();
+		StringBuilder sb = new StringBuilder();
+		if (this.event != null) {
+			sb.append("event: ").append(this.event).append('\n');
+		}
+		if (this.id != null) {
+			sb.append("id: ").append(this.id).append('\n');
+		}
+		if (this.retry != null) {
+			sb.append("retry: ").append(this.retry).append('\n');
+		}
+		String payload = getData();
+		if (payload != null) {
+			for (String line : payload.split("\n", -1)) {
+				sb.append("data: ").append(line).append('\n');
+			}
+		}
+		return sb.append('\n').toString().getBytes(StandardCharsets.UTF_8);
 	}
 
 	public boolean isDone() {
-		return DONE_DATA.equalsIgnoreCase(this.data);
+		byte[] bytes = getRawData();
+		if (bytes == null || bytes.length != DONE_DATA.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (Character.toUpperCase(bytes[i]) != DONE_DATA[i]) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-}
\ No newline at end of file
+}
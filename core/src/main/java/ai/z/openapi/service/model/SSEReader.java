@@ -0,0 +1,199 @@
+package ai.z.openapi.service.model;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Byte-level Server Sent Events (SSE) reader working directly on an Okio
+ * {@link BufferedSource}. Lines are located with {@link BufferedSource#indexOf(byte)} and
+ * the {@code data:} payload is copied out of the source buffer exactly once, so no
+ * intermediate line {@code String} is created for each event.
+ *
+ * <p>
+ * The reader follows the WHATWG event stream format: {@code data} lines of one event are
+ * joined with {@code '\n'}, the {@code event}, {@code id} and {@code retry} fields are
+ * attached to the dispatched {@link SSE}, and comment lines (for example
+ * {@code : keep-alive}), unknown fields and blank heartbeats are skipped instead of
+ * failing the stream. Lines may end with {@code "\n"} or {@code "\r\n"}.
+ * </p>
+ */
+public class SSEReader implements Closeable {
+
+	private static final ByteString BOM = ByteString.decodeHex("efbbbf");
+
+	private static final ByteString FIELD_DATA = ByteString.encodeUtf8("data");
+
+	private static final ByteString FIELD_EVENT = ByteString.encodeUtf8("event");
+
+	private static final ByteString FIELD_ID = ByteString.encodeUtf8("id");
+
+	private static final ByteString FIELD_RETRY = ByteString.encodeUtf8("retry");
+
+	private final BufferedSource source;
+
+	/** Accumulates the data of events made of more than one data line. */
+	private final Buffer dataBuffer = new Buffer();
+
+	private boolean started;
+
+	/** Last event id seen on the stream, carried over to subsequent events. */
+	private String lastEventId;
+
+	/** Last reconnection time in milliseconds sent by the server. */
+	private Long retry;
+
+	public SSEReader(BufferedSource source) {
+		this.source = source;
+	}
+
+	/**
+	 * Reads the next event from the source, blocking until a complete event is available.
+	 * @return the next event, or {@code null} when the source is exhausted
+	 * @throws IOException if reading from the source fails
+	 */
+	public SSE next() throws IOException {
+		if (!started) {
+			started = true;
+			if (source.rangeEquals(0, BOM)) {
+				source.skip(BOM.size());
+			}
+		}
+		byte[] data = null;
+		int dataLines = 0;
+		String event = null;
+		while (true) {
+			long lineEnd = source.indexOf((byte) '\n');
+			boolean terminated = lineEnd != -1;
+			if (!terminated) {
+				if (source.exhausted()) {
+					dataBuffer.clear();
+					return null;
+				}
+				lineEnd = source.getBuffer().size();
+			}
+			Buffer buffer = source.getBuffer();
+			long lineLength = lineEnd;
+			if (lineLength > 0 && buffer.getByte(lineLength - 1) == '\r') {
+				lineLength--;
+			}
+			long consumed = terminated ? lineEnd + 1 : lineEnd;
+
+			if (lineLength == 0) {
+				source.skip(consumed);
+				if (dataLines == 0) {
+					// heartbeat or an event without data, nothing to dispatch
+					event = null;
+					continue;
+				}
+				if (dataLines > 1) {
+					data = dataBuffer.readByteArray();
+				}
+				return new SSE(event, lastEventId, retry, data);
+			}
+			if (buffer.getByte(0) == ':') {
+				source.skip(consumed);
+				continue;
+			}
+
+			long colon = buffer.indexOf((byte) ':', 0, lineLength);
+			long nameLength = colon == -1 ? lineLength : colon;
+			long valueStart = colon == -1 ? lineLength : colon + 1;
+			if (valueStart < lineLength && buffer.getByte(valueStart) == ' ') {
+				valueStart++;
+			}
+
+			if (isField(buffer, nameLength, FIELD_DATA)) {
+				byte[] value = readValue(valueStart, lineLength, consumed);
+				if (dataLines == 0) {
+					data = value;
+				}
+				else {
+					if (dataLines == 1) {
+						dataBuffer.write(data);
+					}
+					dataBuffer.writeByte('\n').write(value);
+				}
+				dataLines++;
+			}
+			else if (isField(buffer, nameLength, FIELD_EVENT)) {
+				event = readValueUtf8(valueStart, lineLength, consumed);
+			}
+			else if (isField(buffer, nameLength, FIELD_ID)) {
+				String id = readValueUtf8(valueStart, lineLength, consumed);
+				if (id.indexOf('\0') == -1) {
+					lastEventId = id;
+				}
+			}
+			else if (isField(buffer, nameLength, FIELD_RETRY)) {
+				String value = readValueUtf8(valueStart, lineLength, consumed);
+				if (!value.isEmpty() && isDigits(value)) {
+					retry = Long.parseLong(value);
+				}
+			}
+			else {
+				// unknown fields are ignored
+				source.skip(consumed);
+			}
+		}
+	}
+
+	private static boolean isField(Buffer buffer, long nameLength, ByteString field) {
+		return nameLength == field.size() && buffer.rangeEquals(0, field);
+	}
+
+	private static boolean isDigits(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return value.length() <= 18;
+	}
+
+	/**
+	 * Consumes one line and returns the bytes between {@code start} and {@code end}.
+	 */
+	private byte[] readValue(long start, long end, long consumed) throws IOException {
+		source.skip(start);
+		byte[] bytes = source.readByteArray(end - start);
+		source.skip(consumed - end);
+		return bytes;
+	}
+
+	private String readValueUtf8(long start, long end, long consumed) throws IOException {
+		source.skip(start);
+		String value = source.readUtf8(end - start);
+		source.skip(consumed - end);
+		return value;
+	}
+
+	/**
+	 * Returns the id of the last event received, to be sent as {@code Last-Event-ID} when
+	 * reconnecting.
+	 * @return the last event id, or {@code null} if none was received
+	 */
+	public String getLastEventId() {
+		return lastEventId;
+	}
+
+	/**
+	 * Returns the reconnection time requested by the server through the {@code retry}
+	 * field.
+	 * @return the reconnection time in milliseconds, or {@code null} if none was received
+	 */
+	public Long getRetry() {
+		return retry;
+	}
+
+	@Override
+	public void close() throws IOException {
+		dataBuffer.clear();
+		source.close();
+	}
+
+}
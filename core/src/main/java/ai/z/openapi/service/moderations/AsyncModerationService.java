@@ -0,0 +1,17 @@
+package ai.z.openapi.service.moderations;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking content moderation service interface
+ */
+public interface AsyncModerationService {
+
+	/**
+	 * Runs content safety detection on the given input.
+	 * @param request the moderation request
+	 * @return a future of the ModerationResponse containing the moderation result
+	 */
+	CompletableFuture<ModerationResponse> createModeration(ModerationCreateParams request);
+
+}
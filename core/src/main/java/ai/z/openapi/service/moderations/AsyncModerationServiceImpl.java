@@ -0,0 +1,29 @@
+package ai.z.openapi.service.moderations;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.moderations.ModerationApi;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking content moderation service implementation
+ */
+public class AsyncModerationServiceImpl implements AsyncModerationService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final ModerationApi moderationApi;
+
+	public AsyncModerationServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.moderationApi = zAiClient.retrofit().create(ModerationApi.class);
+	}
+
+	@Override
+	public CompletableFuture<ModerationResponse> createModeration(ModerationCreateParams request) {
+		RequestSupplier<ModerationCreateParams, ModerationResult> supplier = moderationApi::createModeration;
+		return this.zAiClient.executeRequestAsync(request, supplier, ModerationResponse::new);
+	}
+
+}
@@ -21,7 +21,7 @@ public class ModerationServiceImpl implements ModerationService {
 	@Override
 	public ModerationResponse createModeration(ModerationCreateParams request) {
 		RequestSupplier<ModerationCreateParams, ModerationResult> supplier = moderationApi::createModeration;
-		return this.zAiClient.executeRequest(request, supplier, ModerationResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, ModerationResponse::new);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package ai.z.openapi.service.ocr;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking handwriting recognition service interface
+ */
+public interface AsyncHandwritingOcrService {
+
+	/**
+	 * Executes a handwriting recognition operation. The future completes exceptionally
+	 * with an {@link java.io.IOException} if the recognition fails.
+	 * @param request The OCR upload request (contains file path, tool type, language
+	 * type)
+	 * @return a future of the HandwritingOcrResponse containing the recognition result
+	 */
+	CompletableFuture<HandwritingOcrResponse> recognize(HandwritingOcrUploadReq request);
+
+}
@@ -0,0 +1,33 @@
+package ai.z.openapi.service.ocr;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.ocr.HandwritingOcrApi;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking handwriting recognition service implementation. The recognition call is
+ * enqueued on the HTTP client dispatcher instead of being executed directly.
+ */
+public class AsyncHandwritingOcrServiceImpl implements AsyncHandwritingOcrService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final HandwritingOcrApi handwritingOcrApi;
+
+	public AsyncHandwritingOcrServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.handwritingOcrApi = zAiClient.retrofit().create(HandwritingOcrApi.class);
+	}
+
+	@Override
+	public CompletableFuture<HandwritingOcrResponse> recognize(HandwritingOcrUploadReq request) {
+		HandwritingOcrServiceImpl.validateRecognizeParams(request);
+		RequestSupplier<HandwritingOcrUploadReq, HandwritingOcrResult> supplier = params -> AbstractAiClient
+			.enqueue(handwritingOcrApi.recognize(HandwritingOcrServiceImpl.recognizeBody(params)))
+			.map(HandwritingOcrServiceImpl::recognizeResult);
+		return this.zAiClient.executeRequestAsync(request, supplier, HandwritingOcrResponse::new);
+	}
+
+}
@@ -2,8 +2,8 @@ package ai.z.openapi.service.ocr;
 
 import ai.z.openapi.AbstractAiClient;
 import ai.z.openapi.api.ocr.HandwritingOcrApi;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.utils.RequestSupplier;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.reactivex.rxjava3.core.Single;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -29,6 +29,22 @@ public class HandwritingOcrServiceImpl implements HandwritingOcrService {
 
 	@Override
 	public HandwritingOcrResponse recognize(HandwritingOcrUploadReq request) {
+		validateRecognizeParams(request);
+		RequestSupplier<HandwritingOcrUploadReq, HandwritingOcrResult> supplier = params -> {
+			try {
+				// Send POST request
+				retrofit2.Call<HandwritingOcrResult> call = handwritingOcrApi.recognize(recognizeBody(params));
+				return Single.just(recognizeResult(call.execute()));
+			}
+			catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		};
+
+		return this.zAiClient.executeRequest(request, supplier, HandwritingOcrResponse::new);
+	}
+
+	static void validateRecognizeParams(HandwritingOcrUploadReq request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -38,65 +54,56 @@ public class HandwritingOcrServiceImpl implements HandwritingOcrService {
 		if (request.getToolType() == null) {
 			throw new IllegalArgumentException("toolType cannot be null");
 		}
+	}
 
-		RequestSupplier<HandwritingOcrUploadReq, HandwritingOcrResult> supplier = params -> {
-			try {
-				File file = new File(params.getFilePath());
-				if (!file.exists()) {
-					throw new RuntimeException("file not found at " + params.getFilePath());
-				}
-				String toolType = params.getToolType();
-				String languageType = params.getLanguageType();
-				Boolean probability = params.getProbability();
-
-				// Build multipart/form-data
-				MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
-						RequestBody.create(MediaType.parse("application/octet-stream"), file));
-				MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
-				formBodyBuilder.addPart(filePart);
-				formBodyBuilder.addFormDataPart("tool_type", toolType);
-				if (languageType != null) {
-					formBodyBuilder.addFormDataPart("language_type", languageType);
-				}
-				if (probability != null) {
-					formBodyBuilder.addFormDataPart("probability", String.valueOf(probability));
-				}
-
-				MultipartBody multipartBody = formBodyBuilder.build();
+	static MultipartBody recognizeBody(HandwritingOcrUploadReq params) {
+		File file = new File(params.getFilePath());
+		if (!file.exists()) {
+			throw new RuntimeException("file not found at " + params.getFilePath());
+		}
+		String toolType = params.getToolType();
+		String languageType = params.getLanguageType();
+		Boolean probability = params.getProbability();
 
-				// Send POST request
-				retrofit2.Call<HandwritingOcrResult> call = handwritingOcrApi.recognize(multipartBody);
-				Response<HandwritingOcrResult> response = call.execute();
-				if (!response.isSuccessful() || response.body() == null) {
-					String errorJson = "";
-					if (response.errorBody() != null) {
-						errorJson = response.errorBody().string();
-					}
-					String msg = response.message();
-					String msgFromBody = "";
-					if (errorJson != null && errorJson.trim().startsWith("{")) {
-						try {
-							ObjectMapper mapper = new ObjectMapper();
-							HandwritingOcrResult errorResult = mapper.readValue(errorJson, HandwritingOcrResult.class);
-							msgFromBody = errorResult.getMessage();
-						}
-						catch (Exception e) {
-							msgFromBody = errorJson;
-						}
-					}
-					throw new IOException("Failed to recognize, code: " + response.code() + ", msg: " + msg
-							+ (msgFromBody.isEmpty() ? "" : (", detail: " + msgFromBody)));
-				}
+		// Build multipart/form-data
+		MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", file.getName(),
+				RequestBody.create(MediaType.parse("application/octet-stream"), file));
+		MultipartBody.Builder formBodyBuilder = new MultipartBody.Builder().setType(MultipartBody.FORM);
+		formBodyBuilder.addPart(filePart);
+		formBodyBuilder.addFormDataPart("tool_type", toolType);
+		if (languageType != null) {
+			formBodyBuilder.addFormDataPart("language_type", languageType);
+		}
+		if (probability != null) {
+			formBodyBuilder.addFormDataPart("probability", String.valueOf(probability));
+		}
 
-				return Single.just(response.body());
+		return formBodyBuilder.build();
+	}
 
+	static HandwritingOcrResult recognizeResult(Response<HandwritingOcrResult> response) throws IOException {
+		if (!response.isSuccessful() || response.body() == null) {
+			String errorJson = "";
+			if (response.errorBody() != null) {
+				errorJson = response.errorBody().string();
 			}
-			catch (Exception e) {
-				throw new RuntimeException(e);
+			String msg = response.message();
+			String msgFromBody = "";
+			if (errorJson != null && errorJson.trim().startsWith("{")) {
+				try {
+					HandwritingOcrResult errorResult = JsonMappers.plain()
+						.reader(HandwritingOcrResult.class)
+						.readValue(errorJson);
+					msgFromBody = errorResult.getMessage();
+				}
+				catch (Exception e) {
+					msgFromBody = errorJson;
+				}
 			}
-		};
-
-		return this.zAiClient.executeRequest(request, supplier, HandwritingOcrResponse.class);
+			throw new IOException("Failed to recognize, code: " + response.code() + ", msg: " + msg
+					+ (msgFromBody.isEmpty() ? "" : (", detail: " + msgFromBody)));
+		}
+		return response.body();
 	}
 
-}
\ No newline at end of file
+}
@@ -1,8 +1,7 @@
 package ai.z.openapi.service.realtime;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -14,9 +13,7 @@ public class JasonUtil {
 	/**
 	 * ObjectMapper configured for realtime event processing.
 	 */
-	private static final ObjectMapper objectMapper = new ObjectMapper() //
-		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false) //
-		.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+	private static final ObjectMapper objectMapper = JsonMappers.plain().getMapper();
 
 	/**
 	 * Converts JSON string to RealtimeClientEvent object.
@@ -0,0 +1,24 @@
+package ai.z.openapi.service.videos;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking video generation service interface
+ */
+public interface AsyncVideosService {
+
+	/**
+	 * Creates a video generation task.
+	 * @param request the video generation request
+	 * @return a future of the VideosResponse containing the task information
+	 */
+	CompletableFuture<VideosResponse> videoGenerations(VideoCreateParams request);
+
+	/**
+	 * Retrieves the result of a video generation task.
+	 * @param taskId the task id
+	 * @return a future of the VideosResponse containing the task result
+	 */
+	CompletableFuture<VideosResponse> videoGenerationsResult(String taskId);
+
+}
@@ -0,0 +1,40 @@
+package ai.z.openapi.service.videos;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.videos.VideosApi;
+import ai.z.openapi.service.model.AsyncResultRetrieveParams;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking video generation service implementation
+ */
+public class AsyncVideosServiceImpl implements AsyncVideosService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final VideosApi videosApi;
+
+	public AsyncVideosServiceImpl(AbstractAiClient client) {
+		this.zAiClient = client;
+		this.videosApi = client.retrofit().create(VideosApi.class);
+	}
+
+	@Override
+	public CompletableFuture<VideosResponse> videoGenerations(VideoCreateParams request) {
+		VideosServiceImpl.validateParams(request);
+		RequestSupplier<VideoCreateParams, VideoObject> supplier = videosApi::videoGenerations;
+		return zAiClient.executeRequestAsync(request, supplier, VideosResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<VideosResponse> videoGenerationsResult(String taskId) {
+		VideosServiceImpl.validateTaskId(taskId);
+		AsyncResultRetrieveParams request = new AsyncResultRetrieveParams(taskId);
+		RequestSupplier<AsyncResultRetrieveParams, VideoObject> supplier = (params) -> videosApi
+			.videoGenerationsResult(params.getTaskId());
+		return zAiClient.executeRequestAsync(request, supplier, VideosResponse::new);
+	}
+
+}
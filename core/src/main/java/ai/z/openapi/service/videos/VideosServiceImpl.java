@@ -24,7 +24,7 @@ public class VideosServiceImpl implements VideosService {
 	public VideosResponse videoGenerations(VideoCreateParams request) {
 		validateParams(request);
 		RequestSupplier<VideoCreateParams, VideoObject> supplier = videosApi::videoGenerations;
-		return zAiClient.executeRequest(request, supplier, VideosResponse.class);
+		return zAiClient.executeRequest(request, supplier, VideosResponse::new);
 	}
 
 	@Override
@@ -33,10 +33,10 @@ public class VideosServiceImpl implements VideosService {
 		AsyncResultRetrieveParams request = new AsyncResultRetrieveParams(taskId);
 		RequestSupplier<AsyncResultRetrieveParams, VideoObject> supplier = (params) -> videosApi
 			.videoGenerationsResult(params.getTaskId());
-		return zAiClient.executeRequest(request, supplier, VideosResponse.class);
+		return zAiClient.executeRequest(request, supplier, VideosResponse::new);
 	}
 
-	private void validateParams(VideoCreateParams request) {
+	static void validateParams(VideoCreateParams request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -48,7 +48,7 @@ public class VideosServiceImpl implements VideosService {
 		}
 	}
 
-	private void validateTaskId(String taskId) {
+	static void validateTaskId(String taskId) {
 		if (StringUtils.isEmpty(taskId)) {
 			throw new IllegalArgumentException("taskId cannot be null or empty");
 		}
@@ -0,0 +1,36 @@
+package ai.z.openapi.service.voiceclone;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking voice clone service interface for voice cloning operations.
+ */
+public interface AsyncVoiceCloneService {
+
+	/**
+	 * Creates a new voice clone based on the provided audio sample and parameters.
+	 * @param request the voice clone creation request containing voice name, sample audio
+	 * text, target text, and audio file information
+	 * @return a future of the VoiceCloneResponse containing the voice clone result and
+	 * metadata
+	 */
+	CompletableFuture<VoiceCloneResponse> cloneVoice(VoiceCloneRequest request);
+
+	/**
+	 * Deletes an existing voice clone by voice.
+	 * @param request the voice deletion request containing the voice to delete
+	 * @return a future of the VoiceDeleteResponse containing the deletion result and
+	 * timestamp
+	 */
+	CompletableFuture<VoiceDeleteResponse> deleteVoice(VoiceDeleteRequest request);
+
+	/**
+	 * Retrieves a list of available voice clones with optional filtering.
+	 * @param request the voice list request containing optional voice type and name
+	 * filters
+	 * @return a future of the VoiceListResponse containing the filtered list of voice
+	 * data
+	 */
+	CompletableFuture<VoiceListResponse> listVoice(VoiceListRequest request);
+
+}
@@ -0,0 +1,49 @@
+package ai.z.openapi.service.voiceclone;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.voiceclone.VoiceCloneApi;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking voice clone service implementation
+ */
+public class AsyncVoiceCloneServiceImpl implements AsyncVoiceCloneService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final VoiceCloneApi voiceCloneApi;
+
+	public AsyncVoiceCloneServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.voiceCloneApi = zAiClient.retrofit().create(VoiceCloneApi.class);
+	}
+
+	@Override
+	public CompletableFuture<VoiceCloneResponse> cloneVoice(VoiceCloneRequest request) {
+		VoiceCloneServiceImpl.validateCreateVoiceParams(request);
+		RequestSupplier<VoiceCloneRequest, VoiceCloneResult> supplier = voiceCloneApi::cloneVoice;
+		return this.zAiClient.executeRequestAsync(request, supplier, VoiceCloneResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<VoiceDeleteResponse> deleteVoice(VoiceDeleteRequest request) {
+		VoiceCloneServiceImpl.validateDeleteVoiceParams(request);
+		RequestSupplier<VoiceDeleteRequest, VoiceDeleteResult> supplier = voiceCloneApi::deleteVoice;
+		return this.zAiClient.executeRequestAsync(request, supplier, VoiceDeleteResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<VoiceListResponse> listVoice(VoiceListRequest request) {
+		RequestSupplier<VoiceListRequest, VoiceListResult> supplier = (params) -> {
+			String voiceType = params != null ? params.getVoiceType() : null;
+			String voiceName = params != null ? params.getVoiceName() : null;
+			String requestId = params != null ? params.getRequestId() : "";
+
+			return voiceCloneApi.listVoices(voiceType, voiceName, requestId);
+		};
+		return this.zAiClient.executeRequestAsync(request, supplier, VoiceListResponse::new);
+	}
+
+}
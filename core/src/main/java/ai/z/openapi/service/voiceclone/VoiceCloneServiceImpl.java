@@ -2,7 +2,7 @@ package ai.z.openapi.service.voiceclone;
 
 import ai.z.openapi.AbstractAiClient;
 import ai.z.openapi.api.voiceclone.VoiceCloneApi;
-import ai.z.openapi.service.deserialize.MessageDeserializeFactory;
+import ai.z.openapi.service.deserialize.JsonMappers;
 import ai.z.openapi.utils.RequestSupplier;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +14,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 public class VoiceCloneServiceImpl implements VoiceCloneService {
 
-	protected static final ObjectMapper mapper = MessageDeserializeFactory.defaultObjectMapper();
+	protected static final ObjectMapper mapper = JsonMappers.standard().getMapper();
 
 	private final AbstractAiClient zAiClient;
 
@@ -29,14 +29,14 @@ public class VoiceCloneServiceImpl implements VoiceCloneService {
 	public VoiceCloneResponse cloneVoice(VoiceCloneRequest request) {
 		validateCreateVoiceParams(request);
 		RequestSupplier<VoiceCloneRequest, VoiceCloneResult> supplier = voiceCloneApi::cloneVoice;
-		return this.zAiClient.executeRequest(request, supplier, VoiceCloneResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, VoiceCloneResponse::new);
 	}
 
 	@Override
 	public VoiceDeleteResponse deleteVoice(VoiceDeleteRequest request) {
 		validateDeleteVoiceParams(request);
 		RequestSupplier<VoiceDeleteRequest, VoiceDeleteResult> supplier = voiceCloneApi::deleteVoice;
-		return this.zAiClient.executeRequest(request, supplier, VoiceDeleteResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, VoiceDeleteResponse::new);
 	}
 
 	@Override
@@ -48,10 +48,10 @@ public class VoiceCloneServiceImpl implements VoiceCloneService {
 
 			return voiceCloneApi.listVoices(voiceType, voiceName, requestId);
 		};
-		return this.zAiClient.executeRequest(request, supplier, VoiceListResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, VoiceListResponse::new);
 	}
 
-	private void validateCreateVoiceParams(VoiceCloneRequest request) {
+	static void validateCreateVoiceParams(VoiceCloneRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -66,7 +66,7 @@ public class VoiceCloneServiceImpl implements VoiceCloneService {
 		}
 	}
 
-	private void validateDeleteVoiceParams(VoiceDeleteRequest request) {
+	static void validateDeleteVoiceParams(VoiceDeleteRequest request) {
 		if (request == null) {
 			throw new IllegalArgumentException("request cannot be null");
 		}
@@ -0,0 +1,17 @@
+package ai.z.openapi.service.web_reader;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking web reader service interface
+ */
+public interface AsyncWebReaderService {
+
+	/**
+	 * Reads and parses the content of a web page.
+	 * @param request the web reader request
+	 * @return a future of the WebReaderResponse containing the page content
+	 */
+	CompletableFuture<WebReaderResponse> createWebReader(WebReaderRequest request);
+
+}
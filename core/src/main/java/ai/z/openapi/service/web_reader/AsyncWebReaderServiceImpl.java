@@ -0,0 +1,33 @@
+package ai.z.openapi.service.web_reader;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.web_reader.WebReaderApi;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking web reader service implementation
+ */
+public class AsyncWebReaderServiceImpl implements AsyncWebReaderService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final WebReaderApi webReaderApi;
+
+	public AsyncWebReaderServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.webReaderApi = zAiClient.retrofit().create(WebReaderApi.class);
+	}
+
+	@Override
+	public CompletableFuture<WebReaderResponse> createWebReader(WebReaderRequest request) {
+		if (request == null) {
+			throw new IllegalArgumentException("request cannot be null");
+		}
+		request.validate();
+		RequestSupplier<WebReaderRequest, WebReaderResult> supplier = webReaderApi::reader;
+		return this.zAiClient.executeRequestAsync(request, supplier, WebReaderResponse::new);
+	}
+
+}
@@ -25,7 +25,7 @@ public class WebReaderServiceImpl implements WebReaderService {
 		}
 		request.validate();
 		RequestSupplier<WebReaderRequest, WebReaderResult> supplier = webReaderApi::reader;
-		return this.zAiClient.executeRequest(request, supplier, WebReaderResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, WebReaderResponse::new);
 	}
 
 }
\ No newline at end of file
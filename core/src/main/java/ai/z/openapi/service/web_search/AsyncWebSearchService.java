@@ -0,0 +1,27 @@
+package ai.z.openapi.service.web_search;
+
+import ai.z.openapi.service.tools.WebSearchApiResponse;
+import ai.z.openapi.service.tools.WebSearchParamsRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking web search service interface
+ */
+public interface AsyncWebSearchService {
+
+	/**
+	 * Performs a web search with the pro search tool.
+	 * @param request the web search parameters
+	 * @return a future of the WebSearchApiResponse containing the search results
+	 */
+	CompletableFuture<WebSearchApiResponse> createWebSearchPro(WebSearchParamsRequest request);
+
+	/**
+	 * Performs a web search.
+	 * @param request the web search request
+	 * @return a future of the WebSearchResponse containing the search results
+	 */
+	CompletableFuture<WebSearchResponse> createWebSearch(WebSearchRequest request);
+
+}
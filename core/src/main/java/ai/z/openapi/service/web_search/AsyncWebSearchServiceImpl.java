@@ -0,0 +1,42 @@
+package ai.z.openapi.service.web_search;
+
+import ai.z.openapi.AbstractAiClient;
+import ai.z.openapi.api.tools.ToolsApi;
+import ai.z.openapi.api.web_search.WebSearchApi;
+import ai.z.openapi.service.tools.WebSearchApiResponse;
+import ai.z.openapi.service.tools.WebSearchParamsRequest;
+import ai.z.openapi.service.tools.WebSearchPro;
+import ai.z.openapi.utils.RequestSupplier;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking web search service implementation
+ */
+public class AsyncWebSearchServiceImpl implements AsyncWebSearchService {
+
+	private final AbstractAiClient zAiClient;
+
+	private final ToolsApi toolsApi;
+
+	private final WebSearchApi webSearchApi;
+
+	public AsyncWebSearchServiceImpl(AbstractAiClient zAiClient) {
+		this.zAiClient = zAiClient;
+		this.toolsApi = zAiClient.retrofit().create(ToolsApi.class);
+		this.webSearchApi = zAiClient.retrofit().create(WebSearchApi.class);
+	}
+
+	@Override
+	public CompletableFuture<WebSearchApiResponse> createWebSearchPro(WebSearchParamsRequest request) {
+		RequestSupplier<WebSearchParamsRequest, WebSearchPro> supplier = toolsApi::webSearch;
+		return this.zAiClient.executeRequestAsync(request, supplier, WebSearchApiResponse::new);
+	}
+
+	@Override
+	public CompletableFuture<WebSearchResponse> createWebSearch(WebSearchRequest request) {
+		RequestSupplier<WebSearchRequest, WebSearchDTO> supplier = webSearchApi::webSearch;
+		return this.zAiClient.executeRequestAsync(request, supplier, WebSearchResponse::new);
+	}
+
+}
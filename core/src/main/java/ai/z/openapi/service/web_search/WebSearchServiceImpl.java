@@ -30,19 +30,19 @@ public class WebSearchServiceImpl implements WebSearchService {
 	@Override
 	public WebSearchApiResponse createWebSearchProStream(WebSearchParamsRequest request) {
 		FlowableRequestSupplier<WebSearchParamsRequest, retrofit2.Call<ResponseBody>> supplier = toolsApi::webSearchStreaming;
-		return zAiClient.streamRequest(request, supplier, WebSearchApiResponse.class, WebSearchPro.class);
+		return zAiClient.streamRequest(request, supplier, WebSearchApiResponse::new, WebSearchPro.class);
 	}
 
 	@Override
 	public WebSearchApiResponse createWebSearchPro(WebSearchParamsRequest request) {
 		RequestSupplier<WebSearchParamsRequest, WebSearchPro> supplier = toolsApi::webSearch;
-		return this.zAiClient.executeRequest(request, supplier, WebSearchApiResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, WebSearchApiResponse::new);
 	}
 
 	@Override
 	public WebSearchResponse createWebSearch(WebSearchRequest request) {
 		RequestSupplier<WebSearchRequest, WebSearchDTO> supplier = webSearchApi::webSearch;
-		return this.zAiClient.executeRequest(request, supplier, WebSearchResponse.class);
+		return this.zAiClient.executeRequest(request, supplier, WebSearchResponse::new);
 	}
 
 }
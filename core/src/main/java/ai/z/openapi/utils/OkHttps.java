@@ -1,14 +1,33 @@
 package ai.z.openapi.utils;
 
 import ai.z.openapi.core.config.ZaiConfig;
+import ai.z.openapi.core.metrics.StreamMetricsRecorder;
+import ai.z.openapi.core.resilience.ResilienceInterceptor;
+import ai.z.openapi.core.retry.RetryInterceptor;
 import ai.z.openapi.core.token.HttpRequestInterceptor;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.internal.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utility class for creating and configuring OkHttpClient instances. This class provides
@@ -29,6 +48,12 @@ public final class OkHttps {
 
 	private static final int DEFAULT_WRITE_TIMEOUT_SECONDS = 30;
 
+	// Prefer multiplexing over a single HTTP/2 connection, fall back to HTTP/1.1.
+	private static final List<Protocol> DEFAULT_PROTOCOLS = Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+
+	// Virtual threads are cheap enough to give every in-flight call its own thread.
+	private static final int VIRTUAL_THREAD_MAX_REQUESTS = 65536;
+
 	// Private constructor to prevent instantiation
 	private OkHttps() {
 		throw new UnsupportedOperationException("OkHttps is a utility class and cannot be instantiated");
@@ -37,17 +62,157 @@ public final class OkHttps {
 	/**
 	 * Creates a configured OkHttpClient instance based on the provided configuration. The
 	 * client will include: - Authentication interceptor - Configured timeouts (call,
-	 * connect, read, write) - Connection pooling
+	 * connect, read, write) - Circuit breakers - Retries - Connection pooling -
+	 * Dispatcher limits - Protocol preference
 	 * @param config the Z.AI configuration containing timeout and connection settings
 	 * @return a fully configured OkHttpClient instance
 	 * @throws IllegalArgumentException if config is null
 	 */
 	public static OkHttpClient create(ZaiConfig config) {
+		return create(config, true);
+	}
+
+	/**
+	 * Creates an OkHttpClient configured like {@link #create(ZaiConfig)} but without the
+	 * authentication interceptor. The returned client is meant to be shared by several
+	 * clients with different credentials, each deriving its own client with
+	 * {@link #withCredentials(OkHttpClient, ZaiConfig)}.
+	 * @param config the Z.AI configuration containing timeout and connection settings
+	 * @return the shared transport
+	 * @throws IllegalArgumentException if config is null
+	 */
+	public static OkHttpClient createTransport(ZaiConfig config) {
+		return create(config, false);
+	}
+
+	/**
+	 * Derives a client authenticating with the credentials of {@code config} from a
+	 * shared transport. The derived client shares the transport's connection pool,
+	 * dispatcher and interceptors, so it costs a few objects instead of threads and
+	 * sockets.
+	 * @param transport the shared transport created by {@link #createTransport}
+	 * @param config the configuration containing the credentials
+	 * @return the derived client
+	 */
+	public static OkHttpClient withCredentials(OkHttpClient transport, ZaiConfig config) {
+		OkHttpClient.Builder builder = transport.newBuilder();
+		builder.interceptors().add(0, new HttpRequestInterceptor(config));
+		if (config.getStreamMetricsListener() != null) {
+			builder.eventListenerFactory(StreamMetricsRecorder.eventListenerFactory());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Opens connections ahead of the first requests, see
+	 * {@link ai.z.openapi.AbstractAiClient#warmUp(int)}. The {@code HEAD} requests are
+	 * enqueued on the dispatcher of {@code client} without its interceptors.
+	 * @param client the client whose connection pool is warmed up
+	 * @param config the configuration of the connection pool
+	 * @param url the URL of the API host
+	 * @param connections the number of concurrent warm-up requests
+	 * @return the number of warm-up requests that reached the server
+	 * @throws IllegalArgumentException if connections is not positive
+	 */
+	public static int warmUp(OkHttpClient client, ZaiConfig config, HttpUrl url, int connections) {
+		if (connections <= 0) {
+			throw new IllegalArgumentException("Connections must be positive");
+		}
+		if (connections > config.getConnectionPoolMaxIdleConnections()) {
+			logger.warn("Warming up {} connections but the pool keeps at most {} idle connections", connections,
+					config.getConnectionPoolMaxIdleConnections());
+		}
+		OkHttpClient.Builder builder = client.newBuilder();
+		builder.interceptors().clear();
+		builder.networkInterceptors().clear();
+		OkHttpClient warmUpClient = builder.build();
+		Request request = new Request.Builder().url(url).head().build();
+		CountDownLatch done = new CountDownLatch(connections);
+		AtomicInteger warmed = new AtomicInteger();
+		List<Call> calls = new ArrayList<>(connections);
+		for (int i = 0; i < connections; i++) {
+			Call call = warmUpClient.newCall(request);
+			calls.add(call);
+			call.enqueue(new Callback() {
+				@Override
+				public void onFailure(Call call, IOException e) {
+					logger.debug("Connection warm-up failed", e);
+					done.countDown();
+				}
+
+				@Override
+				public void onResponse(Call call, Response response) {
+					response.close();
+					warmed.incrementAndGet();
+					done.countDown();
+				}
+			});
+		}
+		try {
+			done.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			calls.forEach(Call::cancel);
+		}
+		return warmed.get();
+	}
+
+	/**
+	 * Starts the background task warming up the connections of {@code client} at the
+	 * keep-warm rate of the configuration, so idle periods do not let the pool's
+	 * keep-alive evict every connection.
+	 * @param client the client whose connection pool is kept warm
+	 * @param config the configuration with the keep-warm settings
+	 * @param url the URL of the API host
+	 * @return the executor running the task, to be shut down when the client is closed
+	 */
+	public static ScheduledExecutorService startKeepWarm(OkHttpClient client, ZaiConfig config, HttpUrl url) {
+		long intervalMillis = config.getKeepWarmTimeUnit().toMillis(config.getKeepWarmInterval());
+		long keepAliveMillis = config.getConnectionPoolTimeUnit().toMillis(config.getConnectionPoolKeepAliveDuration());
+		if (intervalMillis >= keepAliveMillis) {
+			logger.warn("Keep-warm interval {}ms is not shorter than the connection keep-alive {}ms", intervalMillis,
+					keepAliveMillis);
+		}
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "zai-keep-warm");
+			thread.setDaemon(true);
+			return thread;
+		});
+		int connections = config.getKeepWarmConnections();
+		executor.scheduleAtFixedRate(() -> {
+			try {
+				warmUp(client, config, url, connections);
+			}
+			catch (Exception e) {
+				logger.debug("Keep-warm run failed", e);
+			}
+		}, 0, intervalMillis, TimeUnit.MILLISECONDS);
+		return executor;
+	}
+
+	private static OkHttpClient create(ZaiConfig config, boolean authenticate) {
 		if (config == null) {
 			throw new IllegalArgumentException("Configuration cannot be null");
 		}
 
-		OkHttpClient.Builder builder = new OkHttpClient.Builder().addInterceptor(new HttpRequestInterceptor(config));
+		OkHttpClient.Builder builder = new OkHttpClient.Builder();
+		if (authenticate) {
+			builder.addInterceptor(new HttpRequestInterceptor(config));
+		}
+
+		// Configure retries
+		if (config.getRetryPolicy() != null) {
+			builder.addInterceptor(new RetryInterceptor(config.getRetryPolicy()));
+		}
+
+		// Configure circuit breakers and concurrency limits, inside of the retries so
+		// that
+		// every attempt is judged on its own and no slot is held during a backoff; a
+		// rejected attempt is not retried
+		if (config.getResiliencePolicies() != null && !config.getResiliencePolicies().isEmpty()) {
+			builder.addInterceptor(new ResilienceInterceptor(config.getResiliencePolicies()));
+		}
 
 		// Configure timeouts
 		configureTimeouts(builder, config);
@@ -55,6 +220,18 @@ public final class OkHttps {
 		// Configure connection pool
 		configureConnectionPool(builder, config);
 
+		// Configure dispatcher
+		configureDispatcher(builder, config);
+
+		// Record connect times and response arrival of measured streams
+		if (config.getStreamMetricsListener() != null) {
+			builder.eventListenerFactory(StreamMetricsRecorder.eventListenerFactory());
+		}
+
+		// Configure protocols
+		List<Protocol> protocols = config.getProtocols();
+		builder.protocols(protocols != null && !protocols.isEmpty() ? protocols : DEFAULT_PROTOCOLS);
+
 		return builder.build();
 	}
 
@@ -126,4 +303,37 @@ public final class OkHttps {
 		builder.connectionPool(connectionPool);
 	}
 
+	/**
+	 * Configures the dispatcher executing the calls: its executor and the limits after
+	 * which calls wait in the dispatcher queue. In virtual thread mode every call runs on
+	 * its own virtual thread and the default limits are raised accordingly.
+	 * @param builder the OkHttpClient builder to configure
+	 * @param config the configuration containing dispatcher settings
+	 */
+	private static void configureDispatcher(OkHttpClient.Builder builder, ZaiConfig config) {
+		ExecutorService executor = config.getDispatcherExecutor();
+		boolean virtualThreads = false;
+		if (executor == null && config.isVirtualThreads()) {
+			if (VirtualThreads.isSupported()) {
+				executor = VirtualThreads.newExecutor("zai-http-");
+				virtualThreads = true;
+			}
+			else {
+				logger.warn("Virtual threads require Java 21 or newer, falling back to platform threads");
+			}
+		}
+		Dispatcher dispatcher = executor != null ? new Dispatcher(executor) : new Dispatcher();
+		if (virtualThreads) {
+			dispatcher.setMaxRequests(VIRTUAL_THREAD_MAX_REQUESTS);
+			dispatcher.setMaxRequestsPerHost(VIRTUAL_THREAD_MAX_REQUESTS);
+		}
+		if (config.getMaxRequests() != null && config.getMaxRequests() > 0) {
+			dispatcher.setMaxRequests(config.getMaxRequests());
+		}
+		if (config.getMaxRequestsPerHost() != null && config.getMaxRequestsPerHost() > 0) {
+			dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+		}
+		builder.dispatcher(dispatcher);
+	}
+
 }
@@ -0,0 +1,33 @@
+package ai.z.openapi.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to JDK 21 virtual threads, multi-release version compiled for Java 21 and
+ * loaded from {@code META-INF/versions/21}.
+ */
+public final class VirtualThreads {
+
+	private VirtualThreads() {
+		throw new UnsupportedOperationException("VirtualThreads is a utility class and cannot be instantiated");
+	}
+
+	/**
+	 * Returns whether the running JVM supports virtual threads.
+	 * @return always true for this version
+	 */
+	public static boolean isSupported() {
+		return true;
+	}
+
+	/**
+	 * Creates an executor starting a new virtual thread for each task.
+	 * @param namePrefix prefix of the thread names, followed by a counter
+	 * @return the executor
+	 */
+	public static ExecutorService newExecutor(String namePrefix) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+	}
+
+}
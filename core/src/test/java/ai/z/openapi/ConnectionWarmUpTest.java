@@ -0,0 +1,100 @@
+package ai.z.openapi;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests connection warm-up and the keep-warm task against a local mock server.
+ */
+class ConnectionWarmUpTest {
+
+	private MockWebServer server;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		server.shutdown();
+	}
+
+	@Test
+	void testWarmUp() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			server.enqueue(new MockResponse().setResponseCode(404));
+		}
+		ZaiClient client = new ZaiClient.Builder(server.url("/api/").toString(), "id.test-api-key").build();
+
+		assertEquals(3, client.warmUp(3));
+		assertTrue(client.httpClient.connectionPool().idleConnectionCount() > 0);
+		for (int i = 0; i < 3; i++) {
+			RecordedRequest request = server.takeRequest();
+			assertEquals("HEAD", request.getMethod());
+			assertEquals("/api/", request.getPath());
+			assertNull(request.getHeader("Authorization"));
+		}
+		client.close();
+	}
+
+	@Test
+	void testWarmUpRunsOnDispatcher() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			server.enqueue(new MockResponse());
+		}
+		ExecutorService executor = Executors.newCachedThreadPool();
+		ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+			.dispatcherExecutor(executor)
+			.build();
+
+		assertEquals(3, client.warmUp(3));
+		assertEquals(3, ((ThreadPoolExecutor) executor).getTaskCount());
+		client.close();
+		executor.shutdown();
+	}
+
+	@Test
+	void testWarmUpUnreachableHost() throws Exception {
+		ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").build();
+		server.shutdown();
+
+		assertEquals(0, client.warmUp(2));
+		client.close();
+	}
+
+	@Test
+	void testKeepWarm() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			server.enqueue(new MockResponse());
+		}
+		ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+			.keepWarm(1, 50, TimeUnit.MILLISECONDS)
+			.build();
+
+		assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+		assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+		client.close();
+	}
+
+	@Test
+	void testInvalidWarmUp() {
+		ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").build();
+
+		assertThrows(IllegalArgumentException.class, () -> client.warmUp(0));
+		client.close();
+	}
+
+}
@@ -0,0 +1,137 @@
+package ai.z.openapi;
+
+import ai.z.openapi.core.config.ZaiConfig;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ZaiClientPool. Tests cover per-tenant credentials over the shared
+ * transport, the shared keep-warm task and the transport lifecycle.
+ */
+class ZaiClientPoolTest {
+
+	private static final String BODY = "{\"id\":\"1\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"ok\"}}]}";
+
+	private MockWebServer server;
+
+	private ZaiClientPool pool;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+		pool = new ZaiClientPool(ZaiConfig.builder().baseUrl(server.url("/").toString()).build());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		pool.close();
+		server.shutdown();
+	}
+
+	private static ChatCompletionCreateParams request() {
+		return ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.messages(Collections
+				.singletonList(ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+			.build();
+	}
+
+	@Test
+	void testTenantsSendTheirOwnCredentials() throws Exception {
+		server.enqueue(new MockResponse().setBody(BODY));
+		server.enqueue(new MockResponse().setBody(BODY));
+
+		ChatCompletionResponse first = pool.client("tenant1.secret").chat().createChatCompletion(request());
+		ChatCompletionResponse second = pool.client("tenant2.secret").chat().createChatCompletion(request());
+
+		assertTrue(first.isSuccess());
+		assertTrue(second.isSuccess());
+		RecordedRequest firstRequest = server.takeRequest();
+		RecordedRequest secondRequest = server.takeRequest();
+		assertEquals("Bearer tenant1.secret", firstRequest.getHeader("Authorization"));
+		assertEquals("Bearer tenant2.secret", secondRequest.getHeader("Authorization"));
+		// the second tenant reuses the connection opened for the first one
+		assertEquals(1, secondRequest.getSequenceNumber());
+	}
+
+	@Test
+	void testTenantsShareTheTransport() {
+		ZaiClient first = pool.client("tenant1.secret");
+		ZaiClient second = pool.client("tenant2.secret");
+
+		assertSame(first, pool.client("tenant1.secret"));
+		assertNotSame(first, second);
+		assertSame(first.httpClient.dispatcher(), second.httpClient.dispatcher());
+		assertSame(first.httpClient.connectionPool(), second.httpClient.connectionPool());
+		assertEquals(2, pool.size());
+	}
+
+	@Test
+	void testRemovingTenantKeepsTransportOpen() throws Exception {
+		server.enqueue(new MockResponse().setBody(BODY));
+		ZaiClient first = pool.client("tenant1.secret");
+
+		assertTrue(pool.remove("tenant1.secret"));
+		assertFalse(pool.remove("tenant1.secret"));
+		assertFalse(first.httpClient.dispatcher().executorService().isShutdown());
+		assertTrue(pool.client("tenant2.secret").chat().createChatCompletion(request()).isSuccess());
+	}
+
+	@Test
+	void testPoolKeepsSharedTransportWarm() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			server.enqueue(new MockResponse());
+		}
+		ZaiClientPool warmPool = new ZaiClientPool(ZaiConfig.builder()
+			.baseUrl(server.url("/").toString())
+			.keepWarmConnections(1)
+			.keepWarmInterval(50)
+			.keepWarmTimeUnit(TimeUnit.MILLISECONDS)
+			.build());
+		warmPool.client("tenant1.secret");
+		warmPool.client("tenant2.secret");
+
+		RecordedRequest first = server.takeRequest(5, TimeUnit.SECONDS);
+		assertNotNull(first);
+		assertEquals("HEAD", first.getMethod());
+		assertNull(first.getHeader("Authorization"));
+		assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+		warmPool.close();
+
+		assertEquals(0, warmPool.size());
+		Thread.sleep(100);
+		int count = server.getRequestCount();
+		Thread.sleep(150);
+		assertEquals(count, server.getRequestCount());
+	}
+
+	@Test
+	void testCloseRemovesTenants() {
+		pool.client("tenant1.secret");
+		pool.client("tenant2.secret");
+
+		pool.close();
+
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	void testInvalidApiKey() {
+		assertThrows(IllegalArgumentException.class, () -> pool.client(" "));
+	}
+
+}
@@ -4,10 +4,21 @@ import ai.z.openapi.core.cache.ICache;
 import ai.z.openapi.core.cache.LocalCache;
 import ai.z.openapi.core.config.ZaiConfig;
 import ai.z.openapi.core.token.TokenManager;
+import ai.z.openapi.service.chat.ChatService;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class ZaiClientTest {
 
 	private final static Logger logger = LoggerFactory.getLogger(ZaiClientTest.class);
@@ -47,4 +58,27 @@ public class ZaiClientTest {
 		assert cache.get(tokenCacheKey) != null;
 	}
 
+	@Test
+	public void testServiceAccessorsReturnOneInstance() throws Exception {
+		ZaiClient fresh = new ZaiClient(zaiConfig);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<ChatService>> results = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return fresh.chat();
+			}));
+		}
+		start.countDown();
+		ChatService chat = fresh.chat();
+		for (Future<ChatService> result : results) {
+			assertSame(chat, result.get(5, TimeUnit.SECONDS));
+		}
+		executor.shutdown();
+		assertSame(fresh.embeddings(), fresh.embeddings());
+		assertNotSame(fresh.chatAsync(), fresh.chat());
+		fresh.close();
+	}
+
 }
@@ -0,0 +1,110 @@
+package ai.z.openapi.benchmark;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.core.model.ResponseFactories;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures {@code executeRequest} of a chat completion against a local mock server, and
+ * the response object construction it used to pay on every call: a reflective constructor
+ * lookup and invocation compared with the constructor reference now passed by the
+ * services and the cached fallback used for {@code Class} based calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteRequestBenchmark {
+
+	private static final String BODY = "{\"id\":\"1\",\"created\":1715676949,\"model\":\"glm-4.6\",\"choices\":[{\"index\":0,"
+			+ "\"finish_reason\":\"stop\",\"message\":{\"role\":\"assistant\",\"content\":\"Hello\"}}],"
+			+ "\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":1,\"total_tokens\":6}}";
+
+	private MockWebServer server;
+
+	private ZaiClient client;
+
+	private ChatCompletionCreateParams request;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		server = new MockWebServer();
+		server.setDispatcher(new Dispatcher() {
+			@Override
+			public MockResponse dispatch(RecordedRequest recordedRequest) {
+				return new MockResponse().setHeader("Content-Type", "application/json").setBody(BODY);
+			}
+		});
+		server.start();
+		client = new ZaiClient.Builder(server.url("/").toString(), "id.benchmark-key").build();
+		request = ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.messages(Collections
+				.singletonList(ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+			.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		client.close();
+		server.shutdown();
+	}
+
+	@Benchmark
+	public ChatCompletionResponse executeRequest() {
+		return client.chat().createChatCompletion(request);
+	}
+
+	@Benchmark
+	public ChatCompletionResponse reflectiveConstruction() throws ReflectiveOperationException {
+		return ChatCompletionResponse.class.getDeclaredConstructor().newInstance();
+	}
+
+	@Benchmark
+	public ChatCompletionResponse cachedFallbackConstruction() {
+		return ResponseFactories.create(ChatCompletionResponse.class);
+	}
+
+	@Benchmark
+	public ChatCompletionResponse factoryConstruction() {
+		return construct(ChatCompletionResponse::new);
+	}
+
+	private static <T> T construct(Supplier<T> factory) {
+		return factory.get();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ExecuteRequestBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,96 @@
+package ai.z.openapi.benchmark;
+
+import ai.z.openapi.service.deserialize.MessageDeserializeFactory;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.service.model.SSE;
+import ai.z.openapi.service.model.SSEReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy {@code BufferedReader} based SSE parsing against {@link SSEReader}
+ * on a typical chat completion stream. Run with {@code -prof gc} to compare allocation
+ * rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SSEParserBenchmark {
+
+	private static final int CHUNKS = 256;
+
+	private final ObjectMapper mapper = MessageDeserializeFactory.defaultObjectMapper();
+
+	private byte[] payload;
+
+	@Setup
+	public void setUp() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < CHUNKS; i++) {
+			sb.append("data: {\"id\":\"8655897009087545746\",\"created\":1715676949,\"model\":\"glm-4.6\",")
+				.append("\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"token ")
+				.append(i)
+				.append("\"}}]}\n\n");
+		}
+		sb.append("data: [DONE]\n\n");
+		payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public void bufferedReader(Blackhole bh) throws Exception {
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+		String line;
+		SSE sse = null;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith("data:")) {
+				sse = new SSE(line.substring(5).trim());
+			}
+			else if (line.isEmpty() && sse != null) {
+				if (sse.isDone()) {
+					break;
+				}
+				bh.consume(mapper.readValue(sse.getData(), ModelData.class));
+				sse = null;
+			}
+		}
+	}
+
+	@Benchmark
+	public void sseReader(Blackhole bh) throws Exception {
+		SSEReader reader = new SSEReader(new Buffer().write(payload));
+		SSE sse;
+		while ((sse = reader.next()) != null && !sse.isDone()) {
+			byte[] data = sse.getRawData();
+			bh.consume(mapper.readValue(data, 0, data.length, ModelData.class));
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SSEParserBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,91 @@
+package ai.z.openapi.benchmark;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.service.chat.ChatService;
+import ai.z.openapi.service.chat.ChatServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code client.chat()} called from many threads at once, against the previous
+ * {@code synchronized} accessor kept here as a baseline. The lock-free accessor should
+ * scale with the thread count while the synchronized one contends on the client monitor.
+ * Override the thread count with {@code -t}, for example {@code -t 200}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ServiceAccessorBenchmark {
+
+	private ZaiClient client;
+
+	private SynchronizedAccessor baseline;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		client = new ZaiClient.Builder("http://localhost:1/", "id.benchmark-key").build();
+		baseline = new SynchronizedAccessor(client);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		client.close();
+	}
+
+	@Benchmark
+	public ChatService lockFree() {
+		return client.chat();
+	}
+
+	@Benchmark
+	public ChatService synchronizedAccessor() {
+		return baseline.chat();
+	}
+
+	/**
+	 * The accessor as it was before: lazy initialization under the object monitor.
+	 */
+	static final class SynchronizedAccessor {
+
+		private final ZaiClient client;
+
+		private ChatService chatService;
+
+		SynchronizedAccessor(ZaiClient client) {
+			this.client = client;
+		}
+
+		synchronized ChatService chat() {
+			if (chatService == null) {
+				chatService = new ChatServiceImpl(client);
+			}
+			return chatService;
+		}
+
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ServiceAccessorBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
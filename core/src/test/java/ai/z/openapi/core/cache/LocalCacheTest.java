@@ -0,0 +1,93 @@
+package ai.z.openapi.core.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LocalCache and TieredCache. Tests cover sub-second expiry, LRU eviction,
+ * statistics and sharing entries through a backend.
+ */
+class LocalCacheTest {
+
+	@Test
+	void testSubSecondExpiry() throws Exception {
+		LocalCache cache = new LocalCache(10);
+		cache.set("key", "value", 50, TimeUnit.MILLISECONDS);
+
+		assertEquals("value", cache.get("key"));
+		Thread.sleep(80);
+		assertEquals("", cache.get("key"));
+		assertNull(cache.getEntry("key"));
+		assertEquals(1, cache.stats().getExpiredCount());
+	}
+
+	@Test
+	void testLeastRecentlyUsedEntryIsEvicted() {
+		LocalCache cache = new LocalCache(2);
+		cache.set("a", "1", 1, TimeUnit.MINUTES);
+		cache.set("b", "2", 1, TimeUnit.MINUTES);
+		cache.get("a");
+		cache.set("c", "3", 1, TimeUnit.MINUTES);
+
+		assertEquals("1", cache.get("a"));
+		assertEquals("", cache.get("b"));
+		assertEquals("3", cache.get("c"));
+		CacheStats stats = cache.stats();
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(2, stats.getSize());
+		assertEquals(3, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(0.75, stats.hitRate(), 1e-9);
+	}
+
+	@Test
+	void testCleanUpAndRemove() throws Exception {
+		LocalCache cache = new LocalCache(10);
+		cache.set("short", "1", 10, TimeUnit.MILLISECONDS);
+		cache.set("long", "2", 1, TimeUnit.MINUTES);
+		Thread.sleep(30);
+
+		cache.cleanUp();
+		assertEquals(1, cache.size());
+		cache.remove("long");
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void testEntryReportsRemainingTime() {
+		LocalCache cache = new LocalCache(10);
+		cache.set("key", "value", 10, TimeUnit.SECONDS);
+
+		long remaining = cache.getEntry("key").remainingMillis();
+		assertTrue(remaining > 9_000 && remaining <= 10_000, "remaining " + remaining);
+	}
+
+	@Test
+	void testTieredCacheSharesEntriesThroughBackend() {
+		LocalCache backend = new LocalCache(10);
+		TieredCache first = new TieredCache(new LocalCache(10), backend);
+		TieredCache second = new TieredCache(new LocalCache(10), backend);
+
+		first.set("token", "jwt", 10, TimeUnit.SECONDS);
+
+		CacheEntry entry = second.getEntry("token");
+		assertEquals("jwt", entry.getValue());
+		assertTrue(entry.remainingMillis() > 9_000);
+		// the second read is served by the local level
+		second.get("token");
+		assertEquals(1, second.stats().getHitCount());
+		assertEquals(1, backend.stats().getHitCount());
+
+		first.remove("token");
+		assertEquals("", backend.get("token"));
+	}
+
+	@Test
+	void testInvalidMaximumSize() {
+		assertThrows(IllegalArgumentException.class, () -> new LocalCache(0));
+	}
+
+}
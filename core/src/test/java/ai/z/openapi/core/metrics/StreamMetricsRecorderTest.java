@@ -0,0 +1,150 @@
+package ai.z.openapi.core.metrics;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.core.config.StreamBackpressureStrategy;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import ai.z.openapi.service.model.ModelData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StreamMetricsRecorder. Tests cover the measurements of completed,
+ * cancelled and failed streams and the Micrometer adapter.
+ */
+class StreamMetricsRecorderTest {
+
+	private static final int EVENTS = 20;
+
+	private MockWebServer server;
+
+	private final List<StreamMetrics> finished = new CopyOnWriteArrayList<>();
+
+	private final List<Long> gaps = new CopyOnWriteArrayList<>();
+
+	private final StreamMetricsListener listener = new StreamMetricsListener() {
+		@Override
+		public void onChunkGap(String model, String endpoint, long gapNanos) {
+			gaps.add(gapNanos);
+		}
+
+		@Override
+		public void onStreamFinished(StreamMetrics metrics) {
+			finished.add(metrics);
+		}
+	};
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		server.shutdown();
+	}
+
+	private void enqueueStream() {
+		StringBuilder body = new StringBuilder(
+				"data: {\"id\":\"1\",\"model\":\"glm-4.6\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\"}}]}\n\n");
+		for (int i = 0; i < EVENTS; i++) {
+			body.append(
+					"data: {\"id\":\"1\",\"model\":\"glm-4.6\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"x\"}}]}\n\n");
+		}
+		body.append("data: {\"id\":\"1\",\"model\":\"glm-4.6\",\"choices\":[],")
+			.append("\"usage\":{\"prompt_tokens\":3,\"completion_tokens\":40,\"total_tokens\":43}}\n\n")
+			.append("data: [DONE]\n\n");
+		server.enqueue(new MockResponse().setHeader("Content-Type", "text/event-stream").setBody(body.toString()));
+	}
+
+	private ChatCompletionResponse stream(StreamMetricsListener listener) {
+		ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+			.streamBackpressure(StreamBackpressureStrategy.PULL, 16)
+			.streamMetrics(listener)
+			.build();
+		return client.chat()
+			.createChatCompletion(ChatCompletionCreateParams.builder()
+				.model("glm-4.6")
+				.messages(Collections
+					.singletonList(ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+				.stream(true)
+				.build());
+	}
+
+	@Test
+	void testCompletedStream() throws Exception {
+		enqueueStream();
+
+		stream(listener).getFlowable().test().await(5, TimeUnit.SECONDS);
+
+		assertEquals(1, finished.size());
+		StreamMetrics metrics = finished.get(0);
+		assertEquals(StreamStatus.COMPLETED, metrics.getStatus());
+		assertEquals("glm-4.6", metrics.getModel());
+		assertTrue(metrics.getEndpoint().endsWith("chat/completions"));
+		assertEquals(EVENTS + 2, metrics.getChunks());
+		assertEquals(EVENTS, metrics.getOutputChunks());
+		assertEquals(40, metrics.getCompletionTokens());
+		assertTrue(metrics.getConnectNanos() > 0);
+		assertTrue(metrics.getTimeToFirstByteNanos() > 0);
+		assertTrue(metrics.getTimeToFirstTokenNanos() >= metrics.getTimeToFirstByteNanos());
+		assertTrue(metrics.getDurationNanos() >= metrics.getTimeToFirstTokenNanos());
+		assertTrue(metrics.getTokensPerSecond() > 0);
+		assertEquals(EVENTS + 1, gaps.size());
+	}
+
+	@Test
+	void testCancelledStream() throws Exception {
+		enqueueStream();
+
+		TestSubscriber<ModelData> subscriber = stream(listener).getFlowable().test(1);
+		subscriber.awaitCount(1);
+		subscriber.cancel();
+
+		assertEquals(1, finished.size());
+		assertEquals(StreamStatus.CANCELLED, finished.get(0).getStatus());
+		assertEquals(-1, finished.get(0).getTimeToFirstTokenNanos());
+	}
+
+	@Test
+	void testFailedStream() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(500)
+			.setBody("{\"error\":{\"code\":\"500\",\"message\":\"Internal error\"}}"));
+
+		stream(listener).getFlowable().test().await(5, TimeUnit.SECONDS);
+
+		assertEquals(1, finished.size());
+		assertEquals(StreamStatus.FAILED, finished.get(0).getStatus());
+		assertEquals(0, finished.get(0).getChunks());
+	}
+
+	@Test
+	void testMicrometerListener() throws Exception {
+		enqueueStream();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+		stream(new MicrometerStreamMetricsListener(registry)).getFlowable().test().await(5, TimeUnit.SECONDS);
+
+		assertEquals(1, registry.get("zai.stream.time.to.first.token").tag("model", "glm-4.6").timer().count());
+		assertEquals(EVENTS + 1, registry.get("zai.stream.chunk.gap").timer().count());
+		assertEquals(1, registry.get("zai.stream.duration").tag("status", "completed").timer().count());
+		assertEquals(1, registry.get("zai.stream.connect").timer().count());
+		assertTrue(registry.get("zai.stream.tokens.per.second").summary().mean() > 0);
+	}
+
+}
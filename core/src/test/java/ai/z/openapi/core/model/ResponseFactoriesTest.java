@@ -0,0 +1,51 @@
+package ai.z.openapi.core.model;
+
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ResponseFactories. Tests cover the cached reflective fallback and
+ * registered factories.
+ */
+class ResponseFactoriesTest {
+
+	static class Registered {
+
+	}
+
+	static class NoDefaultConstructor {
+
+		NoDefaultConstructor(String value) {
+		}
+
+	}
+
+	@Test
+	void testReflectiveFallbackCreatesNewInstances() {
+		ChatCompletionResponse first = ResponseFactories.create(ChatCompletionResponse.class);
+		ChatCompletionResponse second = ResponseFactories.create(ChatCompletionResponse.class);
+
+		assertNotNull(first);
+		assertNotSame(first, second);
+		assertSame(ResponseFactories.of(ChatCompletionResponse.class),
+				ResponseFactories.of(ChatCompletionResponse.class));
+	}
+
+	@Test
+	void testRegisteredFactoryTakesPrecedence() {
+		Registered instance = new Registered();
+		ResponseFactories.register(Registered.class, () -> instance);
+
+		assertSame(instance, ResponseFactories.create(Registered.class));
+	}
+
+	@Test
+	void testMissingConstructorFailsOnCreate() {
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> ResponseFactories.create(NoDefaultConstructor.class));
+		assertTrue(e.getMessage().contains("NoDefaultConstructor"));
+	}
+
+}
@@ -0,0 +1,126 @@
+package ai.z.openapi.core.ratelimit;
+
+import ai.z.openapi.service.embedding.EmbeddingCreateParams;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.Usage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ModelRateLimiter, TokenBucket and TokenEstimator.
+ */
+class ModelRateLimiterTest {
+
+	private static Usage usage(int totalTokens) {
+		Usage usage = new Usage();
+		usage.setTotalTokens(totalTokens);
+		return usage;
+	}
+
+	@Test
+	void testTokenBucketReservesAhead() {
+		TokenBucket bucket = new TokenBucket(10, 10);
+
+		assertEquals(0, bucket.tryReserve(10, 0));
+		long wait = bucket.tryReserve(5, TimeUnit.SECONDS.toNanos(1));
+		assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(400) && wait <= TimeUnit.MILLISECONDS.toNanos(500));
+		assertTrue(bucket.available() < 0);
+		assertEquals(-1, bucket.tryReserve(10, TimeUnit.MILLISECONDS.toNanos(100)));
+	}
+
+	@Test
+	void testTokenBucketAdjustIsCappedAtCapacity() {
+		TokenBucket bucket = new TokenBucket(10, 1);
+		bucket.adjust(100);
+		assertEquals(10, bucket.available(), 0.01);
+		bucket.adjust(-15);
+		assertTrue(bucket.available() < -4.9);
+	}
+
+	@Test
+	void testRequestsPerMinuteLimit() {
+		Map<String, ModelRateLimit> limits = Collections.singletonMap("glm-4.6", ModelRateLimit.of(1, 0));
+		ModelRateLimiter limiter = new ModelRateLimiter(limits, 10, TimeUnit.MILLISECONDS);
+
+		limiter.acquire("glm-4.6", 100);
+		RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+				() -> limiter.acquire("glm-4.6", 100));
+		assertEquals("glm-4.6", e.getModel());
+	}
+
+	@Test
+	void testAcquireAsyncDoesNotBlock() throws Exception {
+		Map<String, ModelRateLimit> limits = Collections.singletonMap("glm-4.6", ModelRateLimit.of(600, 0));
+		ModelRateLimiter limiter = new ModelRateLimiter(limits, 1, TimeUnit.SECONDS);
+		for (int i = 0; i < 600; i++) {
+			limiter.acquire("glm-4.6", 1);
+		}
+
+		long start = System.nanoTime();
+		CompletableFuture<RateLimitPermit> permit = limiter.acquireAsync("glm-4.6", 1);
+		assertFalse(permit.isDone());
+		assertNotNull(permit.get(1, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	void testAcquireAsyncFailsBeyondMaxWait() {
+		Map<String, ModelRateLimit> limits = Collections.singletonMap("glm-4.6", ModelRateLimit.of(1, 0));
+		ModelRateLimiter limiter = new ModelRateLimiter(limits, 10, TimeUnit.MILLISECONDS);
+		limiter.acquire("glm-4.6", 1);
+
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> limiter.acquireAsync("glm-4.6", 1).get(1, TimeUnit.SECONDS));
+
+		assertInstanceOf(RateLimitExceededException.class, e.getCause());
+	}
+
+	@Test
+	void testUsageCorrectsTokenReservation() {
+		Map<String, ModelRateLimit> limits = Collections.singletonMap("embedding-3", ModelRateLimit.of(0, 100));
+		ModelRateLimiter limiter = new ModelRateLimiter(limits, 10, TimeUnit.MILLISECONDS);
+
+		RateLimitPermit first = limiter.acquire("embedding-3", 80);
+		assertThrows(RateLimitExceededException.class, () -> limiter.acquire("embedding-3", 80));
+		first.complete(usage(10));
+		first.complete(usage(80));
+
+		assertEquals(80, limiter.acquire("embedding-3", 80).getEstimatedTokens());
+	}
+
+	@Test
+	void testUnlimitedModel() {
+		Map<String, ModelRateLimit> limits = Collections.singletonMap("glm-4.6", ModelRateLimit.of(1, 1));
+		ModelRateLimiter limiter = new ModelRateLimiter(limits, 0, TimeUnit.MILLISECONDS);
+
+		for (int i = 0; i < 10; i++) {
+			assertSame(RateLimitPermit.NONE, limiter.acquire("embedding-3", 1000));
+		}
+	}
+
+	@Test
+	void testTokenEstimator() {
+		ChatCompletionCreateParams chat = ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.messages(Collections.singletonList(ChatMessage.builder().role("user").content("12345678").build()))
+			.maxTokens(100)
+			.build();
+		assertEquals(102, TokenEstimator.estimate(chat));
+
+		EmbeddingCreateParams embedding = EmbeddingCreateParams.builder()
+			.model("embedding-3")
+			.input(Arrays.asList("abcd", "efghi"))
+			.build();
+		assertEquals(3, TokenEstimator.estimate(embedding));
+	}
+
+}
@@ -0,0 +1,195 @@
+package ai.z.openapi.core.resilience;
+
+import ai.z.openapi.core.retry.ExponentialBackoffRetryPolicy;
+import ai.z.openapi.core.retry.RetryInterceptor;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ResilienceInterceptor, CircuitBreaker and AdaptiveConcurrencyLimiter.
+ */
+class ResilienceInterceptorTest {
+
+	private MockWebServer server;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		server.shutdown();
+	}
+
+	private OkHttpClient client(ResilienceInterceptor interceptor) {
+		return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+	}
+
+	private Call chatCall(OkHttpClient client) {
+		return client.newCall(new Request.Builder().url(server.url("/api/paas/v4/chat/completions")).build());
+	}
+
+	@Test
+	void testCircuitOpensFailsFastAndRecovers() throws Exception {
+		ResiliencePolicy policy = ResiliencePolicy.builder()
+			.failureRate(0.5, 4, 4)
+			.openDuration(200, TimeUnit.MILLISECONDS, 1)
+			.build();
+		ResilienceInterceptor interceptor = new ResilienceInterceptor(
+				Collections.singletonMap(EndpointFamily.CHAT, policy));
+		OkHttpClient client = client(interceptor);
+		for (int i = 0; i < 4; i++) {
+			server.enqueue(new MockResponse().setResponseCode(503));
+		}
+		server.enqueue(new MockResponse().setBody("ok"));
+
+		for (int i = 0; i < 4; i++) {
+			try (Response response = chatCall(client).execute()) {
+				assertEquals(503, response.code());
+			}
+		}
+		assertEquals(CircuitBreaker.State.OPEN, interceptor.circuitBreaker(EndpointFamily.CHAT).getState());
+		ResilienceRejectedException e = assertThrows(ResilienceRejectedException.class,
+				() -> chatCall(client).execute());
+		assertEquals(EndpointFamily.CHAT, e.getFamily());
+		assertEquals(4, server.getRequestCount());
+
+		Thread.sleep(250);
+		try (Response response = chatCall(client).execute()) {
+			assertEquals(200, response.code());
+		}
+		assertEquals(CircuitBreaker.State.CLOSED, interceptor.circuitBreaker(EndpointFamily.CHAT).getState());
+	}
+
+	@Test
+	void testConcurrencyLimitFailsFast() throws Exception {
+		ResiliencePolicy policy = ResiliencePolicy.builder().concurrencyLimit(1, 1, 1).build();
+		OkHttpClient client = client(new ResilienceInterceptor(Collections.singletonMap(EndpointFamily.CHAT, policy)));
+		server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+		CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> {
+			try (Response response = chatCall(client).execute()) {
+				return response.code();
+			}
+			catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		server.takeRequest(5, TimeUnit.SECONDS);
+
+		assertThrows(ResilienceRejectedException.class, () -> chatCall(client).execute());
+		assertEquals(200, slow.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testSlotIsHeldUntilBodyIsConsumedOrClosed() throws Exception {
+		ResiliencePolicy policy = ResiliencePolicy.builder().concurrencyLimit(1, 1, 1).build();
+		ResilienceInterceptor interceptor = new ResilienceInterceptor(
+				Collections.singletonMap(EndpointFamily.CHAT, policy));
+		OkHttpClient client = client(interceptor);
+		AdaptiveConcurrencyLimiter limiter = interceptor.concurrencyLimiter(EndpointFamily.CHAT);
+		server.enqueue(new MockResponse().setBody("data: first\n\ndata: second\n\n"));
+		server.enqueue(new MockResponse().setBody("ok"));
+		server.enqueue(new MockResponse().setBody("ok"));
+
+		Response stream = chatCall(client).execute();
+		assertEquals(1, limiter.getInFlight());
+		assertThrows(ResilienceRejectedException.class, () -> chatCall(client).execute());
+		stream.close();
+		assertEquals(0, limiter.getInFlight());
+
+		Response read = chatCall(client).execute();
+		assertEquals("ok", read.body().string());
+		assertEquals(0, limiter.getInFlight());
+		try (Response response = chatCall(client).execute()) {
+			assertEquals(200, response.code());
+		}
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void testRetriedAttemptsAreJudgedOneByOne() throws Exception {
+		ResiliencePolicy policy = ResiliencePolicy.builder()
+			.failureRate(0.5, 2, 2)
+			.openDuration(1, TimeUnit.MINUTES, 1)
+			.build();
+		ResilienceInterceptor interceptor = new ResilienceInterceptor(
+				Collections.singletonMap(EndpointFamily.CHAT, policy));
+		OkHttpClient client = new OkHttpClient.Builder().addInterceptor(new RetryInterceptor(
+				ExponentialBackoffRetryPolicy.builder().maxAttempts(5).backoff(0, 0, TimeUnit.MILLISECONDS).build()))
+			.addInterceptor(interceptor)
+			.build();
+		for (int i = 0; i < 5; i++) {
+			server.enqueue(new MockResponse().setResponseCode(503));
+		}
+
+		assertThrows(ResilienceRejectedException.class, () -> chatCall(client).execute());
+		assertEquals(2, server.getRequestCount());
+		assertEquals(CircuitBreaker.State.OPEN, interceptor.circuitBreaker(EndpointFamily.CHAT).getState());
+		assertEquals(0, interceptor.concurrencyLimiter(EndpointFamily.CHAT).getInFlight());
+	}
+
+	@Test
+	void testOtherFamiliesPassThrough() throws Exception {
+		ResiliencePolicy policy = ResiliencePolicy.builder().concurrencyLimit(1, 1, 1).build();
+		ResilienceInterceptor interceptor = new ResilienceInterceptor(
+				Collections.singletonMap(EndpointFamily.EMBEDDINGS, policy));
+		server.enqueue(new MockResponse().setResponseCode(500));
+
+		try (Response response = chatCall(client(interceptor)).execute()) {
+			assertEquals(500, response.code());
+		}
+		assertNull(interceptor.circuitBreaker(EndpointFamily.CHAT));
+	}
+
+	@Test
+	void testAimdLimit() {
+		ResiliencePolicy policy = ResiliencePolicy.builder()
+			.concurrencyLimit(10, 2, 20)
+			.backoff(1, TimeUnit.SECONDS, 0.5)
+			.build();
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(policy);
+
+		assertTrue(limiter.tryAcquire());
+		limiter.onFailure();
+		assertEquals(5, limiter.getLimit());
+		assertTrue(limiter.tryAcquire());
+		limiter.onSuccess(TimeUnit.SECONDS.toNanos(2));
+		assertEquals(2, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire());
+			assertTrue(limiter.tryAcquire());
+			limiter.onSuccess(0);
+			limiter.onSuccess(0);
+		}
+		assertTrue(limiter.getLimit() > 2);
+	}
+
+	@Test
+	void testEndpointFamily() {
+		assertEquals(EndpointFamily.CHAT, EndpointFamily.of("/api/paas/v4/chat/completions"));
+		assertEquals(EndpointFamily.CHAT, EndpointFamily.of("/api/paas/v4/async-result/123"));
+		assertEquals(EndpointFamily.EMBEDDINGS, EndpointFamily.of("/api/paas/v4/embeddings"));
+		assertEquals(EndpointFamily.FILES, EndpointFamily.of("/api/paas/v4/files/abc/content"));
+		assertEquals(EndpointFamily.OTHER, EndpointFamily.of("/api/paas/v4/images/generations"));
+	}
+
+}
@@ -0,0 +1,148 @@
+package ai.z.openapi.core.retry;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RetryInterceptor and ExponentialBackoffRetryPolicy. Tests cover
+ * idempotency rules, Retry-After, the retry budget and the jittered backoff.
+ */
+class RetryInterceptorTest {
+
+	private MockWebServer server;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		server.shutdown();
+	}
+
+	private static ExponentialBackoffRetryPolicy.Builder fastPolicy() {
+		return ExponentialBackoffRetryPolicy.builder().backoff(0, 0, TimeUnit.MILLISECONDS);
+	}
+
+	private Response post(RetryPolicy policy, String idempotencyKey) throws IOException {
+		OkHttpClient client = new OkHttpClient.Builder().addInterceptor(new RetryInterceptor(policy)).build();
+		Request.Builder request = new Request.Builder().url(server.url("/chat/completions"))
+			.post(RequestBody.create(MediaType.get("application/json"), "{}"));
+		if (idempotencyKey != null) {
+			request.header("Idempotency-Key", idempotencyKey);
+		}
+		return client.newCall(request.build()).execute();
+	}
+
+	@Test
+	void testRetriesRateLimitedPostHonoringRetryAfter() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+		server.enqueue(new MockResponse().setBody("ok"));
+
+		long start = System.nanoTime();
+		try (Response response = post(fastPolicy().build(), null)) {
+			assertEquals(200, response.code());
+			assertEquals("ok", response.body().string());
+		}
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 900);
+		assertEquals(2, server.getRequestCount());
+	}
+
+	@Test
+	void testDoesNotRetryNonIdempotentServerError() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(500));
+		server.enqueue(new MockResponse().setBody("ok"));
+
+		try (Response response = post(fastPolicy().build(), null)) {
+			assertEquals(500, response.code());
+		}
+		assertEquals(1, server.getRequestCount());
+	}
+
+	@Test
+	void testRetriesServerErrorWithIdempotencyKey() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(500));
+		server.enqueue(new MockResponse().setResponseCode(502));
+		server.enqueue(new MockResponse().setBody("ok"));
+
+		try (Response response = post(fastPolicy().build(), "key-1")) {
+			assertEquals(200, response.code());
+		}
+		assertEquals(3, server.getRequestCount());
+	}
+
+	@Test
+	void testStopsAfterMaxAttempts() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			server.enqueue(new MockResponse().setResponseCode(503));
+		}
+
+		try (Response response = post(fastPolicy().maxAttempts(2).build(), null)) {
+			assertEquals(503, response.code());
+		}
+		assertEquals(2, server.getRequestCount());
+	}
+
+	@Test
+	void testDoesNotRetryNonIdempotentReadFailure() throws Exception {
+		server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+		server.enqueue(new MockResponse().setBody("ok"));
+
+		assertThrows(IOException.class, () -> post(fastPolicy().build(), null));
+		assertEquals(1, server.getRequestCount());
+	}
+
+	@Test
+	void testRetryBudgetLimitsRetries() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			server.enqueue(new MockResponse().setResponseCode(429));
+		}
+		RetryPolicy policy = fastPolicy().maxAttempts(10).budget(new RetryBudget(0.0, 0)).build();
+
+		try (Response response = post(policy, null)) {
+			assertEquals(429, response.code());
+		}
+		assertEquals(1, server.getRequestCount());
+	}
+
+	@Test
+	void testRetryBudget() {
+		RetryBudget budget = new RetryBudget(0.5, 0);
+		assertFalse(budget.tryAcquire());
+		budget.onRequest();
+		budget.onRequest();
+		assertEquals(1, budget.available());
+		assertTrue(budget.tryAcquire());
+		assertFalse(budget.tryAcquire());
+	}
+
+	@Test
+	void testBackoffIsJitteredAndCapped() {
+		ExponentialBackoffRetryPolicy policy = ExponentialBackoffRetryPolicy.builder()
+			.backoff(100, 1000, TimeUnit.MILLISECONDS)
+			.build();
+		for (int i = 0; i < 100; i++) {
+			assertTrue(policy.backoffMillis(1) <= 100);
+			assertTrue(policy.backoffMillis(3) <= 400);
+			long capped = policy.backoffMillis(20);
+			assertTrue(capped >= 0 && capped <= 1000);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+package ai.z.openapi.core.token;
+
+import ai.z.openapi.core.cache.CacheEntry;
+import ai.z.openapi.core.cache.LocalCache;
+import ai.z.openapi.core.config.ZaiConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TokenHolder. Tests cover the cached hot path, single-flight signing and
+ * background refresh ahead of expiry.
+ */
+class TokenHolderTest {
+
+	private static ZaiConfig config(int expireMillis) {
+		return ZaiConfig.builder().apiKey("id.secret").expireMillis(expireMillis).build();
+	}
+
+	private static CacheEntry token(String value) {
+		return new CacheEntry(value, CacheEntry.UNKNOWN_EXPIRY);
+	}
+
+	@Test
+	void testReturnsSameHeaderWhileValid() {
+		AtomicInteger issued = new AtomicInteger();
+		TokenHolder holder = new TokenHolder(config(60_000), () -> token("jwt-" + issued.incrementAndGet()));
+
+		String first = holder.authorization();
+		assertEquals("Bearer jwt-1", first);
+		assertSame(first, holder.authorization());
+		assertEquals(1, issued.get());
+	}
+
+	@Test
+	void testConcurrentCallersSignOnce() throws Exception {
+		AtomicInteger issued = new AtomicInteger();
+		TokenHolder holder = new TokenHolder(config(60_000), () -> {
+			try {
+				Thread.sleep(50);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return token("jwt-" + issued.incrementAndGet());
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return holder.authorization();
+			}));
+		}
+		start.countDown();
+		for (Future<String> result : results) {
+			assertEquals("Bearer jwt-1", result.get(5, TimeUnit.SECONDS));
+		}
+		executor.shutdown();
+		assertEquals(1, issued.get());
+	}
+
+	@Test
+	void testRefreshesInBackgroundBeforeExpiry() throws Exception {
+		AtomicInteger issued = new AtomicInteger();
+		TokenHolder holder = new TokenHolder(config(500), () -> token("jwt-" + issued.incrementAndGet()));
+
+		assertEquals("Bearer jwt-1", holder.authorization());
+		Thread.sleep(420);
+		// inside the refresh window the current token is still served
+		assertEquals("Bearer jwt-1", holder.authorization());
+
+		long deadline = System.currentTimeMillis() + 2000;
+		while (issued.get() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals("Bearer jwt-2", holder.authorization());
+	}
+
+	@Test
+	void testExpiredTokenIsSignedSynchronously() throws Exception {
+		AtomicInteger issued = new AtomicInteger();
+		TokenHolder holder = new TokenHolder(config(50), () -> token("jwt-" + issued.incrementAndGet()));
+
+		holder.authorization();
+		Thread.sleep(100);
+
+		assertEquals("Bearer jwt-2", holder.authorization());
+	}
+
+	@Test
+	void testIssueTokenUpdatesCache() {
+		LocalCache cache = LocalCache.getInstance();
+		TokenManager manager = new TokenManager(cache);
+		ZaiConfig config = config(60_000);
+
+		String token = manager.issueToken(config);
+
+		assertEquals(token, cache.get("zai_oapi_token-id"));
+		assertEquals(token, manager.getToken(config));
+		assertSame(token, manager.acquireToken(config, 1000).getValue());
+		assertThrows(RuntimeException.class, () -> manager.getToken(ZaiConfig.builder().apiKey("a.b.c").build()));
+	}
+
+	@Test
+	void testMalformedApiKeysAreRejected() {
+		TokenManager manager = new TokenManager(LocalCache.getInstance());
+		for (String apiKey : new String[] { "id.", ".secret", ".", "idsecret", "id.sec.ret" }) {
+			ZaiConfig config = ZaiConfig.builder().apiKey(apiKey).expireMillis(60_000).build();
+			assertThrows(RuntimeException.class, () -> manager.issueToken(config), apiKey);
+		}
+	}
+
+}
@@ -0,0 +1,164 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.core.ratelimit.RateLimitExceededException;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the non-blocking chat service against a local mock server.
+ */
+class AsyncChatServiceTest {
+
+	private MockWebServer server;
+
+	private ZaiClient client;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+		client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").build();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		server.shutdown();
+	}
+
+	private static ChatCompletionCreateParams request() {
+		return ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.messages(Collections
+				.singletonList(ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+			.build();
+	}
+
+	@Test
+	void testCreateChatCompletion() throws Exception {
+		server.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+			.setBody(
+					"{\"id\":\"chat-1\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Hi\"}}]}"));
+
+		CompletableFuture<ChatCompletionResponse> future = client.chatAsync().createChatCompletion(request());
+		ChatCompletionResponse response = future.get(5, TimeUnit.SECONDS);
+
+		assertTrue(response.isSuccess());
+		assertEquals("chat-1", response.getData().getId());
+		assertEquals("/chat/completions", server.takeRequest().getPath());
+	}
+
+	@Test
+	void testErrorResponseCompletesWithFailedResponse() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(429)
+			.setHeader("Content-Type", "application/json")
+			.setBody("{\"error\":{\"code\":\"1302\",\"message\":\"rate limited\"}}"));
+
+		ChatCompletionResponse response = client.chatAsync().createChatCompletion(request()).get(5, TimeUnit.SECONDS);
+
+		assertFalse(response.isSuccess());
+		assertEquals(429, response.getCode());
+		assertEquals(1302, response.getError().getCode());
+		assertEquals("rate limited", response.getError().getMessage());
+	}
+
+	@Test
+	void testCallsBeyondPerHostLimitAreQueued() throws Exception {
+		ZaiClient limited = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").dispatcher(10, 1)
+			.build();
+		String body = "{\"id\":\"chat-1\",\"choices\":[]}";
+		server.enqueue(new MockResponse().setBody(body).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+		server.enqueue(new MockResponse().setBody(body));
+
+		CompletableFuture<ChatCompletionResponse> first = limited.chatAsync().createChatCompletion(request());
+		CompletableFuture<ChatCompletionResponse> second = limited.chatAsync().createChatCompletion(request());
+
+		assertEquals(1, limited.runningCallsCount());
+		assertEquals(1, limited.queuedCallsCount());
+		assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+		assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+		assertEquals(0, limited.queuedCallsCount());
+		limited.close();
+	}
+
+	@Test
+	void testSynchronousCallsShareTheDispatcherLimit() throws Exception {
+		ZaiClient limited = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").dispatcher(10, 1)
+			.build();
+		String body = "{\"id\":\"chat-1\",\"choices\":[]}";
+		server.enqueue(new MockResponse().setBody(body).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+		server.enqueue(new MockResponse().setBody(body));
+
+		CompletableFuture<ChatCompletionResponse> first = limited.chatAsync().createChatCompletion(request());
+		CompletableFuture<ChatCompletionResponse> second = CompletableFuture
+			.supplyAsync(() -> limited.chat().createChatCompletion(request()));
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (limited.queuedCallsCount() == 0 && !second.isDone() && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(5);
+		}
+		assertEquals(1, limited.queuedCallsCount());
+		assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+		assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+		limited.close();
+	}
+
+	@Test
+	void testCallsAreShapedByRateLimitWithoutBlocking() throws Exception {
+		server.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+			.setBody("{\"id\":\"chat-1\",\"choices\":[],\"usage\":{\"total_tokens\":3}}"));
+		ZaiClient limited = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+			.rateLimit("glm-4.6", 1, 0)
+			.rateLimitMaxWait(2, TimeUnit.MINUTES)
+			.build();
+
+		assertTrue(limited.chatAsync().createChatCompletion(request()).get(5, TimeUnit.SECONDS).isSuccess());
+		long start = System.nanoTime();
+		CompletableFuture<ChatCompletionResponse> second = limited.chatAsync().createChatCompletion(request());
+
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+		assertFalse(second.isDone());
+		TimeUnit.MILLISECONDS.sleep(200);
+		assertFalse(second.isDone());
+		assertEquals(1, server.getRequestCount());
+		second.cancel(false);
+	}
+
+	@Test
+	void testRateLimitExceededCompletesExceptionally() throws Exception {
+		server.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+			.setBody("{\"id\":\"chat-1\",\"choices\":[]}"));
+		ZaiClient limited = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+			.rateLimit("glm-4.6", 1, 0)
+			.rateLimitMaxWait(0, TimeUnit.MILLISECONDS)
+			.build();
+		limited.chatAsync().createChatCompletion(request()).get(5, TimeUnit.SECONDS);
+
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> limited.chatAsync().createChatCompletion(request()).get(5, TimeUnit.SECONDS));
+
+		assertInstanceOf(RateLimitExceededException.class, e.getCause());
+		assertEquals(1, server.getRequestCount());
+	}
+
+	@Test
+	void testInvalidRequestFailsFast() {
+		assertThrows(IllegalArgumentException.class,
+				() -> client.chatAsync().createChatCompletion(ChatCompletionCreateParams.builder().build()));
+	}
+
+}
@@ -0,0 +1,247 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.service.model.AsyncResultRetrieveParams;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import ai.z.openapi.service.model.Choice;
+import ai.z.openapi.service.model.Delta;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.service.model.QueryModelResultResponse;
+import ai.z.openapi.service.model.Usage;
+import io.reactivex.rxjava3.core.Flowable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CachingChatService. Tests cover request keys, cacheable requests, hits
+ * shared between streaming and non-streaming requests, finish reasons and expiry.
+ */
+class CachingChatServiceTest {
+
+	/**
+	 * Answers every request with "answer <n>", as a response or as two chunks.
+	 */
+	private static final class FakeChatService implements ChatService {
+
+		private final List<ChatCompletionCreateParams> sent = new ArrayList<>();
+
+		private String finishReason = "stop";
+
+		@Override
+		public ChatCompletionResponse createChatCompletion(ChatCompletionCreateParams request) {
+			sent.add(request);
+			String answer = "answer " + sent.size();
+			Usage usage = new Usage();
+			usage.setPromptTokens(3);
+			usage.setCompletionTokens(2);
+			usage.setTotalTokens(5);
+			ChatCompletionResponse response = new ChatCompletionResponse();
+			response.setCode(200);
+			response.setSuccess(true);
+			if (Boolean.TRUE.equals(request.getStream())) {
+				ModelData first = ModelData.builder()
+					.id("chat-" + sent.size())
+					.choices(Collections.singletonList(Choice.builder()
+						.index(0L)
+						.delta(Delta.builder().role("assistant").content("answer ").build())
+						.build()))
+					.build();
+				ModelData last = ModelData.builder()
+					.id("chat-" + sent.size())
+					.usage(usage)
+					.choices(Collections.singletonList(Choice.builder()
+						.index(0L)
+						.finishReason(finishReason)
+						.delta(Delta.builder().content(String.valueOf(sent.size())).build())
+						.build()))
+					.build();
+				response.setFlowable(Flowable.just(first, last));
+			}
+			else {
+				ChatMessage message = ChatMessage.builder().role("assistant").content(answer).build();
+				response.setData(ModelData.builder()
+					.id("chat-" + sent.size())
+					.usage(usage)
+					.choices(Collections
+						.singletonList(Choice.builder().index(0L).finishReason(finishReason).message(message).build()))
+					.build());
+			}
+			return response;
+		}
+
+		@Override
+		public ChatCompletionResponse asyncChatCompletion(ChatCompletionCreateParams request) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public QueryModelResultResponse retrieveAsyncResult(AsyncResultRetrieveParams request) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public ChatCompletionResponse createChatCompletion(ChatCompletionCreateParams request,
+				Map<String, String> customHeaders) {
+			return createChatCompletion(request);
+		}
+
+	}
+
+	private final FakeChatService fake = new FakeChatService();
+
+	private static ChatCompletionCreateParams.ChatCompletionCreateParamsBuilder<?, ?> request(String prompt) {
+		return ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.doSample(false)
+			.messages(Arrays.asList(
+					ChatMessage.builder().role(ChatMessageRole.SYSTEM.value()).content("Be brief.").build(),
+					ChatMessage.builder().role(ChatMessageRole.USER.value()).content(prompt).build()));
+	}
+
+	private static String content(ChatCompletionResponse response) {
+		return (String) response.getData().getChoices().get(0).getMessage().getContent();
+	}
+
+	@Test
+	void testKeyIgnoresRequestIdAndStream() {
+		String key = CachingChatService.key(request("Hi").build());
+
+		assertEquals(key, CachingChatService.key(request("Hi").requestId("r-1").stream(true).build()));
+		assertTrue(key.startsWith("zai:chat:"));
+		assertNotEquals(key, CachingChatService.key(request("Hello").build()));
+		assertNotEquals(key, CachingChatService.key(request("Hi").temperature(0.5f).build()));
+		assertNotEquals(key, CachingChatService.key(request("Hi").maxTokens(10).build()));
+	}
+
+	@Test
+	void testKeyIgnoresPropertyOrderOfExtraParameters() {
+		Map<String, Object> first = new HashMap<>();
+		first.put("a", 1);
+		first.put("b", 2);
+		Map<String, Object> second = new LinkedHashMap<>();
+		second.put("b", 2);
+		second.put("a", 1);
+
+		assertEquals(CachingChatService.key(request("Hi").extraJson(first).build()),
+				CachingChatService.key(request("Hi").extraJson(second).build()));
+	}
+
+	@Test
+	void testRepeatedRequestIsServedFromCache() {
+		CachingChatService service = new CachingChatService(fake, 100, 1, TimeUnit.MINUTES);
+
+		ChatCompletionResponse first = service.createChatCompletion(request("Hi").build());
+		ChatCompletionResponse second = service.createChatCompletion(request("Hi").requestId("r-2").build());
+
+		assertEquals(1, fake.sent.size());
+		assertTrue(second.isSuccess());
+		assertEquals("answer 1", content(first));
+		assertEquals("answer 1", content(second));
+		assertEquals(5, second.getData().getUsage().getTotalTokens());
+		assertNotSame(first.getData(), second.getData());
+		assertEquals(1, service.stats().getHitCount());
+	}
+
+	@Test
+	void testSampledRequestIsNotCached() {
+		CachingChatService service = new CachingChatService(fake, 100, 1, TimeUnit.MINUTES);
+
+		service.createChatCompletion(request("Hi").doSample(true).temperature(0.7f).build());
+		service.createChatCompletion(request("Hi").doSample(true).temperature(0.7f).build());
+		service.createChatCompletion(request("Hi").doSample(null).temperature(0f).build());
+		service.createChatCompletion(request("Hi").doSample(null).temperature(0f).build());
+
+		assertEquals(3, fake.sent.size());
+	}
+
+	@Test
+	void testCachedResponseIsReplayedAsStream() {
+		CachingChatService service = new CachingChatService(fake, 100, 1, TimeUnit.MINUTES);
+		service.createChatCompletion(request("Hi").build());
+
+		ChatCompletionResponse response = service.createChatCompletion(request("Hi").stream(true).build());
+
+		assertEquals(1, fake.sent.size());
+		List<ModelData> chunks = response.getFlowable().toList().blockingGet();
+		assertEquals(1, chunks.size());
+		Choice choice = chunks.get(0).getChoices().get(0);
+		assertEquals("answer 1", choice.getDelta().getContent());
+		assertEquals("assistant", choice.getDelta().getRole());
+		assertEquals("stop", choice.getFinishReason());
+		assertEquals(5, chunks.get(0).getUsage().getTotalTokens());
+	}
+
+	@Test
+	void testCompletedStreamServesLaterRequests() {
+		CachingChatService service = new CachingChatService(fake, 100, 1, TimeUnit.MINUTES);
+		ChatCompletionResponse streamed = service.createChatCompletion(request("Hi").stream(true).build());
+		assertEquals(2, streamed.getFlowable().toList().blockingGet().size());
+
+		ChatCompletionResponse sync = service.createChatCompletion(request("Hi").build());
+		ModelData replayed = StreamAccumulator
+			.reduce(service.createChatCompletion(request("Hi").stream(true).build()).getFlowable())
+			.blockingGet();
+
+		assertEquals(1, fake.sent.size());
+		assertEquals("answer 1", content(sync));
+		assertEquals("answer 1", replayed.getChoices().get(0).getMessage().getContent());
+	}
+
+	@Test
+	void testUnconsumedStreamIsNotCached() {
+		CachingChatService service = new CachingChatService(fake, 100, 1, TimeUnit.MINUTES);
+		service.createChatCompletion(request("Hi").stream(true).build());
+
+		service.createChatCompletion(request("Hi").build());
+
+		assertEquals(2, fake.sent.size());
+	}
+
+	@Test
+	void testIncompleteResponseIsNotCached() {
+		CachingChatService service = new CachingChatService(fake, 100, 1, TimeUnit.MINUTES);
+		fake.finishReason = "sensitive";
+
+		service.createChatCompletion(request("Hi").build());
+		service.createChatCompletion(request("Hi").build());
+
+		assertEquals(2, fake.sent.size());
+	}
+
+	@Test
+	void testEntriesExpire() throws Exception {
+		CachingChatService service = new CachingChatService(fake, 100, 50, TimeUnit.MILLISECONDS);
+		service.createChatCompletion(request("Hi").build());
+
+		TimeUnit.MILLISECONDS.sleep(100);
+		ChatCompletionResponse response = service.createChatCompletion(request("Hi").build());
+
+		assertEquals(2, fake.sent.size());
+		assertEquals("answer 2", content(response));
+	}
+
+	@Test
+	void testSizeIsBounded() {
+		CachingChatService service = new CachingChatService(fake, 1, 1, TimeUnit.MINUTES);
+		service.createChatCompletion(request("Hi").build());
+		service.createChatCompletion(request("Hello").build());
+
+		service.createChatCompletion(request("Hi").build());
+
+		assertEquals(3, fake.sent.size());
+		assertEquals(2, service.stats().getEvictionCount());
+	}
+
+}
@@ -0,0 +1,202 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.core.config.StreamBackpressureStrategy;
+import ai.z.openapi.core.config.ZaiConfig;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import ai.z.openapi.service.model.ModelData;
+import io.reactivex.rxjava3.exceptions.MissingBackpressureException;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests streaming chat completions against a local mock server with the different
+ * backpressure strategies.
+ */
+class ChatStreamBackpressureTest {
+
+	private static final int EVENTS = 500;
+
+	private MockWebServer server;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+		StringBuilder body = new StringBuilder(": keep-alive\n\n");
+		for (int i = 0; i < EVENTS; i++) {
+			body.append("data: {\"id\":\"")
+				.append(i)
+				.append("\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"x\"}}]}\n\n");
+		}
+		body.append("data: [DONE]\n\n");
+		server.enqueue(new MockResponse().setHeader("Content-Type", "text/event-stream").setBody(body.toString()));
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		server.shutdown();
+	}
+
+	private ChatCompletionResponse stream(StreamBackpressureStrategy strategy, int bufferSize) {
+		ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+			.streamBackpressure(strategy, bufferSize)
+			.build();
+		ChatCompletionCreateParams request = ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.messages(Collections
+				.singletonList(ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+			.stream(true)
+			.build();
+		return client.chat().createChatCompletion(request);
+	}
+
+	@Test
+	void testBufferIsTheDefaultStrategy() {
+		assertEquals(StreamBackpressureStrategy.BUFFER, new ZaiConfig().getStreamBackpressureStrategy());
+		assertEquals(StreamBackpressureStrategy.BUFFER, ZaiConfig.builder().build().getStreamBackpressureStrategy());
+	}
+
+	@Test
+	void testPullEmitsOnlyRequestedEvents() throws Exception {
+		ChatCompletionResponse response = stream(StreamBackpressureStrategy.PULL, 16);
+		assertTrue(response.isSuccess());
+
+		TestSubscriber<ModelData> subscriber = response.getFlowable().test(0);
+		subscriber.request(3);
+		subscriber.awaitCount(3);
+		Thread.sleep(100);
+		subscriber.assertValueCount(3);
+		assertEquals("0", subscriber.values().get(0).getId());
+
+		subscriber.request(Long.MAX_VALUE);
+		subscriber.await(5, TimeUnit.SECONDS);
+		subscriber.assertComplete().assertNoErrors().assertValueCount(EVENTS);
+	}
+
+	@Test
+	void testPullCancel() throws Exception {
+		ChatCompletionResponse response = stream(StreamBackpressureStrategy.PULL, 16);
+
+		TestSubscriber<ModelData> subscriber = response.getFlowable().test(1);
+		subscriber.awaitCount(1);
+		subscriber.cancel();
+
+		subscriber.assertValueCount(1).assertNotComplete().assertNoErrors();
+	}
+
+	@Test
+	void testPullStreamDoesNotHoldDispatcherSlotWhileRead() throws Exception {
+		server.enqueue(new MockResponse().setHeader("Content-Type", "text/event-stream")
+			.setBody("data: {\"id\":\"second\",\"choices\":[]}\n\ndata: [DONE]\n\n"));
+		ZaiClient client = pullClient(server);
+
+		TestSubscriber<ModelData> first = client.chat().createChatCompletion(streamRequest()).getFlowable().test(1);
+		first.awaitCount(1);
+		TestSubscriber<ModelData> second = client.chat().createChatCompletion(streamRequest()).getFlowable().test();
+		second.await(5, TimeUnit.SECONDS);
+
+		second.assertComplete().assertNoErrors().assertValueCount(1);
+		assertEquals("second", second.values().get(0).getId());
+		// the dispatcher releases the slot just after the callback returns
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (client.runningCallsCount() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(0, client.runningCallsCount());
+		first.assertNotComplete();
+		first.cancel();
+		client.close();
+	}
+
+	@Test
+	void testPullStreamDisposedWhileOpeningReleasesDispatcher() throws Exception {
+		MockWebServer slow = new MockWebServer();
+		slow.enqueue(new MockResponse().setHeader("Content-Type", "text/event-stream")
+			.setHeadersDelay(300, TimeUnit.MILLISECONDS)
+			.setBody("data: {\"id\":\"first\",\"choices\":[]}\n\ndata: [DONE]\n\n"));
+		slow.enqueue(new MockResponse().setHeader("Content-Type", "text/event-stream")
+			.setBody("data: {\"id\":\"second\",\"choices\":[]}\n\ndata: [DONE]\n\n"));
+		slow.start();
+		ZaiClient client = pullClient(slow);
+
+		TestSubscriber<ModelData> first = client.chat().createChatCompletion(streamRequest()).getFlowable().test();
+		assertNotNull(slow.takeRequest(5, TimeUnit.SECONDS));
+		assertEquals(1, client.runningCallsCount());
+		first.cancel();
+		TestSubscriber<ModelData> second = client.chat().createChatCompletion(streamRequest()).getFlowable().test();
+		second.await(5, TimeUnit.SECONDS);
+
+		first.assertNoValues();
+		second.assertComplete().assertNoErrors().assertValueCount(1);
+		assertEquals("second", second.values().get(0).getId());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (client.runningCallsCount() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(0, client.runningCallsCount());
+		client.close();
+		slow.shutdown();
+	}
+
+	private static ZaiClient pullClient(MockWebServer server) {
+		return new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").dispatcher(10, 1)
+			.streamBackpressure(StreamBackpressureStrategy.PULL, 16)
+			.build();
+	}
+
+	private static ChatCompletionCreateParams streamRequest() {
+		return ChatCompletionCreateParams.builder()
+			.model("glm-4.6")
+			.messages(Collections
+				.singletonList(ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+			.stream(true)
+			.build();
+	}
+
+	@Test
+	void testBoundedBufferErrorsOnSlowSubscriber() throws Exception {
+		ChatCompletionResponse response = stream(StreamBackpressureStrategy.ERROR, 8);
+
+		TestSubscriber<ModelData> subscriber = response.getFlowable().test(0);
+		subscriber.await(5, TimeUnit.SECONDS);
+
+		subscriber.assertError(MissingBackpressureException.class);
+	}
+
+	@Test
+	void testBoundedBufferDropsOnSlowSubscriber() throws Exception {
+		ChatCompletionResponse response = stream(StreamBackpressureStrategy.DROP_LATEST, 8);
+
+		TestSubscriber<ModelData> subscriber = response.getFlowable().test(0);
+		Thread.sleep(500);
+		subscriber.request(Long.MAX_VALUE);
+		subscriber.await(5, TimeUnit.SECONDS);
+
+		subscriber.assertComplete().assertNoErrors();
+		assertTrue(subscriber.values().size() < EVENTS);
+	}
+
+	@Test
+	void testBufferEmitsAllEvents() throws Exception {
+		ChatCompletionResponse response = stream(StreamBackpressureStrategy.BUFFER, 8);
+
+		TestSubscriber<ModelData> subscriber = response.getFlowable().test();
+		subscriber.await(5, TimeUnit.SECONDS);
+
+		subscriber.assertComplete().assertNoErrors().assertValueCount(EVENTS);
+	}
+
+}
@@ -0,0 +1,183 @@
+package ai.z.openapi.service.chat;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.service.agents.AgentMessage;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatFunctionCall;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import ai.z.openapi.service.model.Choice;
+import ai.z.openapi.service.model.Delta;
+import ai.z.openapi.service.model.ModelData;
+import ai.z.openapi.service.model.Segment;
+import ai.z.openapi.service.model.TaskStatus;
+import ai.z.openapi.service.model.ToolCalls;
+import ai.z.openapi.service.tools.KnowledgeV2Result;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.TextNode;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StreamAccumulator. Tests cover content and reasoning assembly, tool call
+ * fragments, multiple choices and usage of a streamed chat completion.
+ */
+class StreamAccumulatorTest {
+
+	private static ModelData chunk(long index, Delta delta, String finishReason) {
+		Choice choice = Choice.builder().index(index).delta(delta).finishReason(finishReason).build();
+		return ModelData.builder().id("chat-1").choices(Collections.singletonList(choice)).build();
+	}
+
+	private static ToolCalls toolCall(String id, String name, String arguments) {
+		return ToolCalls.builder()
+			.id(id)
+			.type(id == null ? null : "function")
+			.function(new ChatFunctionCall(name, TextNode.valueOf(arguments)))
+			.build();
+	}
+
+	@Test
+	void testContentAndReasoningPerChoice() {
+		StreamAccumulator accumulator = new StreamAccumulator();
+		accumulator.accept(chunk(0, Delta.builder().role("assistant").reasoningContent("think").build(), null));
+		accumulator.accept(chunk(1, Delta.builder().role("assistant").content("B").build(), null));
+		accumulator.accept(chunk(0, Delta.builder().reasoningContent("ing").content("Hel").build(), null));
+		accumulator.accept(chunk(0, Delta.builder().content("lo").build(), "stop"));
+		accumulator.accept(null);
+
+		ModelData result = accumulator.result();
+
+		assertEquals("chat-1", result.getId());
+		assertEquals(2, result.getChoices().size());
+		ChatMessage first = result.getChoices().get(0).getMessage();
+		assertEquals("assistant", first.getRole());
+		assertEquals("Hello", first.getContent());
+		assertEquals("thinking", first.getReasoningContent());
+		assertEquals("stop", result.getChoices().get(0).getFinishReason());
+		assertNull(result.getChoices().get(0).getDelta());
+		assertEquals("B", result.getChoices().get(1).getMessage().getContent());
+		assertEquals(Long.valueOf(1), result.getChoices().get(1).getIndex());
+	}
+
+	@Test
+	void testToolCallFragmentsAreMergedById() {
+		StreamAccumulator accumulator = new StreamAccumulator();
+		accumulator.accept(chunk(0,
+				Delta.builder()
+					.tool_calls(Arrays.asList(toolCall("a", "weather", "{\"ci"), toolCall("b", "time", "{}")))
+					.build(),
+				null));
+		accumulator.accept(chunk(0,
+				Delta.builder().tool_calls(Collections.singletonList(toolCall("a", null, "ty\":"))).build(), null));
+		accumulator.accept(
+				chunk(0, Delta.builder().tool_calls(Collections.singletonList(toolCall(null, null, "\"x\"}"))).build(),
+						"tool_calls"));
+
+		ChatMessage message = accumulator.result().getChoices().get(0).getMessage();
+
+		assertEquals(2, message.getToolCalls().size());
+		ToolCalls weather = message.getToolCalls().get(0);
+		assertEquals("a", weather.getId());
+		assertEquals("function", weather.getType());
+		assertEquals("weather", weather.getFunction().getName());
+		assertEquals("{\"city\":", weather.getFunction().getArguments().asText());
+		assertEquals("{}\"x\"}", message.getToolCalls().get(1).getFunction().getArguments().asText());
+	}
+
+	@Test
+	void testObjectArgumentsAreKept() {
+		StreamAccumulator accumulator = new StreamAccumulator();
+		ToolCalls call = ToolCalls.builder()
+			.id("a")
+			.function(new ChatFunctionCall("f", JsonNodeFactory.instance.objectNode().put("x", 1)))
+			.build();
+		accumulator.accept(chunk(0, Delta.builder().tool_calls(Collections.singletonList(call)).build(), null));
+
+		ToolCalls result = accumulator.result().getChoices().get(0).getMessage().getToolCalls().get(0);
+
+		assertEquals(1, result.getFunction().getArguments().get("x").asInt());
+	}
+
+	@Test
+	void testResponseFieldsAreCarriedOver() {
+		KnowledgeV2Result knowledge = new KnowledgeV2Result();
+		List<Segment> segments = Collections.singletonList(new Segment(0, 0.0, 1.0, "Hello"));
+		AgentMessage agentMessage = new AgentMessage();
+		StreamAccumulator accumulator = new StreamAccumulator();
+		accumulator.accept(ModelData.builder()
+			.asyncId("async-1")
+			.taskStatus(TaskStatus.PROCESSING)
+			.text("Hel")
+			.delta("Hel")
+			.build());
+		accumulator.accept(ModelData.builder()
+			.asyncId("async-2")
+			.taskStatus(TaskStatus.SUCCESS)
+			.text("Hello")
+			.delta("lo")
+			.segments(segments)
+			.knowledgeV2(knowledge)
+			.choices(Collections
+				.singletonList(Choice.builder().index(0L).messages(Collections.singletonList(agentMessage)).build()))
+			.build());
+
+		ModelData result = accumulator.result();
+
+		assertEquals("async-1", result.getAsyncId());
+		assertEquals(TaskStatus.SUCCESS, result.getTaskStatus());
+		assertEquals("Hello", result.getText());
+		assertNull(result.getDelta());
+		assertSame(segments, result.getSegments());
+		assertSame(knowledge, result.getKnowledgeV2());
+		assertEquals(Collections.singletonList(agentMessage), result.getChoices().get(0).getMessages());
+	}
+
+	@Test
+	void testReduceStream() throws Exception {
+		MockWebServer server = new MockWebServer();
+		server.start();
+		try {
+			StringBuilder body = new StringBuilder();
+			for (int i = 0; i < 100; i++) {
+				body.append("data: {\"id\":\"c1\",\"model\":\"glm-4.6\",\"choices\":[{\"index\":0,\"delta\":")
+					.append(i == 0 ? "{\"role\":\"assistant\",\"content\":\"x\"}" : "{\"content\":\"x\"}")
+					.append("}]}\n\n");
+			}
+			body.append("data: {\"id\":\"c1\",\"choices\":[{\"index\":0,\"finish_reason\":\"stop\",\"delta\":{}}],")
+				.append("\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":100,\"total_tokens\":105}}\n\n")
+				.append("data: [DONE]\n\n");
+			server.enqueue(new MockResponse().setHeader("Content-Type", "text/event-stream").setBody(body.toString()));
+			ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").build();
+			ChatCompletionResponse response = client.chat()
+				.createChatCompletion(ChatCompletionCreateParams.builder()
+					.model("glm-4.6")
+					.messages(Collections.singletonList(
+							ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+					.stream(true)
+					.build());
+
+			ModelData result = StreamAccumulator.reduce(response.getFlowable()).blockingGet();
+
+			assertEquals("glm-4.6", result.getModel());
+			assertEquals(105, result.getUsage().getTotalTokens());
+			assertEquals(100, result.getUsage().getCompletionTokens());
+			Choice choice = result.getChoices().get(0);
+			assertEquals("stop", choice.getFinishReason());
+			assertEquals(100, ((String) choice.getMessage().getContent()).length());
+			assertEquals("assistant", choice.getMessage().getRole());
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package ai.z.openapi.service.deserialize;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.api.chat.ChatApi;
+import ai.z.openapi.service.model.ChatCompletionCreateParams;
+import ai.z.openapi.service.model.ChatCompletionResponse;
+import ai.z.openapi.service.model.ChatMessage;
+import ai.z.openapi.service.model.ChatMessageRole;
+import ai.z.openapi.service.model.ModelData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for JsonCodec and the high performance JSON mode. Tests cover cached readers
+ * and writers, API warm-up and requests bound with generated accessors.
+ */
+class JsonCodecTest {
+
+	@Test
+	void testReadersAndWritersAreCached() throws Exception {
+		JsonCodec codec = new JsonCodec(MessageDeserializeFactory.defaultObjectMapper());
+
+		assertSame(codec.reader(ModelData.class), codec.reader(ModelData.class));
+		assertSame(codec.writer(ChatMessage.class), codec.writer(ChatMessage.class));
+		ModelData data = codec.reader(ModelData.class).readValue("{\"id\":\"1\",\"request_id\":\"r\"}");
+		assertEquals("r", data.getRequestId());
+	}
+
+	@Test
+	void testRegistryMappersAreSharedAndConfigured() throws Exception {
+		assertSame(JsonMappers.standard(), JsonMappers.standard());
+		assertSame(JsonMappers.plain().getMapper(), JsonMappers.plain().getMapper());
+		assertNotSame(JsonMappers.standard().getMapper(), JsonMappers.plain().getMapper());
+
+		ModelData data = new ModelData();
+		data.setRequestId("r");
+		assertEquals("{\"request_id\":\"r\"}", JsonMappers.standard().writer(ModelData.class).writeValueAsString(data));
+		assertNull(JsonMappers.plain().reader(ModelData.class).<ModelData>readValue("{\"unknown\":1}").getId());
+	}
+
+	@Test
+	void testWarmUpBuildsApiReadersAndWriters() {
+		JsonCodec codec = new JsonCodec(MessageDeserializeFactory.defaultObjectMapper())
+			.warmUp(Collections.singletonList(ChatApi.class));
+
+		ObjectMapper mapper = codec.getMapper();
+		assertTrue(mapper.canDeserialize(mapper.constructType(ModelData.class)));
+		assertSame(codec.reader(ModelData.class), codec.reader(ModelData.class));
+	}
+
+	@Test
+	void testHighPerformanceMapperRegistersAccessorModule() {
+		ObjectMapper mapper = MessageDeserializeFactory.highPerformanceObjectMapper();
+
+		assertTrue(
+				mapper.getRegisteredModuleIds()
+					.stream()
+					.anyMatch(id -> id.toString().contains("Blackbird") || id.toString().contains("Afterburner")),
+				mapper.getRegisteredModuleIds().toString());
+	}
+
+	@Test
+	void testHighPerformanceClientRoundTrip() throws Exception {
+		MockWebServer server = new MockWebServer();
+		server.enqueue(new MockResponse().setBody(
+				"{\"id\":\"1\",\"request_id\":\"r\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"ok\"}}]}"));
+		server.start();
+		try {
+			ZaiClient client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key")
+				.highPerformanceJson()
+				.build();
+			ChatCompletionResponse response = client.chat()
+				.createChatCompletion(ChatCompletionCreateParams.builder()
+					.model("glm-4.6")
+					.requestId("r")
+					.messages(Collections.singletonList(
+							ChatMessage.builder().role(ChatMessageRole.USER.value()).content("Hello").build()))
+					.build());
+
+			assertTrue(response.isSuccess());
+			assertEquals("ok", response.getData().getChoices().get(0).getMessage().getContent());
+			RecordedRequest request = server.takeRequest();
+			assertTrue(request.getBody().readUtf8().contains("\"request_id\":\"r\""));
+			client.close();
+		}
+		finally {
+			server.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package ai.z.openapi.service.deserialize.assistant;
+
+import ai.z.openapi.service.assistant.AssistantChoice;
+import ai.z.openapi.service.assistant.AssistantCompletion;
+import ai.z.openapi.service.assistant.message.AssistantTextContentBlock;
+import ai.z.openapi.service.assistant.message.AssistantToolsDeltaBlock;
+import ai.z.openapi.service.assistant.message.tools.function.AssistantFunctionToolBlock;
+import ai.z.openapi.service.deserialize.JsonMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AssistantChoiceDeserializer. Tests cover typed binding of text and tool
+ * call deltas, unknown properties, null values and the on-demand tree view.
+ */
+class AssistantChoiceDeserializerTest {
+
+	private final ObjectMapper mapper = JsonMappers.standard().getMapper();
+
+	@Test
+	void testTextDelta() throws Exception {
+		AssistantChoice choice = mapper
+			.readValue("{\"index\":1,\"delta\":{\"role\":\"assistant\",\"content\":\"hi\"},\"finish_reason\":\"stop\","
+					+ "\"metadata\":{\"a\":1}}", AssistantChoice.class);
+
+		assertEquals(1, choice.getIndex());
+		assertEquals("stop", choice.getFinishReason());
+		assertEquals(1, choice.getMetadata().get("a"));
+		AssistantTextContentBlock delta = assertInstanceOf(AssistantTextContentBlock.class, choice.getDelta());
+		assertEquals("hi", delta.getContent());
+		assertEquals("assistant", delta.getRole());
+		assertTrue(choice.getAdditionalProperties().isEmpty());
+	}
+
+	@Test
+	void testToolCallsDeltaRegardlessOfPropertyOrder() throws Exception {
+		AssistantChoice choice = mapper.readValue("{\"delta\":{\"content\":null,\"tool_calls\":[{\"type\":\"function\","
+				+ "\"id\":\"call_1\",\"function\":{\"name\":\"f\",\"arguments\":\"{}\"}}],\"extra\":[1,2]},\"index\":0}",
+				AssistantChoice.class);
+
+		AssistantToolsDeltaBlock delta = assertInstanceOf(AssistantToolsDeltaBlock.class, choice.getDelta());
+		assertEquals("tool", delta.getRole());
+		assertEquals(1, delta.getToolCalls().size());
+		AssistantFunctionToolBlock call = assertInstanceOf(AssistantFunctionToolBlock.class,
+				delta.getToolCalls().get(0));
+		assertEquals("call_1", call.getId());
+	}
+
+	@Test
+	void testUnknownPropertiesAndTreeView() throws Exception {
+		AssistantChoice choice = mapper.readValue(
+				"{\"index\":2,\"logprobs\":{\"tokens\":[\"a\"]},\"delta\":{\"content\":\"x\"},\"finish_reason\":null}",
+				AssistantChoice.class);
+
+		assertNull(choice.getFinishReason());
+		assertNull(choice.getMetadata());
+		assertEquals("a", choice.getAdditionalProperties().get("logprobs").get("tokens").get(0).asText());
+
+		ObjectNode node = choice.asObjectNode();
+		assertEquals(2, node.get("index").asInt());
+		assertEquals("x", node.get("delta").get("content").asText());
+		assertEquals("a", node.get("logprobs").get("tokens").get(0).asText());
+	}
+
+	@Test
+	void testChoicesInCompletion() throws Exception {
+		AssistantCompletion completion = mapper
+			.readValue("{\"id\":\"c1\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"a\"}},null,"
+					+ "{\"index\":1,\"delta\":null}]}", AssistantCompletion.class);
+
+		assertEquals(3, completion.getChoices().size());
+		assertNull(completion.getChoices().get(1));
+		assertNull(completion.getChoices().get(2).getDelta());
+		assertEquals("a", ((AssistantTextContentBlock) completion.getChoices().get(0).getDelta()).getContent());
+	}
+
+	@Test
+	void testObjectNodeConstructor() throws Exception {
+		ObjectNode node = (ObjectNode) mapper.readTree("{\"index\":3,\"delta\":{\"content\":\"y\"},\"usage\":1}");
+
+		AssistantChoice choice = new AssistantChoice(node);
+
+		assertEquals(3, choice.getIndex());
+		assertEquals("y", ((AssistantTextContentBlock) choice.getDelta()).getContent());
+		assertEquals(1, choice.getAdditionalProperties().get("usage").asInt());
+	}
+
+}
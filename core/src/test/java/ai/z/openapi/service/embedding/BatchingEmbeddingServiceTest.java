@@ -0,0 +1,126 @@
+package ai.z.openapi.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BatchingEmbeddingService. Tests cover coalescing of concurrent requests,
+ * fan-out by index, the time window, pass-through requests and failures.
+ */
+class BatchingEmbeddingServiceTest {
+
+	/**
+	 * Embeds "t<n>" as the vector [n] and returns the embeddings in reverse order.
+	 */
+	private final FakeEmbeddingService fake = new FakeEmbeddingService((n, request) -> new float[] { n }).reversed()
+		.tokensPerText(10);
+
+	private static EmbeddingCreateParams single(String text) {
+		return EmbeddingCreateParams.builder().model("embedding-3").input(text).build();
+	}
+
+	@Test
+	void testConcurrentRequestsAreCoalesced() throws Exception {
+		int requests = 64;
+		ExecutorService callers = Executors.newFixedThreadPool(requests);
+		try (BatchingEmbeddingService service = new BatchingEmbeddingService(fake, 16, 200, TimeUnit.MILLISECONDS)) {
+			List<Future<EmbeddingResponse>> responses = new ArrayList<>();
+			for (int i = 0; i < requests; i++) {
+				String text = "t" + i;
+				responses.add(callers.submit(() -> service.createEmbeddings(single(text))));
+			}
+			for (int i = 0; i < requests; i++) {
+				EmbeddingResponse response = responses.get(i).get(5, TimeUnit.SECONDS);
+				assertTrue(response.isSuccess());
+				Embedding embedding = response.getData().getData().get(0);
+				assertEquals(Collections.singletonList((double) i), embedding.getEmbedding());
+				assertEquals(0, embedding.getIndex());
+				assertTrue(response.getData().getUsage().getPromptTokens() > 0);
+			}
+		}
+		finally {
+			callers.shutdown();
+		}
+		assertTrue(fake.requests().size() >= 4 && fake.requests().size() < requests / 4,
+				"requests sent: " + fake.requests().size());
+		int texts = 0;
+		for (EmbeddingCreateParams request : fake.requests()) {
+			texts += FakeEmbeddingService.texts(request.getInput()).size();
+			assertTrue(FakeEmbeddingService.texts(request.getInput()).size() <= 16);
+			assertEquals("embedding-3", request.getModel());
+		}
+		assertEquals(requests, texts);
+	}
+
+	@Test
+	void testTimeWindowSendsPartialBatch() {
+		try (BatchingEmbeddingService service = new BatchingEmbeddingService(fake, 16, 10, TimeUnit.MILLISECONDS)) {
+			EmbeddingResponse response = service.createEmbeddings(single("t7"));
+
+			assertEquals(Collections.singletonList(7.0), response.getData().getData().get(0).getEmbedding());
+			assertEquals(1, fake.requests().size());
+		}
+	}
+
+	@Test
+	void testDifferentDimensionsAreNotMixed() throws Exception {
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try (BatchingEmbeddingService service = new BatchingEmbeddingService(fake, 2, 100, TimeUnit.MILLISECONDS)) {
+			Future<EmbeddingResponse> first = callers.submit(() -> service.createEmbeddings(single("t1")));
+			Future<EmbeddingResponse> second = callers.submit(() -> service.createEmbeddings(
+					EmbeddingCreateParams.builder().model("embedding-3").dimensions(256).input("t2").build()));
+			first.get(5, TimeUnit.SECONDS);
+			second.get(5, TimeUnit.SECONDS);
+		}
+		finally {
+			callers.shutdown();
+		}
+		assertEquals(2, fake.requests().size());
+	}
+
+	@Test
+	void testListInputIsPassedThrough() {
+		try (BatchingEmbeddingService service = new BatchingEmbeddingService(fake, 16, 1, TimeUnit.SECONDS)) {
+			EmbeddingCreateParams request = EmbeddingCreateParams.builder()
+				.model("embedding-3")
+				.input(Arrays.asList("t1", "t2"))
+				.build();
+
+			EmbeddingResponse response = service.createEmbeddings(request);
+
+			assertEquals(2, response.getData().getData().size());
+			assertSame(request, fake.requests().get(0));
+		}
+	}
+
+	@Test
+	void testFailureIsPropagatedToEveryCaller() {
+		EmbeddingService failing = request -> {
+			throw new IllegalStateException("boom");
+		};
+		try (BatchingEmbeddingService service = new BatchingEmbeddingService(failing, 16, 5, TimeUnit.MILLISECONDS)) {
+			IllegalStateException e = assertThrows(IllegalStateException.class,
+					() -> service.createEmbeddings(single("t1")));
+			assertEquals("boom", e.getMessage());
+		}
+	}
+
+	@Test
+	void testClosedServiceRejectsRequests() {
+		BatchingEmbeddingService service = new BatchingEmbeddingService(fake, 16, 5, TimeUnit.MILLISECONDS);
+		service.close();
+
+		assertThrows(IllegalStateException.class, () -> service.createEmbeddings(single("t1")));
+	}
+
+}
@@ -0,0 +1,166 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.core.ratelimit.ModelRateLimit;
+import ai.z.openapi.core.ratelimit.ModelRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BulkEmbeddingJob. Tests cover row order under parallel requests, batch
+ * limits, resuming after a failure and the output format.
+ */
+class BulkEmbeddingJobTest {
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Embeds "t<n>" as the vector [n, 2n, 0.5] after a random delay.
+	 */
+	private final FakeEmbeddingService fake = new FakeEmbeddingService((n, request) -> new float[] { n, 2 * n, 0.5f })
+		.reversed()
+		.randomDelay(5);
+
+	private static Iterator<String> texts(int count) {
+		List<String> texts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			texts.add("t" + i);
+		}
+		return texts.iterator();
+	}
+
+	private static void assertRows(Path output, int count) throws Exception {
+		try (EmbeddingMatrixFile matrix = EmbeddingMatrixFile.open(output)) {
+			assertEquals(count, matrix.size());
+			assertEquals(3, matrix.getDimensions());
+			for (int i = 0; i < count; i++) {
+				assertArrayEquals(new float[] { i, 2 * i, 0.5f }, matrix.read(i), "row " + i);
+			}
+			assertThrows(IndexOutOfBoundsException.class, () -> matrix.read(count));
+		}
+		assertEquals(EmbeddingMatrixFile.HEADER_BYTES + (long) count * 3 * Float.BYTES, Files.size(output));
+	}
+
+	@Test
+	void testRowsFollowInputOrder() throws Exception {
+		Path output = dir.resolve("vectors.bin");
+		BulkEmbeddingJob job = BulkEmbeddingJob.builder(fake, "embedding-3").batchSize(7, 1000).parallelism(4).build();
+
+		BulkEmbeddingResult result = job.run(texts(500), output);
+
+		assertRows(output, 500);
+		assertEquals(0, result.getResumedTexts());
+		assertEquals(500, result.getEmbeddedTexts());
+		assertEquals(72, result.getRequests());
+		assertEquals(500, result.getTotalTokens());
+		assertEquals(3, result.getDimensions());
+		assertTrue(fake.maxConcurrent() <= 4);
+	}
+
+	@Test
+	void testBatchesAreBoundedByCharacters() throws Exception {
+		BulkEmbeddingJob job = BulkEmbeddingJob.builder(fake, "embedding-3").batchSize(64, 6).parallelism(1).build();
+
+		job.run(texts(12), dir.resolve("vectors.bin"));
+
+		for (List<String> batch : fake.sent()) {
+			int chars = 0;
+			for (int i = 0; i < batch.size() - 1; i++) {
+				chars += batch.get(i).length();
+			}
+			assertTrue(chars < 6, "batch " + batch);
+		}
+		assertEquals(4, fake.requests().size());
+	}
+
+	@Test
+	void testResumesAfterFailure() throws Exception {
+		Path output = dir.resolve("vectors.bin");
+		BulkEmbeddingJob job = BulkEmbeddingJob.builder(fake, "embedding-3")
+			.batchSize(10, 1000)
+			.parallelism(3)
+			.checkpointInterval(0, TimeUnit.SECONDS)
+			.build();
+		fake.failWhen(batch -> batch.contains("t250"), 500);
+
+		BulkEmbeddingException e = assertThrows(BulkEmbeddingException.class, () -> job.run(texts(400), output));
+		assertEquals(250, e.getCommittedTexts());
+		try (EmbeddingMatrixFile matrix = EmbeddingMatrixFile.open(output)) {
+			assertEquals(250, matrix.size());
+		}
+
+		fake.failWhen(batch -> false, 500);
+		fake.clear();
+		BulkEmbeddingResult result = job.run(texts(400), output);
+
+		assertEquals(250, result.getResumedTexts());
+		assertEquals(150, result.getEmbeddedTexts());
+		assertEquals(15, fake.requests().size());
+		List<String> resent = new ArrayList<>();
+		fake.sent().forEach(resent::addAll);
+		assertEquals(150, resent.size());
+		assertTrue(resent.contains("t250"));
+		assertFalse(resent.contains("t249"));
+		assertRows(output, 400);
+	}
+
+	@Test
+	void testCompletedOutputIsNotSentAgain() throws Exception {
+		Path output = dir.resolve("vectors.bin");
+		BulkEmbeddingJob job = BulkEmbeddingJob.builder(fake, "embedding-3").build();
+		job.run(texts(100), output);
+		fake.clear();
+
+		BulkEmbeddingResult result = job.run(texts(100), output);
+
+		assertTrue(fake.requests().isEmpty());
+		assertEquals(100, result.getResumedTexts());
+		assertEquals(0, result.getEmbeddedTexts());
+		assertRows(output, 100);
+	}
+
+	@Test
+	void testRateLimiterShapesRequests() throws Exception {
+		ConcurrentHashMap<String, ModelRateLimit> limits = new ConcurrentHashMap<>();
+		limits.put("embedding-3", ModelRateLimit.of(6000, 0));
+		BulkEmbeddingJob job = BulkEmbeddingJob.builder(fake, "embedding-3")
+			.batchSize(1, 1000)
+			.rateLimiter(new ModelRateLimiter(limits, 10, TimeUnit.SECONDS))
+			.build();
+
+		BulkEmbeddingResult result = job.run(texts(20), dir.resolve("vectors.bin"));
+
+		assertEquals(20, result.getRequests());
+	}
+
+	@Test
+	void testRejectsOtherDimensions() throws Exception {
+		Path output = dir.resolve("vectors.bin");
+		BulkEmbeddingJob.builder(fake, "embedding-3").build().run(texts(3), output);
+
+		BulkEmbeddingJob job = BulkEmbeddingJob.builder(fake, "embedding-3").dimensions(256).build();
+
+		assertThrows(IllegalArgumentException.class, () -> job.run(texts(3), output));
+	}
+
+	@Test
+	void testRejectsInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> BulkEmbeddingJob.builder(null, "embedding-3"));
+		assertThrows(IllegalArgumentException.class, () -> BulkEmbeddingJob.builder(fake, " "));
+		assertThrows(IllegalArgumentException.class,
+				() -> BulkEmbeddingJob.builder(fake, "embedding-3").parallelism(0));
+		assertThrows(IllegalArgumentException.class,
+				() -> BulkEmbeddingJob.builder(fake, "embedding-3").batchSize(0, 100));
+	}
+
+}
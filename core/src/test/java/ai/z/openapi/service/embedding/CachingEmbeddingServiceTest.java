@@ -0,0 +1,156 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.core.cache.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CachingEmbeddingService. Tests cover splicing cached and embedded
+ * vectors, keys including model and dimensions, the memory bound and the disk tier.
+ */
+class CachingEmbeddingServiceTest {
+
+	@TempDir
+	Path dir;
+
+	/**
+	 * Embeds "t<n>" as the vector [n, dimensions].
+	 */
+	private final FakeEmbeddingService fake = new FakeEmbeddingService(
+			(n, request) -> new float[] { n, request.getDimensions() == null ? 0 : request.getDimensions() });
+
+	private static EmbeddingCreateParams request(Integer dimensions, String... texts) {
+		return EmbeddingCreateParams.builder()
+			.model("embedding-3")
+			.dimensions(dimensions)
+			.input(texts.length == 1 ? texts[0] : Arrays.asList(texts))
+			.build();
+	}
+
+	private static float first(EmbeddingResponse response, int index) {
+		return response.getData().getData().get(index).getVector()[0];
+	}
+
+	@Test
+	void testOnlyMissesAreSent() throws Exception {
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 100)) {
+			service.createEmbeddings(request(null, "t1", "t3"));
+
+			EmbeddingResponse response = service.createEmbeddings(request(null, "t1", "t2", "t3", "t2", "t4"));
+
+			assertEquals(Arrays.asList("t2", "t4"), fake.sent().get(1));
+			assertEquals(5, response.getData().getData().size());
+			for (int i = 0; i < 5; i++) {
+				assertEquals(i, response.getData().getData().get(i).getIndex());
+			}
+			assertEquals(1f, first(response, 0));
+			assertEquals(2f, first(response, 1));
+			assertEquals(3f, first(response, 2));
+			assertEquals(2f, first(response, 3));
+			assertEquals(4f, first(response, 4));
+			assertEquals(2, response.getData().getUsage().getPromptTokens());
+
+			EmbeddingResponse cached = service.createEmbeddings(request(null, "t4"));
+			assertEquals(2, fake.requests().size());
+			assertEquals(0, cached.getData().getUsage().getTotalTokens());
+			assertTrue(cached.isSuccess());
+
+			CacheStats stats = service.stats();
+			assertEquals(3, stats.getHitCount());
+			assertEquals(5, stats.getMissCount());
+		}
+	}
+
+	@Test
+	void testDimensionsArePartOfTheKey() throws Exception {
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 100)) {
+			service.createEmbeddings(request(null, "t1"));
+			EmbeddingResponse response = service.createEmbeddings(request(256, "t1"));
+
+			assertEquals(2, fake.requests().size());
+			assertEquals(256f, response.getData().getData().get(0).getVector()[1]);
+		}
+	}
+
+	@Test
+	void testCachedVectorsAreCopies() throws Exception {
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 100)) {
+			service.createEmbeddings(request(null, "t1")).getData().getData().get(0).getVector()[0] = 42f;
+
+			assertEquals(1f, first(service.createEmbeddings(request(null, "t1")), 0));
+		}
+	}
+
+	@Test
+	void testMemoryTierIsBounded() throws Exception {
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 2)) {
+			service.createEmbeddings(request(null, "t1", "t2", "t3"));
+			service.createEmbeddings(request(null, "t1"));
+
+			assertEquals(2, fake.requests().size());
+			assertEquals(2, service.stats().getSize());
+			assertEquals(2, service.stats().getEvictionCount());
+		}
+	}
+
+	@Test
+	void testDiskTierSurvivesRestart() throws Exception {
+		Path path = dir.resolve("embeddings.bin");
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 100, path)) {
+			service.createEmbeddings(request(null, "t1", "t2"));
+		}
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 100, path)) {
+			EmbeddingResponse response = service.createEmbeddings(request(null, "t2", "t1", "t5"));
+
+			assertEquals(Collections.singletonList("t5"), fake.sent().get(1));
+			assertEquals(2f, first(response, 0));
+			assertEquals(1f, first(response, 1));
+			assertEquals(5f, first(response, 2));
+		}
+	}
+
+	@Test
+	void testTokenArraysBypassTheCache() throws Exception {
+		List<Object> inputs = new ArrayList<>();
+		EmbeddingService delegate = request -> {
+			inputs.add(request.getInput());
+			EmbeddingResponse response = new EmbeddingResponse();
+			response.setSuccess(true);
+			response.setData(new EmbeddingResult(request.getModel(), "list",
+					Collections.singletonList(Embedding.of("embedding", new float[] { 1f }, 0)), null));
+			return response;
+		};
+		List<Integer> tokens = Arrays.asList(1, 2, 3);
+		List<List<Integer>> tokenArrays = Collections.singletonList(tokens);
+		try (CachingEmbeddingService service = new CachingEmbeddingService(delegate, 100)) {
+			for (Object input : Arrays.<Object>asList(tokens, tokens, tokenArrays)) {
+				EmbeddingResponse response = service
+					.createEmbeddings(EmbeddingCreateParams.builder().model("embedding-3").input(input).build());
+				assertTrue(response.isSuccess());
+			}
+
+			assertEquals(Arrays.asList(tokens, tokens, tokenArrays), inputs);
+			assertEquals(0, service.stats().getHitCount() + service.stats().getMissCount());
+		}
+	}
+
+	@Test
+	void testFailedResponseIsReturned() throws Exception {
+		fake.failWhen(texts -> true, 429);
+		try (CachingEmbeddingService service = new CachingEmbeddingService(fake, 100)) {
+			EmbeddingResponse response = service.createEmbeddings(request(null, "t1"));
+
+			assertFalse(response.isSuccess());
+			assertEquals(429, response.getCode());
+		}
+	}
+
+}
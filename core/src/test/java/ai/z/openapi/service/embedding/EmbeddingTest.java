@@ -0,0 +1,94 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.service.deserialize.JsonMappers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Embedding. Tests cover parsing into a float vector, the list view,
+ * serialization and copying into buffers.
+ */
+class EmbeddingTest {
+
+	private final ObjectMapper mapper = JsonMappers.standard().getMapper();
+
+	@Test
+	void testVectorIsParsedIntoFloatArray() throws Exception {
+		EmbeddingResult result = mapper
+			.readValue("{\"model\":\"embedding-3\",\"object\":\"list\",\"data\":[{\"object\":"
+					+ "\"embedding\",\"index\":0,\"embedding\":[0.5,-0.25,1.0E-3]}],\"usage\":{\"prompt_tokens\":2}}",
+					EmbeddingResult.class);
+
+		Embedding embedding = result.getData().get(0);
+		assertArrayEquals(new float[] { 0.5f, -0.25f, 0.001f }, embedding.getVector());
+		assertEquals(3, embedding.getDimensions());
+		assertEquals(0, embedding.getIndex());
+		assertEquals("embedding", embedding.getObject());
+	}
+
+	@Test
+	void testListView() {
+		Embedding embedding = Embedding.builder().vector(new float[] { 1f, 2f }).build();
+
+		List<Double> view = embedding.getEmbedding();
+		assertEquals(Arrays.asList(1.0, 2.0), view);
+		assertSame(view, embedding.getEmbedding());
+
+		view.set(0, 3.0);
+		assertEquals(3f, embedding.getVector()[0]);
+		assertThrows(UnsupportedOperationException.class, () -> view.add(4.0));
+		assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+
+		embedding.setEmbedding(Arrays.asList(4.0, 5.0, 6.0));
+		assertEquals(3, embedding.getEmbedding().size());
+		assertNull(new Embedding().getEmbedding());
+	}
+
+	@Test
+	void testListBasedConstructionIsKept() {
+		Embedding fromBuilder = Embedding.builder().embedding(Arrays.asList(0.5, 1.5)).index(1).build();
+		Embedding fromConstructor = new Embedding("embedding", Arrays.asList(0.5, 1.5), 1);
+
+		assertArrayEquals(new float[] { 0.5f, 1.5f }, fromBuilder.getVector());
+		assertEquals(fromConstructor.getEmbedding(), fromBuilder.getEmbedding());
+		assertNull(new Embedding("embedding", null, 0).getVector());
+	}
+
+	@Test
+	void testSerialization() throws Exception {
+		Embedding embedding = Embedding.of("embedding", new float[] { 0.5f }, 2);
+		embedding.getEmbedding();
+
+		JsonNode node = mapper.valueToTree(embedding);
+
+		assertEquals(0.5, node.get("embedding").get(0).asDouble());
+		assertEquals(2, node.get("index").asInt());
+		assertEquals(3, node.size());
+	}
+
+	@Test
+	void testWriteToBuffers() {
+		Embedding embedding = Embedding.of("embedding", new float[] { 1f, 2f }, 0);
+
+		FloatBuffer floats = FloatBuffer.allocate(4);
+		embedding.writeTo(floats);
+		embedding.writeTo(floats);
+		assertEquals(4, floats.position());
+		assertEquals(2f, floats.get(3));
+
+		ByteBuffer bytes = ByteBuffer.allocateDirect(16).order(ByteOrder.LITTLE_ENDIAN);
+		embedding.writeTo(bytes);
+		assertEquals(8, bytes.position());
+		assertEquals(2f, bytes.getFloat(4));
+	}
+
+}
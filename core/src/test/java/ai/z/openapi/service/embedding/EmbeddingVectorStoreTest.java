@@ -0,0 +1,170 @@
+package ai.z.openapi.service.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EmbeddingVectorStore. Tests cover lookups, reopening, records spanning
+ * several segments and torn records.
+ */
+class EmbeddingVectorStoreTest {
+
+	@TempDir
+	Path dir;
+
+	private static byte[] key(int n) {
+		return CachingEmbeddingService.digest("embedding-3", null, "text " + n);
+	}
+
+	private static float[] vector(int n, int dimensions) {
+		float[] vector = new float[dimensions];
+		for (int i = 0; i < dimensions; i++) {
+			vector[i] = n + i / 1000f;
+		}
+		return vector;
+	}
+
+	@Test
+	void testPutAndGet() throws Exception {
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(dir.resolve("vectors.bin"), 4096)) {
+			store.put(key(1), vector(1, 8));
+			store.put(key(1), vector(9, 8));
+
+			assertArrayEquals(vector(1, 8), store.get(key(1)));
+			assertNull(store.get(key(2)));
+			assertEquals(1, store.size());
+		}
+	}
+
+	@Test
+	void testReopenAcrossSegments() throws Exception {
+		Path path = dir.resolve("vectors.bin");
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 1024)) {
+			for (int i = 0; i < 100; i++) {
+				store.put(key(i), vector(i, 50));
+			}
+		}
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 1024)) {
+			assertEquals(100, store.size());
+			for (int i = 0; i < 100; i++) {
+				assertArrayEquals(vector(i, 50), store.get(key(i)));
+			}
+			store.put(key(100), vector(100, 50));
+		}
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 1024)) {
+			assertEquals(101, store.size());
+		}
+	}
+
+	@Test
+	void testTornRecordIsIgnored() throws Exception {
+		Path path = dir.resolve("vectors.bin");
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			store.put(key(1), vector(1, 4));
+		}
+		// a record whose key was written but not its length
+		byte[] bytes = Files.readAllBytes(path);
+		System.arraycopy(key(2), 0, bytes, 16 + 36 + 16, 32);
+		Files.write(path, bytes);
+
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			assertEquals(1, store.size());
+			store.put(key(3), vector(3, 4));
+			assertArrayEquals(vector(3, 4), store.get(key(3)));
+		}
+	}
+
+	@Test
+	void testShortRecordOverTornLongRecord() throws Exception {
+		Path path = dir.resolve("vectors.bin");
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			store.put(key(1), vector(1, 4));
+		}
+		// a record of 100 floats torn before its length was written
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+		bytes.position(16 + 36 + 16);
+		bytes.put(key(2));
+		bytes.position(16 + 36 + 16 + 36);
+		bytes.asFloatBuffer().put(vector(7, 100));
+		Files.write(path, bytes.array());
+
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			assertEquals(1, store.size());
+			store.put(key(3), vector(3, 4));
+		}
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			assertEquals(2, store.size());
+			assertArrayEquals(vector(3, 4), store.get(key(3)));
+			store.put(key(4), vector(4, 4));
+		}
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			assertEquals(3, store.size());
+			assertArrayEquals(vector(4, 4), store.get(key(4)));
+		}
+	}
+
+	@Test
+	void testLengthPastSegmentEndsData() throws Exception {
+		Path path = dir.resolve("vectors.bin");
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			store.put(key(1), vector(1, 4));
+		}
+		// the bits of a stale float read as the length of the next record
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+		bytes.position(16 + 36 + 16);
+		bytes.put(key(2));
+		bytes.putFloat(16 + 36 + 16 + 32, 1.5f);
+		Files.write(path, bytes.array());
+
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			assertEquals(1, store.size());
+			assertNull(store.get(key(2)));
+			store.put(key(3), vector(3, 4));
+			assertArrayEquals(vector(3, 4), store.get(key(3)));
+		}
+	}
+
+	@Test
+	void testReopenKeepsStoredSegmentSize() throws Exception {
+		Path path = dir.resolve("vectors.bin");
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 1024)) {
+			for (int i = 0; i < 100; i++) {
+				store.put(key(i), vector(i, 16));
+			}
+		}
+
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 4096)) {
+			assertEquals(100, store.size());
+			for (int i = 0; i < 100; i++) {
+				assertArrayEquals(vector(i, 16), store.get(key(i)), "record " + i);
+			}
+			store.put(key(100), vector(100, 16));
+		}
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(path, 256)) {
+			assertArrayEquals(vector(100, 16), store.get(key(100)));
+		}
+	}
+
+	@Test
+	void testRejectsOtherFiles() throws Exception {
+		Path path = dir.resolve("other.bin");
+		Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+		assertThrows(IllegalArgumentException.class, () -> new EmbeddingVectorStore(path, 4096));
+	}
+
+	@Test
+	void testRejectsOversizedVector() throws Exception {
+		try (EmbeddingVectorStore store = new EmbeddingVectorStore(dir.resolve("vectors.bin"), 256)) {
+			assertThrows(IllegalArgumentException.class, () -> store.put(key(1), vector(1, 64)));
+		}
+	}
+
+}
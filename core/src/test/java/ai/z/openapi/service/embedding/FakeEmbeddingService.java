@@ -0,0 +1,157 @@
+package ai.z.openapi.service.embedding;
+
+import ai.z.openapi.service.model.Usage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Embedding service for tests. Embeds every text "t&lt;n&gt;" as a vector computed from n
+ * and records the requests it receives. The vector shape, the order of the returned
+ * embeddings, the token count, failures and delays are set per test.
+ */
+final class FakeEmbeddingService implements EmbeddingService {
+
+	/**
+	 * Computes the vector of the text "t&lt;n&gt;".
+	 */
+	interface VectorFunction {
+
+		float[] vector(float n, EmbeddingCreateParams request);
+
+	}
+
+	private final List<EmbeddingCreateParams> requests = new CopyOnWriteArrayList<>();
+
+	private final AtomicInteger concurrent = new AtomicInteger();
+
+	private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+	private final VectorFunction vectors;
+
+	private boolean reversed;
+
+	private int tokensPerText = 1;
+
+	private int maxDelayMillis;
+
+	private volatile Predicate<List<String>> failing = texts -> false;
+
+	private volatile int failureCode;
+
+	FakeEmbeddingService(VectorFunction vectors) {
+		this.vectors = vectors;
+	}
+
+	/**
+	 * Returns the embeddings in reverse order, so callers have to place them by index.
+	 */
+	FakeEmbeddingService reversed() {
+		this.reversed = true;
+		return this;
+	}
+
+	FakeEmbeddingService tokensPerText(int tokensPerText) {
+		this.tokensPerText = tokensPerText;
+		return this;
+	}
+
+	/**
+	 * Sleeps up to the given time before answering, so concurrent requests overlap.
+	 */
+	FakeEmbeddingService randomDelay(int maxDelayMillis) {
+		this.maxDelayMillis = maxDelayMillis;
+		return this;
+	}
+
+	/**
+	 * Answers the requests whose texts match with a failed response.
+	 */
+	FakeEmbeddingService failWhen(Predicate<List<String>> failing, int code) {
+		this.failing = failing;
+		this.failureCode = code;
+		return this;
+	}
+
+	@Override
+	public EmbeddingResponse createEmbeddings(EmbeddingCreateParams request) {
+		List<String> texts = texts(request.getInput());
+		requests.add(request);
+		maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+		try {
+			if (maxDelayMillis > 0) {
+				TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(maxDelayMillis));
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			concurrent.decrementAndGet();
+		}
+		EmbeddingResponse response = new EmbeddingResponse();
+		if (failing.test(texts)) {
+			response.setCode(failureCode);
+			response.setMsg("Call Failed");
+			response.setSuccess(false);
+			return response;
+		}
+		List<Embedding> data = new ArrayList<>(texts.size());
+		for (int i = 0; i < texts.size(); i++) {
+			data.add(
+					Embedding.of("embedding", vectors.vector(Float.parseFloat(texts.get(i).substring(1)), request), i));
+		}
+		if (reversed) {
+			Collections.reverse(data);
+		}
+		Usage usage = new Usage();
+		usage.setPromptTokens(texts.size() * tokensPerText);
+		usage.setTotalTokens(texts.size() * tokensPerText);
+		response.setCode(200);
+		response.setMsg("Call Successful");
+		response.setSuccess(true);
+		response.setData(new EmbeddingResult(request.getModel(), "list", data, usage));
+		return response;
+	}
+
+	/**
+	 * Returns the requests received so far, in arrival order.
+	 */
+	List<EmbeddingCreateParams> requests() {
+		return requests;
+	}
+
+	/**
+	 * Returns the texts of the requests received so far, in arrival order.
+	 */
+	List<List<String>> sent() {
+		List<List<String>> sent = new ArrayList<>(requests.size());
+		for (EmbeddingCreateParams request : requests) {
+			sent.add(texts(request.getInput()));
+		}
+		return sent;
+	}
+
+	/**
+	 * Returns the highest number of requests answered at the same time.
+	 */
+	int maxConcurrent() {
+		return maxConcurrent.get();
+	}
+
+	void clear() {
+		requests.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	static List<String> texts(Object input) {
+		return input instanceof String ? Collections.singletonList((String) input) : (List<String>) input;
+	}
+
+}
@@ -0,0 +1,101 @@
+package ai.z.openapi.service.fileparsing;
+
+import ai.z.openapi.ZaiClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the non-blocking file parsing service against a local mock server.
+ */
+class AsyncFileParsingServiceTest {
+
+	@TempDir
+	Path tempDir;
+
+	private MockWebServer server;
+
+	private ZaiClient client;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new MockWebServer();
+		server.start();
+		client = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").build();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		client.close();
+		server.shutdown();
+	}
+
+	private FileParsingUploadReq uploadRequest() throws IOException {
+		Path file = Files.write(tempDir.resolve("doc.txt"), "hello".getBytes(StandardCharsets.UTF_8));
+		return FileParsingUploadReq.builder().filePath(file.toString()).toolType("lite").fileType("TXT").build();
+	}
+
+	@Test
+	void testSyncParseIsEnqueuedOnTheDispatcher() throws Exception {
+		ZaiClient limited = new ZaiClient.Builder(server.url("/").toString(), "id.test-api-key").dispatcher(10, 1)
+			.build();
+		String body = "{\"task_id\":\"task-1\",\"status\":\"succeeded\",\"content\":\"hello\"}";
+		server.enqueue(new MockResponse().setBody(body).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+		server.enqueue(new MockResponse().setBody(body));
+
+		CompletableFuture<FileParsingDownloadResponse> first = limited.fileParsingAsync().syncParse(uploadRequest());
+		CompletableFuture<FileParsingDownloadResponse> second = limited.fileParsingAsync().syncParse(uploadRequest());
+
+		assertEquals(1, limited.queuedCallsCount());
+		FileParsingDownloadResponse response = first.get(5, TimeUnit.SECONDS);
+		assertTrue(response.isSuccess());
+		assertEquals("hello", response.getData().getContent());
+		assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+		assertEquals("/files/parser/sync", server.takeRequest().getPath());
+		limited.close();
+	}
+
+	@Test
+	void testGetParseResult() throws Exception {
+		server.enqueue(new MockResponse().setBody("{\"task_id\":\"task-1\",\"status\":\"succeeded\"}"));
+
+		FileParsingDownloadResponse response = client.fileParsingAsync()
+			.getParseResult(FileParsingDownloadReq.builder().taskId("task-1").formatType("text").build())
+			.get(5, TimeUnit.SECONDS);
+
+		assertTrue(response.isSuccess());
+		assertEquals("task-1", response.getData().getTaskId());
+		assertEquals("/files/parser/result/task-1/text", server.takeRequest().getPath());
+	}
+
+	@Test
+	void testFailedSyncParseCompletesExceptionally() throws Exception {
+		server.enqueue(new MockResponse().setResponseCode(500));
+
+		CompletableFuture<FileParsingDownloadResponse> future = client.fileParsingAsync().syncParse(uploadRequest());
+		ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+
+		assertInstanceOf(IOException.class, e.getCause());
+		assertTrue(e.getCause().getMessage().startsWith("Failed to sync parse, code: 500"));
+	}
+
+	@Test
+	void testInvalidRequestFailsFast() {
+		assertThrows(IllegalArgumentException.class,
+				() -> client.fileParsingAsync().syncParse(FileParsingUploadReq.builder().build()));
+	}
+
+}
@@ -4,10 +4,13 @@ import ai.z.openapi.ZaiClient;
 import ai.z.openapi.core.config.ZaiConfig;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Base64;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +19,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import retrofit2.Response;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,6 +58,19 @@ public class FileParsingServiceTest {
 				"FileParsingService should be an instance of FileParsingServiceImpl");
 	}
 
+	@Test
+	@DisplayName("Test Parse Result Reading - Unknown Properties Are Rejected")
+	void testParseResultIsReadStrictly() throws IOException {
+		FileParsingDownloadResp result = FileParsingServiceImpl
+			.parseResult(Response.success(ResponseBody.create(MediaType.parse("application/json"),
+					"{\"task_id\":\"task-1\",\"status\":\"succeeded\",\"content\":\"hello\"}")));
+		assertEquals("task-1", result.getTaskId());
+		assertEquals("hello", result.getContent());
+
+		assertThrows(UnrecognizedPropertyException.class, () -> FileParsingServiceImpl.parseResult(Response.success(
+				ResponseBody.create(MediaType.parse("application/json"), "{\"task_id\":\"task-1\",\"unknown\":1}"))));
+	}
+
 	@Test
 	@DisplayName("Test File Parsing Task Creation - Basic Functionality")
 	@EnabledIfEnvironmentVariable(named = "ZAI_API_KEY", matches = "^[^.]+\\.[^.]+$")
@@ -0,0 +1,111 @@
+package ai.z.openapi.service.model;
+
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SSEReader. Tests cover event framing, line endings, multi-line data,
+ * event fields and tolerated non-data lines.
+ */
+class SSEReaderTest {
+
+	private static SSEReader reader(String content) {
+		return new SSEReader(new Buffer().writeUtf8(content));
+	}
+
+	@Test
+	void testReadEvents() throws Exception {
+		SSEReader reader = reader("data: {\"id\":\"1\"}\n\ndata:{\"id\":\"2\"}\n\ndata: [DONE]\n\n");
+
+		SSE first = reader.next();
+		assertEquals("{\"id\":\"1\"}", first.getData());
+		assertFalse(first.isDone());
+
+		SSE second = reader.next();
+		assertArrayEquals("{\"id\":\"2\"}".getBytes(), second.getRawData());
+
+		assertTrue(reader.next().isDone());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void testCarriageReturnLineEndings() throws Exception {
+		SSEReader reader = reader("data: hello\r\n\r\ndata: world\r\n\r\n");
+
+		assertEquals("hello", reader.next().getData());
+		assertEquals("world", reader.next().getData());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void testMultiByteCharacters() throws Exception {
+		SSEReader reader = reader("data: {\"content\":\"你好\"}\n\n");
+
+		assertEquals("{\"content\":\"你好\"}", reader.next().getData());
+	}
+
+	@Test
+	void testUnterminatedEventIsNotEmitted() throws Exception {
+		SSEReader reader = reader("data: partial");
+
+		assertNull(reader.next());
+	}
+
+	@Test
+	void testMultiLineData() throws Exception {
+		SSEReader reader = reader("data: first\ndata: second\ndata:third\n\n");
+
+		assertEquals("first\nsecond\nthird", reader.next().getData());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void testEventIdAndRetryFields() throws Exception {
+		SSEReader reader = reader("event: usage\nid: 42\nretry: 3000\ndata: {}\n\ndata: next\n\n");
+
+		SSE first = reader.next();
+		assertEquals("usage", first.getEvent());
+		assertEquals("42", first.getId());
+		assertEquals(Long.valueOf(3000), first.getRetry());
+		assertEquals("{}", first.getData());
+
+		SSE second = reader.next();
+		assertEquals("message", second.getEvent());
+		assertEquals("42", second.getId());
+		assertEquals("next", second.getData());
+		assertEquals("42", reader.getLastEventId());
+	}
+
+	@Test
+	void testCommentsHeartbeatsAndUnknownFieldsAreSkipped() throws Exception {
+		SSEReader reader = reader(": keep-alive\n\n\nevent: ping\n\nfoo: bar\nunexpected\ndata: payload\n\n");
+
+		SSE sse = reader.next();
+		assertEquals("payload", sse.getData());
+		assertEquals("message", sse.getEvent());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void testInvalidRetryIsIgnored() throws Exception {
+		SSEReader reader = reader("retry: soon\ndata: x\n\n");
+
+		assertNull(reader.next().getRetry());
+	}
+
+	@Test
+	void testByteOrderMark() throws Exception {
+		SSEReader reader = reader("\uFEFFdata: x\n\n");
+
+		assertEquals("x", reader.next().getData());
+	}
+
+	@Test
+	void testEmptyInput() throws Exception {
+		assertNull(reader("").next());
+		assertNull(reader("\n\n").next());
+	}
+
+}
@@ -0,0 +1,68 @@
+package ai.z.openapi.utils;
+
+import ai.z.openapi.core.config.ZaiConfig;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OkHttps. Tests cover the dispatcher configuration.
+ */
+class OkHttpsTest {
+
+	private static ZaiConfig config() {
+		ZaiConfig config = new ZaiConfig();
+		config.setApiKey("id.test-api-key");
+		return config;
+	}
+
+	@Test
+	void testDefaultDispatcher() {
+		Dispatcher dispatcher = OkHttps.create(config()).dispatcher();
+
+		assertEquals(64, dispatcher.getMaxRequests());
+		assertEquals(5, dispatcher.getMaxRequestsPerHost());
+	}
+
+	@Test
+	void testDispatcherLimitsAndExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		ZaiConfig config = config();
+		config.setMaxRequests(200);
+		config.setMaxRequestsPerHost(50);
+		config.setDispatcherExecutor(executor);
+		Dispatcher dispatcher = OkHttps.create(config).dispatcher();
+
+		assertEquals(200, dispatcher.getMaxRequests());
+		assertEquals(50, dispatcher.getMaxRequestsPerHost());
+		assertSame(executor, dispatcher.executorService());
+		executor.shutdown();
+	}
+
+	@Test
+	void testVirtualThreadDispatcher() throws Exception {
+		ZaiConfig config = config();
+		config.setVirtualThreads(true);
+		OkHttpClient client = OkHttps.create(config);
+		Dispatcher dispatcher = client.dispatcher();
+
+		if (!VirtualThreads.isSupported()) {
+			assertEquals(64, dispatcher.getMaxRequests());
+			return;
+		}
+		assertTrue(dispatcher.getMaxRequests() > 10000);
+		assertEquals(dispatcher.getMaxRequests(), dispatcher.getMaxRequestsPerHost());
+		CompletableFuture<String> threadName = new CompletableFuture<>();
+		dispatcher.executorService().execute(() -> threadName.complete(Thread.currentThread().getName()));
+		assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith("zai-http-"));
+		dispatcher.executorService().shutdown();
+	}
+
+}
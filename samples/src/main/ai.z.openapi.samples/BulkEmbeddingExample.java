@@ -0,0 +1,68 @@
+package ai.z.openapi.samples;
+
+import ai.z.openapi.ZaiClient;
+import ai.z.openapi.core.Constants;
+import ai.z.openapi.service.embedding.BulkEmbeddingException;
+import ai.z.openapi.service.embedding.BulkEmbeddingJob;
+import ai.z.openapi.service.embedding.BulkEmbeddingResult;
+import ai.z.openapi.service.embedding.EmbeddingMatrixFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Bulk Embedding Example
+ * Demonstrates how to embed a large text file, one text per line, into a binary vector file.
+ * Running it again after an interruption resumes after the last committed line.
+ *
+ * Usage: BulkEmbeddingExample <input.txt> <output.vec> [parallelism]
+ */
+public class BulkEmbeddingExample {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BulkEmbeddingExample <input.txt> <output.vec> [parallelism]");
+            return;
+        }
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        // Create client, recommended to set API Key via environment variable
+        // export ZAI_API_KEY=your.api_key
+        // for Z.ai use the `ZaiClient`, for Zhipu AI use the ZhipuAiClient.builder().ofZHIPU().build()
+        ZaiClient client = ZaiClient.builder().ofZAI().build();
+
+        BulkEmbeddingJob job = BulkEmbeddingJob.builder(client.embeddings(), Constants.ModelEmbedding3)
+            .dimensions(512)
+            .batchSize(64, 100_000)
+            .parallelism(parallelism)
+            .build();
+
+        try (Stream<String> lines = Files.lines(input, StandardCharsets.UTF_8)) {
+            BulkEmbeddingResult result = job.run(lines.iterator(), output);
+            System.out.println("Resumed texts: " + result.getResumedTexts());
+            System.out.println("Embedded texts: " + result.getEmbeddedTexts());
+            System.out.println("Requests: " + result.getRequests());
+            System.out.println("Total tokens: " + result.getTotalTokens());
+            System.out.println("Elapsed: " + result.getElapsedNanos() / 1_000_000 + " ms");
+
+            // Read a row back
+            try (EmbeddingMatrixFile matrix = EmbeddingMatrixFile.open(output)) {
+                if (matrix.size() > 0) {
+                    float[] first = matrix.read(0);
+                    System.out.println("Rows: " + matrix.size() + ", dimensions: " + matrix.getDimensions());
+                    System.out.println("First value of row 0: " + first[0]);
+                }
+            }
+        } catch (BulkEmbeddingException e) {
+            System.err.println("Bulk embedding stopped, run again to resume after line " + e.getCommittedTexts());
+            e.printStackTrace();
+        } finally {
+            client.close();
+        }
+    }
+}